@@ -17,6 +17,8 @@ package org.eclipse.store.afs.nio.types;
 import static org.eclipse.serializer.util.X.mayNull;
 import static org.eclipse.serializer.util.X.notNull;
 
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
@@ -26,9 +28,36 @@ import java.util.Arrays;
 import org.eclipse.serializer.afs.types.AFile;
 import org.eclipse.serializer.afs.types.AReadableFile;
 import org.eclipse.serializer.collections.XArrays;
+import org.eclipse.serializer.exceptions.IORuntimeException;
+import org.eclipse.serializer.memory.XMemory;
 
 public interface NioReadableFile extends AReadableFile, NioFileWrapper
 {
+    /**
+     * Returns a read-only mapping of the file's leading range of the passed length, mapping it first if required.
+     * An existing mapping is reused as long as it covers at least the passed length. The mapped range never
+     * exceeds the file's actual size, so callers have to check the returned buffer's capacity.
+     * <p>
+     * The mapping stays valid until {@link #releaseMapping()} is called or the channel is closed. It must not be
+     * accessed any more after that and must be released before the file is truncated or deleted.
+     * 
+     * @param length the length of the leading range to be mapped.
+     * 
+     * @return a read-only mapping of the file's leading range.
+     * 
+     * @throws IORuntimeException if the mapping fails.
+     */
+    public MappedByteBuffer ensureMapping(long length) throws IORuntimeException;
+    
+    /**
+     * Unmaps the current mapping created by {@link #ensureMapping(long)}, if any.
+     * 
+     * @return whether there was a mapping to be released.
+     */
+    public boolean releaseMapping();
+    
+    
+    
     public static NioReadableFile New(
         final AFile actual,
         final Object user  ,
@@ -55,6 +84,14 @@ public interface NioReadableFile extends AReadableFile, NioFileWrapper
     
     public class Default<U> extends NioFileWrapper.Abstract<U> implements NioReadableFile
     {
+    	///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+    	
+    	private MappedByteBuffer mapping;
+    	
+    	
+    	
     	///////////////////////////////////////////////////////////////////////////
 		// constructors //
 		/////////////////
@@ -103,6 +140,78 @@ public interface NioReadableFile extends AReadableFile, NioFileWrapper
     		
     		return XArrays.ensureContained(superOptions, StandardOpenOption.READ);
     	}
+    	
+    	@Override
+    	public MappedByteBuffer ensureMapping(final long length) throws IORuntimeException
+    	{
+    		synchronized(this.mutex())
+    		{
+    			if(this.mapping != null && this.mapping.capacity() >= length)
+    			{
+    				return this.mapping;
+    			}
+    			this.releaseMapping();
+    			
+    			try
+    			{
+    				final FileChannel fileChannel = this.ensureOpenChannel();
+    				
+    				// mapping beyond the file's size would implicitly enlarge a writable file.
+    				this.mapping = fileChannel.map(
+    					FileChannel.MapMode.READ_ONLY,
+    					0,
+    					Math.min(length, fileChannel.size())
+    				);
+    			}
+    			catch(final IOException e)
+    			{
+    				throw new IORuntimeException(e);
+    			}
+    			
+    			return this.mapping;
+    		}
+    	}
+    	
+    	@Override
+    	public boolean releaseMapping()
+    	{
+    		synchronized(this.mutex())
+    		{
+    			if(this.mapping == null)
+    			{
+    				return false;
+    			}
+    			
+    			// unmapping explicitly instead of waiting for the GC keeps the file truncatable and deletable.
+    			final MappedByteBuffer mapping = this.mapping;
+    			this.mapping = null;
+    			XMemory.deallocateDirectByteBuffer(mapping);
+    			
+    			return true;
+    		}
+    	}
+    	
+    	@Override
+    	public boolean closeChannel() throws IORuntimeException
+    	{
+    		synchronized(this.mutex())
+    		{
+    			this.releaseMapping();
+    			
+    			return super.closeChannel();
+    		}
+    	}
+    	
+    	@Override
+    	public boolean retire()
+    	{
+    		synchronized(this.mutex())
+    		{
+    			this.releaseMapping();
+    			
+    			return super.retire();
+    		}
+    	}
                 
     }
 
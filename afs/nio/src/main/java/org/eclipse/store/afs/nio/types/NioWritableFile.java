@@ -17,6 +17,8 @@ package org.eclipse.store.afs.nio.types;
 import static org.eclipse.serializer.util.X.mayNull;
 import static org.eclipse.serializer.util.X.notNull;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
@@ -25,9 +27,35 @@ import java.nio.file.StandardOpenOption;
 import org.eclipse.serializer.afs.types.AFile;
 import org.eclipse.serializer.afs.types.AWritableFile;
 import org.eclipse.serializer.collections.XArrays;
+import org.eclipse.serializer.exceptions.IORuntimeException;
 
 public interface NioWritableFile extends NioReadableFile, AWritableFile
 {
+	/**
+	 * Forces all bytes written to the file to the storage device, see {@link FileChannel#force(boolean)}.
+	 * File meta data is only forced as far as required to read the written bytes back, e.g. the file's size.
+	 * 
+	 * @return whether there was an open channel to be forced.
+	 * 
+	 * @throws IORuntimeException if the forcing fails.
+	 */
+	public boolean force() throws IORuntimeException;
+	
+	/**
+	 * Writes the passed buffers' remaining bytes to the file starting at the passed position instead of appending
+	 * them, see {@link FileChannel#write(ByteBuffer, long)}. Writing beyond the file's current end extends the file.
+	 * 
+	 * @param sourceBuffers the buffers whose remaining bytes are to be written.
+	 * @param position the file position to start writing at.
+	 * 
+	 * @return the number of bytes written.
+	 * 
+	 * @throws IORuntimeException if the writing fails.
+	 */
+	public long writeBytes(Iterable<? extends ByteBuffer> sourceBuffers, long position) throws IORuntimeException;
+	
+	
+	
 	public static NioWritableFile New(
         final AFile actual,
         final Object user  ,
@@ -92,6 +120,61 @@ public interface NioWritableFile extends NioReadableFile, AWritableFile
     		// this implementation ensures WRITE
     		return XArrays.ensureContained(superOptions, StandardOpenOption.WRITE);
         }
+        
+        @Override
+        public boolean force() throws IORuntimeException
+        {
+        	synchronized(this.mutex())
+        	{
+        		final FileChannel fileChannel = this.fileChannel();
+        		if(fileChannel == null || !fileChannel.isOpen())
+        		{
+        			return false;
+        		}
+        		
+        		try
+        		{
+        			fileChannel.force(false);
+        		}
+        		catch(final IOException e)
+        		{
+        			throw new IORuntimeException(e);
+        		}
+        		
+        		return true;
+        	}
+        }
+        
+        @Override
+        public long writeBytes(
+        	final Iterable<? extends ByteBuffer> sourceBuffers,
+        	final long                           position
+        )
+        	throws IORuntimeException
+        {
+        	synchronized(this.mutex())
+        	{
+        		final FileChannel fileChannel = this.ensureOpenChannel();
+        		
+        		try
+        		{
+        			long writeCount = 0;
+        			for(final ByteBuffer buffer : sourceBuffers)
+        			{
+        				while(buffer.hasRemaining())
+        				{
+        					writeCount += fileChannel.write(buffer, position + writeCount);
+        				}
+        			}
+        			
+        			return writeCount;
+        		}
+        		catch(final IOException e)
+        		{
+        			throw new IORuntimeException(e);
+        		}
+        	}
+        }
                 
     }
     
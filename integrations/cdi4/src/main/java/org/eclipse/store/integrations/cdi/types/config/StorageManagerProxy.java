@@ -19,7 +19,9 @@ import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.serializer.afs.types.AFile;
@@ -39,6 +41,7 @@ import org.eclipse.store.storage.types.Database;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
 import org.eclipse.store.storage.types.StorageConfiguration;
 import org.eclipse.store.storage.types.StorageConnection;
+import org.eclipse.store.storage.types.StorageDataChecksumReport;
 import org.eclipse.store.storage.types.StorageEntityCacheEvaluator;
 import org.eclipse.store.storage.types.StorageEntityTypeExportFileProvider;
 import org.eclipse.store.storage.types.StorageEntityTypeExportStatistics;
@@ -261,6 +264,12 @@ public class StorageManagerProxy extends UsageMarkable.Default implements Storag
         return this.getStorageManager().createStorageStatistics();
     }
 
+    @Override
+    public StorageDataChecksumReport verifyChecksums()
+    {
+        return this.getStorageManager().verifyChecksums();
+    }
+
     @Override
     public List<AdjacencyFiles> exportAdjacencyData(final Path workingDir)
     {
@@ -297,6 +306,12 @@ public class StorageManagerProxy extends UsageMarkable.Default implements Storag
         return this.getStorageManager().persistenceManager();
     }
 
+    @Override
+    public <R> CompletableFuture<R> executeStoringAsync(final Supplier<R> storingLogic)
+    {
+        return this.getStorageManager().executeStoringAsync(storingLogic);
+    }
+
     @Override
     public boolean isActive()
     {
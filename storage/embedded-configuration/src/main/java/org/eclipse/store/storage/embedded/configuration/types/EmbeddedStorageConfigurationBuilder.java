@@ -25,6 +25,8 @@ import org.eclipse.serializer.configuration.types.Configuration;
 import org.eclipse.serializer.configuration.types.ConfigurationValueMapperProvider;
 import org.eclipse.serializer.typing.KeyValue;
 import org.eclipse.store.storage.embedded.types.EmbeddedStorageFoundation;
+import org.eclipse.store.storage.types.StorageDataFilePreallocationController;
+import org.eclipse.store.storage.types.StorageDurabilityController;
 import org.eclipse.store.storage.types.StorageEntityCacheEvaluator;
 
 
@@ -270,6 +272,33 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setEntityCacheTimeout(Duration entityCacheTimeout);
 
+	/**
+	 * Enables the frequency-aware entity cache evaluator, which keeps frequently read entities in the cache
+	 * in favor of entities read only once. The value is the number of distinct entities per channel whose
+	 * access frequencies are tracked accurately. Not set by default, meaning the frequency is not taken into account.
+	 * See {@link StorageEntityCacheEvaluator#FrequencyAware(long, long, int)}.
+	 *
+	 * @param entityCacheFrequencyCapacity the new frequency capacity
+	 * @return this
+	 *
+	 * @see #setEntityCacheThreshold(long)
+	 * @see #setEntityCacheTimeout(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setEntityCacheFrequencyCapacity(int entityCacheFrequencyCapacity);
+
+	/**
+	 * Hard bound of the entity cache size per channel. Loading entity data beyond it immediately evicts the
+	 * least recently read cached data of the channel, independent of the regular cache checks.
+	 * Not set by default, meaning the cache size is only controlled by the threshold and the timeout.
+	 * See {@link StorageEntityCacheEvaluator#Bounded(StorageEntityCacheEvaluator, long)}.
+	 *
+	 * @param entityCacheSizeBound the new cache size bound per channel
+	 * @return this
+	 *
+	 * @see #setEntityCacheThreshold(long)
+	 */
+	public EmbeddedStorageConfigurationBuilder setEntityCacheSizeBound(ByteSize entityCacheSizeBound);
+
 	/**
 	 * Minimum file size for a data file to avoid cleaning it up. Default is 1 MiB.
 	 *
@@ -312,6 +341,19 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setDataFileCleanupHeadFile(boolean dataFileCleanupHeadFile);
 
+	/**
+	 * Length by which the head data file is preallocated once its preallocated space is used up, bounded by the
+	 * maximum data file size. Writes then fill the preallocated space instead of appending to the file.
+	 * Not set by default, meaning the head file is appended to.
+	 * See {@link StorageDataFilePreallocationController}.
+	 *
+	 * @param dataFilePreallocationIncrement the new preallocation increment
+	 * @return this
+	 *
+	 * @see #setDataFileMaximumSize(ByteSize)
+	 */
+	public EmbeddedStorageConfigurationBuilder setDataFilePreallocationIncrement(ByteSize dataFilePreallocationIncrement);
+
 	/**
 	 * Maximum file size for a transaction file to avoid cleaning it up. Default is 1 GiB.
 	 *
@@ -320,6 +362,38 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setTransactionFileMaximumSize(ByteSize transactionFileMaximumSize);
 	
+	/**
+	 * Defines when written data is forced to the storage device. Default is
+	 * {@link StorageDurabilityController.Level#FILE_SYSTEM}, leaving it to the file system.
+	 * See {@link StorageDurabilityController.Level} for the guarantees of each level.
+	 *
+	 * @param durability the new durability level
+	 * @return this
+	 *
+	 * @see #setDurabilityGroupingDelay(Duration)
+	 * @see #setDurabilitySyncInterval(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setDurability(StorageDurabilityController.Level durability);
+	
+	/**
+	 * The time a group of concurrent store requests may wait for more requests to join it before it is
+	 * written and synced. Only used for {@link StorageDurabilityController.Level#GROUP_SYNC}.
+	 * Default is 1 ms.
+	 *
+	 * @param durabilityGroupingDelay the new grouping delay
+	 * @return this
+	 */
+	public EmbeddedStorageConfigurationBuilder setDurabilityGroupingDelay(Duration durabilityGroupingDelay);
+	
+	/**
+	 * The interval between two syncs of all written data. Only used for
+	 * {@link StorageDurabilityController.Level#PERIODIC}. Default is 1 second.
+	 *
+	 * @param durabilitySyncInterval the new sync interval
+	 * @return this
+	 */
+	public EmbeddedStorageConfigurationBuilder setDurabilitySyncInterval(Duration durabilitySyncInterval);
+	
 	/**
 	 * Creates an {@link EmbeddedStorageFoundation} based on the settings of this builder.
 	 *
@@ -606,6 +680,22 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(ENTITY_CACHE_TIMEOUT, entityCacheTimeout.toString());
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setEntityCacheFrequencyCapacity(
+			final int entityCacheFrequencyCapacity
+		)
+		{
+			return this.set(ENTITY_CACHE_FREQUENCY_CAPACITY, Integer.toString(entityCacheFrequencyCapacity));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setEntityCacheSizeBound(
+			final ByteSize entityCacheSizeBound
+		)
+		{
+			return this.set(ENTITY_CACHE_SIZE_BOUND, entityCacheSizeBound.toString());
+		}
+
 		@Override
 		public EmbeddedStorageConfigurationBuilder setDataFileMinimumSize(
 			final ByteSize dataFileMinimumSize
@@ -638,6 +728,14 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(DATA_FILE_CLEANUP_HEAD_FILE, Boolean.toString(dataFileCleanupHeadFile));
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDataFilePreallocationIncrement(
+			final ByteSize dataFilePreallocationIncrement
+		)
+		{
+			return this.set(DATA_FILE_PREALLOCATION_INCREMENT, dataFilePreallocationIncrement.toString());
+		}
+
 		@Override
 		public EmbeddedStorageConfigurationBuilder setTransactionFileMaximumSize(
 			final ByteSize transactionFileMaximumSize
@@ -646,6 +744,30 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(TRANSACTION_FILE_MAXIMUM_SIZE, transactionFileMaximumSize.toString());
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDurability(
+			final StorageDurabilityController.Level durability
+		)
+		{
+			return this.set(DURABILITY, durability.name().toLowerCase().replace('_', '-'));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDurabilityGroupingDelay(
+			final Duration durabilityGroupingDelay
+		)
+		{
+			return this.set(DURABILITY_GROUPING_DELAY, durabilityGroupingDelay.toString());
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDurabilitySyncInterval(
+			final Duration durabilitySyncInterval
+		)
+		{
+			return this.set(DURABILITY_SYNC_INTERVAL, durabilitySyncInterval.toString());
+		}
+
 	}
 
 }
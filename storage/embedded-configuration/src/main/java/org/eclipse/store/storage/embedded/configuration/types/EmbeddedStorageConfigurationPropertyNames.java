@@ -15,7 +15,10 @@ package org.eclipse.store.storage.embedded.configuration.types;
  * #L%
  */
 
+import java.time.Duration;
+
 import org.eclipse.serializer.configuration.types.ByteSize;
+import org.eclipse.store.storage.types.StorageDurabilityController;
 
 /**
  * All supported properties for external configuration files.
@@ -132,6 +135,16 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String ENTITY_CACHE_TIMEOUT          = "entity-cache-timeout";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setEntityCacheFrequencyCapacity(int)
+	 */
+	public final static String ENTITY_CACHE_FREQUENCY_CAPACITY = "entity-cache-frequency-capacity";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setEntityCacheSizeBound(ByteSize)
+	 */
+	public final static String ENTITY_CACHE_SIZE_BOUND       = "entity-cache-size-bound";
+
 	/**
 	 * @see EmbeddedStorageConfigurationBuilder#setDataFileMinimumSize(ByteSize)
 	 */
@@ -157,4 +170,24 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String DATA_FILE_CLEANUP_HEAD_FILE   = "data-file-cleanup-head-file";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDataFilePreallocationIncrement(ByteSize)
+	 */
+	public final static String DATA_FILE_PREALLOCATION_INCREMENT = "data-file-preallocation-increment";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDurability(StorageDurabilityController.Level)
+	 */
+	public final static String DURABILITY                    = "durability";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDurabilityGroupingDelay(Duration)
+	 */
+	public final static String DURABILITY_GROUPING_DELAY     = "durability-grouping-delay";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDurabilitySyncInterval(Duration)
+	 */
+	public final static String DURABILITY_SYNC_INTERVAL      = "durability-sync-interval";
+
 }
@@ -33,6 +33,8 @@ import org.eclipse.store.storage.types.Storage;
 import org.eclipse.store.storage.types.StorageChannelCountProvider;
 import org.eclipse.store.storage.types.StorageConfiguration;
 import org.eclipse.store.storage.types.StorageDataFileEvaluator;
+import org.eclipse.store.storage.types.StorageDataFilePreallocationController;
+import org.eclipse.store.storage.types.StorageDurabilityController;
 import org.eclipse.store.storage.types.StorageEntityCacheEvaluator;
 import org.eclipse.store.storage.types.StorageFileNameProvider;
 import org.eclipse.store.storage.types.StorageHousekeepingController;
@@ -125,6 +127,8 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 			;
 
 			foundation.setConfiguration(configBuilder.createConfiguration());
+			foundation.setDurabilityController(this.createDurabilityController());
+			foundation.setDataFilePreallocationController(this.createDataFilePreallocationController());
 			
 			return foundation;
 		}
@@ -261,10 +265,10 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 		{
 			return Storage.DataFileEvaluator(
 				this.configuration.opt(DATA_FILE_MINIMUM_SIZE, ByteSize.class)
-					.map(byteSize -> (int)byteSize.bytes())
+					.map(ByteSize::bytes)
 					.orElse(StorageDataFileEvaluator.Defaults.defaultFileMinimumSize()),
 				this.configuration.opt(DATA_FILE_MAXIMUM_SIZE, ByteSize.class)
-					.map(byteSize -> (int)byteSize.bytes())
+					.map(ByteSize::bytes)
 					.orElse(StorageDataFileEvaluator.Defaults.defaultFileMaximumSize()),
 				this.configuration.optDouble(DATA_FILE_MINIMUM_USE_RATIO)
 					.orElse(StorageDataFileEvaluator.Defaults.defaultMinimumUseRatio()),
@@ -276,15 +280,70 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 			);
 		}
 
+		private StorageDataFilePreallocationController createDataFilePreallocationController()
+		{
+			return this.configuration.opt(DATA_FILE_PREALLOCATION_INCREMENT, ByteSize.class)
+				.map(byteSize -> StorageDataFilePreallocationController.New(byteSize.bytes()))
+				.orElseGet(StorageDataFilePreallocationController::Disabled)
+			;
+		}
+
 		private StorageEntityCacheEvaluator createEntityCacheEvaluator()
 		{
-			return Storage.EntityCacheEvaluator(
-				this.configuration.opt(ENTITY_CACHE_TIMEOUT, Duration.class)
-					.map(Duration::toMillis)
-					.orElse(StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs()),
-				this.configuration.optLong(ENTITY_CACHE_THRESHOLD)
-					.orElse(StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold())
-			);
+			final long timeoutMs = this.configuration.opt(ENTITY_CACHE_TIMEOUT, Duration.class)
+				.map(Duration::toMillis)
+				.orElse(StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs())
+			;
+			final long threshold = this.configuration.optLong(ENTITY_CACHE_THRESHOLD)
+				.orElse(StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold())
+			;
+			
+			final StorageEntityCacheEvaluator evaluator = this.configuration.optInteger(ENTITY_CACHE_FREQUENCY_CAPACITY)
+				.map(frequencyCapacity -> StorageEntityCacheEvaluator.FrequencyAware(
+					timeoutMs,
+					threshold,
+					frequencyCapacity
+				))
+				.orElseGet(() -> Storage.EntityCacheEvaluator(timeoutMs, threshold))
+			;
+			
+			return this.configuration.opt(ENTITY_CACHE_SIZE_BOUND, ByteSize.class)
+				.map(byteSize -> StorageEntityCacheEvaluator.Bounded(evaluator, byteSize.bytes()))
+				.orElse(evaluator)
+			;
+		}
+		
+		private StorageDurabilityController createDurabilityController()
+		{
+			final StorageDurabilityController.Level level = this.configuration.opt(DURABILITY)
+				.map(value -> StorageDurabilityController.Level.valueOf(value.trim().toUpperCase().replace('-', '_')))
+				.orElse(StorageDurabilityController.Level.FILE_SYSTEM)
+			;
+			
+			switch(level)
+			{
+				case GROUP_SYNC:
+				{
+					return StorageDurabilityController.GroupSync(
+						StorageDurabilityController.Defaults.defaultMaximumGroupLength(),
+						this.configuration.opt(DURABILITY_GROUPING_DELAY, Duration.class)
+							.map(Duration::toNanos)
+							.orElse(StorageDurabilityController.Defaults.defaultGroupingDelayNs())
+					);
+				}
+				case PERIODIC:
+				{
+					return StorageDurabilityController.Periodic(
+						this.configuration.opt(DURABILITY_SYNC_INTERVAL, Duration.class)
+							.map(Duration::toMillis)
+							.orElse(StorageDurabilityController.Defaults.defaultSyncIntervalMs())
+					);
+				}
+				default:
+				{
+					return StorageDurabilityController.New(level);
+				}
+			}
 		}
 		
 	}
@@ -20,7 +20,9 @@ import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.eclipse.serializer.afs.types.AFile;
 import org.eclipse.serializer.collections.EqHashTable;
@@ -50,6 +52,7 @@ import org.eclipse.store.storage.types.Database;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
 import org.eclipse.store.storage.types.StorageConfiguration;
 import org.eclipse.store.storage.types.StorageConnection;
+import org.eclipse.store.storage.types.StorageDataChecksumReport;
 import org.eclipse.store.storage.types.StorageEntityCacheEvaluator;
 import org.eclipse.store.storage.types.StorageEntityTypeExportFileProvider;
 import org.eclipse.store.storage.types.StorageEntityTypeExportStatistics;
@@ -215,6 +218,12 @@ public interface EmbeddedStorageManager extends StorageManager
 			return this.singletonConnection().createStorer();
 		}
 		
+		@Override
+		public final <R> CompletableFuture<R> executeStoringAsync(final Supplier<R> storingLogic)
+		{
+			return this.singletonConnection().executeStoringAsync(storingLogic);
+		}
+		
 		@Override
 		public boolean mayRun()
 		{
@@ -555,6 +564,12 @@ public interface EmbeddedStorageManager extends StorageManager
 		{
 			return this.singletonConnection().createStorageStatistics();
 		}
+		
+		@Override
+		public final StorageDataChecksumReport verifyChecksums()
+		{
+			return this.singletonConnection().verifyChecksums();
+		}
 
 		@Override
 		public final void exportChannels(
@@ -14,6 +14,9 @@ package org.eclipse.store.storage.embedded.types;
  * #L%
  */
 
+import static org.eclipse.serializer.math.XMath.positive;
+
+import org.eclipse.serializer.collections.Set_long;
 import org.eclipse.serializer.persistence.types.ObjectIdsProcessor;
 import org.eclipse.serializer.persistence.types.ObjectIdsSelector;
 import org.eclipse.serializer.persistence.types.PersistenceObjectRegistry;
@@ -24,9 +27,46 @@ public interface EmbeddedStorageObjectRegistryCallback extends ObjectIdsSelector
 
 
 
+	/**
+	 * Pseudo-constructor method to create a new {@link EmbeddedStorageObjectRegistryCallback} instance
+	 * using the default live check batch size.
+	 * 
+	 * @return a new {@link EmbeddedStorageObjectRegistryCallback} instance.
+	 * 
+	 * @see #New(int)
+	 */
 	public static EmbeddedStorageObjectRegistryCallback New()
 	{
-		return new EmbeddedStorageObjectRegistryCallback.Default();
+		return New(Defaults.defaultLiveCheckBatchSize());
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link EmbeddedStorageObjectRegistryCallback} instance.
+	 * <p>
+	 * The sweep candidates of a garbage collection sweep are checked for being still alive in the application
+	 * in batches of the passed size. The object registry is only locked for checking one batch at a time,
+	 * so application threads are never blocked for the whole check.
+	 * 
+	 * @param liveCheckBatchSize the number of object ids checked per object registry lock.
+	 * 
+	 * @return a new {@link EmbeddedStorageObjectRegistryCallback} instance.
+	 */
+	public static EmbeddedStorageObjectRegistryCallback New(final int liveCheckBatchSize)
+	{
+		return new EmbeddedStorageObjectRegistryCallback.Default(
+			positive(liveCheckBatchSize)
+		);
+	}
+	
+	
+	
+	public interface Defaults
+	{
+		public static int defaultLiveCheckBatchSize()
+		{
+			// small enough to keep lock times in the sub-millisecond range for usual object registries.
+			return 10_000;
+		}
 	}
 
 	public final class Default implements EmbeddedStorageObjectRegistryCallback
@@ -35,6 +75,8 @@ public interface EmbeddedStorageObjectRegistryCallback extends ObjectIdsSelector
 		// instance fields //
 		////////////////////
 
+		private final int liveCheckBatchSize;
+		
 		private PersistenceObjectRegistry objectRegistry;
 
 
@@ -43,9 +85,10 @@ public interface EmbeddedStorageObjectRegistryCallback extends ObjectIdsSelector
 		// constructors //
 		/////////////////
 
-		Default()
+		Default(final int liveCheckBatchSize)
 		{
 			super();
+			this.liveCheckBatchSize = liveCheckBatchSize;
 		}
 
 
@@ -71,18 +114,74 @@ public interface EmbeddedStorageObjectRegistryCallback extends ObjectIdsSelector
 			this.objectRegistry = objectRegistry;
 		}
 
+		private synchronized PersistenceObjectRegistry objectRegistry()
+		{
+			return this.objectRegistry;
+		}
+
 		@Override
-		public synchronized boolean processSelected(final ObjectIdsProcessor processor)
+		public boolean processSelected(final ObjectIdsProcessor processor)
 		{
-			if(this.objectRegistry == null)
+			final PersistenceObjectRegistry objectRegistry = this.objectRegistry();
+			if(objectRegistry == null)
 			{
 				// object registry not yet initialized (i.e. no application-side storage connection yet)
 				processor.processObjectIdsByFilter(objectId -> false);
 				return true;
 			}
-
-			// efficient for embedded mode, but server mode should use #selectLiveObjectIds instead.
-			return this.objectRegistry.processLiveObjectIds(processor);
+			
+			/*
+			 * Instead of processing the whole sweep while holding the object registry's lock, only the
+			 * sweep candidates are checked for liveness, batch by batch, and the sweep works on that result.
+			 * Entities can only become reachable in the application by loading or storing them, both of which
+			 * require the sweeping channel and are therefore not processed before the sweep is complete.
+			 */
+			final Set_long liveObjectIds = this.selectLiveObjectIds(objectRegistry, processor.provideObjectIdsBaseSet());
+			processor.processObjectIdsByFilter(liveObjectIds::contains);
+			
+			return true;
+		}
+		
+		private Set_long selectLiveObjectIds(
+			final PersistenceObjectRegistry objectRegistry  ,
+			final Set_long                  candidateObjectIds
+		)
+		{
+			final Set_long liveObjectIds = Set_long.New();
+			if(candidateObjectIds.size() == 0)
+			{
+				// nothing to check means no need to lock the object registry at all.
+				return liveObjectIds;
+			}
+			
+			final Set_long[] batch = {Set_long.New(this.liveCheckBatchSize)};
+			candidateObjectIds.iterate(objectId ->
+			{
+				batch[0].add(objectId);
+				if(batch[0].size() >= this.liveCheckBatchSize)
+				{
+					addLiveObjectIds(objectRegistry, batch[0], liveObjectIds);
+					batch[0] = Set_long.New(this.liveCheckBatchSize);
+				}
+			});
+			addLiveObjectIds(objectRegistry, batch[0], liveObjectIds);
+			
+			return liveObjectIds;
+		}
+		
+		private static void addLiveObjectIds(
+			final PersistenceObjectRegistry objectRegistry,
+			final Set_long                  batch         ,
+			final Set_long                  liveObjectIds
+		)
+		{
+			if(batch.size() == 0)
+			{
+				return;
+			}
+			
+			// every call locks the object registry only for the given batch.
+			objectRegistry.selectLiveObjectIds(batch).iterate(liveObjectIds::add);
 		}
 
 	}
@@ -0,0 +1,143 @@
+package org.eclipse.store.storage.embedded.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage Embedded
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.store.storage.types.StorageDataFilePreallocationController;
+import org.eclipse.store.storage.types.StorageFileNameProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmbeddedStoragePreallocationTest
+{
+	private static final long PREALLOCATION_INCREMENT = 1024 * 1024;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void trimPreallocatedSpaceOnShutdown() throws IOException
+	{
+		final Path storageDirectory = this.directory.resolve("storage");
+
+		final EmbeddedStorageManager storage = start(storageDirectory, newRoot());
+		try
+		{
+			Assertions.assertEquals(PREALLOCATION_INCREMENT, Files.size(headFile(storageDirectory)));
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		Assertions.assertTrue(Files.size(headFile(storageDirectory)) < PREALLOCATION_INCREMENT);
+	}
+
+	@Test
+	void trimPreallocatedSpaceOnStartupAfterCrash() throws IOException
+	{
+		final Path         storageDirectory = this.directory.resolve("storage");
+		final Path         crashDirectory   = this.directory.resolve("crash");
+		final List<String> root             = newRoot();
+
+		final EmbeddedStorageManager storage = start(storageDirectory, root);
+		try
+		{
+			// the files of a running storage are what a crash leaves behind, including the preallocated space.
+			copyFiles(storageDirectory, crashDirectory);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		Assertions.assertEquals(PREALLOCATION_INCREMENT, Files.size(headFile(crashDirectory)));
+
+		final EmbeddedStorageManager recovered = start(crashDirectory, null);
+		try
+		{
+			Assertions.assertEquals(root, recovered.root());
+			Assertions.assertTrue(Files.size(headFile(crashDirectory)) < PREALLOCATION_INCREMENT);
+
+			// the trimmed file must be written to consistently afterwards.
+			root.add("d");
+			recovered.setRoot(root);
+			recovered.storeRoot();
+		}
+		finally
+		{
+			recovered.shutdown();
+		}
+
+		final EmbeddedStorageManager restarted = start(crashDirectory, null);
+		try
+		{
+			Assertions.assertEquals(root, restarted.root());
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+
+	private static List<String> newRoot()
+	{
+		return new ArrayList<>(Arrays.asList("a", "b", "c"));
+	}
+
+	private static EmbeddedStorageManager start(final Path storageDirectory, final Object root)
+	{
+		return EmbeddedStorage.Foundation(storageDirectory)
+			.setDataFilePreallocationController(StorageDataFilePreallocationController.New(PREALLOCATION_INCREMENT))
+			.start(root)
+		;
+	}
+
+	private static Path headFile(final Path storageDirectory)
+	{
+		// the single channel's first data file in the default directory layout.
+		return storageDirectory.resolve("channel_0").resolve(
+			"channel_0_1." + StorageFileNameProvider.Defaults.defaultDataFileSuffix()
+		);
+	}
+
+	private static void copyFiles(final Path source, final Path target) throws IOException
+	{
+		try(Stream<Path> paths = Files.walk(source))
+		{
+			for(final Path path : (Iterable<Path>)paths::iterator)
+			{
+				final Path targetPath = target.resolve(source.relativize(path).toString());
+				if(Files.isDirectory(path))
+				{
+					Files.createDirectories(targetPath);
+				}
+				// the lock file is held by the running storage, a crashed one would release it eventually.
+				else if(!path.getFileName().toString().equals(StorageFileNameProvider.Defaults.defaultLockFileName()))
+				{
+					Files.copy(path, targetPath);
+				}
+			}
+		}
+	}
+
+}
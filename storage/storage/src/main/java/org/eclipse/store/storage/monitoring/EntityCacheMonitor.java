@@ -61,6 +61,30 @@ public class EntityCacheMonitor implements EntityCacheMonitorMBean, MetricMonito
 		return this.storageEntityCache.get().cacheSize();
 	}
 
+	@Override
+	public double getCompressionRatio()
+	{
+		final StorageEntityCache.Default entityCache = this.storageEntityCache.get();
+		final long uncompressedLength = entityCache.cacheUncompressedLength();
+		
+		return uncompressedLength == 0
+			? 1.0
+			: (double)entityCache.cacheCompressedLength() / uncompressedLength
+		;
+	}
+
+	@Override
+	public long getCompressionTime()
+	{
+		return this.storageEntityCache.get().cacheCompressionTimeNs();
+	}
+
+	@Override
+	public long getDecompressionTime()
+	{
+		return this.storageEntityCache.get().cacheDecompressionTimeNs();
+	}
+
 	@Override
 	public String getName()
 	{
@@ -63,4 +63,28 @@ public interface EntityCacheMonitorMBean
 	 */
 	@MonitorDescription("The used cache size in bytes.")
 	public long getUsedCacheSize();
+
+	/**
+	 * Get the ratio of the compressed length to the uncompressed length of all compressed cache data.
+	 * 
+	 * @return the compression ratio, 1.0 if nothing has been compressed.
+	 */
+	@MonitorDescription("The ratio of compressed to uncompressed length of all compressed cache data.")
+	public double getCompressionRatio();
+
+	/**
+	 * Get the total time spent compressing cache data.
+	 * 
+	 * @return the compression time in ns.
+	 */
+	@MonitorDescription("The total time spent compressing cache data in ns.")
+	public long getCompressionTime();
+
+	/**
+	 * Get the total time spent decompressing cache data.
+	 * 
+	 * @return the decompression time in ns.
+	 */
+	@MonitorDescription("The total time spent decompressing cache data in ns.")
+	public long getDecompressionTime();
 }
@@ -0,0 +1,68 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MetricMonitor;
+
+public class StorageChannelFileCleanupMonitor implements StorageChannelFileCleanupMonitorMBean, MetricMonitor
+{
+	private final int channelIndex;
+	
+	private long storedDataLength     ;
+	private long transferredDataLength;
+	
+
+	public StorageChannelFileCleanupMonitor(final int channelIndex)
+	{
+		this.channelIndex = channelIndex;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "channel=channel-"
+				+ this.channelIndex
+				+ ",group=file cleanup";
+	}
+	
+	public void setDataLengths(final long storedDataLength, final long transferredDataLength)
+	{
+		this.storedDataLength      = storedDataLength     ;
+		this.transferredDataLength = transferredDataLength;
+	}
+	
+	@Override
+	public long getStoredDataLength()
+	{
+		return this.storedDataLength;
+	}
+	
+	@Override
+	public long getTransferredDataLength()
+	{
+		return this.transferredDataLength;
+	}
+	
+	@Override
+	public double getWriteAmplification()
+	{
+		return this.storedDataLength == 0
+			? 1.0
+			: (double)(this.storedDataLength + this.transferredDataLength) / this.storedDataLength
+		;
+	}
+
+}
@@ -0,0 +1,54 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MonitorDescription;
+import org.eclipse.store.storage.types.StorageChannel;
+
+/**
+ * JMX MBean definition that provides monitoring and metrics of
+ * the data written by a {@link StorageChannel} and the share of it caused by file cleanup.
+ */
+@MonitorDescription("Provides monitoring and metrics data of the file cleanup of a storage channel.")
+public interface StorageChannelFileCleanupMonitorMBean
+{
+	/**
+	 * Get the total length in bytes of entity data stored or imported since the channel was started.
+	 * 
+	 * @return Total length of stored entity data.
+	 */
+	@MonitorDescription("Total length in bytes of entity data stored or imported since the channel was started.")
+	long getStoredDataLength();
+	
+	/**
+	 * Get the total length in bytes of entity data copied to the head file by dissolving data files
+	 * since the channel was started.
+	 * 
+	 * @return Total length of entity data copied by file cleanup.
+	 */
+	@MonitorDescription("Total length in bytes of entity data copied by file cleanup since the channel was started.")
+	long getTransferredDataLength();
+	
+	/**
+	 * Get the ratio of all written entity data to the stored entity data. A value of 1.0 means that
+	 * file cleanup has not copied any data.
+	 * 
+	 * @return The write amplification caused by file cleanup.
+	 */
+	@MonitorDescription("Ratio of all written entity data to the stored entity data, 1.0 meaning no cleanup copying.")
+	double getWriteAmplification();
+	
+}
@@ -0,0 +1,67 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MetricMonitor;
+
+public class StorageChannelFileHandleMonitor implements StorageChannelFileHandleMonitorMBean, MetricMonitor
+{
+	private final int channelIndex;
+	
+	private long hitCount     ;
+	private long missCount    ;
+	private int  openFileCount;
+	
+
+	public StorageChannelFileHandleMonitor(final int channelIndex)
+	{
+		this.channelIndex = channelIndex;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "channel=channel-"
+				+ this.channelIndex
+				+ ",group=file handles";
+	}
+	
+	public void setFileHandleStatistics(final long hitCount, final long missCount, final int openFileCount)
+	{
+		this.hitCount      = hitCount     ;
+		this.missCount     = missCount    ;
+		this.openFileCount = openFileCount;
+	}
+	
+	@Override
+	public long getHitCount()
+	{
+		return this.hitCount;
+	}
+	
+	@Override
+	public long getMissCount()
+	{
+		return this.missCount;
+	}
+	
+	@Override
+	public int getOpenFileCount()
+	{
+		return this.openFileCount;
+	}
+
+}
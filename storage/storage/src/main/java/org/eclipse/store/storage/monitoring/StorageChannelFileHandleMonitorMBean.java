@@ -0,0 +1,52 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MonitorDescription;
+import org.eclipse.store.storage.types.StorageChannel;
+
+/**
+ * JMX MBean definition that provides monitoring and metrics of
+ * the pool of open data files of a {@link StorageChannel}.
+ */
+@MonitorDescription("Provides monitoring and metrics data of the open data files of a storage channel.")
+public interface StorageChannelFileHandleMonitorMBean
+{
+	/**
+	 * Get the total number of data file uses that found the file still open.
+	 * 
+	 * @return Total number of file handle pool hits.
+	 */
+	@MonitorDescription("Total number of data file uses that found the file still open.")
+	long getHitCount();
+	
+	/**
+	 * Get the total number of data file uses that had to reopen the file.
+	 * 
+	 * @return Total number of file handle pool misses.
+	 */
+	@MonitorDescription("Total number of data file uses that had to reopen the file.")
+	long getMissCount();
+	
+	/**
+	 * Get the number of currently open data files, excluding the head file.
+	 * 
+	 * @return Number of open data files.
+	 */
+	@MonitorDescription("Number of currently open data files, excluding the head file.")
+	int getOpenFileCount();
+	
+}
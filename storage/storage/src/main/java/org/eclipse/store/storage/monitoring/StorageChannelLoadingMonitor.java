@@ -0,0 +1,90 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import org.eclipse.serializer.monitoring.MetricMonitor;
+
+public class StorageChannelLoadingMonitor implements StorageChannelLoadingMonitorMBean, MetricMonitor
+{
+	private final int channelIndex;
+	
+	private long lastLoadEntityCount     ;
+	private long lastLoadReadEntityCount ;
+	private long lastLoadReadCount       ;
+	private long totalLoadEntityCount    ;
+	private long totalLoadReadEntityCount;
+	private long totalLoadReadCount      ;
+	
+
+	public StorageChannelLoadingMonitor(final int channelIndex)
+	{
+		this.channelIndex = channelIndex;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "channel=channel-"
+				+ this.channelIndex
+				+ ",group=loading";
+	}
+	
+	public void setLoadResult(final long entityCount, final long readEntityCount, final long readCount)
+	{
+		this.lastLoadEntityCount       = entityCount    ;
+		this.lastLoadReadEntityCount   = readEntityCount;
+		this.lastLoadReadCount         = readCount      ;
+		this.totalLoadEntityCount     += entityCount    ;
+		this.totalLoadReadEntityCount += readEntityCount;
+		this.totalLoadReadCount       += readCount      ;
+	}
+	
+	@Override
+	public long getLastLoadEntityCount()
+	{
+		return this.lastLoadEntityCount;
+	}
+	
+	@Override
+	public long getLastLoadReadEntityCount()
+	{
+		return this.lastLoadReadEntityCount;
+	}
+	
+	@Override
+	public long getLastLoadReadCount()
+	{
+		return this.lastLoadReadCount;
+	}
+	
+	@Override
+	public long getTotalLoadEntityCount()
+	{
+		return this.totalLoadEntityCount;
+	}
+	
+	@Override
+	public long getTotalLoadReadEntityCount()
+	{
+		return this.totalLoadReadEntityCount;
+	}
+	
+	@Override
+	public long getTotalLoadReadCount()
+	{
+		return this.totalLoadReadCount;
+	}
+
+}
@@ -0,0 +1,75 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import org.eclipse.serializer.monitoring.MonitorDescription;
+import org.eclipse.store.storage.types.StorageChannel;
+
+/**
+ * JMX MBean definition that provides monitoring and metrics of
+ * the loading of entity data by a {@link StorageChannel}.
+ */
+@MonitorDescription("Provides monitoring and metrics data of the entity loading of a storage channel.")
+public interface StorageChannelLoadingMonitorMBean
+{
+	/**
+	 * Get the number of entities requested by the last load.
+	 * 
+	 * @return Number of entities requested by the last load.
+	 */
+	@MonitorDescription("Number of entities requested by the last load.")
+	long getLastLoadEntityCount();
+	
+	/**
+	 * Get the number of entities whose data had to be read from the data files by the last load.
+	 * 
+	 * @return Number of entities read from the data files by the last load.
+	 */
+	@MonitorDescription("Number of entities whose data had to be read from the data files by the last load.")
+	long getLastLoadReadEntityCount();
+	
+	/**
+	 * Get the number of file reads issued by the last load.
+	 * 
+	 * @return Number of file reads issued by the last load.
+	 */
+	@MonitorDescription("Number of file reads issued by the last load.")
+	long getLastLoadReadCount();
+	
+	/**
+	 * Get the total number of entities requested by all loads.
+	 * 
+	 * @return Total number of entities requested by all loads.
+	 */
+	@MonitorDescription("Total number of entities requested by all loads.")
+	long getTotalLoadEntityCount();
+	
+	/**
+	 * Get the total number of entities whose data had to be read from the data files by all loads.
+	 * 
+	 * @return Total number of entities read from the data files by all loads.
+	 */
+	@MonitorDescription("Total number of entities whose data had to be read from the data files by all loads.")
+	long getTotalLoadReadEntityCount();
+	
+	/**
+	 * Get the total number of file reads issued by all loads.
+	 * 
+	 * @return Total number of file reads issued by all loads.
+	 */
+	@MonitorDescription("Total number of file reads issued by all loads.")
+	long getTotalLoadReadCount();
+	
+}
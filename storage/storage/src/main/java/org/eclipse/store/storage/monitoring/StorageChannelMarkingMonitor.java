@@ -0,0 +1,88 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import org.eclipse.serializer.monitoring.MetricMonitor;
+
+public class StorageChannelMarkingMonitor implements StorageChannelMarkingMonitorMBean, MetricMonitor
+{
+	private final int channelIndex;
+	
+	private long lastMarkedObjectCount ;
+	private long lastMarkingTimeNs     ;
+	private long totalMarkedObjectCount;
+	private long totalMarkingTimeNs    ;
+	
+
+	public StorageChannelMarkingMonitor(final int channelIndex)
+	{
+		this.channelIndex = channelIndex;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "channel=channel-"
+				+ this.channelIndex
+				+ ",group=marking";
+	}
+	
+	public void setMarkingResult(final long markedObjectCount, final long markingTimeNs)
+	{
+		this.lastMarkedObjectCount   = markedObjectCount;
+		this.lastMarkingTimeNs       = markingTimeNs    ;
+		this.totalMarkedObjectCount += markedObjectCount;
+		this.totalMarkingTimeNs     += markingTimeNs    ;
+	}
+	
+	private static long throughput(final long objectCount, final long timeNs)
+	{
+		return timeNs == 0
+			? 0
+			: (long)(objectCount * 1_000_000_000.0 / timeNs)
+		;
+	}
+	
+	@Override
+	public long getLastMarkedObjectCount()
+	{
+		return this.lastMarkedObjectCount;
+	}
+	
+	@Override
+	public long getLastMarkingThroughput()
+	{
+		return throughput(this.lastMarkedObjectCount, this.lastMarkingTimeNs);
+	}
+	
+	@Override
+	public long getTotalMarkedObjectCount()
+	{
+		return this.totalMarkedObjectCount;
+	}
+	
+	@Override
+	public long getTotalMarkingTimeNs()
+	{
+		return this.totalMarkingTimeNs;
+	}
+	
+	@Override
+	public long getTotalMarkingThroughput()
+	{
+		return throughput(this.totalMarkedObjectCount, this.totalMarkingTimeNs);
+	}
+
+}
@@ -0,0 +1,67 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import org.eclipse.serializer.monitoring.MonitorDescription;
+import org.eclipse.store.storage.types.StorageChannel;
+
+/**
+ * JMX MBean definition that provides monitoring and metrics of
+ * the garbage collection marking performed by a {@link StorageChannel}.
+ */
+@MonitorDescription("Provides monitoring and metrics data of the garbage collection marking of a storage channel.")
+public interface StorageChannelMarkingMonitorMBean
+{
+	/**
+	 * Get the number of object ids marked by the last incremental garbage collection.
+	 * 
+	 * @return Number of object ids marked by the last incremental garbage collection.
+	 */
+	@MonitorDescription("Number of object ids marked by the last incremental garbage collection.")
+	long getLastMarkedObjectCount();
+	
+	/**
+	 * Get the marking throughput of the last incremental garbage collection in object ids per second.
+	 * 
+	 * @return Marking throughput of the last incremental garbage collection in object ids per second.
+	 */
+	@MonitorDescription("Marking throughput of the last incremental garbage collection in object ids per second.")
+	long getLastMarkingThroughput();
+	
+	/**
+	 * Get the total number of object ids marked by all incremental garbage collections.
+	 * 
+	 * @return Total number of object ids marked by all incremental garbage collections.
+	 */
+	@MonitorDescription("Total number of object ids marked by all incremental garbage collections.")
+	long getTotalMarkedObjectCount();
+	
+	/**
+	 * Get the total time in nanoseconds spent marking by all incremental garbage collections.
+	 * 
+	 * @return Total time in nanoseconds spent marking.
+	 */
+	@MonitorDescription("Total time in nanoseconds spent marking by all incremental garbage collections.")
+	long getTotalMarkingTimeNs();
+	
+	/**
+	 * Get the marking throughput of all incremental garbage collections in object ids per second.
+	 * 
+	 * @return Total marking throughput in object ids per second.
+	 */
+	@MonitorDescription("Marking throughput of all incremental garbage collections in object ids per second.")
+	long getTotalMarkingThroughput();
+	
+}
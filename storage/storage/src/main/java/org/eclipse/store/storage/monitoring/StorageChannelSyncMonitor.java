@@ -0,0 +1,75 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import org.eclipse.serializer.monitoring.MetricMonitor;
+
+public class StorageChannelSyncMonitor implements StorageChannelSyncMonitorMBean, MetricMonitor
+{
+	private final int channelIndex;
+	
+	private long syncCount        ;
+	private long totalSyncTimeNs  ;
+	private long maximumSyncTimeNs;
+	
+
+	public StorageChannelSyncMonitor(final int channelIndex)
+	{
+		this.channelIndex = channelIndex;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "channel=channel-"
+				+ this.channelIndex
+				+ ",group=durability";
+	}
+	
+	public void setSyncStatistics(final long syncCount, final long totalSyncTimeNs, final long maximumSyncTimeNs)
+	{
+		this.syncCount         = syncCount        ;
+		this.totalSyncTimeNs   = totalSyncTimeNs  ;
+		this.maximumSyncTimeNs = maximumSyncTimeNs;
+	}
+	
+	@Override
+	public long getSyncCount()
+	{
+		return this.syncCount;
+	}
+	
+	@Override
+	public long getTotalSyncTimeNs()
+	{
+		return this.totalSyncTimeNs;
+	}
+	
+	@Override
+	public long getAverageSyncTimeNs()
+	{
+		return this.syncCount == 0
+			? 0
+			: this.totalSyncTimeNs / this.syncCount
+		;
+	}
+	
+	@Override
+	public long getMaximumSyncTimeNs()
+	{
+		return this.maximumSyncTimeNs;
+	}
+
+}
@@ -0,0 +1,60 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MonitorDescription;
+import org.eclipse.store.storage.types.StorageChannel;
+
+/**
+ * JMX MBean definition that provides monitoring and metrics of
+ * the forcing of written data to the storage device by a {@link StorageChannel}.
+ */
+@MonitorDescription("Provides monitoring and metrics data of the syncs (fsync) of a storage channel.")
+public interface StorageChannelSyncMonitorMBean
+{
+	/**
+	 * Get the total number of files forced to the storage device.
+	 * 
+	 * @return Total number of syncs.
+	 */
+	@MonitorDescription("Total number of files forced to the storage device.")
+	long getSyncCount();
+	
+	/**
+	 * Get the total time spent forcing files to the storage device.
+	 * 
+	 * @return Total sync time in nanoseconds.
+	 */
+	@MonitorDescription("Total time spent forcing files to the storage device in nanoseconds.")
+	long getTotalSyncTimeNs();
+	
+	/**
+	 * Get the average time of a single sync.
+	 * 
+	 * @return Average sync time in nanoseconds.
+	 */
+	@MonitorDescription("Average time of a single sync in nanoseconds.")
+	long getAverageSyncTimeNs();
+	
+	/**
+	 * Get the longest time of a single sync.
+	 * 
+	 * @return Maximum sync time in nanoseconds.
+	 */
+	@MonitorDescription("Longest time of a single sync in nanoseconds.")
+	long getMaximumSyncTimeNs();
+	
+}
@@ -0,0 +1,60 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MetricMonitor;
+import org.eclipse.store.storage.types.StorageIoRateController;
+
+public class StorageIoRateMonitor implements StorageIoRateMonitorMBean, MetricMonitor
+{
+	private final StorageIoRateController ioRateController;
+
+	public StorageIoRateMonitor(final StorageIoRateController ioRateController)
+	{
+		this.ioRateController = ioRateController;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "name=IoRate";
+	}
+	
+	@Override
+	public long getHousekeepingThrottledLength()
+	{
+		return this.ioRateController.housekeepingRateLimiter().throttledLength();
+	}
+	
+	@Override
+	public long getHousekeepingThrottledTimeNs()
+	{
+		return this.ioRateController.housekeepingRateLimiter().throttledTimeNs();
+	}
+	
+	@Override
+	public long getBackupThrottledLength()
+	{
+		return this.ioRateController.backupRateLimiter().throttledLength();
+	}
+	
+	@Override
+	public long getBackupThrottledTimeNs()
+	{
+		return this.ioRateController.backupRateLimiter().throttledTimeNs();
+	}
+
+}
@@ -0,0 +1,60 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MonitorDescription;
+import org.eclipse.store.storage.types.StorageIoRateController;
+
+/**
+ * JMX MBean definition that provides monitoring and metrics of
+ * the I/O rate limiting of a storage, see {@link StorageIoRateController}.
+ */
+@MonitorDescription("Provides monitoring and metrics data of the I/O rate limiting of file cleanup and backup.")
+public interface StorageIoRateMonitorMBean
+{
+	/**
+	 * Get the total number of bytes transferred by the file cleanup beyond its rate limit.
+	 * 
+	 * @return Total number of throttled file cleanup bytes.
+	 */
+	@MonitorDescription("Total number of bytes transferred by the file cleanup beyond its rate limit.")
+	long getHousekeepingThrottledLength();
+	
+	/**
+	 * Get the total time in nanoseconds the file cleanup was deferred by its rate limit.
+	 * 
+	 * @return Total throttling time of the file cleanup in nanoseconds.
+	 */
+	@MonitorDescription("Total time in nanoseconds the file cleanup was deferred by its rate limit.")
+	long getHousekeepingThrottledTimeNs();
+	
+	/**
+	 * Get the total number of bytes copied by the backup beyond its rate limit.
+	 * 
+	 * @return Total number of throttled backup bytes.
+	 */
+	@MonitorDescription("Total number of bytes copied by the backup beyond its rate limit.")
+	long getBackupThrottledLength();
+	
+	/**
+	 * Get the total time in nanoseconds the backup waited for its rate limit.
+	 * 
+	 * @return Total throttling time of the backup in nanoseconds.
+	 */
+	@MonitorDescription("Total time in nanoseconds the backup waited for its rate limit.")
+	long getBackupThrottledTimeNs();
+	
+}
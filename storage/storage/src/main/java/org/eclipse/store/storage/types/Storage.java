@@ -412,8 +412,8 @@ public final class Storage
 	 * 
 	 * @return a new {@link StorageDataFileEvaluator} instance.
 	 *
-	 * @see Storage#DataFileEvaluator(int, int)
-	 * @see Storage#DataFileEvaluator(int, int, double)
+	 * @see Storage#DataFileEvaluator(long, long)
+	 * @see Storage#DataFileEvaluator(long, long, double)
 	 * @see StorageDataFileEvaluator#New()
 	 */
 	public static final StorageDataFileEvaluator DataFileEvaluator()
@@ -424,7 +424,7 @@ public final class Storage
 	/**
 	 * Creates a new {@link StorageDataFileEvaluator}.
 	 * <p>
-	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(int, int)}.
+	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(long, long)}.
 	 * 
 	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
 	 *        will be dissolved.
@@ -438,12 +438,12 @@ public final class Storage
 	 * @return a new {@link StorageDataFileEvaluator} instance.
 	 *
 	 * @see Storage#DataFileEvaluator()
-	 * @see Storage#DataFileEvaluator(int, int, double)
-	 * @see StorageDataFileEvaluator#New(int, int)
+	 * @see Storage#DataFileEvaluator(long, long, double)
+	 * @see StorageDataFileEvaluator#New(long, long)
 	 */
 	public static final StorageDataFileEvaluator DataFileEvaluator(
-		final int fileMinimumSize,
-		final int fileMaximumSize
+		final long fileMinimumSize,
+		final long fileMaximumSize
 	)
 	{
 		return StorageDataFileEvaluator.New(fileMinimumSize, fileMaximumSize);
@@ -452,7 +452,7 @@ public final class Storage
 	/**
 	 * Creates a new {@link StorageDataFileEvaluator}.
 	 * <p>
-	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(int, int, double)}.
+	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(long, long, double)}.
 	 * 
 	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
 	 *        will be dissolved.
@@ -473,12 +473,12 @@ public final class Storage
 	 * @return a new {@link StorageDataFileEvaluator} instance.
 	 *
 	 * @see Storage#DataFileEvaluator()
-	 * @see Storage#DataFileEvaluator(int, int)
-	 * @see StorageDataFileEvaluator#New(int, int, double)
+	 * @see Storage#DataFileEvaluator(long, long)
+	 * @see StorageDataFileEvaluator#New(long, long, double)
 	 */
 	public static final StorageDataFileEvaluator DataFileEvaluator(
-		final int    fileMinimumSize,
-		final int    fileMaximumSize,
+		final long   fileMinimumSize,
+		final long   fileMaximumSize,
 		final double minimumUseRatio
 	)
 	{
@@ -488,7 +488,7 @@ public final class Storage
 	/**
 	 * Creates a new {@link StorageDataFileEvaluator}.
 	 * <p>
-	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(int, int, double, boolean)}.
+	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(long, long, double, boolean)}.
 	 * 
 	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
 	 *        will be dissolved.
@@ -512,13 +512,13 @@ public final class Storage
 	 * @return a new {@link StorageDataFileEvaluator} instance.
 	 *
 	 * @see Storage#DataFileEvaluator()
-	 * @see Storage#DataFileEvaluator(int, int)
-	 * @see Storage#DataFileEvaluator(int, int, double)
-	 * @see StorageDataFileEvaluator#New(int, int, double, boolean)
+	 * @see Storage#DataFileEvaluator(long, long)
+	 * @see Storage#DataFileEvaluator(long, long, double)
+	 * @see StorageDataFileEvaluator#New(long, long, double, boolean)
 	 */
 	public static final StorageDataFileEvaluator DataFileEvaluator(
-		final int     fileMinimumSize,
-		final int     fileMaximumSize,
+		final long    fileMinimumSize,
+		final long    fileMaximumSize,
 		final double  minimumUseRatio,
 		final boolean cleanUpHeadFile
 	)
@@ -529,7 +529,7 @@ public final class Storage
 	/**
 	 * Creates a new {@link StorageDataFileEvaluator}.
 	 * <p>
-	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(int, int, double, boolean)}.
+	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(long, long, double, boolean)}.
 	 * 
 	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
 	 *        will be dissolved.
@@ -558,13 +558,13 @@ public final class Storage
 	 * @return a new {@link StorageDataFileEvaluator} instance.
 	 *
 	 * @see Storage#DataFileEvaluator()
-	 * @see Storage#DataFileEvaluator(int, int)
-	 * @see Storage#DataFileEvaluator(int, int, double)
-	 * @see StorageDataFileEvaluator#New(int, int, double, boolean)
+	 * @see Storage#DataFileEvaluator(long, long)
+	 * @see Storage#DataFileEvaluator(long, long, double)
+	 * @see StorageDataFileEvaluator#New(long, long, double, boolean)
 	 */
 	public static final StorageDataFileEvaluator DataFileEvaluator(
-		final int     fileMinimumSize,
-		final int     fileMaximumSize,
+		final long    fileMinimumSize,
+		final long    fileMaximumSize,
 		final double  minimumUseRatio,
 		final boolean cleanUpHeadFile,
 		final int     transactionFileMaximumSize
@@ -79,7 +79,8 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		final StorageOperationController       operationController,
 		final StorageWriteController           writeController    ,
 		final StorageDataFileValidator.Creator validatorCreator   ,
-		final StorageTypeDictionary            typeDictionary
+		final StorageTypeDictionary            typeDictionary     ,
+		final StorageIoRateLimiter             rateLimiter
 	)
 	{
 		final StorageBackupFileProvider backupFileProvider = backupSetup.backupFileProvider();
@@ -96,7 +97,8 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			notNull(operationController),
 			notNull(writeController)    ,
 			notNull(validatorCreator)   ,
-			notNull(typeDictionary)
+			notNull(typeDictionary)     ,
+			notNull(rateLimiter)
 		);
 	}
 	
@@ -116,6 +118,7 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		private final StorageDataFileValidator.Creator  validatorCreator      ;
 		private final StorageTypeDictionary             typeDictionary        ;
 		private final PersistenceTypeDictionaryExporter typeDictionaryExporter;
+		private final StorageIoRateLimiter              rateLimiter           ;
 		
 		private boolean running; // being "ordered" to run.
 		private boolean active ; // being actually active, e.g. executing the last loop before running check.
@@ -134,7 +137,8 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			final StorageOperationController       operationController,
 			final StorageWriteController           writeController    ,
 			final StorageDataFileValidator.Creator validatorCreator   ,
-			final StorageTypeDictionary            typeDictionary
+			final StorageTypeDictionary            typeDictionary     ,
+			final StorageIoRateLimiter             rateLimiter
 		)
 		{
 			super();
@@ -145,6 +149,7 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			this.writeController        = writeController    ;
 			this.validatorCreator       = validatorCreator   ;
 			this.typeDictionary         = typeDictionary     ;
+			this.rateLimiter            = rateLimiter        ;
 
 			this.typeDictionaryExporter = PersistenceTypeDictionaryExporter.New(this);
 		}
@@ -580,6 +585,9 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 				backupTargetFile.file().toPathString()
 			);
 			
+			// the backup runs in a thread of its own, so it can simply wait for the rate limit
+			this.rateLimiter.acquire(copyLength);
+			
 			this.copyFilePart(sourceFile, sourcePosition, copyLength, backupTargetFile);
 		}
 
@@ -30,7 +30,8 @@ public interface StorageBackupSetup
 		StorageOperationController       operationController           ,
 		StorageWriteController           writeController               ,
 		StorageDataFileValidator.Creator backupDataFileValidatorCreator,
-		StorageTypeDictionary            storageTypeDictionary
+		StorageTypeDictionary            storageTypeDictionary         ,
+		StorageIoRateLimiter             backupRateLimiter
 	);
 	
 
@@ -131,7 +132,8 @@ public interface StorageBackupSetup
 			final StorageOperationController       operationController,
 			final StorageWriteController           writeController    ,
 			final StorageDataFileValidator.Creator validatorCreator   ,
-			final StorageTypeDictionary            typeDictionary
+			final StorageTypeDictionary            typeDictionary     ,
+			final StorageIoRateLimiter             rateLimiter
 		)
 		{
 			final int channelCount = operationController.channelCountProvider().getChannelCount();
@@ -142,7 +144,8 @@ public interface StorageBackupSetup
 				operationController,
 				writeController    ,
 				validatorCreator   ,
-				typeDictionary
+				typeDictionary     ,
+				rateLimiter
 			);
 		}
 		
@@ -38,7 +38,12 @@ import org.eclipse.serializer.typing.KeyValue;
 import org.eclipse.serializer.util.BufferSizeProviderIncremental;
 import org.eclipse.serializer.util.X;
 import org.eclipse.serializer.util.logging.Logging;
+import org.eclipse.store.storage.monitoring.StorageChannelFileCleanupMonitor;
+import org.eclipse.store.storage.monitoring.StorageChannelFileHandleMonitor;
 import org.eclipse.store.storage.monitoring.StorageChannelHousekeepingMonitor;
+import org.eclipse.store.storage.monitoring.StorageChannelLoadingMonitor;
+import org.eclipse.store.storage.monitoring.StorageChannelMarkingMonitor;
+import org.eclipse.store.storage.monitoring.StorageChannelSyncMonitor;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
 import org.slf4j.Logger;
 
@@ -54,6 +59,8 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 	public ChunksBuffer collectLoadByTids(ChunksBuffer[] channelChunks, PersistenceIdSet loadTids);
 
 	public KeyValue<ByteBuffer[], long[]> storeEntities(long timestamp, Chunk chunkData);
+	
+	public KeyValue<ByteBuffer[], long[]> storeEntities(long timestamp, Chunk[] chunksData);
 
 	public void rollbackChunkStorage();
 
@@ -73,6 +80,8 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 	public boolean issuedTransactionsLogCleanup();
 	
 	public void exportData(StorageLiveFileProvider fileProvider);
+	
+	public void writeEntityIndexSnapshot();
 
 	// (19.07.2014 TM)TODO: refactor storage typing to avoid classes in public API
 	public StorageEntityCache.Default prepareImportData();
@@ -94,6 +103,8 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	public StorageRawFileStatistics.ChannelStatistics createRawFileStatistics();
 
+	public StorageDataChecksumVerification provideChecksumVerification();
+
 	public StorageIdAnalysis initializeStorage(
 		long             taskTimestamp           ,
 		long             consistentStoreTimestamp,
@@ -151,6 +162,19 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		private boolean active;
 
 		private final StorageChannelHousekeepingMonitor monitoringData;
+		
+		private final StorageChannelLoadingMonitor loadingMonitor;
+		
+		private final StorageChannelMarkingMonitor markingMonitor;
+		
+		private final StorageChannelFileCleanupMonitor fileCleanupMonitor;
+		
+		private final StorageChannelFileHandleMonitor fileHandleMonitor;
+		
+		private final StorageChannelSyncMonitor syncMonitor;
+		
+		// entity cache marking statistics at the time of the last marking monitor update
+		private long monitoredMarkedObjectCount, monitoredMarkingTimeNs;
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -192,6 +216,21 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			
 			this.monitoringData = new StorageChannelHousekeepingMonitor(this.channelIndex);
 			monitorManager.registerMonitor(this.monitoringData);
+			
+			this.loadingMonitor = new StorageChannelLoadingMonitor(this.channelIndex);
+			monitorManager.registerMonitor(this.loadingMonitor);
+			
+			this.markingMonitor = new StorageChannelMarkingMonitor(this.channelIndex);
+			monitorManager.registerMonitor(this.markingMonitor);
+			
+			this.fileCleanupMonitor = new StorageChannelFileCleanupMonitor(this.channelIndex);
+			monitorManager.registerMonitor(this.fileCleanupMonitor);
+			
+			this.fileHandleMonitor = new StorageChannelFileHandleMonitor(this.channelIndex);
+			monitorManager.registerMonitor(this.fileHandleMonitor);
+			
+			this.syncMonitor = new StorageChannelSyncMonitor(this.channelIndex);
+			monitorManager.registerMonitor(this.syncMonitor);
 		}
 
 
@@ -207,7 +246,9 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			tasks.add(this::houseKeepingGarbageCollection);
 			tasks.add(this::houseKeepingEntityCacheCheck);
 			tasks.add(this::houseKeepingTransactionFile);
-			// (16.06.2020 TM)TODO: priv#49: housekeeping task that closes data files after a timeout.
+			tasks.add(this::houseKeepingChecksumVerification);
+			tasks.add(this::houseKeepingIdleFileClosing);
+			tasks.add(this::houseKeepingPeriodicSync);
 
 			return tasks.toArray(HousekeepingTask.class);
 		}
@@ -269,7 +310,28 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// turn budget into the budget bounding value for easier and faster checking
 			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 
-			return this.entityCache.issuedGarbageCollection(nanoTimeBudgetBound, this);
+			final boolean result = this.entityCache.issuedGarbageCollection(nanoTimeBudgetBound, this);
+			this.updateMarkingMonitor();
+			
+			return result;
+		}
+		
+		private void updateMarkingMonitor()
+		{
+			final long markedObjectCount = this.entityCache.markedObjectCount();
+			final long markingTimeNs     = this.entityCache.markingTimeNs();
+			if(markingTimeNs == this.monitoredMarkingTimeNs)
+			{
+				// no marking happened at all, so there is nothing to report.
+				return;
+			}
+			
+			this.markingMonitor.setMarkingResult(
+				markedObjectCount - this.monitoredMarkedObjectCount,
+				markingTimeNs     - this.monitoredMarkingTimeNs
+			);
+			this.monitoredMarkedObjectCount = markedObjectCount;
+			this.monitoredMarkingTimeNs     = markingTimeNs    ;
 		}
 		
 		@Override
@@ -320,6 +382,10 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				() -> this.fileManager.incrementalFileCleanupCheck(nanoTimeBudgetBound));
 			
 			this.monitoringData.setFileCleanupCheckResult(result);
+			this.fileCleanupMonitor.setDataLengths(
+				this.fileManager.storedDataLength()     ,
+				this.fileManager.transferredDataLength()
+			);
 			
 			return result.getResult();
 		}
@@ -336,6 +402,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				() -> this.entityCache.incrementalGarbageCollection(nanoTimeBudgetBound, this));
 			
 			this.monitoringData.setGarbageCollectionResult(result);
+			this.updateMarkingMonitor();
 			
 			return result.getResult();
 		}
@@ -371,6 +438,52 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return this.fileManager.issuedTransactionFileCheck(checkSize);
 		}
 		
+		@Override
+		public boolean performChecksumVerification(final long nanoTimeBudget)
+		{
+			logger.trace("StorageChannel#{} performing incremental checksum verification", this.channelIndex);
+			
+			// turn budget into the budget bounding value for easier and faster checking
+			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
+			
+			return this.fileManager.incrementalChecksumVerification(nanoTimeBudgetBound);
+		}
+		
+		@Override
+		public boolean performIdleFileClosing(final long nanoTimeBudget)
+		{
+			logger.trace("StorageChannel#{} performing idle file closing", this.channelIndex);
+			
+			// turn budget into the budget bounding value for easier and faster checking
+			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
+			
+			final boolean result = this.fileManager.incrementalIdleFileClosing(nanoTimeBudgetBound);
+			
+			this.fileHandleMonitor.setFileHandleStatistics(
+				this.fileManager.fileHandleHitCount() ,
+				this.fileManager.fileHandleMissCount(),
+				this.fileManager.openFileHandleCount()
+			);
+			
+			return result;
+		}
+		
+		@Override
+		public boolean performPeriodicSync()
+		{
+			logger.trace("StorageChannel#{} performing periodic sync check", this.channelIndex);
+			
+			final boolean result = this.fileManager.checkPeriodicSync();
+			
+			this.syncMonitor.setSyncStatistics(
+				this.fileManager.syncCount()        ,
+				this.fileManager.syncTimeNs()       ,
+				this.fileManager.maximumSyncTimeNs()
+			);
+			
+			return result;
+		}
+		
 		@Override
 		public final boolean issuedGarbageCollection(final long nanoTimeBudget)
 		{
@@ -439,6 +552,45 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		{
 			return this.housekeepingBroker.performTransactionFileCheck(this, true);
 		}
+		
+		final boolean houseKeepingChecksumVerification()
+		{
+			if(!this.fileManager.isChecksumVerificationEnabled())
+			{
+				return true;
+			}
+			
+			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
+				this.fileManager.checksumVerificationTimeBudgetNs()
+			);
+			
+			return this.housekeepingBroker.performChecksumVerification(this, nanoTimeBudget);
+		}
+		
+		final boolean houseKeepingIdleFileClosing()
+		{
+			if(!this.fileManager.isFileHandlePoolingEnabled())
+			{
+				return true;
+			}
+			
+			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
+				this.housekeepingController.fileCheckTimeBudgetNs()
+			);
+			
+			return this.housekeepingBroker.performIdleFileClosing(this, nanoTimeBudget);
+		}
+		
+		final boolean houseKeepingPeriodicSync()
+		{
+			// also updates the sync statistics for the levels that sync every store
+			if(!this.fileManager.isSyncing())
+			{
+				return true;
+			}
+			
+			return this.housekeepingBroker.performPeriodicSync(this);
+		}
 
 		private void work() throws InterruptedException
 		{
@@ -496,7 +648,11 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				
 
 				// check and wait for the next task to come in
-				if((currentTask = processedTask.awaitNext(housekeepingController.housekeepingIntervalMs())) == null)
+				if((currentTask = this.taskBroker.awaitNextTask(
+					this,
+					processedTask,
+					housekeepingController.housekeepingIntervalMs()
+				)) == null)
 				{
 					// revert to processed task to wait on it again for the next task
 					currentTask = processedTask;
@@ -596,6 +752,22 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// set new data flag, even if chunk has no data to account for (potential) data in other channels
 			return X.KeyValue(buffers, this.fileManager.storeChunks(timestamp, buffers));
 		}
+		
+		@Override
+		public KeyValue<ByteBuffer[], long[]> storeEntities(final long timestamp, final Chunk[] chunksData)
+		{
+			this.entityCache.registerPendingStoreUpdate();
+			
+			// grouped chunks are written in one go, resulting in a single write and transactions entry.
+			final BulkList<ByteBuffer> buffers = BulkList.New();
+			for(final Chunk chunkData : chunksData)
+			{
+				buffers.addAll(chunkData.buffers());
+			}
+			final ByteBuffer[] allBuffers = buffers.toArray(ByteBuffer.class);
+			
+			return X.KeyValue(allBuffers, this.fileManager.storeChunks(timestamp, allBuffers));
+		}
 
 		@Override
 		public void postStoreUpdateEntityCache(final ByteBuffer[] chunks, final long[] chunksStoragePositions)
@@ -636,8 +808,19 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			final ChunksBuffer chunks = this.createLoadingChunksBuffer(resultArray);
 			if(!loadOids.isEmpty())
 			{
+				final long readEntityCount = this.fileManager.loadEntityCount();
+				final long readCount       = this.fileManager.loadReadCount();
+				
 				// progress must have been incremented accordingly at task creation time
-				loadOids.iterate(this.entityCollectorCreator.create(this.entityCache, chunks));
+				final StorageEntityCollector collector = this.entityCollectorCreator.create(this.entityCache, chunks);
+				loadOids.iterate(collector);
+				collector.complete();
+				
+				this.loadingMonitor.setLoadResult(
+					loadOids.size()                                     ,
+					this.fileManager.loadEntityCount() - readEntityCount,
+					this.fileManager.loadReadCount()   - readCount
+				);
 			}
 			
 			return chunks.complete();
@@ -670,6 +853,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.fileManager.exportData(fileProvider);
 		}
 
+		@Override
+		public final void writeEntityIndexSnapshot()
+		{
+			this.fileManager.writeEntityIndexSnapshot();
+		}
+
 		@Override
 		public StorageEntityCache.Default prepareImportData()
 		{
@@ -765,6 +954,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return this.fileManager.createRawFileStatistics();
 		}
 
+		@Override
+		public final StorageDataChecksumVerification provideChecksumVerification()
+		{
+			return this.fileManager.provideChecksumVerification();
+		}
+
 		@Override
 		public final void rollbackChunkStorage()
 		{
@@ -817,7 +1012,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		@Override
 		public final void dispose()
 		{
-			this.entityCache.reset();
+			this.entityCache.dispose();
 			this.fileManager.dispose();
 		}
 		
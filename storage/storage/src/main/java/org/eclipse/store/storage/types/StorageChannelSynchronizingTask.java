@@ -43,6 +43,16 @@ public interface StorageChannelSynchronizingTask extends StorageChannelTask
 			super(timestamp, channelCount, controller);
 		}
 
+		public AbstractCompletingTask(
+			final long                       timestamp       ,
+			final int                        channelCount    ,
+			final int                        participantCount,
+			final StorageOperationController controller
+		)
+		{
+			super(timestamp, channelCount, participantCount, controller);
+		}
+
 
 		///////////////////////////////////////////////////////////////////////////
 		// declared methods //
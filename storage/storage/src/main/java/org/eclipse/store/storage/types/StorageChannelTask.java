@@ -17,6 +17,7 @@ import org.eclipse.serializer.util.logging.Logging;
 import org.eclipse.store.storage.exceptions.StorageException;
 import org.slf4j.Logger;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.eclipse.serializer.util.X.notNull;
@@ -47,6 +48,9 @@ public interface StorageChannelTask extends StorageTask
 		private final AtomicBoolean hasProblems = new AtomicBoolean();
 		private final Throwable[]   problems   ; // unshared instance conveniently abused as a second lock
 		
+		// lazily created on demand, guarded by this instance.
+		private CompletableFuture<Void> completion;
+		
 		/* (07.03.2022 TM)NOTE:
 		 * Retrofitted to fix #285
 		 * While it seems more reasonable at first to check for disruptions in a passed context instance,
@@ -68,12 +72,31 @@ public interface StorageChannelTask extends StorageTask
 			final int                        channelCount,
 			final StorageOperationController controller
 		)
+		{
+			this(timestamp, channelCount, channelCount, controller);
+		}
+
+		/**
+		 * Creates a task that is only processed by a subset of the channels, as defined by
+		 * {@link #isParticipant(StorageChannel)}. All other channels skip the task without affecting its progress.
+		 * 
+		 * @param timestamp the task's timestamp.
+		 * @param channelCount the total number of channels.
+		 * @param participantCount the number of channels that participate in processing the task.
+		 * @param controller the operation controller.
+		 */
+		public Abstract(
+			final long                       timestamp       ,
+			final int                        channelCount    ,
+			final int                        participantCount,
+			final StorageOperationController controller
+		)
 		{
 			super(timestamp);
 			
 			// (20.11.2019 TM)NOTE: inlined assignments caused an "Unsafe" error on an ARM machine.
-			this.remainingForProcessing = channelCount               ;
-			this.remainingForCompletion = channelCount               ;
+			this.remainingForProcessing = participantCount           ;
+			this.remainingForCompletion = participantCount           ;
 			this.controller             = notNull(controller)        ;
 			this.problems               = new Throwable[channelCount];
 		}
@@ -138,6 +161,38 @@ public interface StorageChannelTask extends StorageTask
 			return this.problems.length;
 		}
 
+		/**
+		 * Defines if the passed channel participates in processing this task. A non-participating channel
+		 * skips the task entirely, meaning neither processing nor completion nor clean up are performed for it.
+		 * 
+		 * @param channel the channel about to process this task.
+		 * 
+		 * @return whether the passed channel participates in processing this task.
+		 */
+		protected boolean isParticipant(final StorageChannel channel)
+		{
+			// every channel participates in general implementation
+			return true;
+		}
+
+		/**
+		 * Increases the number of participating channels. Only valid as long as no channel has
+		 * processed this task yet.
+		 * 
+		 * @param count the number of additionally participating channels.
+		 */
+		protected final void addParticipants(final int count)
+		{
+			synchronized(this.problems)
+			{
+				this.remainingForProcessing += count;
+			}
+			synchronized(this)
+			{
+				this.remainingForCompletion += count;
+			}
+		}
+
 
 		///////////////////////////////////////////////////////////////////////////
 		// methods //
@@ -148,9 +203,53 @@ public interface StorageChannelTask extends StorageTask
 		{
 			// may never get negative or something is seriously broken
 			this.remainingForCompletion--; // suffices as this method gets called by every manager thread exactly once.
+			if(this.completion != null)
+			{
+				this.updateCompletion();
+			}
 			this.notifyAll();
 		}
 
+		@Override
+		public final synchronized CompletableFuture<Void> completion()
+		{
+			if(this.completion == null)
+			{
+				this.completion = new CompletableFuture<>();
+				
+				// a disrupted storage might never complete this task, so the controller has to abort it.
+				if(!this.updateCompletion())
+				{
+					this.controller.abortOnDisruption(this.completion);
+				}
+			}
+			
+			return this.completion;
+		}
+
+		// must be called while holding the lock of this instance.
+		private boolean updateCompletion()
+		{
+			if(!this.completion.isDone())
+			{
+				try
+				{
+					// same semantics as #waitOnCompletion
+					this.checkForProblems();
+					if(this.remainingForCompletion == 0)
+					{
+						this.completion.complete(null);
+					}
+				}
+				catch(final StorageException e)
+				{
+					this.completion.completeExceptionally(e);
+				}
+			}
+			
+			return this.completion.isDone();
+		}
+
 		@Override
 		public final synchronized boolean isComplete()
 		{
@@ -235,6 +334,11 @@ public interface StorageChannelTask extends StorageTask
 		@Override
 		public final void processBy(final StorageChannel storageChannel) throws InterruptedException
 		{
+			if(!this.isParticipant(storageChannel))
+			{
+				return;
+			}
+			
 			// separate outermost try-finally guarantees calling of clean up logic in any case
 			try
 			{
@@ -42,6 +42,9 @@ public interface StorageChannelTaskShutdown extends StorageChannelTask
 		@Override
 		protected final Void internalProcessBy(final StorageChannel channel)
 		{
+			// all data is committed at this point, so the entity registrations are consistent with the data files.
+			channel.writeEntityIndexSnapshot();
+			
 			// may not deactivate here as some channel threads would die before all others notice the progress
 			return null;
 		}
@@ -23,6 +23,7 @@ import org.eclipse.serializer.util.BufferSizeProvider;
 import org.eclipse.serializer.util.BufferSizeProviderIncremental;
 import org.eclipse.store.storage.monitoring.EntityCacheMonitor;
 import org.eclipse.store.storage.monitoring.EntityCacheSummaryMonitor;
+import org.eclipse.store.storage.monitoring.StorageIoRateMonitor;
 
 
 public interface StorageChannelsCreator
@@ -53,7 +54,20 @@ public interface StorageChannelsCreator
 		boolean                                    switchByteOrder              ,
 		long                                       rootTypeId                   ,
 		MonitoringManager                          monitorManager               ,
-		StorageEntityCollector.Creator             entityCollectorCreator
+		StorageEntityCollector.Creator             entityCollectorCreator       ,
+		StorageEntityIndex.Creator                 entityIndexCreator           ,
+		StorageEntityIndexSnapshot                 entityIndexSnapshot          ,
+		StorageEntityInitializer.Creator           entityInitializerCreator     ,
+		StorageDataFileMappingEvaluator            dataFileMappingEvaluator     ,
+		StorageEntityCacheCompressor               entityCacheCompressor        ,
+		StorageDataFileCompression                 dataFileCompression          ,
+		StorageDataChecksumController              dataChecksumController       ,
+		StorageDataFileCostBenefitEvaluator        dataFileCostBenefitEvaluator ,
+		StorageIoRateController                    ioRateController             ,
+		StorageDataFileHandleController            dataFileHandleController     ,
+		StorageTransactionsCheckpoint              transactionsCheckpoint       ,
+		StorageDurabilityController                durabilityController         ,
+		StorageDataFilePreallocationController     preallocationController
 	);
 
 
@@ -91,7 +105,20 @@ public interface StorageChannelsCreator
 			final boolean                                    switchByteOrder              ,
 			final long                                       rootTypeId                   ,
 			final MonitoringManager                          monitorManager               ,
-			final StorageEntityCollector.Creator             entityCollectorCreator
+			final StorageEntityCollector.Creator             entityCollectorCreator       ,
+			final StorageEntityIndex.Creator                 entityIndexCreator           ,
+			final StorageEntityIndexSnapshot                 entityIndexSnapshot          ,
+			final StorageEntityInitializer.Creator           entityInitializerCreator     ,
+			final StorageDataFileMappingEvaluator            dataFileMappingEvaluator     ,
+			final StorageEntityCacheCompressor               entityCacheCompressor        ,
+			final StorageDataFileCompression                 dataFileCompression          ,
+			final StorageDataChecksumController              dataChecksumController       ,
+			final StorageDataFileCostBenefitEvaluator        dataFileCostBenefitEvaluator ,
+			final StorageIoRateController                    ioRateController             ,
+			final StorageDataFileHandleController            dataFileHandleController     ,
+			final StorageTransactionsCheckpoint              transactionsCheckpoint       ,
+			final StorageDurabilityController                durabilityController         ,
+			final StorageDataFilePreallocationController     preallocationController
 		)
 		{
 			// (14.07.2016 TM)TODO: make configuration dynamic
@@ -120,11 +147,14 @@ public interface StorageChannelsCreator
 			
 			for(int i = 0; i < channels.length; i++)
 			{
+				// off-heap registry of the channel's entities, shared by the entity cache and its index
+				final StorageEntityTable entityTable = new StorageEntityTable();
+				
 				// entity cache to register entities, cache entity data, perform garbage collection
 				final StorageEntityCache.Default entityCache = new StorageEntityCache.Default(
 					i                                                ,
 					channels.length                                  ,
-					entityCacheEvaluator                             ,
+					entityCacheEvaluator.channelEvaluator(i)         ,
 					typeDictionary                                   ,
 					markMonitor                                      ,
 					zombieOidHandler                                 ,
@@ -134,7 +164,10 @@ public interface StorageChannelsCreator
 					eventLogger                                      ,
 					liveObjectIdChecker                              ,
 					markingWaitTimeMs                                ,
-					markBufferLength
+					markBufferLength                                 ,
+					entityTable                                      ,
+					entityIndexCreator.createEntityIndex(i, channels.length, entityTable),
+					entityCacheCompressor
 				);
 				
 				cacheMonitors[i] = new EntityCacheMonitor(entityCache);
@@ -151,7 +184,18 @@ public interface StorageChannelsCreator
 					writeController                 ,
 					writerProvider.provideWriter(i) ,
 					readingDefaultBufferSizeProvider,
-					backupHandler
+					backupHandler                   ,
+					entityIndexSnapshot             ,
+					entityInitializerCreator        ,
+					dataFileMappingEvaluator        ,
+					dataFileCompression             ,
+					dataChecksumController          ,
+					dataFileCostBenefitEvaluator    ,
+					ioRateController                ,
+					dataFileHandleController        ,
+					transactionsCheckpoint          ,
+					durabilityController            ,
+					preallocationController
 				);
 
 				// required to resolve the initializer cyclic dependency
@@ -177,6 +221,7 @@ public interface StorageChannelsCreator
 			}
 			
 			monitorManager.registerMonitor(new EntityCacheSummaryMonitor(cacheMonitors));
+			monitorManager.registerMonitor(new StorageIoRateMonitor(ioRateController));
 			
 			return channels;
 		}
@@ -19,7 +19,10 @@ import static org.eclipse.serializer.util.X.notNull;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.eclipse.serializer.afs.types.ADirectory;
 import org.eclipse.serializer.afs.types.AFile;
@@ -270,6 +273,16 @@ public interface StorageConnection extends UsageMarkable, Persister
 	 */
 	public StorageRawFileStatistics createStorageStatistics();
 
+	/**
+	 * Verifies all data checksums recorded in the storage's transactions files against the current data
+	 * (see {@link StorageDataChecksumController}). All channels verify their files in parallel.
+	 * <p>
+	 * Note that only data written while checksumming was enabled can be verified.
+	 * 
+	 * @return a {@link StorageDataChecksumReport} instance listing all corrupt data ranges.
+	 */
+	public StorageDataChecksumReport verifyChecksums();
+
 	/* (28.06.2013 TM)TODO: post-sweep-task queue?
 	 * even more practical then or additional to the above would be to have a post-sweep task queue
 	 * that gets executed automatically after a sweep is completed.
@@ -469,6 +482,98 @@ public interface StorageConnection extends UsageMarkable, Persister
 	{
 		return this.persistenceManager().getObject(objectId);
 	}
+	
+	/**
+	 * Executes the passed storing logic on the current thread, but without waiting for the storage to complete
+	 * the resulting store requests. The returned {@link CompletableFuture} gets completed with the storing logic's
+	 * result as soon as all of them are complete, or exceptionally if any of them failed.
+	 * Dependent actions of the returned instance are never executed by a storage thread.
+	 * <p>
+	 * Instances are registered as persisted as soon as the storing logic has serialized them. Any later storing
+	 * that references one of them waits until the storage has completed storing it. Should that fail, any such
+	 * storing fails as well, until the instance has been stored again explicitly, e.g. via {@link #store(Object)}.
+	 * 
+	 * @param <R> the result type of the storing logic.
+	 * @param storingLogic the storing logic to be executed, e.g. storing instances via {@link #store(Object)}.
+	 * 
+	 * @return a {@link CompletableFuture} completing with the storing logic's result after the storage completed it.
+	 * 
+	 * @see #storeAsync(Object)
+	 */
+	public <R> CompletableFuture<R> executeStoringAsync(Supplier<R> storingLogic);
+	
+	/**
+	 * Asynchronous variant of {@link #store(Object)}. The passed instance is serialized on the current thread,
+	 * but the returned {@link CompletableFuture} completes after the storage has completed storing it.
+	 * 
+	 * @param instance the instance to be stored.
+	 * 
+	 * @return a {@link CompletableFuture} completing with the instance's object id.
+	 * 
+	 * @see #executeStoringAsync(Supplier)
+	 */
+	public default CompletableFuture<Long> storeAsync(final Object instance)
+	{
+		return this.executeStoringAsync(() -> this.store(instance));
+	}
+	
+	/**
+	 * Asynchronous variant of {@link #storeAll(Object...)}.
+	 * 
+	 * @param instances the instances to be stored.
+	 * 
+	 * @return a {@link CompletableFuture} completing with the instances' object ids.
+	 * 
+	 * @see #executeStoringAsync(Supplier)
+	 */
+	public default CompletableFuture<long[]> storeAllAsync(final Object... instances)
+	{
+		return this.executeStoringAsync(() -> this.storeAll(instances));
+	}
+	
+	/**
+	 * Asynchronous variant of {@link #storeAll(Iterable)}.
+	 * 
+	 * @param instances the instances to be stored.
+	 * 
+	 * @return a {@link CompletableFuture} completing after the instances have been stored.
+	 * 
+	 * @see #executeStoringAsync(Supplier)
+	 */
+	public default CompletableFuture<Void> storeAllAsync(final Iterable<?> instances)
+	{
+		return this.executeStoringAsync(() ->
+		{
+			this.storeAll(instances);
+			return null;
+		});
+	}
+	
+	/**
+	 * Variant of {@link #getObject(long)} that does not block the calling thread. An instance that is already
+	 * loaded is returned as a completed {@link CompletableFuture} right away. Any other instance is loaded and
+	 * built by the passed {@link Executor}.
+	 * <p>
+	 * Unlike {@link #storeAsync(Object)}, this is not completed by the storage: building an instance graph loads
+	 * referenced instances on demand, so one thread of the passed {@link Executor} blocks per loaded instance
+	 * while the storage is reading. The {@link Executor} should be dimensioned for such blocking work,
+	 * e.g. by using virtual threads.
+	 * 
+	 * @param objectId the object id of the instance to be returned.
+	 * @param executor the {@link Executor} loading and building the instance.
+	 * 
+	 * @return a {@link CompletableFuture} completing with the instance or {@literal null} if there is none.
+	 */
+	public default CompletableFuture<Object> getObjectAsync(final long objectId, final Executor executor)
+	{
+		final Object instance = this.persistenceManager().objectRegistry().lookupObject(objectId);
+		if(instance != null)
+		{
+			return CompletableFuture.completedFuture(instance);
+		}
+		
+		return CompletableFuture.supplyAsync(() -> this.getObject(objectId), notNull(executor));
+	}
 
 
 	
@@ -520,6 +625,12 @@ public interface StorageConnection extends UsageMarkable, Persister
 		{
 			return this.persistenceManager;
 		}
+		
+		@Override
+		public final <R> CompletableFuture<R> executeStoringAsync(final Supplier<R> storingLogic)
+		{
+			return this.connectionRequestAcceptor.executeStoringAsync(storingLogic);
+		}
 
 		@Override
 		public final boolean issueGarbageCollection(final long nanoTimeBudget)
@@ -636,6 +747,20 @@ public interface StorageConnection extends UsageMarkable, Persister
 			}
 		}
 
+		@Override
+		public StorageDataChecksumReport verifyChecksums()
+		{
+			try
+			{
+				return this.connectionRequestAcceptor.verifyChecksums();
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return null;
+			}
+		}
+
 		@Override
 		public void exportChannels(final StorageLiveFileProvider fileProvider, final boolean performGarbageCollection)
 		{
@@ -0,0 +1,146 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+
+/**
+ * Controls the checksumming of stored data.
+ * <p>
+ * If enabled, a CRC32C checksum is calculated for every range of data written to a storage data file by a store,
+ * a transfer or an import and recorded in the channel's transactions file right behind the range's own entry.
+ * The recorded checksums can be verified on demand for all channels in parallel
+ * (see {@link StorageConnection#verifyChecksums()}) and incrementally as a housekeeping task.
+ * <p>
+ * Note that transactions files containing checksum entries cannot be read by older versions.
+ */
+public interface StorageDataChecksumController
+{
+	/**
+	 * Defines whether checksums are calculated and recorded for newly written data.
+	 *
+	 * @return whether checksumming is enabled.
+	 */
+	public boolean isChecksumEnabled();
+
+	/**
+	 * The time budget in nanoseconds for incrementally verifying recorded checksums per housekeeping cycle.
+	 * A value of 0 disables the incremental verification.
+	 *
+	 * @return the verification time budget in nanoseconds.
+	 */
+	public long verificationTimeBudgetNs();
+
+	public default boolean isVerificationEnabled()
+	{
+		return this.verificationTimeBudgetNs() > 0;
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataChecksumController} instance
+	 * that neither records nor incrementally verifies any checksums. This is the default.
+	 * Checksums recorded earlier can still be verified on demand.
+	 *
+	 * @return a new {@link StorageDataChecksumController} instance.
+	 */
+	public static StorageDataChecksumController Disabled()
+	{
+		return new StorageDataChecksumController.Default(false, 0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataChecksumController} instance
+	 * that records checksums and verifies them incrementally with the default time budget.
+	 *
+	 * @return a new {@link StorageDataChecksumController} instance.
+	 *
+	 * @see #New(long)
+	 * @see Defaults#defaultVerificationTimeBudgetNs()
+	 */
+	public static StorageDataChecksumController New()
+	{
+		return New(Defaults.defaultVerificationTimeBudgetNs());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataChecksumController} instance
+	 * that records checksums and verifies them incrementally with the passed time budget.
+	 *
+	 * @param verificationTimeBudgetNs the verification time budget in nanoseconds per housekeeping cycle,
+	 *        0 to disable the incremental verification.
+	 *
+	 * @return a new {@link StorageDataChecksumController} instance.
+	 */
+	public static StorageDataChecksumController New(final long verificationTimeBudgetNs)
+	{
+		return new StorageDataChecksumController.Default(
+			true,
+			notNegative(verificationTimeBudgetNs)
+		);
+	}
+
+	public interface Defaults
+	{
+		public static long defaultVerificationTimeBudgetNs()
+		{
+			return 1_000_000; // 1 ms
+		}
+	}
+
+	public final class Default implements StorageDataChecksumController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean checksumEnabled         ;
+		private final long    verificationTimeBudgetNs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final boolean checksumEnabled, final long verificationTimeBudgetNs)
+		{
+			super();
+			this.checksumEnabled          = checksumEnabled         ;
+			this.verificationTimeBudgetNs = verificationTimeBudgetNs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isChecksumEnabled()
+		{
+			return this.checksumEnabled;
+		}
+
+		@Override
+		public final long verificationTimeBudgetNs()
+		{
+			return this.verificationTimeBudgetNs;
+		}
+
+	}
+
+}
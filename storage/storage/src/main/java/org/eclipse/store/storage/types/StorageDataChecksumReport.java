@@ -0,0 +1,265 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+import static org.eclipse.serializer.util.X.notNull;
+
+import org.eclipse.serializer.chars.VarString;
+import org.eclipse.serializer.collections.types.XGettingSequence;
+
+/**
+ * The result of verifying recorded data checksums (see {@link StorageDataChecksumController}).
+ */
+public interface StorageDataChecksumReport
+{
+	/**
+	 * @return the number of checksummed data ranges that have been verified.
+	 */
+	public long verifiedRangeCount();
+
+	/**
+	 * @return the total length in bytes of all verified data ranges.
+	 */
+	public long verifiedLength();
+
+	/**
+	 * @return all verified data ranges whose current checksum differs from the recorded one.
+	 */
+	public XGettingSequence<? extends CorruptRange> corruptRanges();
+
+	public default boolean isValid()
+	{
+		return this.corruptRanges().isEmpty();
+	}
+
+
+
+	public static StorageDataChecksumReport New(
+		final long                                     verifiedRangeCount,
+		final long                                     verifiedLength    ,
+		final XGettingSequence<? extends CorruptRange> corruptRanges
+	)
+	{
+		return new StorageDataChecksumReport.Default(
+			notNegative(verifiedRangeCount),
+			notNegative(verifiedLength)    ,
+			    notNull(corruptRanges)
+		);
+	}
+
+	public final class Default implements StorageDataChecksumReport
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long                                     verifiedRangeCount;
+		private final long                                     verifiedLength    ;
+		private final XGettingSequence<? extends CorruptRange> corruptRanges     ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                                     verifiedRangeCount,
+			final long                                     verifiedLength    ,
+			final XGettingSequence<? extends CorruptRange> corruptRanges
+		)
+		{
+			super();
+			this.verifiedRangeCount = verifiedRangeCount;
+			this.verifiedLength     = verifiedLength    ;
+			this.corruptRanges      = corruptRanges     ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long verifiedRangeCount()
+		{
+			return this.verifiedRangeCount;
+		}
+
+		@Override
+		public final long verifiedLength()
+		{
+			return this.verifiedLength;
+		}
+
+		@Override
+		public final XGettingSequence<? extends CorruptRange> corruptRanges()
+		{
+			return this.corruptRanges;
+		}
+
+		@Override
+		public String toString()
+		{
+			final VarString vs = VarString.New()
+				.add("verified ranges: ").add(this.verifiedRangeCount)
+				.add(", verified length: ").add(this.verifiedLength)
+				.add(", corrupt ranges: ").add(this.corruptRanges.size())
+			;
+			for(final CorruptRange range : this.corruptRanges)
+			{
+				vs.lf().tab().add(range.toString());
+			}
+
+			return vs.toString();
+		}
+
+	}
+
+
+
+	/**
+	 * A checksummed range of a storage data file whose current checksum differs from the recorded one.
+	 */
+	public interface CorruptRange
+	{
+		public int channelIndex();
+
+		public long fileNumber();
+
+		public long position();
+
+		public long length();
+
+		public long expectedChecksum();
+
+		public long actualChecksum();
+
+
+
+		public static CorruptRange New(
+			final int  channelIndex    ,
+			final long fileNumber      ,
+			final long position        ,
+			final long length          ,
+			final long expectedChecksum,
+			final long actualChecksum
+		)
+		{
+			return new CorruptRange.Default(
+				notNegative(channelIndex),
+				notNegative(fileNumber)  ,
+				notNegative(position)    ,
+				notNegative(length)      ,
+				expectedChecksum         ,
+				actualChecksum
+			);
+		}
+
+		public final class Default implements CorruptRange
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final int  channelIndex    ;
+			private final long fileNumber      ;
+			private final long position        ;
+			private final long length          ;
+			private final long expectedChecksum;
+			private final long actualChecksum  ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(
+				final int  channelIndex    ,
+				final long fileNumber      ,
+				final long position        ,
+				final long length          ,
+				final long expectedChecksum,
+				final long actualChecksum
+			)
+			{
+				super();
+				this.channelIndex     = channelIndex    ;
+				this.fileNumber       = fileNumber      ;
+				this.position         = position        ;
+				this.length           = length          ;
+				this.expectedChecksum = expectedChecksum;
+				this.actualChecksum   = actualChecksum  ;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final int channelIndex()
+			{
+				return this.channelIndex;
+			}
+
+			@Override
+			public final long fileNumber()
+			{
+				return this.fileNumber;
+			}
+
+			@Override
+			public final long position()
+			{
+				return this.position;
+			}
+
+			@Override
+			public final long length()
+			{
+				return this.length;
+			}
+
+			@Override
+			public final long expectedChecksum()
+			{
+				return this.expectedChecksum;
+			}
+
+			@Override
+			public final long actualChecksum()
+			{
+				return this.actualChecksum;
+			}
+
+			@Override
+			public String toString()
+			{
+				return "channel " + this.channelIndex + ", file " + this.fileNumber
+					+ ", range [" + this.position + "; " + (this.position + this.length) + "[: expected checksum "
+					+ Long.toHexString(this.expectedChecksum) + ", actual " + Long.toHexString(this.actualChecksum)
+				;
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,386 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+import static org.eclipse.serializer.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32C;
+
+import org.eclipse.serializer.collections.BulkList;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.store.storage.exceptions.StorageException;
+import org.eclipse.store.storage.exceptions.StorageExceptionIoReading;
+
+/**
+ * The verification of the recorded checksums of all data ranges of one channel
+ * (see {@link StorageDataChecksumController}). It is created by the channel, but performed by the workers of a
+ * {@link ForkJoinPool}, so that reading all the data does not block the channel and even the ranges of a single
+ * channel are verified in parallel.
+ * <p>
+ * The files of all ranges are registered as used until the verification is complete or released,
+ * so none of them gets deleted in the meantime.
+ */
+public interface StorageDataChecksumVerification
+{
+	public int channelIndex();
+
+	/**
+	 * Submits reading all ranges and comparing their checksums with the recorded ones to the passed pool.
+	 * The ranges are split into batches that are verified by the pool's workers in parallel.
+	 * Once all batches are done, the verification is released, see {@link #release()}.
+	 *
+	 * @param pool the pool whose workers verify the ranges.
+	 *
+	 * @return the task yielding a {@link StorageDataChecksumReport} for the channel's ranges.
+	 */
+	public ForkJoinTask<StorageDataChecksumReport> verify(ForkJoinPool pool);
+
+	/**
+	 * Unregisters the usage of all files without verifying them. Has no effect if already released.
+	 */
+	public void release();
+
+
+
+	public static StorageDataChecksumVerification.Default New(
+		final int channelIndex    ,
+		final int readBufferLength
+	)
+	{
+		return new StorageDataChecksumVerification.Default(
+			notNegative(channelIndex)  ,
+			   positive(readBufferLength)
+		);
+	}
+
+	public final class Default implements StorageDataChecksumVerification, StorageFileUser
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final int INITIAL_RANGE_CAPACITY = 16;
+
+		// ranges are only split among workers as long as a batch covers more data than this
+		private static final long BATCH_LENGTH = 64L * 1024 * 1024;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int channelIndex    ;
+		private final int readBufferLength;
+
+		private StorageLiveDataFile.Default[] rangeFiles   = new StorageLiveDataFile.Default[INITIAL_RANGE_CAPACITY];
+		private long[]                        startOffsets = new long[INITIAL_RANGE_CAPACITY];
+		private long[]                        boundOffsets = new long[INITIAL_RANGE_CAPACITY];
+		private long[]                        checksums    = new long[INITIAL_RANGE_CAPACITY];
+		private int                           rangeCount  ;
+
+		private final BulkList<StorageLiveDataFile.Default> usedFiles    = BulkList.New();
+		private final BulkList<StorageLiveDataFile.Default> closingFiles = BulkList.New();
+
+		private boolean isReleased;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int channelIndex, final int readBufferLength)
+		{
+			super();
+			this.channelIndex     = channelIndex    ;
+			this.readBufferLength = readBufferLength;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		/**
+		 * Adds a range of the passed file. Ranges of the same file have to be added consecutively.
+		 * Must be called by the channel owning the file.
+		 *
+		 * @param file the file containing the range.
+		 * @param startOffset the start offset of the range in the file.
+		 * @param boundOffset the bound offset of the range in the file.
+		 * @param checksum the recorded checksum of the range.
+		 * @param closeFile whether the file's handle is not used by the channel and has to be closed afterwards.
+		 */
+		final synchronized void add(
+			final StorageLiveDataFile.Default file       ,
+			final long                        startOffset,
+			final long                        boundOffset,
+			final long                        checksum   ,
+			final boolean                     closeFile
+		)
+		{
+			if(this.usedFiles.isEmpty() || this.usedFiles.last() != file)
+			{
+				file.registerUsage(this);
+				this.usedFiles.add(file);
+				if(closeFile)
+				{
+					this.closingFiles.add(file);
+				}
+			}
+
+			if(this.rangeCount == this.checksums.length)
+			{
+				final int newLength = this.rangeCount * 2;
+				this.rangeFiles   = Arrays.copyOf(this.rangeFiles  , newLength);
+				this.startOffsets = Arrays.copyOf(this.startOffsets, newLength);
+				this.boundOffsets = Arrays.copyOf(this.boundOffsets, newLength);
+				this.checksums    = Arrays.copyOf(this.checksums   , newLength);
+			}
+			this.rangeFiles  [this.rangeCount] = file       ;
+			this.startOffsets[this.rangeCount] = startOffset;
+			this.boundOffsets[this.rangeCount] = boundOffset;
+			this.checksums   [this.rangeCount] = checksum   ;
+			this.rangeCount++;
+		}
+
+		@Override
+		public final synchronized ForkJoinTask<StorageDataChecksumReport> verify(final ForkJoinPool pool)
+		{
+			if(this.isReleased)
+			{
+				throw new StorageException(
+					"Checksum verification of channel #" + this.channelIndex + " has already been released."
+				);
+			}
+
+			// no more ranges are added once the verification is submitted, so the workers can read them unlocked.
+			return pool.submit(new Verifier(0, this.rangeCount, true));
+		}
+
+		final long length(final int startIndex, final int boundIndex)
+		{
+			long length = 0;
+			for(int i = startIndex; i < boundIndex; i++)
+			{
+				length += this.boundOffsets[i] - this.startOffsets[i];
+			}
+
+			return length;
+		}
+
+		final StorageDataChecksumReport verify(final int startIndex, final int boundIndex)
+		{
+			final BulkList<StorageDataChecksumReport.CorruptRange> corruptRanges = BulkList.New();
+			final CRC32C                                           checksum      = new CRC32C();
+			final ByteBuffer                                       buffer        =
+				XMemory.allocateDirectNative(this.readBufferLength)
+			;
+
+			long verifiedLength = 0;
+			try
+			{
+				for(int i = startIndex; i < boundIndex; i++)
+				{
+					final long position = this.startOffsets[i];
+					final long length   = this.boundOffsets[i] - position;
+					final long actual   = calculateChecksum(this.rangeFiles[i], position, length, checksum, buffer);
+					if(actual != this.checksums[i])
+					{
+						corruptRanges.add(StorageDataChecksumReport.CorruptRange.New(
+							this.channelIndex          ,
+							this.rangeFiles[i].number(),
+							position                   ,
+							length                     ,
+							this.checksums[i]          ,
+							actual
+						));
+					}
+					verifiedLength += length;
+				}
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+
+			return StorageDataChecksumReport.New(boundIndex - startIndex, verifiedLength, corruptRanges);
+		}
+
+		static StorageDataChecksumReport combine(
+			final StorageDataChecksumReport first ,
+			final StorageDataChecksumReport second
+		)
+		{
+			final BulkList<StorageDataChecksumReport.CorruptRange> corruptRanges = BulkList.New();
+			corruptRanges.addAll(first.corruptRanges());
+			corruptRanges.addAll(second.corruptRanges());
+
+			return StorageDataChecksumReport.New(
+				first.verifiedRangeCount() + second.verifiedRangeCount(),
+				first.verifiedLength()     + second.verifiedLength()    ,
+				corruptRanges
+			);
+		}
+
+		private static long calculateChecksum(
+			final StorageLiveDataFile.Default dataFile,
+			final long                        position,
+			final long                        length  ,
+			final CRC32C                      checksum,
+			final ByteBuffer                  buffer
+		)
+		{
+			checksum.reset();
+			for(long p = position, bound = position + length; p < bound;)
+			{
+				final int chunkLength = (int)Math.min(buffer.capacity(), bound - p);
+				buffer.clear().limit(chunkLength);
+				if(dataFile.readBytes(buffer, p, chunkLength) != chunkLength)
+				{
+					throw new StorageExceptionIoReading(
+						"Incomplete read of " + chunkLength + " bytes at position " + p + " of " + dataFile
+					);
+				}
+				buffer.flip();
+				checksum.update(buffer);
+				p += chunkLength;
+			}
+
+			return checksum.getValue();
+		}
+
+		@Override
+		public final synchronized void release()
+		{
+			if(this.isReleased)
+			{
+				return;
+			}
+			this.isReleased = true;
+
+			// handles opened only for the verification would otherwise remain open outside of the channel's pool.
+			for(final StorageLiveDataFile.Default file : this.closingFiles)
+			{
+				file.close();
+			}
+			for(final StorageLiveDataFile.Default file : this.usedFiles)
+			{
+				file.unregisterUsageClosing(this, null);
+			}
+
+			this.closingFiles.clear();
+			this.usedFiles.clear();
+			Arrays.fill(this.rangeFiles, null);
+		}
+
+
+
+		/**
+		 * Verifies the ranges [startIndex; boundIndex[. As long as they cover more than one batch of data,
+		 * they are split in halves that are verified by different workers of the pool.
+		 */
+		final class Verifier extends RecursiveTask<StorageDataChecksumReport>
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final int     startIndex;
+			private final int     boundIndex;
+			private final boolean isRoot    ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Verifier(final int startIndex, final int boundIndex, final boolean isRoot)
+			{
+				super();
+				this.startIndex = startIndex;
+				this.boundIndex = boundIndex;
+				this.isRoot     = isRoot    ;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			protected final StorageDataChecksumReport compute()
+			{
+				try
+				{
+					return this.verifyRanges();
+				}
+				finally
+				{
+					if(this.isRoot)
+					{
+						Default.this.release();
+					}
+				}
+			}
+
+			private StorageDataChecksumReport verifyRanges()
+			{
+				if(this.boundIndex - this.startIndex < 2
+				|| Default.this.length(this.startIndex, this.boundIndex) <= BATCH_LENGTH)
+				{
+					return Default.this.verify(this.startIndex, this.boundIndex);
+				}
+
+				final int      middleIndex = this.startIndex + this.boundIndex >>> 1;
+				final Verifier second      = new Verifier(middleIndex, this.boundIndex, false);
+				second.fork();
+
+				final StorageDataChecksumReport first;
+				try
+				{
+					first = new Verifier(this.startIndex, middleIndex, false).compute();
+				}
+				catch(final Throwable t)
+				{
+					// the forked half must not read files any longer once the root releases them.
+					second.quietlyJoin();
+					throw t;
+				}
+
+				return combine(first, second.join());
+			}
+
+		}
+
+	}
+
+}
@@ -83,6 +83,12 @@ public interface StorageDataFile extends StorageChannelFile, StorageBackupableFi
 			return this.number;
 		}
 		
+		@Override
+		protected boolean isBlockFormatCapable()
+		{
+			return true;
+		}
+		
 
 	}
 	
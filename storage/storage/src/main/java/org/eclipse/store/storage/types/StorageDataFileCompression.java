@@ -0,0 +1,872 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import static org.eclipse.serializer.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.eclipse.serializer.X;
+import org.eclipse.serializer.afs.types.AFS;
+import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.serializer.afs.types.AReadableFile;
+import org.eclipse.serializer.afs.types.AWritableFile;
+import org.eclipse.serializer.io.BufferProvider;
+import org.eclipse.store.afs.nio.types.NioWritableFile;
+import org.eclipse.store.storage.exceptions.StorageExceptionConsistency;
+import org.eclipse.store.storage.exceptions.StorageExceptionIoReading;
+
+/**
+ * Controls the compression of storage data files.
+ * <p>
+ * If enabled, newly created data files are written in a block compressed format: all data written to a file is
+ * split into blocks of up to {@link #blockLength()} bytes that are compressed individually. Every write produces
+ * whole blocks, so the boundaries of stores and transfers always coincide with block boundaries. A block index of
+ * every file is held in memory, so reading an entity only requires decompressing the blocks containing it.
+ * <p>
+ * The format is transparent for all storage logic: the length of a file and all positions in it, including those
+ * in the transactions file, refer to the uncompressed data. Compressed files are recognized by their header, so
+ * compressed and uncompressed files can coexist in a storage and enabling or disabling the compression only
+ * affects newly created files. Backup files of compressed files are compressed as well.
+ * <p>
+ * Compressed files cannot be read via memory mappings, see {@link StorageDataFileMappingEvaluator}.
+ */
+public interface StorageDataFileCompression
+{
+	/**
+	 * The maximum uncompressed length in bytes of a block. Larger blocks compress better, smaller blocks make
+	 * reading single entities cheaper. A value of 0 disables compression.
+	 *
+	 * @return the maximum uncompressed length of a block.
+	 */
+	public int blockLength();
+
+	/**
+	 * The compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+	 *
+	 * @return the compression level.
+	 */
+	public int compressionLevel();
+
+	public default boolean isCompressionEnabled()
+	{
+		return this.blockLength() > 0;
+	}
+
+
+
+	public interface Defaults
+	{
+		public static int defaultBlockLength()
+		{
+			return 64 * 1024;
+		}
+
+		public static int defaultCompressionLevel()
+		{
+			return Deflater.BEST_SPEED;
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompression} instance
+	 * that disables compression, meaning new data files are written uncompressed. This is the default.
+	 * Existing compressed files can still be read.
+	 *
+	 * @return a new {@link StorageDataFileCompression} instance.
+	 */
+	public static StorageDataFileCompression Disabled()
+	{
+		return new StorageDataFileCompression.Default(0, Defaults.defaultCompressionLevel());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompression} instance
+	 * using default values defined by {@link StorageDataFileCompression.Defaults}.
+	 *
+	 * @return a new {@link StorageDataFileCompression} instance.
+	 *
+	 * @see #New(int, int)
+	 */
+	public static StorageDataFileCompression New()
+	{
+		return New(Defaults.defaultBlockLength());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompression} instance
+	 * using the passed value and the default compression level.
+	 *
+	 * @param blockLength the maximum uncompressed length in bytes of a block.
+	 *
+	 * @return a new {@link StorageDataFileCompression} instance.
+	 *
+	 * @see #New(int, int)
+	 */
+	public static StorageDataFileCompression New(final int blockLength)
+	{
+		return New(blockLength, Defaults.defaultCompressionLevel());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompression} instance.
+	 *
+	 * @param blockLength the maximum uncompressed length in bytes of a block.
+	 * @param compressionLevel the compression level from {@link Deflater#BEST_SPEED}
+	 *        to {@link Deflater#BEST_COMPRESSION}.
+	 *
+	 * @return a new {@link StorageDataFileCompression} instance.
+	 */
+	public static StorageDataFileCompression New(
+		final int blockLength     ,
+		final int compressionLevel
+	)
+	{
+		if(compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+		}
+
+		return new StorageDataFileCompression.Default(positive(blockLength), compressionLevel);
+	}
+
+	public final class Default implements StorageDataFileCompression
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int blockLength     ;
+		private final int compressionLevel;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int blockLength, final int compressionLevel)
+		{
+			super();
+			this.blockLength      = blockLength     ;
+			this.compressionLevel = compressionLevel;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int blockLength()
+		{
+			return this.blockLength;
+		}
+
+		@Override
+		public final int compressionLevel()
+		{
+			return this.compressionLevel;
+		}
+
+	}
+
+	/**
+	 * The block index and compression logic of a single block compressed file. All positions and lengths
+	 * passed to or returned by its methods refer to the uncompressed data.
+	 * <p>
+	 * A block compressed file starts with a header, followed by the blocks. Every block consists of its
+	 * uncompressed length and its stored length as {@code int} values, followed by the stored bytes.
+	 * If both lengths are equal, the block is stored uncompressed as it could not be compressed.
+	 * An incomplete trailing block, e.g. caused by a crash while writing, is ignored and overwritten by the next
+	 * write, so the file's length is the same as that of an uncompressed file whose last write was incomplete.
+	 * <p>
+	 * Instances are not thread-safe, the owning file has to synchronize all accesses.
+	 */
+	public final class BlockFile
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// negative to never be mistaken for the length of an entity at the start of an uncompressed file.
+		static final long FILE_HEADER = 0xB10C_DA7A_F11E_0001L;
+
+		private static final int FILE_HEADER_LENGTH  = Long.BYTES     ;
+		private static final int BLOCK_HEADER_LENGTH = Integer.BYTES * 2;
+
+		private static final int INITIAL_INDEX_LENGTH = 64;
+
+		// encoded blocks are collected up to this length before they are written as a whole.
+		private static final int WRITE_BATCH_BLOCK_COUNT = 16;
+
+		// type of the journal file holding a rewritten block while its file is truncated, see #truncate.
+		private static final String TRUNCATION_JOURNAL_FILE_TYPE = "truncation";
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		/**
+		 * Checks if the passed non-empty file is in the block compressed format.
+		 *
+		 * @param file the file to be checked.
+		 *
+		 * @return whether the file is block compressed.
+		 */
+		static boolean isBlockFile(final AReadableFile file)
+		{
+			if(file.size() < FILE_HEADER_LENGTH)
+			{
+				return false;
+			}
+
+			final ByteBuffer header = allocateBuffer(FILE_HEADER_LENGTH);
+
+			return file.readBytes(header, 0, FILE_HEADER_LENGTH) == FILE_HEADER_LENGTH
+				&& header.getLong(0) == FILE_HEADER
+			;
+		}
+
+		/**
+		 * Creates the block index of an existing block compressed file by scanning its block headers.
+		 *
+		 * @param file the file to be indexed.
+		 * @param compression the compression to be used for writing to the file.
+		 *
+		 * @return a new {@link BlockFile} instance.
+		 */
+		static BlockFile Load(final AReadableFile file, final StorageDataFileCompression compression)
+		{
+			final BlockFile blockFile = new BlockFile(compression);
+			blockFile.indexBlocks(file);
+
+			return blockFile;
+		}
+
+		/**
+		 * Creates a {@link BlockFile} for a new, empty file. The file header is written with the first data.
+		 *
+		 * @param compression the compression to be used for writing to the file.
+		 *
+		 * @return a new {@link BlockFile} instance.
+		 */
+		static BlockFile New(final StorageDataFileCompression compression)
+		{
+			return new BlockFile(compression);
+		}
+
+		/**
+		 * Provides the journal file used while truncating the passed file, located next to it.
+		 *
+		 * @param file the block compressed file.
+		 *
+		 * @return the file's truncation journal file.
+		 */
+		static AFile truncationJournalFile(final AFile file)
+		{
+			return file.parent().ensureFile(file.name(), TRUNCATION_JOURNAL_FILE_TYPE);
+		}
+
+		/**
+		 * Completes a truncation of the passed file that has been interrupted, e.g. by a crash, via its existing
+		 * journal file. A complete journal is applied to the file. An incomplete journal means that the file has not
+		 * been modified yet. Either way, the journal file is deleted afterwards.
+		 *
+		 * @param file the block compressed file.
+		 * @param journalFile the file's truncation journal file, see {@link #truncationJournalFile(AFile)}.
+		 */
+		static void recoverTruncation(final AWritableFile file, final AFile journalFile)
+		{
+			final ByteBuffer journal = AFS.apply(journalFile, rf ->
+			{
+				final long journalLength = rf.size();
+				if(journalLength < Long.BYTES + BLOCK_HEADER_LENGTH || journalLength > Integer.MAX_VALUE)
+				{
+					return null;
+				}
+
+				final ByteBuffer content = allocateBuffer((int)journalLength);
+				return rf.readBytes(content, 0, journalLength) == journalLength
+					&& journalLength == Long.BYTES + BLOCK_HEADER_LENGTH + content.getInt(Long.BYTES + Integer.BYTES)
+					? content
+					: null
+				;
+			});
+
+			if(journal != null)
+			{
+				final long filePosition = journal.getLong(0);
+				if(filePosition < FILE_HEADER_LENGTH || filePosition > file.size())
+				{
+					throw new StorageExceptionConsistency(
+						"Invalid truncation journal " + journalFile + " for " + file.size() + " bytes long file " + file
+					);
+				}
+				file.truncate(filePosition);
+				journal.position(Long.BYTES);
+				file.writeBytes(X.ArrayView(journal));
+				force(file);
+			}
+			journalFile.delete();
+		}
+
+		private static void writeTruncationJournal(
+			final AFile  journalFile ,
+			final long   filePosition,
+			final byte[] block       ,
+			final int    blockLength
+		)
+		{
+			if(journalFile.exists())
+			{
+				journalFile.delete();
+			}
+
+			final ByteBuffer position = allocateBuffer(Long.BYTES);
+			position.putLong(0, filePosition);
+
+			AFS.executeWriting(journalFile, wf ->
+			{
+				wf.writeBytes(X.ArrayView(position, ByteBuffer.wrap(block, 0, blockLength)));
+				force(wf);
+			});
+			
+			// the journal must still be found after a crash, so its directory entry has to be durable as well.
+			StorageFile.forceDirectory(journalFile);
+		}
+
+		private static void force(final AWritableFile file)
+		{
+			// file systems without forcing provide no durability guarantees to begin with.
+			if(file instanceof NioWritableFile)
+			{
+				((NioWritableFile)file).force();
+			}
+		}
+
+		private static ByteBuffer allocateBuffer(final int capacity)
+		{
+			return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		private static void put_int(final byte[] bytes, final int offset, final int value)
+		{
+			bytes[offset    ] = (byte) value        ;
+			bytes[offset + 1] = (byte)(value >>>  8);
+			bytes[offset + 2] = (byte)(value >>> 16);
+			bytes[offset + 3] = (byte)(value >>> 24);
+		}
+
+		private static int get_int(final byte[] bytes, final int offset)
+		{
+			return bytes[offset] & 0xFF
+				| (bytes[offset + 1] & 0xFF) <<  8
+				| (bytes[offset + 2] & 0xFF) << 16
+				| (bytes[offset + 3] & 0xFF) << 24
+			;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int blockLength     ;
+		private final int compressionLevel;
+
+		// block index: uncompressed start position and position of the block header in the file of every block.
+		private long[]  blockStarts        = new long[INITIAL_INDEX_LENGTH];
+		private long[]  blockFilePositions = new long[INITIAL_INDEX_LENGTH];
+		private int     blockCount        ;
+		private long    length            ;
+		private long    fileLength        ;
+		private boolean hasTrailingGarbage;
+
+		private Deflater deflater;
+		private Inflater inflater;
+
+		// uncompressed data of the block read last, to read consecutive entities of the same block cheaply.
+		private byte[] blockData    ;
+		private int    blockDataIndex = -1;
+
+		private byte[] storedData;
+		private byte[] writeData ;
+		private byte[] writeBatch;
+		private int    writeBatchLength;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		private BlockFile(final StorageDataFileCompression compression)
+		{
+			super();
+			this.blockLength      = compression.blockLength()     ;
+			this.compressionLevel = compression.compressionLevel();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * @return the uncompressed length of the file's data.
+		 */
+		public final long length()
+		{
+			return this.length;
+		}
+
+		/**
+		 * @return the actual length of the file's valid content, including its headers.
+		 */
+		public final long fileLength()
+		{
+			return this.fileLength;
+		}
+
+		public final int blockCount()
+		{
+			return this.blockCount;
+		}
+
+		private void indexBlocks(final AReadableFile file)
+		{
+			final long       actualFileLength = file.size();
+			final ByteBuffer header           = allocateBuffer(BLOCK_HEADER_LENGTH);
+
+			long position = FILE_HEADER_LENGTH;
+			while(position + BLOCK_HEADER_LENGTH <= actualFileLength)
+			{
+				header.clear();
+				file.readBytes(header, position, BLOCK_HEADER_LENGTH);
+
+				final int blockLength  = header.getInt(0);
+				final int storedLength = header.getInt(Integer.BYTES);
+				if(blockLength <= 0 || storedLength <= 0 || storedLength > blockLength
+					|| position + BLOCK_HEADER_LENGTH + storedLength > actualFileLength
+				)
+				{
+					// incomplete trailing block
+					break;
+				}
+
+				this.addBlock(position, blockLength);
+				position += BLOCK_HEADER_LENGTH + storedLength;
+			}
+
+			this.fileLength         = position;
+			this.hasTrailingGarbage = position < actualFileLength;
+		}
+
+		private void addBlock(final long filePosition, final int blockLength)
+		{
+			if(this.blockCount == this.blockStarts.length)
+			{
+				this.blockStarts        = Arrays.copyOf(this.blockStarts       , this.blockCount * 2);
+				this.blockFilePositions = Arrays.copyOf(this.blockFilePositions, this.blockCount * 2);
+			}
+			this.blockStarts       [this.blockCount] = this.length ;
+			this.blockFilePositions[this.blockCount] = filePosition;
+			this.blockCount++;
+			this.length += blockLength;
+		}
+
+		private int blockLength(final int index)
+		{
+			return (int)((index + 1 < this.blockCount ? this.blockStarts[index + 1] : this.length)
+				- this.blockStarts[index]
+			);
+		}
+
+		private int storedLength(final int index)
+		{
+			return (int)((index + 1 < this.blockCount ? this.blockFilePositions[index + 1] : this.fileLength)
+				- this.blockFilePositions[index] - BLOCK_HEADER_LENGTH
+			);
+		}
+
+		private int findBlock(final long position)
+		{
+			// binary search for the last block starting at or before the position.
+			int low = 0, high = this.blockCount - 1;
+			while(low < high)
+			{
+				final int mid = low + high + 1 >>> 1;
+				if(this.blockStarts[mid] <= position)
+				{
+					low = mid;
+				}
+				else
+				{
+					high = mid - 1;
+				}
+			}
+
+			return low;
+		}
+
+		private void readBlock(final AReadableFile file, final int index)
+		{
+			if(index == this.blockDataIndex)
+			{
+				return;
+			}
+
+			final int blockLength  = this.blockLength(index);
+			final int storedLength = this.storedLength(index);
+			if(this.blockData == null || this.blockData.length < blockLength)
+			{
+				this.blockData = new byte[Math.max(blockLength, this.blockLength)];
+			}
+
+			// invalidated first in case reading fails half way.
+			this.blockDataIndex = -1;
+
+			final long storedPosition = this.blockFilePositions[index] + BLOCK_HEADER_LENGTH;
+			if(storedLength == blockLength)
+			{
+				file.readBytes(ByteBuffer.wrap(this.blockData, 0, blockLength), storedPosition, blockLength);
+			}
+			else
+			{
+				this.inflate(file, index, storedPosition, storedLength, blockLength);
+			}
+
+			this.blockDataIndex = index;
+		}
+
+		private void inflate(
+			final AReadableFile file          ,
+			final int           index         ,
+			final long          storedPosition,
+			final int           storedLength  ,
+			final int           blockLength
+		)
+		{
+			if(this.storedData == null || this.storedData.length < storedLength)
+			{
+				this.storedData = new byte[Math.max(storedLength, this.blockLength)];
+			}
+			file.readBytes(ByteBuffer.wrap(this.storedData, 0, storedLength), storedPosition, storedLength);
+
+			if(this.inflater == null)
+			{
+				this.inflater = new Inflater();
+			}
+			this.inflater.reset();
+			this.inflater.setInput(this.storedData, 0, storedLength);
+
+			int inflatedLength = 0;
+			try
+			{
+				while(!this.inflater.finished() && inflatedLength < blockLength)
+				{
+					final int count = this.inflater.inflate(this.blockData, inflatedLength, blockLength - inflatedLength);
+					if(count == 0 && (this.inflater.needsInput() || this.inflater.needsDictionary()))
+					{
+						break;
+					}
+					inflatedLength += count;
+				}
+			}
+			catch(final DataFormatException e)
+			{
+				throw new StorageExceptionConsistency("Corrupt compressed block " + index, e);
+			}
+			if(inflatedLength != blockLength)
+			{
+				throw new StorageExceptionConsistency(
+					"Decompressed length " + inflatedLength + " of block " + index
+					+ " does not match its length " + blockLength
+				);
+			}
+		}
+
+		/**
+		 * Reads the file's uncompressed data starting at the passed position into the passed buffer.
+		 *
+		 * @return the number of bytes read.
+		 */
+		final long read(
+			final AReadableFile file          ,
+			final ByteBuffer    targetBuffer  ,
+			final long          position      ,
+			final long          length
+		)
+		{
+			final long bound = Math.min(position + Math.min(length, targetBuffer.remaining()), this.length);
+
+			long current = position;
+			while(current < bound)
+			{
+				final int index = this.findBlock(current);
+				this.readBlock(file, index);
+
+				final int offset = (int)(current - this.blockStarts[index]);
+				final int count  = (int)Math.min(this.blockLength(index) - offset, bound - current);
+				targetBuffer.put(this.blockData, offset, count);
+				current += count;
+			}
+
+			return current - position;
+		}
+
+		final long read(
+			final AReadableFile  file          ,
+			final BufferProvider bufferProvider,
+			final long           position      ,
+			final long           length
+		)
+		{
+			bufferProvider.initializeOperation();
+			try
+			{
+				return this.read(file, bufferProvider.provideBuffer(length), position, length);
+			}
+			finally
+			{
+				bufferProvider.completeOperation();
+			}
+		}
+
+		/**
+		 * Appends the passed data to the file as new blocks.
+		 *
+		 * @return the number of uncompressed bytes written.
+		 */
+		final long write(final AWritableFile file, final Iterable<? extends ByteBuffer> buffers)
+		{
+			this.prepareWriting(file);
+
+			final byte[] data = this.writeData;
+
+			long totalLength = 0;
+			int  dataLength  = 0;
+			for(final ByteBuffer buffer : buffers)
+			{
+				while(buffer.hasRemaining())
+				{
+					final int count = Math.min(buffer.remaining(), this.blockLength - dataLength);
+					buffer.get(data, dataLength, count);
+					dataLength  += count;
+					totalLength += count;
+					if(dataLength == this.blockLength)
+					{
+						this.addEncodedBlock(file, dataLength);
+						dataLength = 0;
+					}
+				}
+			}
+			if(dataLength > 0)
+			{
+				this.addEncodedBlock(file, dataLength);
+			}
+			this.flushWriteBatch(file);
+
+			return totalLength;
+		}
+
+		/**
+		 * Appends the passed range of the passed uncompressed source file to the file as new blocks.
+		 *
+		 * @return the number of uncompressed bytes written.
+		 */
+		final long write(
+			final AWritableFile file          ,
+			final AReadableFile source        ,
+			final long          sourcePosition,
+			final long          length
+		)
+		{
+			this.prepareWriting(file);
+
+			final ByteBuffer data = ByteBuffer.wrap(this.writeData);
+
+			long current = sourcePosition;
+			final long bound = sourcePosition + length;
+			while(current < bound)
+			{
+				data.clear();
+				final int count = (int)Math.min(this.blockLength, bound - current);
+				final long readCount = source.readBytes(data, current, count);
+				if(readCount != count)
+				{
+					throw new StorageExceptionIoReading(
+						"Incomplete read of " + readCount + " instead of " + count + " bytes at position " + current
+					);
+				}
+				this.addEncodedBlock(file, count);
+				current += count;
+			}
+			this.flushWriteBatch(file);
+
+			return current - sourcePosition;
+		}
+
+		private void prepareWriting(final AWritableFile file)
+		{
+			if(this.writeData == null)
+			{
+				this.writeData  = new byte[this.blockLength];
+				this.storedData = this.storedData == null || this.storedData.length < this.blockLength
+					? new byte[this.blockLength]
+					: this.storedData
+				;
+				this.writeBatch = new byte[WRITE_BATCH_BLOCK_COUNT * (BLOCK_HEADER_LENGTH + this.blockLength)];
+				this.deflater   = new Deflater(this.compressionLevel);
+			}
+
+			if(this.fileLength == 0)
+			{
+				final ByteBuffer header = allocateBuffer(FILE_HEADER_LENGTH);
+				header.putLong(0, FILE_HEADER);
+				file.writeBytes(X.ArrayView(header));
+				this.fileLength = FILE_HEADER_LENGTH;
+			}
+			else if(this.hasTrailingGarbage)
+			{
+				file.truncate(this.fileLength);
+				this.hasTrailingGarbage = false;
+			}
+		}
+
+		private void addEncodedBlock(final AWritableFile file, final int dataLength)
+		{
+			if(this.writeBatchLength + BLOCK_HEADER_LENGTH + dataLength > this.writeBatch.length)
+			{
+				this.flushWriteBatch(file);
+			}
+
+			final int encodedLength = this.encodeBlock(dataLength);
+
+			this.addBlock(this.fileLength, dataLength);
+			this.fileLength += encodedLength;
+		}
+
+		// appends the encoded block of the first dataLength bytes of writeData to the write batch.
+		private int encodeBlock(final int dataLength)
+		{
+			final int storedLength = this.deflate(dataLength);
+			final int offset       = this.writeBatchLength;
+			put_int(this.writeBatch, offset                , dataLength  );
+			put_int(this.writeBatch, offset + Integer.BYTES, storedLength);
+			System.arraycopy(
+				storedLength == dataLength ? this.writeData : this.storedData, 0,
+				this.writeBatch, offset + BLOCK_HEADER_LENGTH,
+				storedLength
+			);
+			this.writeBatchLength += BLOCK_HEADER_LENGTH + storedLength;
+
+			return BLOCK_HEADER_LENGTH + storedLength;
+		}
+
+		private int deflate(final int dataLength)
+		{
+			this.deflater.reset();
+			this.deflater.setInput(this.writeData, 0, dataLength);
+			this.deflater.finish();
+
+			// only smaller output is of any use, otherwise the block is stored uncompressed.
+			final int maximumLength = dataLength - 1;
+			int storedLength = 0;
+			while(!this.deflater.finished() && storedLength < maximumLength)
+			{
+				storedLength += this.deflater.deflate(this.storedData, storedLength, maximumLength - storedLength);
+			}
+
+			return this.deflater.finished() ? storedLength : dataLength;
+		}
+
+		private void flushWriteBatch(final AWritableFile file)
+		{
+			if(this.writeBatchLength == 0)
+			{
+				return;
+			}
+			file.writeBytes(X.ArrayView(ByteBuffer.wrap(this.writeBatch, 0, this.writeBatchLength)));
+			this.writeBatchLength = 0;
+		}
+
+		/**
+		 * Truncates the file's uncompressed data to the passed length. A block that is only partially
+		 * retained is rewritten. As its retained data is lost once the file is truncated, the rewritten block
+		 * is written to the passed journal file first, see {@link #recoverTruncation(AWritableFile, AFile)}.
+		 */
+		final void truncate(final AWritableFile file, final long newLength, final AFile journalFile)
+		{
+			if(newLength >= this.length)
+			{
+				if(this.hasTrailingGarbage)
+				{
+					file.truncate(this.fileLength);
+					this.hasTrailingGarbage = false;
+				}
+				return;
+			}
+
+			final int  index         = this.findBlock(newLength);
+			final int  retainedCount = (int)(newLength - this.blockStarts[index]);
+			final long filePosition  = this.blockFilePositions[index];
+
+			int encodedLength = 0;
+			if(retainedCount > 0)
+			{
+				this.readBlock(file, index);
+				this.prepareWriting(file);
+				System.arraycopy(this.blockData, 0, this.writeData, 0, retainedCount);
+
+				// the rewritten block must be safe before the retained data in the file is cut off.
+				encodedLength = this.encodeBlock(retainedCount);
+				writeTruncationJournal(journalFile, filePosition, this.writeBatch, encodedLength);
+			}
+
+			file.truncate(filePosition);
+			this.fileLength         = filePosition;
+			this.length             = this.blockStarts[index];
+			this.blockCount         = index;
+			this.blockDataIndex     = -1;
+			this.hasTrailingGarbage = false;
+
+			if(retainedCount > 0)
+			{
+				this.addBlock(filePosition, retainedCount);
+				this.fileLength += encodedLength;
+				this.flushWriteBatch(file);
+
+				// the journal may only be discarded after the rewritten block is durable in the file itself.
+				force(file);
+				journalFile.delete();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,301 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+import static org.eclipse.serializer.math.XMath.positive;
+
+/**
+ * Function type that ranks storage data files by the benefit of dissolving them relative to the cost of doing so,
+ * replacing the per-file use ratio threshold of {@link StorageDataFileEvaluator} in the incremental file cleanup
+ * by a log-structured cost-benefit cleanup.
+ * <p>
+ * The cost of dissolving a file is copying its live data to the head file, its benefit is the reclaimed gap space,
+ * weighted by the age of the file's data: data that has survived long is likely to stay alive, so cleaning up
+ * old files frees space for a long time, while cleaning up young ("hot") files mostly copies data that soon becomes
+ * garbage again. The age of a file is measured in the number of data files created after it in its channel.
+ * <p>
+ * The file with the best ranking is dissolved first, but only as long as the resulting write amplification
+ * (the ratio of all data written to data files to the data written by stores and imports) stays within
+ * {@link #maximumWriteAmplification()}. The write amplification is evaluated over a decaying window of
+ * {@link #writeBudgetWindowNs()} and the cleanup may always write at least {@link #minimumWriteBudget()} bytes
+ * per window, so read-mostly or delete-heavy databases and freshly started ones get cleaned up as well.
+ * Files violating the minimum or maximum file size of the {@link StorageDataFileEvaluator} are still dissolved
+ * regardless of their ranking and the budget.
+ * <p>
+ * Note that any implementation of this type must be safe enough to never throw an exception as this would doom
+ * the storage thread that executes it.
+ */
+public interface StorageDataFileCostBenefitEvaluator
+{
+	/**
+	 * Evaluates the benefit-to-cost ratio of dissolving the passed storage data file.
+	 *
+	 * @param storageFile the data file to be evaluated.
+	 * @param fileAge the number of data files created after the passed one in its channel.
+	 *
+	 * @return the benefit-to-cost ratio, a value of 0 or less means the file is not worth being dissolved.
+	 */
+	public double evaluateBenefit(StorageLiveDataFile storageFile, long fileAge);
+
+	/**
+	 * The maximum ratio of all data written to data files to the data written by stores and imports.
+	 * A value of 1.0 or less allows no cleanup writes at all and disables the cost-benefit cleanup,
+	 * meaning the incremental file cleanup is done solely by the {@link StorageDataFileEvaluator}.
+	 *
+	 * @return the maximum write amplification.
+	 */
+	public double maximumWriteAmplification();
+
+	/**
+	 * The time span in nanoseconds over which written data is accounted for the write amplification budget.
+	 * Older writes decay exponentially with this time constant.
+	 *
+	 * @return the write budget window in nanoseconds.
+	 */
+	public default long writeBudgetWindowNs()
+	{
+		return Defaults.defaultWriteBudgetWindowNs();
+	}
+
+	/**
+	 * The number of bytes the cleanup may always write per {@link #writeBudgetWindowNs()}, regardless of
+	 * the data written by stores and imports.
+	 *
+	 * @return the minimum write budget in bytes.
+	 */
+	public default long minimumWriteBudget()
+	{
+		return Defaults.defaultMinimumWriteBudget();
+	}
+
+	public default boolean isEnabled()
+	{
+		return this.maximumWriteAmplification() > 1.0;
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCostBenefitEvaluator} instance
+	 * that disables the cost-benefit cleanup. This is the default.
+	 *
+	 * @return a new {@link StorageDataFileCostBenefitEvaluator} instance.
+	 */
+	public static StorageDataFileCostBenefitEvaluator Disabled()
+	{
+		return new StorageDataFileCostBenefitEvaluator.Default(
+			0.0                                   ,
+			1.0                                   ,
+			Defaults.defaultWriteBudgetWindowNs() ,
+			Defaults.defaultMinimumWriteBudget()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCostBenefitEvaluator} instance
+	 * using default values specified by {@link StorageDataFileCostBenefitEvaluator.Defaults}.
+	 *
+	 * @return a new {@link StorageDataFileCostBenefitEvaluator} instance.
+	 *
+	 * @see #New(double, double)
+	 */
+	public static StorageDataFileCostBenefitEvaluator New()
+	{
+		return New(
+			Defaults.defaultMinimumGapRatio()          ,
+			Defaults.defaultMaximumWriteAmplification()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCostBenefitEvaluator} instance
+	 * using the passed values.
+	 *
+	 * @param minimumGapRatio the ratio (value in [0.0;1.0[) of gap data a file must at least contain
+	 *        to be considered for dissolving at all.
+	 * @param maximumWriteAmplification the maximum ratio (value greater than 1.0) of all data written to data
+	 *        files to the data written by stores and imports.
+	 *
+	 * @return a new {@link StorageDataFileCostBenefitEvaluator} instance.
+	 *
+	 * @see #New(double, double, long, long)
+	 */
+	public static StorageDataFileCostBenefitEvaluator New(
+		final double minimumGapRatio          ,
+		final double maximumWriteAmplification
+	)
+	{
+		return New(
+			minimumGapRatio                      ,
+			maximumWriteAmplification            ,
+			Defaults.defaultWriteBudgetWindowNs(),
+			Defaults.defaultMinimumWriteBudget()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCostBenefitEvaluator} instance
+	 * using the passed values.
+	 *
+	 * @param minimumGapRatio the ratio (value in [0.0;1.0[) of gap data a file must at least contain
+	 *        to be considered for dissolving at all.
+	 * @param maximumWriteAmplification the maximum ratio (value greater than 1.0) of all data written to data
+	 *        files to the data written by stores and imports.
+	 * @param writeBudgetWindowNs the time span in nanoseconds over which written data is accounted.
+	 * @param minimumWriteBudget the number of bytes the cleanup may always write per window.
+	 *
+	 * @return a new {@link StorageDataFileCostBenefitEvaluator} instance.
+	 */
+	public static StorageDataFileCostBenefitEvaluator New(
+		final double minimumGapRatio          ,
+		final double maximumWriteAmplification,
+		final long   writeBudgetWindowNs      ,
+		final long   minimumWriteBudget
+	)
+	{
+		if(minimumGapRatio < 0.0 || minimumGapRatio >= 1.0)
+		{
+			throw new IllegalArgumentException(
+				"Specified minimum gap ratio of " + minimumGapRatio + " is not in the valid range of [0.0, 1.0[."
+			);
+		}
+		if(!(maximumWriteAmplification > 1.0))
+		{
+			throw new IllegalArgumentException(
+				"Specified maximum write amplification of " + maximumWriteAmplification + " is not greater than 1.0."
+			);
+		}
+
+		return new StorageDataFileCostBenefitEvaluator.Default(
+			minimumGapRatio              ,
+			maximumWriteAmplification    ,
+			positive(writeBudgetWindowNs),
+			notNegative(minimumWriteBudget)
+		);
+	}
+
+	public interface Defaults
+	{
+		/**
+		 * @return {@code 0.1} (meaning files with less than 10% gap data are never dissolved for their gaps).
+		 */
+		public static double defaultMinimumGapRatio()
+		{
+			return 0.1;
+		}
+
+		/**
+		 * @return {@code 2.0} (meaning the cleanup may write as much data as stores and imports).
+		 */
+		public static double defaultMaximumWriteAmplification()
+		{
+			return 2.0;
+		}
+
+		/**
+		 * @return {@code 600_000_000_000} (10 minutes).
+		 */
+		public static long defaultWriteBudgetWindowNs()
+		{
+			return 600_000_000_000L;
+		}
+
+		/**
+		 * @return {@code 16 MiB} (twice the default maximum data file size).
+		 */
+		public static long defaultMinimumWriteBudget()
+		{
+			return 16 * 1024 * 1024;
+		}
+	}
+
+	public final class Default implements StorageDataFileCostBenefitEvaluator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final double minimumGapRatio          ;
+		private final double maximumWriteAmplification;
+		private final long   writeBudgetWindowNs      ;
+		private final long   minimumWriteBudget       ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final double minimumGapRatio          ,
+			final double maximumWriteAmplification,
+			final long   writeBudgetWindowNs      ,
+			final long   minimumWriteBudget
+		)
+		{
+			super();
+			this.minimumGapRatio           = minimumGapRatio          ;
+			this.maximumWriteAmplification = maximumWriteAmplification;
+			this.writeBudgetWindowNs       = writeBudgetWindowNs      ;
+			this.minimumWriteBudget        = minimumWriteBudget       ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final double minimumGapRatio()
+		{
+			return this.minimumGapRatio;
+		}
+
+		@Override
+		public final double maximumWriteAmplification()
+		{
+			return this.maximumWriteAmplification;
+		}
+
+		@Override
+		public final long writeBudgetWindowNs()
+		{
+			return this.writeBudgetWindowNs;
+		}
+
+		@Override
+		public final long minimumWriteBudget()
+		{
+			return this.minimumWriteBudget;
+		}
+
+		@Override
+		public final double evaluateBenefit(final StorageLiveDataFile storageFile, final long fileAge)
+		{
+			final double useRatio = storageFile.dataFillRatio();
+			final double gapRatio = 1.0 - useRatio;
+			if(gapRatio <= 0.0 || gapRatio < this.minimumGapRatio)
+			{
+				return 0.0;
+			}
+
+			// classic log-structured cleaning: reclaimed space times age per read and rewritten live data
+			return gapRatio * (1 + fileAge) / (1.0 + useRatio);
+		}
+
+	}
+
+}
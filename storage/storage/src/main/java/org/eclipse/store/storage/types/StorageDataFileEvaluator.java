@@ -34,9 +34,9 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 
 	public boolean needsRetirement(long fileTotalLength);
 
-	public int fileMinimumSize();
+	public long fileMinimumSize();
 
-	public int fileMaximumSize();
+	public long fileMaximumSize();
 
 	public int transactionFileMaximumSize();
 
@@ -44,13 +44,13 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
 	 * using default values specified by {@link StorageDataFileEvaluator.Defaults}.
 	 * <p>
-	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(int, int, double)}.<p>
+	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(long, long, double)}.<p>
 	 *
 	 * @return a new {@link StorageDataFileEvaluator} instance.
 	 *
-	 * @see StorageDataFileEvaluator#New(int, int)
+	 * @see StorageDataFileEvaluator#New(long, long)
 	 * @see StorageDataFileEvaluator#New(double)
-	 * @see StorageDataFileEvaluator#New(int, int, double)
+	 * @see StorageDataFileEvaluator#New(long, long, double)
 	 * @see StorageDataFileEvaluator.Defaults
 	 */
 	public static StorageDataFileEvaluator New()
@@ -72,7 +72,7 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
 	 * using the passed value and default values specified by {@link StorageDataFileEvaluator.Defaults}.
 	 * <p>
-	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(int, int, double)}.<p>
+	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(long, long, double)}.<p>
 	 *
 	 * @param minimumUseRatio the ratio (value in ]0.0;1.0]) of non-gap data contained in a storage file to prevent
 	 *        the file from being dissolved. "Gap" data is anything that is not the latest version of an entity's data,
@@ -84,8 +84,8 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 * @return a new {@link StorageDataFileEvaluator} instance.
 	 *
 	 * @see StorageDataFileEvaluator#New()
-	 * @see StorageDataFileEvaluator#New(int, int)
-	 * @see StorageDataFileEvaluator#New(int, int, double)
+	 * @see StorageDataFileEvaluator#New(long, long)
+	 * @see StorageDataFileEvaluator#New(long, long, double)
 	 * @see StorageDataFileEvaluator.Defaults
 	 */
 	public static StorageDataFileEvaluator New(final double minimumUseRatio)
@@ -103,7 +103,7 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
 	 * using the passed values and default values specified by {@link StorageDataFileEvaluator.Defaults}.
 	 * <p>
-	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(int, int, double)}.<p>
+	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(long, long, double)}.<p>
 	 *
 	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
 	 *        will be dissolved.
@@ -118,12 +118,12 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 *
 	 * @see StorageDataFileEvaluator#New()
 	 * @see StorageDataFileEvaluator#New(double)
-	 * @see StorageDataFileEvaluator#New(int, int, double)
+	 * @see StorageDataFileEvaluator#New(long, long, double)
 	 * @see StorageDataFileEvaluator.Defaults
 	 */
 	public static StorageDataFileEvaluator New(
-		final int fileMinimumSize,
-		final int fileMaximumSize
+		final long fileMinimumSize,
+		final long fileMaximumSize
 	)
 	{
 		return New(
@@ -170,12 +170,12 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 *
 	 * @see StorageDataFileEvaluator#New()
 	 * @see StorageDataFileEvaluator#New(double)
-	 * @see StorageDataFileEvaluator#New(int, int)
+	 * @see StorageDataFileEvaluator#New(long, long)
 	 * @see StorageDataFileEvaluator.Defaults
 	 */
 	public static StorageDataFileEvaluator New(
-		final int    fileMinimumSize,
-		final int    fileMaximumSize,
+		final long   fileMinimumSize,
+		final long   fileMaximumSize,
 		final double minimumUseRatio
 	)
 	{
@@ -192,7 +192,7 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
 	 * using the passed values and default values specified by {@link StorageDataFileEvaluator.Defaults}.
 	 * <p>
-	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(int, int, double)}.
+	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(long, long, double)}.
 	 *
 	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
 	 *        will be dissolved.
@@ -217,13 +217,13 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 *
 	 * @see StorageDataFileEvaluator#New()
 	 * @see StorageDataFileEvaluator#New(double)
-	 * @see StorageDataFileEvaluator#New(int, int)
-	 * @see StorageDataFileEvaluator#New(int, int, double)
+	 * @see StorageDataFileEvaluator#New(long, long)
+	 * @see StorageDataFileEvaluator#New(long, long, double)
 	 * @see StorageDataFileEvaluator.Defaults
 	 */
 	public static StorageDataFileEvaluator New(
-		final int     fileMinimumSize,
-		final int     fileMaximumSize,
+		final long    fileMinimumSize,
+		final long    fileMaximumSize,
 		final double  minimumUseRatio,
 		final boolean cleanUpHeadFile
 	)
@@ -242,7 +242,7 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
 	 * using the passed values and default values specified by {@link StorageDataFileEvaluator.Defaults}.
 	 * <p>
-	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(int, int, double)}.
+	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(long, long, double)}.
 	 *
 	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
 	 *        will be dissolved.
@@ -272,13 +272,13 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 *
 	 * @see StorageDataFileEvaluator#New()
 	 * @see StorageDataFileEvaluator#New(double)
-	 * @see StorageDataFileEvaluator#New(int, int)
-	 * @see StorageDataFileEvaluator#New(int, int, double)
+	 * @see StorageDataFileEvaluator#New(long, long)
+	 * @see StorageDataFileEvaluator#New(long, long, double)
 	 * @see StorageDataFileEvaluator.Defaults
 	 */
 	public static StorageDataFileEvaluator New(
-		final int     fileMinimumSize,
-		final int     fileMaximumSize,
+		final long    fileMinimumSize,
+		final long    fileMaximumSize,
 		final double  minimumUseRatio,
 		final boolean cleanUpHeadFile,
 		final int     transactionFileMaximumSize
@@ -292,14 +292,15 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 
 	public interface Validation
 	{
-		public static int minimumFileSize()
+		public static long minimumFileSize()
 		{
 			return 1024;
 		}
 
-		public static int maximumFileSize()
+		public static long maximumFileSize()
 		{
-			return Integer.MAX_VALUE;
+			// storage positions are 64 bit values, so the only limit is the file system's.
+			return Long.MAX_VALUE;
 		}
 
 		public static int minimumTransactionLogFileSize()
@@ -333,8 +334,8 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		}
 
 		public static void validateParameters(
-			final int    fileMinimumSize,
-			final int    fileMaximumSize,
+			final long   fileMinimumSize,
+			final long   fileMaximumSize,
 			final double minimumUseRatio,
 			final int    transactionFileMaximumSize
 		)
@@ -394,7 +395,7 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		/**
 		 * @return {@code 1 * 1024 * 1024} (meaning 1 MB minimum file size).
 		 */
-		public static int defaultFileMinimumSize()
+		public static long defaultFileMinimumSize()
 		{
 			// 1 MB in common byte magnitude
 			return 1 * 1024 * 1024;
@@ -413,7 +414,7 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		/**
 		 * @return {@code 8 * 1024 * 1024} (meaning 8 MB maximum file size).
 		 */
-		public static int defaultFileMaximumSize()
+		public static long defaultFileMaximumSize()
 		{
 			// 8 MB in common byte magnitude
 			return 8 * 1024 * 1024;
@@ -441,8 +442,8 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		// instance fields //
 		////////////////////
 
-		private final int     fileMinimumSize;
-		private final int     fileMaximumSize;
+		private final long    fileMinimumSize;
+		private final long    fileMaximumSize;
 		private final double  minimumUseRatio;
 		private final boolean cleanupHeadFile;
 		private final int     transactionFileMaximumSize;
@@ -453,8 +454,8 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		/////////////////
 
 		Default(
-			final int     fileMinimumSize,
-			final int     fileMaximumSize,
+			final long    fileMinimumSize,
+			final long    fileMaximumSize,
 			final double  minimumUseRatio,
 			final boolean cleanupHeadFile,
 			final int     transactionFileMaximumSize
@@ -475,13 +476,13 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		////////////
 
 		@Override
-		public final int fileMinimumSize()
+		public final long fileMinimumSize()
 		{
 			return this.fileMinimumSize;
 		}
 
 		@Override
-		public final int fileMaximumSize()
+		public final long fileMaximumSize()
 		{
 			return this.fileMaximumSize;
 		}
@@ -0,0 +1,164 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+
+/**
+ * Controls how many storage data files a channel keeps open at most and when idle data files get closed.
+ * <p>
+ * Without limitation, every data file that was ever read keeps its file handle open until it is deleted.
+ * With many data files per channel, this can exhaust the file descriptor limit of the process.
+ * If enabled, the open data files of a channel form a pool in least recently used order: exceeding
+ * {@link #maximumOpenFileCount()} closes the least recently used file and a housekeeping task closes files
+ * that have not been used for {@link #idleTimeoutMs()}. Closed files are reopened transparently on their next use.
+ * <p>
+ * The current head file of a channel is never closed, as it is written to continuously.
+ */
+public interface StorageDataFileHandleController
+{
+	/**
+	 * The maximum number of data files per channel, excluding the head file, to be kept open.
+	 * A value of 0 means no limitation.
+	 *
+	 * @return the maximum number of open data files per channel.
+	 */
+	public int maximumOpenFileCount();
+
+	/**
+	 * The time in milliseconds after which an unused data file gets closed.
+	 * A value of 0 means data files are never closed for being idle.
+	 *
+	 * @return the idle timeout in milliseconds.
+	 */
+	public long idleTimeoutMs();
+
+	public default boolean isPoolingEnabled()
+	{
+		return this.maximumOpenFileCount() > 0 || this.idleTimeoutMs() > 0;
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileHandleController} instance
+	 * that keeps data files open until they are deleted. This is the default.
+	 *
+	 * @return a new {@link StorageDataFileHandleController} instance.
+	 */
+	public static StorageDataFileHandleController Disabled()
+	{
+		return new StorageDataFileHandleController.Default(0, 0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileHandleController} instance
+	 * using default values specified by {@link StorageDataFileHandleController.Defaults}.
+	 *
+	 * @return a new {@link StorageDataFileHandleController} instance.
+	 *
+	 * @see #New(int, long)
+	 */
+	public static StorageDataFileHandleController New()
+	{
+		return New(
+			Defaults.defaultMaximumOpenFileCount(),
+			Defaults.defaultIdleTimeoutMs()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileHandleController} instance
+	 * using the passed values.
+	 *
+	 * @param maximumOpenFileCount the maximum number of data files per channel to be kept open, 0 for no limit.
+	 * @param idleTimeoutMs the time in milliseconds after which an unused data file gets closed, 0 for never.
+	 *
+	 * @return a new {@link StorageDataFileHandleController} instance.
+	 */
+	public static StorageDataFileHandleController New(
+		final int  maximumOpenFileCount,
+		final long idleTimeoutMs
+	)
+	{
+		return new StorageDataFileHandleController.Default(
+			notNegative(maximumOpenFileCount),
+			notNegative(idleTimeoutMs)
+		);
+	}
+
+	public interface Defaults
+	{
+		/**
+		 * @return {@code 256} open data files per channel.
+		 */
+		public static int defaultMaximumOpenFileCount()
+		{
+			return 256;
+		}
+
+		/**
+		 * @return {@code 60000} milliseconds (1 minute).
+		 */
+		public static long defaultIdleTimeoutMs()
+		{
+			return 60_000;
+		}
+	}
+
+	public final class Default implements StorageDataFileHandleController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int  maximumOpenFileCount;
+		private final long idleTimeoutMs       ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int maximumOpenFileCount, final long idleTimeoutMs)
+		{
+			super();
+			this.maximumOpenFileCount = maximumOpenFileCount;
+			this.idleTimeoutMs        = idleTimeoutMs       ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int maximumOpenFileCount()
+		{
+			return this.maximumOpenFileCount;
+		}
+
+		@Override
+		public final long idleTimeoutMs()
+		{
+			return this.idleTimeoutMs;
+		}
+
+	}
+
+}
@@ -0,0 +1,133 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.positive;
+
+/**
+ * Function type that evaluates if entity data is loaded from a read-only memory mapping of a storage data file
+ * instead of reading it positionally for every single entity.
+ * <p>
+ * Only files that are no longer written to (meaning every file except the current head file) are considered,
+ * as only those can be mapped once and then be used until they are deleted.
+ * Mapped reading requires a file system that supports mapping, currently the NIO file system. For any other
+ * file system, entity data is read as usual.
+ * <p>
+ * Note that any implementation of this type must be safe enough to never throw an exception as this would doom
+ * the storage thread that executes it.
+ */
+public interface StorageDataFileMappingEvaluator
+{
+	/**
+	 * Evaluates if a storage data file of the passed total length is to be mapped for loading entity data.
+	 *
+	 * @param fileTotalLength the total length of the data file.
+	 *
+	 * @return whether the file is to be mapped.
+	 */
+	public boolean needsMapping(long fileTotalLength);
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileMappingEvaluator} instance
+	 * that never maps any file. This is the default.
+	 *
+	 * @return a new {@link StorageDataFileMappingEvaluator} instance.
+	 */
+	public static StorageDataFileMappingEvaluator Disabled()
+	{
+		return new StorageDataFileMappingEvaluator.Disabled();
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileMappingEvaluator} instance
+	 * that maps every file that can technically be mapped as a whole.
+	 *
+	 * @return a new {@link StorageDataFileMappingEvaluator} instance.
+	 *
+	 * @see #New(long)
+	 */
+	public static StorageDataFileMappingEvaluator New()
+	{
+		return New(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileMappingEvaluator} instance
+	 * that maps every file up to the passed total length.
+	 *
+	 * @param fileMaximumLength the maximum total length of files to be mapped. Values beyond
+	 *        {@link Integer#MAX_VALUE} are reduced to it, as larger files cannot be mapped as a whole.
+	 *
+	 * @return a new {@link StorageDataFileMappingEvaluator} instance.
+	 */
+	public static StorageDataFileMappingEvaluator New(final long fileMaximumLength)
+	{
+		return new StorageDataFileMappingEvaluator.Default(
+			Math.min(positive(fileMaximumLength), Integer.MAX_VALUE)
+		);
+	}
+
+	public final class Default implements StorageDataFileMappingEvaluator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long fileMaximumLength;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long fileMaximumLength)
+		{
+			super();
+			this.fileMaximumLength = fileMaximumLength;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean needsMapping(final long fileTotalLength)
+		{
+			return fileTotalLength > 0 && fileTotalLength <= this.fileMaximumLength;
+		}
+
+	}
+
+	public final class Disabled implements StorageDataFileMappingEvaluator
+	{
+		Disabled()
+		{
+			super();
+		}
+
+		@Override
+		public final boolean needsMapping(final long fileTotalLength)
+		{
+			return false;
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.positive;
+
+/**
+ * Controls the preallocation of the current head data file of a channel.
+ * <p>
+ * Without preallocation, every store and every file cleanup transfer appends to the head file, so every write
+ * changes the file's size and allocates new space, causing file system meta data (journal) updates and
+ * fragmented files. If enabled, the head file is extended by zero bytes in increments of
+ * {@link #preallocationIncrement()}, bounded by the maximum data file size, and written positionally
+ * into that space. The content length of the file is tracked separately from its physical length.
+ * <p>
+ * Trailing preallocated space is trimmed when the head file is replaced by a new one and when the storage is
+ * shut down. After a crash, it is trimmed like any other trailing data not covered by the transactions log.
+ * <p>
+ * Preallocation requires a file system that supports positional writing, currently the NIO file system, and is not
+ * applied to block compressed data files. For any other file, data is appended as usual.
+ */
+public interface StorageDataFilePreallocationController
+{
+	/**
+	 * The length in bytes by which the head file is extended once its preallocated space is used up.
+	 * A value of 0 disables preallocation.
+	 *
+	 * @return the preallocation increment in bytes.
+	 */
+	public long preallocationIncrement();
+
+	public default boolean isPreallocationEnabled()
+	{
+		return this.preallocationIncrement() > 0;
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFilePreallocationController} instance
+	 * that disables preallocation, meaning the head file is appended to. This is the default.
+	 *
+	 * @return a new {@link StorageDataFilePreallocationController} instance.
+	 */
+	public static StorageDataFilePreallocationController Disabled()
+	{
+		return new StorageDataFilePreallocationController.Default(0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFilePreallocationController} instance
+	 * using default values specified by {@link StorageDataFilePreallocationController.Defaults}.
+	 *
+	 * @return a new {@link StorageDataFilePreallocationController} instance.
+	 *
+	 * @see #New(long)
+	 */
+	public static StorageDataFilePreallocationController New()
+	{
+		return New(Defaults.defaultPreallocationIncrement());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFilePreallocationController} instance
+	 * using the passed value.
+	 *
+	 * @param preallocationIncrement the length in bytes by which the head file is extended.
+	 *
+	 * @return a new {@link StorageDataFilePreallocationController} instance.
+	 */
+	public static StorageDataFilePreallocationController New(final long preallocationIncrement)
+	{
+		return new StorageDataFilePreallocationController.Default(
+			positive(preallocationIncrement)
+		);
+	}
+
+	public interface Defaults
+	{
+		/**
+		 * @return {@code 8388608} bytes (8 MiB).
+		 */
+		public static long defaultPreallocationIncrement()
+		{
+			return 8 * 1024 * 1024;
+		}
+	}
+
+	public final class Default implements StorageDataFilePreallocationController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long preallocationIncrement;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long preallocationIncrement)
+		{
+			super();
+			this.preallocationIncrement = preallocationIncrement;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long preallocationIncrement()
+		{
+			return this.preallocationIncrement;
+		}
+
+	}
+
+}
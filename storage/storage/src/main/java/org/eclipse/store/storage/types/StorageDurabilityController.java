@@ -0,0 +1,305 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+import static org.eclipse.serializer.math.XMath.positive;
+import static org.eclipse.serializer.util.X.notNull;
+
+/**
+ * Controls when the channels force written data and transactions entries to the storage device ("fsync"),
+ * see {@link Level} for the guarantees of each durability level.
+ * <p>
+ * Forcing requires a file system that supports it, currently the NIO file system. For any other file system,
+ * durability is left to the file system regardless of the level.
+ */
+public interface StorageDurabilityController
+{
+	/**
+	 * The durability levels.
+	 * <p>
+	 * The levels forcing every store force written data before the transactions entry referencing it is written,
+	 * so a power failure can never leave the transactions log ahead of the data files. For the other levels,
+	 * the operating system decides the order in which written pages reach the storage device.
+	 * Independent of the level, a data file is only deleted after its deletion entry and all data transferred
+	 * out of it have been forced, unless durability is left to the file system.
+	 */
+	public enum Level
+	{
+		/**
+		 * Files are never forced explicitly, durability is left to the file system and the operating system.
+		 * A completed store survives a process crash, but not necessarily a power failure.
+		 * This is the default.
+		 */
+		FILE_SYSTEM,
+		
+		/**
+		 * Every store task forces its data and then its transactions entry before it completes,
+		 * so a completed store survives a power failure. Costs two forces per store and channel.
+		 * The directory of a newly created data or transactions file is forced as well, where supported
+		 * by the file system and platform.
+		 */
+		SYNC_EACH,
+		
+		/**
+		 * The same guarantees as {@link #SYNC_EACH}, but concurrent store requests are grouped into a single
+		 * store task for up to {@link StorageDurabilityController#groupingDelayNs()}, so the forces are shared
+		 * by the whole group. Trades store latency for throughput.
+		 */
+		GROUP_SYNC,
+		
+		/**
+		 * Stores are not forced individually. Instead, all written data and then the transactions log are forced
+		 * at most every {@link StorageDurabilityController#syncIntervalMs()}, checked after stores and
+		 * by the housekeeping. A completed store survives a process crash, but a power failure can lose the
+		 * stores since the last sync.
+		 */
+		PERIODIC;
+	}
+	
+	public Level level();
+	
+	/**
+	 * The maximum total length in bytes of all data of a group for {@link Level#GROUP_SYNC}.
+	 * 
+	 * @return the maximum group length.
+	 * 
+	 * @see StorageGroupCommitController#maximumGroupLength()
+	 */
+	public long maximumGroupLength();
+	
+	/**
+	 * The time in nanoseconds a group may wait for more store requests to join it for {@link Level#GROUP_SYNC}.
+	 * 
+	 * @return the grouping delay in nanoseconds.
+	 * 
+	 * @see StorageGroupCommitController#groupingDelayNs()
+	 */
+	public long groupingDelayNs();
+	
+	/**
+	 * The interval in milliseconds between two syncs for {@link Level#PERIODIC}.
+	 * 
+	 * @return the sync interval in milliseconds.
+	 */
+	public long syncIntervalMs();
+	
+	public default boolean isSyncing()
+	{
+		return this.level() != Level.FILE_SYSTEM;
+	}
+	
+	public default boolean isSyncingStores()
+	{
+		return this.level() == Level.SYNC_EACH || this.level() == Level.GROUP_SYNC;
+	}
+	
+	public default boolean isSyncingPeriodically()
+	{
+		return this.level() == Level.PERIODIC;
+	}
+	
+	
+	
+	public interface Defaults
+	{
+		public static long defaultMaximumGroupLength()
+		{
+			return 16 * 1024 * 1024; // 16 MiB
+		}
+		
+		public static long defaultGroupingDelayNs()
+		{
+			return 1_000_000; // 1 ms
+		}
+		
+		public static long defaultSyncIntervalMs()
+		{
+			return 1000; // 1 second
+		}
+	}
+	
+	
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityController} instance
+	 * of level {@link Level#FILE_SYSTEM}, meaning files are never forced explicitly. This is the default.
+	 *
+	 * @return a new {@link StorageDurabilityController} instance.
+	 */
+	public static StorageDurabilityController Disabled()
+	{
+		return New(Level.FILE_SYSTEM);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityController} instance
+	 * of level {@link Level#SYNC_EACH}.
+	 *
+	 * @return a new {@link StorageDurabilityController} instance.
+	 */
+	public static StorageDurabilityController SyncEach()
+	{
+		return New(Level.SYNC_EACH);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityController} instance
+	 * of level {@link Level#GROUP_SYNC} with default grouping values.
+	 *
+	 * @return a new {@link StorageDurabilityController} instance.
+	 * 
+	 * @see #GroupSync(long, long)
+	 */
+	public static StorageDurabilityController GroupSync()
+	{
+		return New(Level.GROUP_SYNC);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityController} instance
+	 * of level {@link Level#GROUP_SYNC}.
+	 *
+	 * @param maximumGroupLength the maximum total length in bytes of all data of a group.
+	 * @param groupingDelayNs the time in nanoseconds a group may wait for more store requests to join it.
+	 *
+	 * @return a new {@link StorageDurabilityController} instance.
+	 */
+	public static StorageDurabilityController GroupSync(
+		final long maximumGroupLength,
+		final long groupingDelayNs
+	)
+	{
+		return new StorageDurabilityController.Default(
+			Level.GROUP_SYNC                 ,
+			   positive(maximumGroupLength)  ,
+			notNegative(groupingDelayNs)     ,
+			Defaults.defaultSyncIntervalMs()
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityController} instance
+	 * of level {@link Level#PERIODIC} with the default sync interval of 1 second.
+	 *
+	 * @return a new {@link StorageDurabilityController} instance.
+	 * 
+	 * @see #Periodic(long)
+	 */
+	public static StorageDurabilityController Periodic()
+	{
+		return New(Level.PERIODIC);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityController} instance
+	 * of level {@link Level#PERIODIC}.
+	 *
+	 * @param syncIntervalMs the interval in milliseconds between two syncs.
+	 *
+	 * @return a new {@link StorageDurabilityController} instance.
+	 */
+	public static StorageDurabilityController Periodic(final long syncIntervalMs)
+	{
+		return new StorageDurabilityController.Default(
+			Level.PERIODIC                       ,
+			Defaults.defaultMaximumGroupLength() ,
+			Defaults.defaultGroupingDelayNs()    ,
+			positive(syncIntervalMs)
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityController} instance
+	 * of the passed level with default values.
+	 *
+	 * @param level the durability level.
+	 *
+	 * @return a new {@link StorageDurabilityController} instance.
+	 */
+	public static StorageDurabilityController New(final Level level)
+	{
+		return new StorageDurabilityController.Default(
+			notNull(level)                      ,
+			Defaults.defaultMaximumGroupLength(),
+			Defaults.defaultGroupingDelayNs()   ,
+			Defaults.defaultSyncIntervalMs()
+		);
+	}
+	
+	public final class Default implements StorageDurabilityController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final Level level             ;
+		private final long  maximumGroupLength;
+		private final long  groupingDelayNs   ;
+		private final long  syncIntervalMs    ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(
+			final Level level             ,
+			final long  maximumGroupLength,
+			final long  groupingDelayNs   ,
+			final long  syncIntervalMs
+		)
+		{
+			super();
+			this.level              = level             ;
+			this.maximumGroupLength = maximumGroupLength;
+			this.groupingDelayNs    = groupingDelayNs   ;
+			this.syncIntervalMs     = syncIntervalMs    ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final Level level()
+		{
+			return this.level;
+		}
+		
+		@Override
+		public final long maximumGroupLength()
+		{
+			return this.maximumGroupLength;
+		}
+		
+		@Override
+		public final long groupingDelayNs()
+		{
+			return this.groupingDelayNs;
+		}
+		
+		@Override
+		public final long syncIntervalMs()
+		{
+			return this.syncIntervalMs;
+		}
+		
+	}
+	
+}
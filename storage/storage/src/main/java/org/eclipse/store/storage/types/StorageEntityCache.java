@@ -20,15 +20,16 @@ import static org.eclipse.serializer.math.XMath.positive;
 import static org.eclipse.serializer.util.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.eclipse.serializer.collections.EqHashEnum;
 import org.eclipse.serializer.collections.Set_long;
 import org.eclipse.serializer.functional.ThrowingProcedure;
 import org.eclipse.serializer.functional._longPredicate;
-import org.eclipse.serializer.math.XMath;
 import org.eclipse.serializer.memory.XMemory;
 import org.eclipse.serializer.persistence.binary.types.Binary;
 import org.eclipse.serializer.persistence.binary.types.ChunksBuffer;
+import org.eclipse.serializer.persistence.binary.types.MemoryRangeReader;
 import org.eclipse.serializer.persistence.types.ObjectIdsProcessor;
 import org.eclipse.serializer.persistence.types.ObjectIdsSelector;
 import org.eclipse.serializer.persistence.types.Persistence;
@@ -72,6 +73,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 	{
 		private final static Logger logger = Logging.getLogger(StorageEntityCache.class);
 		
+		// initial length of the cache ring of a bounded cache. Must be a power of 2.
+		private static final int CACHE_RING_INITIAL_LENGTH = 64;
+		
 		
 		private static boolean gcEnabled = true;
 				
@@ -90,7 +94,6 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 		private final int                                channelIndex        ;
 		private final int                                channelHashModulo   ;
-		private final int                                channelHashShift    ;
 		private final long                               rootTypeId          ;
 		private final long                               markingWaitTimeMs   ;
 		        final StorageEntityCacheEvaluator        entityCacheEvaluator;
@@ -100,34 +103,54 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		private final StorageRootOidSelector             rootOidSelector     ;
 		private final RootEntityRootOidSelectionIterator rootEntityIterator  ;
 		private final StorageEventLogger                 eventLogger         ;
+		private final boolean                            generational        ;
+		private final long                               cacheSizeBound      ;
 		private       StorageFileManager.Default         fileManager         ; // pseudo-final
 		
+		private final StorageEntityCacheCompressor.ChannelCompressor cacheCompressor; // null if disabled
+		
 		
 		// state 2.0: final references to mutable instances, i.e. content must be cleared on reset
 		
 		private final StorageEntityMarkMonitor  markMonitor    ;
 		private final StorageObjectIdMarkQueue  oidMarkQueue   ; // resetting handled by markMonitor
 		private final StorageReferenceMarker    referenceMarker; // resetting must be handled here.
+		private final StorageEntityTable        entityTable    ; // resetting must be handled here.
+		private final StorageEntityIndex        entityIndex    ; // resetting must be handled here.
 		
 		private final ObjectIdsSelector liveObjectIdChecker;
 
 		
 		// state 3.0: mutable fields. Must be cleared on reset.
 		
-		private StorageEntity.Default liveCursor;
+		private int liveCursor;
+		
+		// old entities stored since the last full sweep, serving as additional young generation marking roots.
+		private int[] rememberedEntities  ;
+		private int   rememberedEntityCount;
+		
+		// entities stored while a sweep is pending. See #advanceGenerations.
+		private int[] pendingSweepEntities    ;
+		private int   pendingSweepEntityCount;
+		
+		// cached entities in clock order for a bounded cache, length is a power of 2. See #evictCachedData.
+		private int[] cacheRing;
+		private int   cacheRingHead, cacheRingSize;
 		
 		private long    usedCacheSize;
 		private boolean hasUpdatePendingSweep;
 		
+		// set while a batch of entities is loaded. See #deferCacheEviction.
+		private boolean isEvictionDeferred;
+		
 		// Statistics for debugging / monitoring / checking to compare with other channels and with the markmonitor
 		private long sweepGeneration, lastSweepStart, lastSweepEnd;
 		
+		// cumulative marking statistics to derive the marking throughput from
+		private long markedObjectCount, markingTimeNs;
 		
-		// state 3.1: variable length content
 		
-		private       StorageEntity.Default[]     oidHashTable ;
-		private       int                         oidModulo    ; // long modulo makes not difference
-		private       long                        oidSize      ;
+		// state 3.1: variable length content
 		
 		private       StorageEntityType.Default[] tidHashTable ;
 		private       int                         tidModulo    ;
@@ -144,24 +167,28 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		/////////////////
 
 		Default(
-			final int                         channelIndex       ,
-			final int                         channelCount       ,
-			final StorageEntityCacheEvaluator cacheEvaluator     ,
-			final StorageTypeDictionary       typeDictionary     ,
-			final StorageEntityMarkMonitor    markMonitor        ,
-			final StorageGCZombieOidHandler   zombieOidHandler   ,
-			final StorageRootOidSelector      rootOidSelector    ,
-			final long                        rootTypeId         ,
-			final StorageObjectIdMarkQueue    oidMarkQueue       ,
-			final StorageEventLogger          eventLogger        ,
-			final ObjectIdsSelector           liveObjectIdChecker,
-			final long                        markingWaitTimeMs  ,
-			final int                         markingBufferLength
+			final int                          channelIndex       ,
+			final int                          channelCount       ,
+			final StorageEntityCacheEvaluator  cacheEvaluator     ,
+			final StorageTypeDictionary        typeDictionary     ,
+			final StorageEntityMarkMonitor     markMonitor        ,
+			final StorageGCZombieOidHandler    zombieOidHandler   ,
+			final StorageRootOidSelector       rootOidSelector    ,
+			final long                         rootTypeId         ,
+			final StorageObjectIdMarkQueue     oidMarkQueue       ,
+			final StorageEventLogger           eventLogger        ,
+			final ObjectIdsSelector            liveObjectIdChecker,
+			final long                         markingWaitTimeMs  ,
+			final int                          markingBufferLength,
+			final StorageEntityTable           entityTable        ,
+			final StorageEntityIndex           entityIndex        ,
+			final StorageEntityCacheCompressor cacheCompressor
 		)
 		{
 			super();
 			this.channelIndex         = notNegative(channelIndex)     ;
-			this.channelHashShift     = XMath.log2pow2   (channelCount)     ;
+			this.entityTable          = notNull    (entityTable)      ;
+			this.entityIndex          = notNull    (entityIndex)      ;
 			this.entityCacheEvaluator = notNull    (cacheEvaluator)   ;
 			this.typeDictionary       = notNull    (typeDictionary)   ;
 			this.markMonitor          = notNull    (markMonitor)      ;
@@ -171,6 +198,12 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.oidMarkQueue         = notNull    (oidMarkQueue)     ;
 			this.eventLogger          =             eventLogger       ;
 			this.markingWaitTimeMs    = positive   (markingWaitTimeMs);
+			this.generational         = markMonitor.isGenerational()  ;
+			this.cacheSizeBound       = cacheEvaluator.cacheSizeBound();
+			this.cacheCompressor      = cacheCompressor.isCompressionEnabled()
+				? new StorageEntityCacheCompressor.ChannelCompressor(cacheCompressor)
+				: null
+			;
 			
 			// derived values
 			
@@ -209,6 +242,41 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return this.lastSweepEnd;
 		}
 
+		final long markedObjectCount()
+		{
+			return this.markedObjectCount;
+		}
+
+		final long markingTimeNs()
+		{
+			return this.markingTimeNs;
+		}
+
+		public final long cacheUncompressedLength()
+		{
+			return this.cacheCompressor == null ? 0 : this.cacheCompressor.uncompressedLength();
+		}
+
+		public final long cacheCompressedLength()
+		{
+			return this.cacheCompressor == null ? 0 : this.cacheCompressor.compressedLength();
+		}
+
+		public final long cacheCompressionTimeNs()
+		{
+			return this.cacheCompressor == null ? 0 : this.cacheCompressor.compressionTimeNs();
+		}
+
+		public final long cacheDecompressionTimeNs()
+		{
+			return this.cacheCompressor == null ? 0 : this.cacheCompressor.decompressionTimeNs();
+		}
+
+		final StorageEntityTable entityTable()
+		{
+			return this.entityTable;
+		}
+
 		final void initializeStorageManager(final StorageFileManager.Default fileManager)
 		{
 			if(this.fileManager != null && this.fileManager != fileManager)
@@ -225,9 +293,12 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			
 			this.markMonitor.reset();
 			
-			this.oidHashTable   = new StorageEntity.Default[1];
-			this.oidModulo      = this.oidHashTable.length - 1;
-			this.oidSize        = 0;
+			this.entityIndex.clear();
+			
+			this.rememberedEntities      = new int[64];
+			this.rememberedEntityCount   = 0;
+			this.pendingSweepEntities    = new int[64];
+			this.pendingSweepEntityCount = 0;
 
 			this.tidHashTable   = new StorageEntityType.Default[1];
 			this.tidModulo      = this.tidHashTable.length - 1;
@@ -236,71 +307,47 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			(this.typeTail      = this.typeHead).next = null;
 
 			this.resetLiveCursor();
+			this.resetCacheRing();
 
-			this.usedCacheSize  = 0L;
+			this.usedCacheSize      = 0L;
+			this.isEvictionDeferred = false;
+			
+			if(this.cacheCompressor != null)
+			{
+				this.cacheCompressor.dispose();
+			}
+			
+			// all entities have been released, so all their records can be released, too.
+			this.entityTable.clear();
 
 			// create a new root type instance on every clear. Everything else is not worth the reset&register-hassle.
 			this.rootType       = this.getType(this.rootTypeId);
 
 		}
-
-		private void resetLiveCursor()
-		{
-			// live cursor may never be a head dummy-entity (but it may be a tail entity as this is checked)
-			this.liveCursor = null;
-
-		}
-
-		// must use lock to keep other channels from marking while rebuild is in progress
-		private void enlargeOidHashTable()
+		
+		/**
+		 * Releases all cached data and all entity records. The instance must not be used afterwards.
+		 */
+		final synchronized void dispose()
 		{
-			final int newModulo;
-			final StorageEntity.Default[] newSlots =
-				XMath.isGreaterThanOrEqualHighestPowerOf2(this.oidHashTable.length)
-				? new StorageEntity.Default[newModulo = Integer.MAX_VALUE] // perfect hash range special case
-				: new StorageEntity.Default[(newModulo = (this.oidModulo + 1 << 1) - 1) + 1] // 1111 :D
-			;
-			rebuildOidHashSlots(this.oidHashTable, newSlots, this.channelHashShift, newModulo);
-			this.oidHashTable = newSlots;
-			this.oidModulo    = newModulo;
+			this.reset();
 			
-			logger.debug("Enlarged StorageEntityCache to {} entries!", newSlots.length);
+			// the reset created a new root type with a dummy entity, whose record has to be released, too.
+			this.entityTable.clear();
 		}
 
-		private static void rebuildOidHashSlots(
-			final StorageEntity.Default[] oldSlots     ,
-			final StorageEntity.Default[] newSlots     ,
-			final int                            bitShiftCount,
-			final int                            newModulo
-		)
+		private void resetLiveCursor()
 		{
-			for(StorageEntity.Default entry : oldSlots)
-			{
-				for(StorageEntity.Default next; entry != null; entry = next)
-				{
-					next = entry.hashNext;
-					entry.hashNext = newSlots[oidHashIndex(entry.objectId(), bitShiftCount, newModulo)];
-					newSlots[oidHashIndex(entry.objectId(), bitShiftCount, newModulo)] = entry;
-				}
-			}
+			// live cursor may never be a head dummy-entity (but it may be a tail entity as this is checked)
+			this.liveCursor = StorageEntityTable.NONE;
+
 		}
 
-		private void checkOidHashTableConsolidation()
+		private void resetCacheRing()
 		{
-			// if the hash table has suitable size, abort
-			if(this.oidHashTable.length >>> 1 < this.oidSize)
-			{
-				return;
-			}
-
-			// if the hash table is unnecessary large, shrink it
-			final int                            newModulo = XMath.pow2BoundMaxed((int)this.oidSize) - 1;
-			final StorageEntity.Default[] newSlots  = new StorageEntity.Default[newModulo + 1];
-			rebuildOidHashSlots(this.oidHashTable, newSlots, this.channelHashShift, newModulo);
-			this.oidHashTable = newSlots;
-			this.oidModulo    = newModulo;
-			
-			logger.debug("Consolidated StorageEntityCache to {} entries!", newSlots.length);
+			this.cacheRing     = this.cacheSizeBound == 0 ? null : new int[CACHE_RING_INITIAL_LENGTH];
+			this.cacheRingHead = 0;
+			this.cacheRingSize = 0;
 		}
 
 		private void rebuildTidHashTable()
@@ -349,6 +396,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			// create and register
 			final StorageEntityType.Default type = new StorageEntityType.Default(
 				this.channelIndex,
+				this.entityTable,
 				typeHandler,
 				this.tidHashTable[hashIndex],
 				this.typeHead
@@ -387,48 +435,19 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return hash(objectId, channelHashModulo);
 		}
 
-		private int oidHashIndex(final long objectId)
-		{
-			return oidHashIndex(objectId, this.channelHashShift, this.oidModulo);
-		}
-
 		private int oidChannelIndex(final long objectId)
 		{
 			return oidChannelIndex(objectId, this.channelHashModulo);
 		}
 
-		private StorageEntity.Default getOidHashChainHead(final long objectId)
-		{
-			return this.oidHashTable[this.oidHashIndex(objectId)];
-		}
-
-		private void setOidHashChainHead(final long objectId, final StorageEntity.Default head)
-		{
-			this.oidHashTable[this.oidHashIndex(objectId)] = head;
-		}
-
-
 		/* Note on synchronization:
 		 * This method does not need to be synchronized (locked), as it is exclusively always called by the
 		 * channel's inherent thread which is also the same that rebuilds the hashTables, so it can never work
 		 * on old cached instances.
 		 */
-		final void unregisterEntity(final StorageEntity.Default item)
+		final void unregisterEntity(final int item)
 		{
-			StorageEntity.Default entry;
-			if((entry = this.getOidHashChainHead(item.objectId())) == item)
-			{
-				this.setOidHashChainHead(item.objectId(), item.hashNext);
-			}
-			else
-			{
-				// subject is (must be) guaranteed to be contained in the hash chain, hence no null check
-				while(entry.hashNext != item)
-				{
-					entry = entry.hashNext;
-				}
-				entry.hashNext = item.hashNext;
-			}
+			this.entityIndex.remove(this.entityTable.objectId(item), item);
 		}
 
 		/* Note on synchronization:
@@ -436,16 +455,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 * channel's inherent thread which is also the same that rebuilds the hashTables, so it can never work
 		 * on old outdated instances.
 		 */
-		public final StorageEntity.Default getEntry(final long objectId)
+		public final int getEntry(final long objectId)
 		{
-			for(StorageEntity.Default e = this.getOidHashChainHead(objectId); e != null; e = e.hashNext)
-			{
-				if(e.objectId() == objectId)
-				{
-					return e;
-				}
-			}
-			return null;
+			return this.entityIndex.get(objectId);
 		}
 
 		final void registerPendingStoreUpdate()
@@ -483,11 +495,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 		}
 
-		private void ensureNoCachedData(final StorageEntity.Default entry)
+		private void ensureNoCachedData(final int entry)
 		{
-			if(entry.isLive())
+			if(this.entityTable.isLive(entry))
 			{
-				this.modifyUsedCacheSize(-entry.clearCache());
+				this.modifyUsedCacheSize(-this.entityTable.clearCache(entry));
 			}
 		}
 
@@ -552,11 +564,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		)
 		{
 			final StorageEntityType.Default type;
-			final StorageEntity.Default entry = this.getEntry(objcId);
+			final int entry = this.getEntry(objcId);
 
-			if(entry != null)
+			if(entry != StorageEntityTable.NONE)
 			{
-				if((type = entry.typeInFile.type).typeId != typeId)
+				if((type = this.entityTable.type(entry)).typeId != typeId)
 				{
 					throw new StorageExceptionConsistency(
 						"Object Id already assigned to an entity of another type. "
@@ -576,7 +588,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return type;
 		}
 
-		final StorageEntity.Default putEntity(final long objectId, final StorageEntityType.Default type)
+		final int putEntity(final long objectId, final StorageEntityType.Default type)
 		{
 			/* This logic is a copy from #putEntity(long).
 			 * This is intentionally done for performance reasons:
@@ -588,8 +600,8 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			 */
 
 			// ensure (lookup or create) complete entity item for storing
-			final StorageEntity.Default entry;
-			if((entry = this.getEntry(objectId)) != null)
+			final int entry;
+			if((entry = this.getEntry(objectId)) != StorageEntityTable.NONE)
 			{
 				this.resetExistingEntityForUpdate(entry);
 				return entry;
@@ -598,7 +610,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return this.createEntity(objectId, type);
 		}
 
-		final StorageEntity.Default putEntity(final long entityAddress)
+		final int putEntity(final long entityAddress)
 		{
 			/* (11.02.2019 TM)NOTE: On byte order switching:
 			 * Theoretically, the storage engine (OGS) could also use the switchByteOrder mechanism implemented for
@@ -610,18 +622,18 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			 * time can be invested to solve this.
 			 */
 								
-			final StorageEntity.Default entry;
-			if((entry = this.getEntry(Binary.getEntityObjectIdRawValue(entityAddress))) != null)
+			final int entry;
+			if((entry = this.getEntry(Binary.getEntityObjectIdRawValue(entityAddress))) != StorageEntityTable.NONE)
 			{
 				final long entityTypeId = Binary.getEntityTypeIdRawValue(entityAddress);
-				if(entry.typeId() == entityTypeId) {
+				if(this.entityTable.typeId(entry) == entityTypeId) {
 					this.resetExistingEntityForUpdate(entry);
 					return entry;
 				}
 				
 				logger.debug("Entity {} typeId changed, old: {}, new: {}",
-					entry.objectId(),
-					entry.typeId(),
+					this.entityTable.objectId(entry),
+					this.entityTable.typeId(entry),
 					entityTypeId);
 			}
 
@@ -650,21 +662,29 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 		}
 					
-		final StorageEntity.Default initialCreateEntity(final long entityAddress)
+		final int initialCreateEntity(final long entityAddress)
 		{
-			final StorageEntity.Default entity = this.createEntity(
+			return this.initialCreateEntity(
 				Binary.getEntityObjectIdRawValue(entityAddress),
-				this.getType(Binary.getEntityTypeIdRawValue(entityAddress))
+				Binary.getEntityTypeIdRawValue(entityAddress)
+			);
+		}
+		
+		final int initialCreateEntity(final long objectId, final long typeId)
+		{
+			final int entity = this.createEntity(
+				objectId,
+				this.getType(typeId)
 			);
 			
 			return entity;
 		}
 
-		private void resetExistingEntityForUpdate(final StorageEntity.Default entry)
+		private void resetExistingEntityForUpdate(final int entry)
 		{
 			// ensure the old data is not cached any longer
 			this.ensureNoCachedData(entry);
-			entry.detachFromFile();
+			this.entityTable.detachFromFile(entry);
 		}
 
 
@@ -679,8 +699,10 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 * by the GC and should actually not be necessary, however as the effort to do it at this point is rather minimal, it's done
 		 * nonetheless.
 		 */
-		private void markEntityForChangedData(final StorageEntity.Default entry)
+		private void markEntityForChangedData(final int entry)
 		{
+			final StorageEntityTable table = this.entityTable;
+
 			/*
 			 * (01.08.2016 TM)NOTE:
 			 * Having a sweep pending when data changes requires a distinction here to achieve correct behavior:
@@ -706,18 +728,18 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			 */
 			if(this.hasUpdatePendingSweep)
 			{
-				if(entry.isGcBlack())
+				if(table.isGcBlack(entry))
 				{
 					return;
 				}
 
-				entry.markBlack();
+				table.markBlack(entry);
 				return;
 			}
 
 
 			// entities with references
-			if(entry.hasReferences())
+			if(table.hasReferences(entry))
 			{
 
 				/*
@@ -740,21 +762,50 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				 * correctly anymore. In the very least, the gray state is a safety net of indicating:
 				 * The entity must not be collected, but it must be revisited.
 				 */
-				entry.markGray();
+				table.markGray(entry);
 
 				// must mark via mark monitor to keep central mark count consistent. NEVER directly via the queue!
-				this.markMonitor.enqueue(this.oidMarkQueue, entry.objectId());
+				this.markMonitor.enqueue(this.oidMarkQueue, table.objectId(entry));
 				return;
 			}
 
 			// entities without references
-			entry.markBlack();
+			table.markBlack(entry);
+		}
+		
+		private void markEntityGeneration(final int entry)
+		{
+			// an old entity might reference young entities from now on, so it becomes a young generation marking root.
+			if(this.entityTable.isGcOld(entry))
+			{
+				this.rememberEntity(entry);
+			}
+			
+			// a pending full sweep would turn the entity old regardless of the store, see #advanceGenerations.
+			if(this.hasUpdatePendingSweep)
+			{
+				if(this.pendingSweepEntityCount == this.pendingSweepEntities.length)
+				{
+					this.pendingSweepEntities = Arrays.copyOf(this.pendingSweepEntities, this.pendingSweepEntityCount << 1);
+				}
+				this.pendingSweepEntities[this.pendingSweepEntityCount++] = entry;
+			}
+		}
+		
+		private void rememberEntity(final int entry)
+		{
+			this.entityTable.markRemembered(entry);
+			if(this.rememberedEntityCount == this.rememberedEntities.length)
+			{
+				this.rememberedEntities = Arrays.copyOf(this.rememberedEntities, this.rememberedEntityCount << 1);
+			}
+			this.rememberedEntities[this.rememberedEntityCount++] = entry;
 		}
 
 
 		public final long entityCount()
 		{
-			return this.oidSize;
+			return this.entityIndex.size();
 		}
 
 		/* Note on synchronization:
@@ -762,51 +813,42 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 * channel's inherent thread which is also the same that rebuilds the hashTables, so it can never work
 		 * on old cached instances.
 		 */
-		private StorageEntity.Default createEntity(
-			final long                             objectId,
+		private int createEntity(
+			final long                      objectId,
 			final StorageEntityType.Default type
 		)
 		{
-			// increment size and check for necessary (and reasonable) rebuild
-			if(this.oidSize >= this.oidModulo && this.oidModulo < Integer.MAX_VALUE)
-			{
-				this.enlargeOidHashTable();
-			}
-
 			// create and put entry
-			final StorageEntity.Default entity;
-			this.setOidHashChainHead(
+			final int entity = this.entityTable.createEntity(
 				objectId,
-				entity = StorageEntity.Default.New(
-					objectId,
-					type.dummy,
-					this.getOidHashChainHead(objectId),
-					type.hasReferences(),
-					type.simpleReferenceDataCount()
-				)
+				type.dummy,
+				type.hasReferences(),
+				type.simpleReferenceDataCount()
 			);
+			this.entityIndex.put(objectId, entity);
 			type.add(entity);
-			this.oidSize++; // increment size not before creating and registering succeeded
 
 			// must explicitly touch the entity to overwrite initial timestamp
-			entity.touch();
+			this.entityTable.touch(entity);
 
 			return entity;
 		}
 
 		final void deleteEntity(
-			final StorageEntity.Default     entity        ,
+			final int                       entity        ,
 			final StorageEntityType.Default type          ,
-			final StorageEntity.Default     previousInType
+			final int                       previousInType
 		)
 		{
-			logger.debug("Deleting entity {}, typeId: {}", entity.objectId(), entity.typeId());
+			final StorageEntityTable table = this.entityTable;
+			
+			logger.debug("Deleting entity {}, typeId: {}", table.objectId(entity), type.typeId);
 			
 			// 1.) unregister entity from hash table (= not findable by future requests)
 			this.unregisterEntity(entity);
 
 			// 2.) detach entity from file registry. Actual physical remains don't hurt, even on restart, as they will be unreachable again.
-			entity.detachFromFile();
+			table.detachFromFile(entity);
 
 			// 3.) remove entity from its type registry, effectively removing it from iteration, count and export logic.
 			type.remove(entity, previousInType);
@@ -815,15 +857,32 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.ensureNoCachedData(entity);
 
 			// 5.) mark entity as deleted
-			entity.setDeleted();
-						
-			// decrement size, otherwise the cache can't shrink
-			this.oidSize--;
+			table.setDeleted(entity);
+			
+			// 6.) release the handle, unless the cache ring still holds it. Then it is released when leaving the ring.
+			if(!table.isInCacheRing(entity))
+			{
+				table.free(entity);
+			}
+		}
+
+		/**
+		 * Loads the data of all passed entities that are not fully cached, yet, in file layout order.
+		 * Note that the passed array gets reordered.
+		 */
+		final void loadEntityData(final int[] entities, final int entityCount)
+		{
+			this.fileManager.loadData(entities, entityCount);
 		}
 
-		void checkForCacheClear(final StorageEntity.Default entry, final long evalTime)
+		final void registerEntityAccess(final int entry)
 		{
-			if(this.entityCacheEvaluator.clearEntityCache(this.usedCacheSize, evalTime, entry))
+			this.entityCacheEvaluator.registerEntityAccess(this.entityTable.view(entry));
+		}
+
+		void checkForCacheClear(final int entry, final long evalTime)
+		{
+			if(this.entityCacheEvaluator.clearEntityCache(this.usedCacheSize, evalTime, this.entityTable.view(entry)))
 			{
 				// use ensure method for that for purpose of uniformity / simplicity
 				this.ensureNoCachedData(entry);
@@ -831,7 +890,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			else
 			{
 				// if the loaded entity data can stay in memory, touch the entity to mark now as its last use.
-				entry.touch();
+				this.entityTable.touch(entry);
 			}
 		}
 
@@ -842,6 +901,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 			// must advance via central gc monitor to update the total pending mark count (0-case ignored).
 			this.markMonitor.advanceMarking(this.oidMarkQueue, oidsCount);
+			this.markedObjectCount += oidsCount;
 		}
 
 		/**
@@ -854,12 +914,16 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final StorageReferenceMarker   referenceMarker = this.referenceMarker      ;
 			final StorageObjectIdMarkQueue oidMarkQueue    = this.oidMarkQueue         ;
 			final long[]                   oidsBuffer      = this.markingOidBuffer     ;
+			final StorageEntityTable       table           = this.entityTable          ;
 
 			// total amount of oids to mark in the current batch. Range: [0; oids.length]
 			int oidsMarkAmount = 0;
 
 			// index of next oid to be marked (and current amount of already marked oids). Range: [0; oidsMarkAmount]
 			int oidsMarkIndex  = 0;
+			
+			// must be queried per batch, as the kind of marking can only change while no oids are pending.
+			boolean youngGenerationMarking = false;
 
 			// mark at least one entity, even if there is no time, to avoid starvation
 			do
@@ -877,13 +941,14 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 						// ran out of work before time ran out. So return true.
 						return true;
 					}
+					youngGenerationMarking = this.generational && this.markMonitor.isYoungGenerationMarking();
 				}
 
 				// get the entry for the current oid to be marked
-				final StorageEntity.Default entry = this.getEntry(oidsBuffer[oidsMarkIndex++]);
+				final int entry = this.getEntry(oidsBuffer[oidsMarkIndex++]);
 
 				// externalized/modularized zombie oid handling
-				if(entry == null)
+				if(entry == StorageEntityTable.NONE)
 				{
 					if(!this.zombieOidHandler.handleZombieOid(oidsBuffer[oidsMarkIndex - 1]))
 					{
@@ -895,13 +960,19 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				}
 				
 				// if the entry is already marked black (was redundantly enqueued), skip it and continue to the next
-				if(entry.isGcBlack())
+				if(table.isGcBlack(entry))
+				{
+					continue;
+				}
+				
+				// unchanged old entities cannot reference young entities, so a young generation marking stops there.
+				if(youngGenerationMarking && table.isGcOld(entry))
 				{
 					continue;
 				}
 
 				// enqueue all reference ids in the mark queue via the central gc monitor instance to account for channel concurrency
-				if(entry.iterateReferenceIds(referenceMarker))
+				if(table.iterateReferenceIds(entry, referenceMarker))
 				{
 					// must check for clearing the cache again if marking required loading
 					this.checkForCacheClear(entry, evalTime);
@@ -914,7 +985,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				 */
 
 				// the entry has been fully processed (either has no references or got all its references gray-enqueued), so mark black.
-				entry.markBlack();
+				table.markBlack(entry);
 			}
 			while(System.nanoTime() < nanoTimeBudgetBound);
 
@@ -936,22 +1007,30 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 * application's object registry to perform the required check.
 		 * 
 		 * @param isReachableInApplication
+		 * @param youngGeneration whether only the entities created since the last full sweep are to be swept.
 		 */
-		final void sweep(final _longPredicate isReachableInApplication)
+		final void sweep(final _longPredicate isReachableInApplication, final boolean youngGeneration)
 		{
 			this.lastSweepStart = System.currentTimeMillis();
 			final StorageEntityType.Default typeHead = this.typeHead;
+			final StorageEntityTable        table    = this.entityTable;
 
 			for(StorageEntityType.Default sweepType = typeHead; (sweepType = sweepType.next) != typeHead;)
 			{
-				// get next item and check for end of type (switch to next type required)
-				for(StorageEntity.Default item, last = sweepType.head; (item = last.typeNext) != null;)
+				// get next item and check for end of type (switch to next type required). Young entities are the last.
+				for(int item, last = youngGeneration ? sweepType.youngHead : sweepType.head;
+					(item = table.typeNext(last)) != StorageEntityTable.NONE;
+				)
 				{
 					// actual sweep: white entities are deleted, non-white entities are marked white but not deleted
-					if(item.isGcMarked() || isReachableInApplication.test(item.objectId))
+					if(table.isGcMarked(item) || isReachableInApplication.test(table.objectId(item)))
 					{
 						// reset to white and advance one item
-						(last = item).markWhite();
+						table.markWhite(last = item);
+						if(!youngGeneration)
+						{
+							table.markOld(last);
+						}
 					}
 					else
 					{
@@ -959,6 +1038,17 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 						this.deleteEntity(item, sweepType, last);
 					}
 				}
+				
+				if(!youngGeneration)
+				{
+					// all remaining entities survived a full sweep, so only entities created from now on are young.
+					sweepType.youngHead = sweepType.tail;
+				}
+			}
+			
+			if(this.generational)
+			{
+				this.advanceGenerations(youngGeneration);
 			}
 
 			this.lastSweepEnd = System.currentTimeMillis();
@@ -972,25 +1062,88 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.markMonitor.completeSweep(this, this.rootOidSelector, channelRootOid);
 		}
 		
+		private void advanceGenerations(final boolean youngGenerationSweep)
+		{
+			final StorageEntityTable table = this.entityTable;
+			
+			/*
+			 * Note that the lists might contain handles of entities deleted (and maybe reused) in the meantime.
+			 * Such a handle either reads as deleted or denotes a young entity, for which the logic is harmless.
+			 */
+			if(youngGenerationSweep)
+			{
+				// remembered entities are not covered by a young generation sweep, but their marking must be reset, too.
+				for(int i = 0; i < this.rememberedEntityCount; i++)
+				{
+					table.markWhite(this.rememberedEntities[i]);
+				}
+			}
+			else
+			{
+				// all remaining entities have been turned old by the full sweep ...
+				this.rememberedEntityCount = 0;
+				
+				/*
+				 * ... including the ones stored while the sweep was pending. But other channels might already have
+				 * completed their sweep before, meaning such entities might reference entities that are young
+				 * for their channel. Hence, they must be remembered.
+				 */
+				for(int i = 0; i < this.pendingSweepEntityCount; i++)
+				{
+					final int entity = this.pendingSweepEntities[i];
+					if(!table.isDeleted(entity) && table.isGcOld(entity))
+					{
+						this.rememberEntity(entity);
+					}
+				}
+			}
+			
+			this.pendingSweepEntityCount = 0;
+		}
+		
+		private void enqueueYoungGenerationRoots()
+		{
+			final StorageEntityTable table = this.entityTable;
+			for(int i = 0; i < this.rememberedEntityCount; i++)
+			{
+				final int entity = this.rememberedEntities[i];
+				if(table.isDeleted(entity))
+				{
+					continue;
+				}
+				table.markGray(entity);
+				
+				// must mark via mark monitor to keep central mark count consistent. NEVER directly via the queue!
+				this.markMonitor.enqueue(this.oidMarkQueue, table.objectId(entity));
+			}
+			
+			// not before all roots have been enqueued, otherwise the marking might be deemed complete prematurely.
+			this.markMonitor.completeYoungGenerationRoots(this);
+		}
+		
 		private boolean sweep()
 		{
-			return this.liveObjectIdChecker.processSelected(new ApplicationCallback(this.typeHead));
+			return this.liveObjectIdChecker.processSelected(
+				new ApplicationCallback(this.typeHead, this.markMonitor.isYoungGenerationSweep())
+			);
 		}
 
 		final class ApplicationCallback implements ObjectIdsProcessor
 		{
-			final StorageEntityType.Default typeHead;
+			final StorageEntityType.Default typeHead       ;
+			final boolean                   youngGeneration;
 
-			ApplicationCallback(final StorageEntityType.Default typeHead)
+			ApplicationCallback(final StorageEntityType.Default typeHead, final boolean youngGeneration)
 			{
 				super();
-				this.typeHead = typeHead;
+				this.typeHead        = typeHead       ;
+				this.youngGeneration = youngGeneration;
 			}
 
 			@Override
 			public void processObjectIdsByFilter(final _longPredicate objectIdsSelector)
 			{
-				Default.this.sweep(objectIdsSelector);
+				Default.this.sweep(objectIdsSelector, this.youngGeneration);
 			}
 
 			@Override
@@ -999,14 +1152,16 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				final Set_long sweepCandicateObjectIds = Set_long.New(1000);
 
 				final StorageEntityType.Default typeHead = this.typeHead;
+				final StorageEntityTable        table    = Default.this.entityTable;
 				for(StorageEntityType.Default sweepType = typeHead; (sweepType = sweepType.next) != typeHead;)
 				{
 					// get next item and check for end of type (switch to next type required)
-					for(StorageEntity.Default item = sweepType.head; (item = item.typeNext) != null;)
+					int item = this.youngGeneration ? sweepType.youngHead : sweepType.head;
+					while((item = table.typeNext(item)) != StorageEntityTable.NONE)
 					{
-						if(!item.isGcMarked())
+						if(!table.isGcMarked(item))
 						{
-							sweepCandicateObjectIds.add(item.objectId);
+							sweepCandicateObjectIds.add(table.objectId(item));
 						}
 					}
 				}
@@ -1017,40 +1172,6 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		}
 		
 
-		private static final long MAX_INT_BOUND = 1L + Integer.MAX_VALUE;
-		
-		final static int validateStoragePosition(
-			final StorageEntity.Default entity       ,
-			final long                  storageOffset
-		)
-		{
-			if(storageOffset < MAX_INT_BOUND)
-			{
-				return (int)storageOffset;
-			}
-			
-			/* (06.02.2020 TM)EXCP: fix storage position limitation
-			 * This has, of course, to be removed/fixed.
-			 * The solution is to spread a single store's buffers over multiple files if needed.
-			 * However, this is not trivial to do:
-			 * A single store must be split into multiple stores,
-			 * each store must get its own transactions entry OR a kind of store continuation entry, etc.
-			 * 
-			 * This effort is not worth it with the transition of the much more advanced storage management 2.0
-			 * concept in mind. There, store chunks will be spread over multiple store files anyway and
-			 * archive files will be split according to oid range and entity length automatically.
-			 * 
-			 * For now, this is simply a technical limitation and one more good reason to implement the
-			 * improved storage concept sooner rather than later.
-			 */
-			throw new StorageException(
-				"Storage position for entity " + entity.objectId()
-				+ " exceeds the technical int value limit of " + Integer.MAX_VALUE + "."
-				+ " This happens when a single store grows too big."
-				+ " This limitation will be removed in a future version."
-			);
-		}
-
 		final void internalPutEntities(
 			final ByteBuffer                  chunk               ,
 			final long                        chunkStoragePosition,
@@ -1067,11 +1188,16 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			// chunk's entities are iterated, put into the cache and have their current storage positions set/updated
 			for(long adr = chunkStartAddress; adr < chunkBoundAddress; adr += Binary.getEntityLengthRawValue(adr))
 			{
-				final StorageEntity.Default entity = this.putEntity(adr);
+				final int entity = this.putEntity(adr);
 				this.markEntityForChangedData(entity);
-				entity.updateStorageInformation(
+				if(this.generational)
+				{
+					this.markEntityGeneration(entity);
+				}
+				this.entityTable.updateStorageInformation(
+						entity,
 						X.checkArrayRange(Binary.getEntityLengthRawValue(adr)),
-						validateStoragePosition(entity, storageBackset + adr)
+						storageBackset + adr
 				);
 				file.appendEntry(entity);
 			}
@@ -1081,6 +1207,168 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		{
 			this.usedCacheSize += cacheChange;
 		}
+		
+		final void copyCompressedEntityData(final int entity, final MemoryRangeReader reader)
+		{
+			this.cacheCompressor.copyDecompressedData(this.entityTable, entity, reader);
+		}
+		
+		/**
+		 * Accounts for the passed entity's newly cached data and, if the cache is bounded, immediately evicts
+		 * other entities' cached data as far as necessary to keep the cache size within the bound.
+		 * While a batch is loaded, the eviction is deferred, see {@link #deferCacheEviction()}.
+		 */
+		final void registerCachedData(final int entity, final long cacheChange)
+		{
+			this.modifyUsedCacheSize(cacheChange);
+			if(this.cacheCompressor != null)
+			{
+				this.modifyUsedCacheSize(this.cacheCompressor.compress(this.entityTable, entity));
+			}
+			if(this.cacheSizeBound == 0)
+			{
+				return;
+			}
+			
+			if(!this.entityTable.isInCacheRing(entity))
+			{
+				this.enqueueCachedEntity(entity);
+			}
+			if(this.usedCacheSize > this.cacheSizeBound && !this.isEvictionDeferred)
+			{
+				this.evictCachedData(entity, 2L * this.cacheRingSize);
+			}
+		}
+		
+		/**
+		 * Defers the eviction of {@link #registerCachedData(int, long)} until
+		 * {@link #evictDeferredCachedData(int[], int)} is called, so that loading a batch of
+		 * entities cannot evict the data of entities loaded earlier in the same batch.
+		 */
+		final void deferCacheEviction()
+		{
+			this.isEvictionDeferred = true;
+		}
+		
+		/**
+		 * Ends the deferral of {@link #deferCacheEviction()} and evicts cached data as far as necessary,
+		 * but never that of the passed batch entities, as they are about to be used.
+		 */
+		final void evictDeferredCachedData(final int[] batchEntities, final int batchSize)
+		{
+			this.isEvictionDeferred = false;
+			if(this.cacheSizeBound == 0 || this.usedCacheSize <= this.cacheSizeBound)
+			{
+				return;
+			}
+			
+			// a single pass only gives referenced entities their second chance, so the whole batch survives it.
+			for(int i = 0; i < batchSize; i++)
+			{
+				this.entityTable.setCacheReferenced(batchEntities[i], true);
+			}
+			this.evictCachedData(StorageEntityTable.NONE, this.cacheRingSize);
+		}
+		
+		private void enqueueCachedEntity(final int entity)
+		{
+			if(this.cacheRingSize == this.cacheRing.length)
+			{
+				this.ensureCacheRingCapacity();
+			}
+			this.cacheRing[this.cacheRingHead + this.cacheRingSize++ & this.cacheRing.length - 1] = entity;
+			this.entityTable.setInCacheRing(entity, true);
+		}
+		
+		private int dequeueCachedEntity()
+		{
+			final int entity = this.cacheRing[this.cacheRingHead];
+			this.cacheRingHead = this.cacheRingHead + 1 & this.cacheRing.length - 1;
+			this.cacheRingSize--;
+			this.entityTable.setInCacheRing(entity, false);
+			
+			return entity;
+		}
+		
+		/**
+		 * Releases the handle of an entity that has been deleted while being held by the cache ring.
+		 * See {@link #deleteEntity(int, StorageEntityType.Default, int)}.
+		 */
+		private void releaseFromCacheRing(final int entity)
+		{
+			this.entityTable.setInCacheRing(entity, false);
+			if(this.entityTable.isDeleted(entity))
+			{
+				this.entityTable.free(entity);
+			}
+		}
+		
+		private void ensureCacheRingCapacity()
+		{
+			final int[] ring = this.cacheRing;
+			final int   mask = ring.length - 1;
+			
+			// entities whose cache has been cleared otherwise (checks, updates, deletes) are dropped before enlarging.
+			int liveCount = 0;
+			for(int i = 0; i < this.cacheRingSize; i++)
+			{
+				final int entity = ring[this.cacheRingHead + i & mask];
+				if(this.entityTable.isLive(entity))
+				{
+					ring[this.cacheRingHead + liveCount++ & mask] = entity;
+				}
+				else
+				{
+					this.releaseFromCacheRing(entity);
+				}
+			}
+			this.cacheRingSize = liveCount;
+			
+			// enlarge only if the ring is still mostly filled to not compact it again right away.
+			if(liveCount < ring.length - (ring.length >>> 2))
+			{
+				return;
+			}
+			
+			final int[] newRing = new int[ring.length << 1];
+			for(int i = 0; i < liveCount; i++)
+			{
+				newRing[i] = ring[this.cacheRingHead + i & mask];
+			}
+			this.cacheRing     = newRing;
+			this.cacheRingHead = 0;
+		}
+		
+		private void evictCachedData(final int loadedEntity, final long maximumChecks)
+		{
+			final StorageEntityTable table = this.entityTable;
+
+			/*
+			 * Clock algorithm: touched entities get a second chance by having their reference flag cleared and being
+			 * moved to the ring's end, so at most two passes are required to bring the cache back within its bound.
+			 * The entity whose data has just been loaded is never evicted, as it is about to be used.
+			 */
+			for(long checks = maximumChecks;
+				checks > 0 && this.cacheRingSize > 0 && this.usedCacheSize > this.cacheSizeBound;
+				checks--
+			)
+			{
+				final int entity = this.dequeueCachedEntity();
+				if(!table.isLive(entity))
+				{
+					// cache cleared otherwise in the meantime, so the entity only has to leave the ring.
+					this.releaseFromCacheRing(entity);
+					continue;
+				}
+				if(entity == loadedEntity || table.isCacheReferenced(entity))
+				{
+					table.setCacheReferenced(entity, false);
+					this.enqueueCachedEntity(entity);
+					continue;
+				}
+				this.modifyUsedCacheSize(-table.clearCache(entity));
+			}
+		}
 
 
 
@@ -1187,9 +1475,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			 */
 
 			// iterate over all entities of all root types and copy their data
-			this.rootType.iterateEntities(e ->
-				e.copyCachedData(dataCollector)
-			);
+			final StorageEntityTable table = this.entityTable;
+			for(int e = this.rootType.head; (e = table.typeNext(e)) != StorageEntityTable.NONE;)
+			{
+				table.copyCachedData(e, dataCollector);
+			}
 		}
 
 		@Override
@@ -1211,19 +1501,24 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				return true;
 			}
 
-			final long evaluationTime = System.currentTimeMillis();
-			final StorageEntity.Default cursor;
-			      StorageEntity.Default tail  ;
-			      StorageEntity.Default entity;
+			final long               evaluationTime = System.currentTimeMillis();
+			final StorageEntityTable table          = this.entityTable;
+			final int cursor;
+			      int tail  ;
+			      int entity;
 			      StorageLiveDataFile.Default file;
 
-			if(this.liveCursor == null || !this.liveCursor.isProper() || this.liveCursor.isDeleted())
+			// a handle of an entity deleted in the meantime reads as deleted or improper, unless it has been reused.
+			if(this.liveCursor == StorageEntityTable.NONE
+				|| !table.isProper(this.liveCursor)
+				|| table.isDeleted(this.liveCursor)
+			)
 			{
 				// cursor special cases: not set, yet or a head/tail instance or meanwhile deleted (= unreachable)
 				cursor = this.fileManager.getFirstEntity();
 				
 				// special special case: all files are (effectively) empty. Nothing to check. Prevent inifinite loop.
-				if(cursor == null)
+				if(cursor == StorageEntityTable.NONE)
 				{
 					return true;
 				}
@@ -1234,7 +1529,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				cursor = this.liveCursor;
 			}
 			
-			file   = cursor.typeInFile.file;
+			file   = table.file(cursor);
 			tail   = file.tail;
 			entity = cursor;
 
@@ -1247,7 +1542,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 					// proceed to next file
 					file = file.next;
 					tail = file.tail;
-					entity = file.head.fileNext;
+					entity = table.fileNext(file.head);
 					
 					// jumps to loop condition check. The next file's first entry might be the cursor!
 					continue;
@@ -1267,7 +1562,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 					}
 				}
 				
-				entity = entity.fileNext;
+				entity = table.fileNext(entity);
 			}
 			while(entity != cursor && System.nanoTime() < nanoTimeBudgetBound);
 			// abort conditions for one housekeeping cycle: cursor is encountered again (full loop) or time is up.
@@ -1275,7 +1570,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return this.quitLiveCheck(entity);
 		}
 		
-		private boolean quitLiveCheck(final StorageEntity.Default entity)
+		private boolean quitLiveCheck(final int entity)
 		{
 			if(this.usedCacheSize == 0)
 			{
@@ -1306,30 +1601,19 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 * Not cool :-[.
 		 */
 		private boolean entityRequiresCacheClearing(
-			final StorageEntity.Default       entity   ,
+			final int                         entity   ,
 			final StorageEntityCacheEvaluator evaluator,
 			final long                        evalTime
 		)
 		{
-			if(!entity.isLive())
+			if(!this.entityTable.isLive(entity))
 			{
 				return false;
 			}
 			
-			return evaluator.clearEntityCache(this.usedCacheSize, evalTime, entity);
+			return evaluator.clearEntityCache(this.usedCacheSize, evalTime, this.entityTable.view(entity));
 		}
 
-		// CHECKSTYLE.OFF: FinalParameters: this method is just an outsourced scroll-helper
-		static final StorageEntity.Default getNextLiveEntity(StorageEntity.Default entity)
-		{
-			while(entity != null && !entity.isLive())
-			{
-				entity = entity.typeNext;
-			}
-			return entity;
-		}
-		// CHECKSTYLE.ON: FinalParameters
-
 		@Override
 		public boolean issuedEntityCacheCheck(
 			final long                        nanoTimeBudgetBound,
@@ -1401,23 +1685,18 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 					this.referenceMarker.tryFlush();
 
 					// check/wait for missing oids to mark, which have to be provided by other channels' marking.
-					synchronized(this.oidMarkQueue)
+					try
 					{
 						// if the mark queue is empty and there is still time, wait for new
-						if(this.oidMarkQueue.hasElements())
+						if(this.oidMarkQueue.awaitElements(this.markingWaitTimeMs))
 						{
 							break waitForWork;
 						}
-
-						try
-						{
-							this.oidMarkQueue.wait(this.markingWaitTimeMs);
-						}
-						catch(final InterruptedException e)
-						{
-							// thread has been interrupted while trying to perform garbage collection. So abort and return.
-							break performGC;
-						}
+					}
+					catch(final InterruptedException e)
+					{
+						// thread has been interrupted while trying to perform garbage collection. So abort and return.
+						break performGC;
 					}
 					// end of waiting, continue with waitForWork checks
 				}
@@ -1459,7 +1738,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			if(this.markMonitor.isComplete(this))
 			{
 				// minimize hash table memory consumption if storage is potentially going to be inactive
-				this.checkOidHashTableConsolidation();
+				this.entityIndex.consolidate();
 
 				return true;
 			}
@@ -1500,8 +1779,18 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				}
 			}
 
+			// a young generation marking additionally starts from the remembered entities once all channels have swept.
+			if(this.markMonitor.needsYoungGenerationRoots(this))
+			{
+				this.enqueueYoungGenerationRoots();
+			}
+
 			// otherwise, mark incrementally until work or time runs out
-			if(this.incrementalMark(nanoTimeBudgetBound))
+			final long markingStart = System.nanoTime();
+			final boolean markingCompleted = this.incrementalMark(nanoTimeBudgetBound);
+			this.markingTimeNs += System.nanoTime() - markingStart;
+			
+			if(markingCompleted)
 			{
 				/* note:
 				 * if the markingOidBuffer length is too low, this return is done countless times per millisecond.
@@ -0,0 +1,445 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import static org.eclipse.serializer.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.binary.types.MemoryRangeReader;
+import org.eclipse.store.storage.exceptions.StorageExceptionConsistency;
+
+/**
+ * Controls the compression of cached entity data to fit more of the working set into the entity cache.
+ * <p>
+ * The cached data of entities without references that is at least {@link #minimumDataLength()} long is kept in
+ * compressed form and only decompressed on demand when it is read for the application. Entities with references are
+ * never compressed, as the garbage collection has to iterate their references frequently. Data that does not
+ * compress well is kept uncompressed.
+ * <p>
+ * The compression trades CPU time for cache memory, which pays off for large, well compressible data like texts.
+ * The compression statistics of every channel are available via its entity cache monitor.
+ */
+public interface StorageEntityCacheCompressor
+{
+	/**
+	 * The minimum length in bytes of an entity's data to be compressed. A value of 0 disables compression.
+	 *
+	 * @return the minimum data length to be compressed.
+	 */
+	public long minimumDataLength();
+
+	/**
+	 * The compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+	 *
+	 * @return the compression level.
+	 */
+	public int compressionLevel();
+
+	public default boolean isCompressionEnabled()
+	{
+		return this.minimumDataLength() > 0;
+	}
+
+
+
+	public interface Defaults
+	{
+		public static long defaultMinimumDataLength()
+		{
+			return 1024;
+		}
+
+		public static int defaultCompressionLevel()
+		{
+			return Deflater.BEST_SPEED;
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheCompressor} instance
+	 * that disables compression, meaning all entity data is cached uncompressed. This is the default.
+	 *
+	 * @return a new {@link StorageEntityCacheCompressor} instance.
+	 */
+	public static StorageEntityCacheCompressor Disabled()
+	{
+		return new StorageEntityCacheCompressor.Default(0, Defaults.defaultCompressionLevel());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheCompressor} instance
+	 * using default values defined by {@link StorageEntityCacheCompressor.Defaults}.
+	 *
+	 * @return a new {@link StorageEntityCacheCompressor} instance.
+	 *
+	 * @see #New(long, int)
+	 */
+	public static StorageEntityCacheCompressor New()
+	{
+		return New(Defaults.defaultMinimumDataLength());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheCompressor} instance
+	 * using the passed value and the default compression level.
+	 *
+	 * @param minimumDataLength the minimum length in bytes of an entity's data to be compressed.
+	 *
+	 * @return a new {@link StorageEntityCacheCompressor} instance.
+	 *
+	 * @see #New(long, int)
+	 */
+	public static StorageEntityCacheCompressor New(final long minimumDataLength)
+	{
+		return New(minimumDataLength, Defaults.defaultCompressionLevel());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheCompressor} instance.
+	 *
+	 * @param minimumDataLength the minimum length in bytes of an entity's data to be compressed.
+	 * @param compressionLevel the compression level from {@link Deflater#BEST_SPEED}
+	 *        to {@link Deflater#BEST_COMPRESSION}.
+	 *
+	 * @return a new {@link StorageEntityCacheCompressor} instance.
+	 */
+	public static StorageEntityCacheCompressor New(
+		final long minimumDataLength,
+		final int  compressionLevel
+	)
+	{
+		if(compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+		}
+
+		return new StorageEntityCacheCompressor.Default(positive(minimumDataLength), compressionLevel);
+	}
+
+	public final class Default implements StorageEntityCacheCompressor
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long minimumDataLength;
+		private final int  compressionLevel ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long minimumDataLength, final int compressionLevel)
+		{
+			super();
+			this.minimumDataLength = minimumDataLength;
+			this.compressionLevel  = compressionLevel ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long minimumDataLength()
+		{
+			return this.minimumDataLength;
+		}
+
+		@Override
+		public final int compressionLevel()
+		{
+			return this.compressionLevel;
+		}
+
+	}
+
+	/**
+	 * The compression logic and statistics of a single channel. As channels are strictly single-threaded,
+	 * every channel needs its own instance.
+	 * <p>
+	 * Compressed cache data consists of the compressed length as an {@code int}, followed by the compressed bytes.
+	 */
+	public final class ChannelCompressor
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final int LENGTH_HEADER_LENGTH = Integer.BYTES;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long minimumDataLength;
+		private final int  compressionLevel ;
+
+		// native resources, created on demand and released by #dispose.
+		private Deflater deflater;
+		private Inflater inflater;
+
+		// direct buffers, as the compression API cannot work on plain memory addresses.
+		private ByteBuffer dataBuffer      ;
+		private ByteBuffer compressedBuffer;
+
+		// cumulative statistics, only written by the channel thread.
+		private volatile long uncompressedLength, compressedLength, compressionTimeNs, decompressionTimeNs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		ChannelCompressor(final StorageEntityCacheCompressor compressor)
+		{
+			super();
+			this.minimumDataLength = compressor.minimumDataLength();
+			this.compressionLevel  = compressor.compressionLevel() ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final long uncompressedLength()
+		{
+			return this.uncompressedLength;
+		}
+
+		public final long compressedLength()
+		{
+			return this.compressedLength;
+		}
+
+		public final long compressionTimeNs()
+		{
+			return this.compressionTimeNs;
+		}
+
+		public final long decompressionTimeNs()
+		{
+			return this.decompressionTimeNs;
+		}
+
+		private static ByteBuffer ensureCapacity(final ByteBuffer buffer, final int capacity)
+		{
+			if(buffer == null)
+			{
+				return XMemory.allocateDirectNative(Math.max(capacity, XMemory.defaultBufferSize()));
+			}
+			if(buffer.capacity() >= capacity)
+			{
+				buffer.clear();
+				return buffer;
+			}
+			XMemory.deallocateDirectByteBuffer(buffer);
+
+			return XMemory.allocateDirectNative(capacity);
+		}
+
+		private Deflater deflater()
+		{
+			if(this.deflater == null)
+			{
+				this.deflater = new Deflater(this.compressionLevel);
+			}
+			else
+			{
+				this.deflater.reset();
+			}
+
+			return this.deflater;
+		}
+
+		private Inflater inflater()
+		{
+			if(this.inflater == null)
+			{
+				this.inflater = new Inflater();
+			}
+			else
+			{
+				this.inflater.reset();
+			}
+
+			return this.inflater;
+		}
+
+		/**
+		 * Releases the native memory of the compression logic and of the buffers. They are created anew
+		 * when the compressor is used again.
+		 */
+		final void dispose()
+		{
+			if(this.deflater != null)
+			{
+				this.deflater.end();
+				this.deflater = null;
+			}
+			if(this.inflater != null)
+			{
+				this.inflater.end();
+				this.inflater = null;
+			}
+			if(this.dataBuffer != null)
+			{
+				XMemory.deallocateDirectByteBuffer(this.dataBuffer);
+				this.dataBuffer = null;
+			}
+			if(this.compressedBuffer != null)
+			{
+				XMemory.deallocateDirectByteBuffer(this.compressedBuffer);
+				this.compressedBuffer = null;
+			}
+		}
+
+		/**
+		 * Replaces the passed entity's cached data by its compressed form, if applicable and worthwhile.
+		 *
+		 * @return the change of the used cache size.
+		 */
+		final long compress(final StorageEntityTable table, final int entity)
+		{
+			final int length = table.length(entity);
+			if(length < this.minimumDataLength || table.hasReferences(entity) || table.isCompressed(entity))
+			{
+				return 0;
+			}
+
+			// only worthwhile if at least an eighth of the data can be saved, so the output is limited accordingly.
+			final int maximumLength = length - (length >>> 3) - LENGTH_HEADER_LENGTH;
+			if(maximumLength <= 0)
+			{
+				return 0;
+			}
+
+			final long startTime = System.nanoTime();
+
+			final ByteBuffer data = this.dataBuffer = ensureCapacity(this.dataBuffer, length);
+			XMemory.copyRange(table.cacheAddress(entity), XMemory.getDirectByteBufferAddress(data), length);
+			data.limit(length);
+
+			final ByteBuffer compressed = this.compressedBuffer = ensureCapacity(this.compressedBuffer, maximumLength);
+			compressed.limit(maximumLength);
+
+			final Deflater deflater = this.deflater();
+			deflater.setInput(data);
+			deflater.finish();
+			while(!deflater.finished() && compressed.hasRemaining())
+			{
+				deflater.deflate(compressed);
+			}
+
+			final long cacheChange;
+			if(deflater.finished())
+			{
+				final int  compressedLength = compressed.position();
+				final long address          = XMemory.allocate(LENGTH_HEADER_LENGTH + compressedLength);
+				XMemory.set_int(address, compressedLength);
+				XMemory.copyRange(
+					XMemory.getDirectByteBufferAddress(compressed),
+					address + LENGTH_HEADER_LENGTH,
+					compressedLength
+				);
+				cacheChange = table.putCompressedCacheData(entity, address) - length;
+
+				this.uncompressedLength += length;
+				this.compressedLength   += LENGTH_HEADER_LENGTH + compressedLength;
+			}
+			else
+			{
+				// incompressible data is kept as it is.
+				cacheChange = 0;
+			}
+
+			this.compressionTimeNs += System.nanoTime() - startTime;
+
+			return cacheChange;
+		}
+
+		static long compressedCacheDataLength(final long cacheAddress)
+		{
+			return LENGTH_HEADER_LENGTH + XMemory.get_int(cacheAddress);
+		}
+
+		final void copyDecompressedData(
+			final StorageEntityTable table ,
+			final int                entity,
+			final MemoryRangeReader  reader
+		)
+		{
+			final long startTime        = System.nanoTime();
+			final int  length           = table.length(entity);
+			final long cacheAddress     = table.cacheAddress(entity);
+			final int  compressedLength = XMemory.get_int(cacheAddress);
+
+			final ByteBuffer compressed = this.compressedBuffer = ensureCapacity(this.compressedBuffer, compressedLength);
+			XMemory.copyRange(
+				cacheAddress + LENGTH_HEADER_LENGTH,
+				XMemory.getDirectByteBufferAddress(compressed),
+				compressedLength
+			);
+			compressed.limit(compressedLength);
+
+			final ByteBuffer data = this.dataBuffer = ensureCapacity(this.dataBuffer, length);
+			data.limit(length);
+
+			final Inflater inflater = this.inflater();
+			inflater.setInput(compressed);
+			try
+			{
+				while(!inflater.finished() && data.hasRemaining() && inflater.inflate(data) > 0)
+				{
+					// inflate until all data is restored.
+				}
+			}
+			catch(final DataFormatException e)
+			{
+				throw new StorageExceptionConsistency(
+					"Corrupt compressed cache data of entity " + table.objectId(entity), e
+				);
+			}
+			if(data.position() != length)
+			{
+				throw new StorageExceptionConsistency(
+					"Decompressed cache data length " + data.position()
+					+ " of entity " + table.objectId(entity) + " does not match its length " + length
+				);
+			}
+
+			this.decompressionTimeNs += System.nanoTime() - startTime;
+
+			reader.readMemory(XMemory.getDirectByteBufferAddress(data), length);
+		}
+
+	}
+
+}
@@ -14,6 +14,9 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import static org.eclipse.serializer.math.XMath.positive;
+import static org.eclipse.serializer.util.X.notNull;
+
 import org.eclipse.serializer.chars.VarString;
 import org.eclipse.serializer.exceptions.NumberRangeException;
 
@@ -41,6 +44,43 @@ public interface StorageEntityCacheEvaluator
 		return !this.clearEntityCache(totalCacheSize, evaluationTime, entity);
 	}
 
+	/**
+	 * Callback for every read of the passed entity's data for the application. Stateless implementations
+	 * ignore it.
+	 * 
+	 * @param entity the entity whose data has been read.
+	 */
+	public default void registerEntityAccess(final StorageEntity entity)
+	{
+		// no-op by default
+	}
+
+	/**
+	 * Provides the instance to be used by the channel with the passed index. As every channel is strictly
+	 * single-threaded, stateful implementations must return a separate instance per channel, while stateless
+	 * implementations can return themselves.
+	 * 
+	 * @param channelIndex the index of the channel.
+	 * 
+	 * @return the instance to be used by the channel.
+	 */
+	public default StorageEntityCacheEvaluator channelEvaluator(final int channelIndex)
+	{
+		return this;
+	}
+
+	/**
+	 * The maximum total length in bytes of entity data a single channel keeps cached. Loading entity data beyond it
+	 * immediately evicts the channel's least recently read cached data, independent of the regular cache checks.
+	 * A value of 0 means the cache size is not bounded. This is the default.
+	 * 
+	 * @return the maximum cache size of a channel in bytes or 0.
+	 */
+	public default long cacheSizeBound()
+	{
+		return 0;
+	}
+
 
 
 	public interface Defaults
@@ -56,6 +96,12 @@ public interface StorageEntityCacheEvaluator
 			// 1 day default timeout
 			return 86_400_000;
 		}
+
+		public static int defaultFrequencyCapacity()
+		{
+			// ~256 KB per channel
+			return 131_072;
+		}
 	}
 
 	public interface Validation
@@ -189,6 +235,75 @@ public interface StorageEntityCacheEvaluator
 		return new StorageEntityCacheEvaluator.Default(timeoutMs, threshold);
 	}
 
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluator.FrequencyAware} instance
+	 * using the passed values and the default frequency capacity.
+	 *
+	 * @param timeoutMs see {@link #New(long, long)}.
+	 * @param threshold see {@link #New(long, long)}.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator} instance.
+	 *
+	 * @see #FrequencyAware(long, long, int)
+	 */
+	public static StorageEntityCacheEvaluator FrequencyAware(
+		final long timeoutMs,
+		final long threshold
+	)
+	{
+		return FrequencyAware(timeoutMs, threshold, Defaults.defaultFrequencyCapacity());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluator.FrequencyAware} instance
+	 * using the passed values.
+	 *
+	 * @param timeoutMs see {@link #New(long, long)}.
+	 * @param threshold see {@link #New(long, long)}.
+	 * @param frequencyCapacity the number of distinct entities per channel whose access frequencies are to be
+	 *        tracked accurately. Determines the memory footprint of a channel's frequency sketch,
+	 *        which is roughly 2 bytes per entity.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator} instance.
+	 *
+	 * @throws NumberRangeException if any of the passed values is equal to or lower than 0.
+	 */
+	public static StorageEntityCacheEvaluator FrequencyAware(
+		final long timeoutMs        ,
+		final long threshold        ,
+		final int  frequencyCapacity
+	)
+	{
+		Validation.validateParameters(timeoutMs, threshold);
+
+		return new StorageEntityCacheEvaluator.FrequencyAware(timeoutMs, threshold, positive(frequencyCapacity));
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluator.Bounded} instance
+	 * that keeps the cache size of every channel within the passed bound and uses the passed evaluator for
+	 * all other cache evaluations.
+	 * <p>
+	 * Every channel keeps its cached entities in a "clock" ring. Whenever loading entity data exceeds the bound,
+	 * the ring is advanced and the data of entities not read since the ring's last pass is cleared right away,
+	 * at constant amortized cost per entity. This guarantees a predictable cache memory footprint, independent of
+	 * how much time the housekeeping gets to check the cache.
+	 *
+	 * @param evaluator the evaluator to be used apart from the bound.
+	 * @param cacheSizeBound the maximum total length in bytes of entity data a single channel keeps cached.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator} instance.
+	 *
+	 * @throws NumberRangeException if the passed bound is equal to or lower than 0.
+	 */
+	public static StorageEntityCacheEvaluator Bounded(
+		final StorageEntityCacheEvaluator evaluator     ,
+		final long                        cacheSizeBound
+	)
+	{
+		return new StorageEntityCacheEvaluator.Bounded(notNull(evaluator), positive(cacheSizeBound));
+	}
+
 	public final class Default implements StorageEntityCacheEvaluator
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -327,4 +442,321 @@ public interface StorageEntityCacheEvaluator
 
 	}
 
+	/**
+	 * Frequency-aware {@link StorageEntityCacheEvaluator} implementation in the spirit of TinyLFU.
+	 * <p>
+	 * Additionally to the age and size based rules of {@link Default}, every channel keeps a compact
+	 * count-min sketch of how often entities' data has been read for the application. The sketch uses 4-bit counters
+	 * that are periodically halved, so it reflects recent access frequency without growing with the entity count.
+	 * <ul>
+	 * <li>Once the cache is half full, entities that have hardly been read are not kept in the cache at all.
+	 * This prevents one-off reads of many entities (like exports or reports) from displacing the working set.</li>
+	 * <li>Apart from that, an entity's cache weight is divided by its access frequency, so frequently read
+	 * entities stay in the cache correspondingly longer.</li>
+	 * </ul>
+	 * The timeout still applies regardless of the access frequency.
+	 */
+	public final class FrequencyAware implements StorageEntityCacheEvaluator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// see Default
+		private static final int C16 = 16;
+
+		// entities read less often are not admitted to a half full cache.
+		private static final int ADMISSION_FREQUENCY = 2;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long            timeoutMs        ;
+		private final long            threshold        ;
+		private final int             frequencyCapacity;
+		private final FrequencySketch sketch           ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		FrequencyAware(final long timeoutMs, final long threshold, final int frequencyCapacity)
+		{
+			super();
+			this.timeoutMs         = timeoutMs        ;
+			this.threshold         = threshold        ;
+			this.frequencyCapacity = frequencyCapacity;
+			this.sketch            = new FrequencySketch(frequencyCapacity);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public long timeout()
+		{
+			return this.timeoutMs;
+		}
+
+		public long threshold()
+		{
+			return this.threshold;
+		}
+
+		public int frequencyCapacity()
+		{
+			return this.frequencyCapacity;
+		}
+
+		@Override
+		public final StorageEntityCacheEvaluator channelEvaluator(final int channelIndex)
+		{
+			// every channel needs its own sketch as channels are strictly single-threaded.
+			return new FrequencyAware(this.timeoutMs, this.threshold, this.frequencyCapacity);
+		}
+
+		@Override
+		public final void registerEntityAccess(final StorageEntity entity)
+		{
+			this.sketch.increment(entity.objectId());
+		}
+
+		@Override
+		public final boolean clearEntityCache(
+			final long          cacheSize,
+			final long          evalTime ,
+			final StorageEntity e
+		)
+		{
+			final long ageInMs = evalTime - e.lastTouched();
+			if(ageInMs >= this.timeoutMs)
+			{
+				return true;
+			}
+
+			final int frequency = this.sketch.frequency(e.objectId());
+			if(frequency < ADMISSION_FREQUENCY && cacheSize >= this.threshold >> 1)
+			{
+				return true;
+			}
+
+			// see Default for the weight formula and the signed shift.
+			final long weight = e.cachedDataLength() * (ageInMs >> C16) << (e.hasReferences() ? 0 : 1);
+
+			return this.threshold - cacheSize < weight / (1 + frequency);
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("threshold        ").tab().add('=').blank().add(this.threshold).lf()
+				.blank().add("timeout          ").tab().add('=').blank().add(this.timeoutMs).lf()
+				.blank().add("frequencyCapacity").tab().add('=').blank().add(this.frequencyCapacity)
+				.toString()
+			;
+		}
+
+
+
+		/**
+		 * Count-min sketch with four 4-bit counters per object id, sixteen counters packed into every {@code long}.
+		 * All counters are halved after a sample of ten times the capacity increments to age out past frequencies.
+		 */
+		static final class FrequencySketch
+		{
+			private static final long   COUNTER_MASK = 0xFL;
+			private static final long   HALVE_MASK   = 0x7777_7777_7777_7777L;
+			private static final long[] SEEDS        =
+			{
+				0xC3A5_C85C_97CB_3127L,
+				0xB492_B66F_BE98_F273L,
+				0x9AE1_6A3B_2F90_404FL,
+				0xCBF2_9CE4_8422_2325L
+			};
+
+			private final long[] table      ;
+			private final int    tableMask  ;
+			private final int    sampleSize ;
+			private       int    sampleCount;
+
+			FrequencySketch(final int capacity)
+			{
+				super();
+				// a quarter long (four counters) per expected entity, as a power of two for fast indexing.
+				final int tableLength = Math.max(1, Integer.highestOneBit(Math.max(1, capacity >>> 2) - 1) << 1);
+				this.table      = new long[tableLength];
+				this.tableMask  = tableLength - 1;
+				this.sampleSize = (int)Math.min(Integer.MAX_VALUE, 10L * capacity);
+			}
+
+			private static long spread(final long objectId)
+			{
+				// 64 bit finalizer of MurmurHash3, as object ids are mostly sequential
+				long h = objectId;
+				h = (h ^ h >>> 33) * 0xFF51_AFD7_ED55_8CCDL;
+				h = (h ^ h >>> 33) * 0xC4CE_B9FE_1A85_EC53L;
+				return h ^ h >>> 33;
+			}
+
+			private int index(final long hash, final int i)
+			{
+				final long h = (hash ^ SEEDS[i]) * SEEDS[i];
+				return (int)(h >>> 32) & this.tableMask;
+			}
+
+			private static int offset(final long hash, final int i)
+			{
+				// a different nibble position for every counter, taken from different hash bits
+				return ((int)(hash >>> (i << 3)) & 15) << 2;
+			}
+
+			final int frequency(final long objectId)
+			{
+				final long hash = spread(objectId);
+
+				long frequency = COUNTER_MASK;
+				for(int i = 0; i < SEEDS.length; i++)
+				{
+					frequency = Math.min(frequency, this.table[this.index(hash, i)] >>> offset(hash, i) & COUNTER_MASK);
+				}
+
+				return (int)frequency;
+			}
+
+			final void increment(final long objectId)
+			{
+				final long hash = spread(objectId);
+
+				boolean incremented = false;
+				for(int i = 0; i < SEEDS.length; i++)
+				{
+					final int  index  = this.index(hash, i);
+					final int  offset = offset(hash, i);
+					if((this.table[index] >>> offset & COUNTER_MASK) != COUNTER_MASK)
+					{
+						this.table[index] += 1L << offset;
+						incremented = true;
+					}
+				}
+
+				if(incremented && ++this.sampleCount >= this.sampleSize)
+				{
+					this.halve();
+				}
+			}
+
+			private void halve()
+			{
+				final long[] table = this.table;
+				for(int i = 0; i < table.length; i++)
+				{
+					table[i] = table[i] >>> 1 & HALVE_MASK;
+				}
+				this.sampleCount >>>= 1;
+			}
+
+		}
+
+	}
+
+	public final class Bounded implements StorageEntityCacheEvaluator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageEntityCacheEvaluator evaluator     ;
+		private final long                        cacheSizeBound;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Bounded(final StorageEntityCacheEvaluator evaluator, final long cacheSizeBound)
+		{
+			super();
+			this.evaluator      = evaluator     ;
+			this.cacheSizeBound = cacheSizeBound;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public StorageEntityCacheEvaluator evaluator()
+		{
+			return this.evaluator;
+		}
+
+		@Override
+		public final long cacheSizeBound()
+		{
+			return this.cacheSizeBound;
+		}
+
+		@Override
+		public final boolean clearEntityCache(
+			final long          totalCacheSize,
+			final long          evaluationTime,
+			final StorageEntity entity
+		)
+		{
+			return this.evaluator.clearEntityCache(totalCacheSize, evaluationTime, entity);
+		}
+
+		@Override
+		public final boolean initiallyCacheEntity(
+			final long          totalCacheSize,
+			final long          evaluationTime,
+			final StorageEntity entity
+		)
+		{
+			return totalCacheSize + entity.dataLength() <= this.cacheSizeBound
+				&& this.evaluator.initiallyCacheEntity(totalCacheSize, evaluationTime, entity)
+			;
+		}
+
+		@Override
+		public final void registerEntityAccess(final StorageEntity entity)
+		{
+			this.evaluator.registerEntityAccess(entity);
+		}
+
+		@Override
+		public final StorageEntityCacheEvaluator channelEvaluator(final int channelIndex)
+		{
+			final StorageEntityCacheEvaluator channelEvaluator = this.evaluator.channelEvaluator(channelIndex);
+			
+			return channelEvaluator == this.evaluator
+				? this
+				: new Bounded(channelEvaluator, this.cacheSizeBound)
+			;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("cacheSizeBound").tab().add('=').blank().add(this.cacheSizeBound).lf()
+				.blank().add("evaluator     ").tab().add('=').blank().add(this.evaluator.toString())
+				.toString()
+			;
+		}
+
+	}
+
 }
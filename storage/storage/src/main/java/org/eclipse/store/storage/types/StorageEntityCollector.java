@@ -23,6 +23,15 @@ import org.slf4j.Logger;
 
 public interface StorageEntityCollector extends _longProcedure
 {
+	/**
+	 * Completes the collection after all ids have been passed to {@link #accept(long)}.
+	 * Implementations that defer collecting entity data must collect all remaining data here.
+	 */
+	public default void complete()
+	{
+		// no-op by default
+	}
+	
 
 	/**
 	 * Responsible to create the StorageEntityCollector used by the storage
@@ -63,20 +72,31 @@ public interface StorageEntityCollector extends _longProcedure
 	}
 	
 	/**
-	 * Default StorageEntityCollector implementation that will fail
-	 * with a StorageExceptionConsistency exception if the storage
-	 * does not contain a persisted object with the given id.
+	 * Abstract StorageEntityCollector implementation that collects entities in batches instead of one by one.
+	 * The data of all entities of a batch that are not cached, yet, is loaded at once, ordered by storage
+	 * position, allowing nearly adjacent entities to be read with a single read instead of one read per entity.
 	 */
-	class EntityCollectorByOid implements StorageEntityCollector
+	abstract class Batching implements StorageEntityCollector
 	{
-		// (01.06.2013 TM)TODO: clean up / consolidate all internal implementations
-				
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// big enough for decent coalescing, small enough to not bloat the cache before the data is collected.
+		static final int BATCH_SIZE = 1024;
+		
+		
+		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
 	
-		private final StorageEntityCache.Default entityCache  ;
-		private final ChunksBuffer               dataCollector;
+		final StorageEntityCache.Default entityCache  ;
+		final ChunksBuffer               dataCollector;
+		
+		// handles of the channel's entity table, see StorageEntityTable.
+		private final int[] batch = new int[BATCH_SIZE];
+		private       int   batchSize;
 	
 	
 	
@@ -84,7 +104,7 @@ public interface StorageEntityCollector extends _longProcedure
 		// constructors //
 		/////////////////
 	
-		public EntityCollectorByOid(
+		Batching(
 			final StorageEntityCache.Default entityCache  ,
 			final ChunksBuffer               dataCollector
 		)
@@ -99,12 +119,86 @@ public interface StorageEntityCollector extends _longProcedure
 		///////////////////////////////////////////////////////////////////////////
 		// methods //
 		////////////
+		
+		/**
+		 * Resolves the entity for the passed objectId.
+		 * 
+		 * @return the entity's handle or {@link StorageEntityTable#NONE} if it shall be skipped.
+		 */
+		protected abstract int resolve(long objectId);
 	
 		@Override
 		public final void accept(final long objectId)
 		{
-			final StorageEntity.Default entry;
-			if((entry = this.entityCache.getEntry(objectId)) == null)
+			final int entry;
+			if((entry = this.resolve(objectId)) == StorageEntityTable.NONE)
+			{
+				return;
+			}
+			
+			this.batch[this.batchSize++] = entry;
+			if(this.batchSize == this.batch.length)
+			{
+				this.collectBatch();
+			}
+		}
+		
+		@Override
+		public final void complete()
+		{
+			this.collectBatch();
+		}
+		
+		private void collectBatch()
+		{
+			// loads all uncached data at once and reorders the batch by storage position along the way.
+			this.entityCache.loadEntityData(this.batch, this.batchSize);
+			
+			final StorageEntityTable table = this.entityCache.entityTable();
+			for(int i = 0; i < this.batchSize; i++)
+			{
+				final int entry = this.batch[i];
+				table.copyCachedData(entry, this.dataCollector);
+				this.entityCache.registerEntityAccess(entry);
+				this.entityCache.checkForCacheClear(entry, System.currentTimeMillis());
+			}
+			this.batchSize = 0;
+		}
+	
+	}
+	
+	/**
+	 * Default StorageEntityCollector implementation that will fail
+	 * with a StorageExceptionConsistency exception if the storage
+	 * does not contain a persisted object with the given id.
+	 */
+	class EntityCollectorByOid extends Batching
+	{
+		// (01.06.2013 TM)TODO: clean up / consolidate all internal implementations
+	
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+	
+		public EntityCollectorByOid(
+			final StorageEntityCache.Default entityCache  ,
+			final ChunksBuffer               dataCollector
+		)
+		{
+			super(entityCache, dataCollector);
+		}
+	
+	
+	
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+	
+		@Override
+		protected final int resolve(final long objectId)
+		{
+			final int entry;
+			if((entry = this.entityCache.getEntry(objectId)) == StorageEntityTable.NONE)
 			{
 				/* (14.01.2015 TM)NOTE: this actually is an error, as every oid request comes
 				 * from a referencing entity from inside the same database. So if any load request lookup
@@ -118,8 +212,7 @@ public interface StorageEntityCollector extends _longProcedure
 				
 				throw new StorageExceptionConsistency("No entity found for objectId " + objectId);
 			}
-			entry.copyCachedData(this.dataCollector);
-			this.entityCache.checkForCacheClear(entry, System.currentTimeMillis());
+			return entry;
 		}
 	
 	}
@@ -134,18 +227,9 @@ public interface StorageEntityCollector extends _longProcedure
 	 * result in more unrecognized persistence errors and missing runtime objects
 	 * when used wrong!
 	 */
-	class EntityCollectorByOidUnchecked implements StorageEntityCollector
+	class EntityCollectorByOidUnchecked extends Batching
 	{
 		private final static Logger logger = Logging.getLogger(StorageEntityCollector.class);
-		
-		///////////////////////////////////////////////////////////////////////////
-		// instance fields //
-		////////////////////
-	
-		private final StorageEntityCache.Default entityCache  ;
-		private final ChunksBuffer               dataCollector;
-	
-	
 	
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
@@ -156,9 +240,7 @@ public interface StorageEntityCollector extends _longProcedure
 			final ChunksBuffer               dataCollector
 		)
 		{
-			super();
-			this.entityCache   = entityCache  ;
-			this.dataCollector = dataCollector;
+			super(entityCache, dataCollector);
 		}
 	
 	
@@ -168,16 +250,14 @@ public interface StorageEntityCollector extends _longProcedure
 		////////////
 	
 		@Override
-		public final void accept(final long objectId)
+		protected final int resolve(final long objectId)
 		{
-			final StorageEntity.Default entry;
-			if((entry = this.entityCache.getEntry(objectId)) == null)
+			final int entry;
+			if((entry = this.entityCache.getEntry(objectId)) == StorageEntityTable.NONE)
 			{
 				logger.warn("No entity found for ObjectID {}, continuing without throwing an exception!", objectId);
-				return;
 			}
-			entry.copyCachedData(this.dataCollector);
-			this.entityCache.checkForCacheClear(entry, System.currentTimeMillis());
+			return entry;
 		}
 	
 	}
@@ -224,9 +304,11 @@ public interface StorageEntityCollector extends _longProcedure
 			}
 	
 			// all the type's entities are iterated and their data is collected
-			for(StorageEntity.Default entity = type.head; (entity = entity.typeNext) != null;)
+			final StorageEntityTable table = this.entityCache.entityTable();
+			for(int entity = type.head; (entity = table.typeNext(entity)) != StorageEntityTable.NONE;)
 			{
-				entity.copyCachedData(this.dataCollector);
+				table.copyCachedData(entity, this.dataCollector);
+				this.entityCache.registerEntityAccess(entity);
 				this.entityCache.checkForCacheClear(entity, System.currentTimeMillis());
 			}
 		}
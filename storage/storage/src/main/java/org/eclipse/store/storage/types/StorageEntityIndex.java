@@ -0,0 +1,665 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import org.eclipse.serializer.math.XMath;
+import org.eclipse.serializer.util.logging.Logging;
+import org.eclipse.store.storage.exceptions.StorageException;
+import org.slf4j.Logger;
+
+
+/**
+ * Channel-local lookup structure mapping an entity's object id to its handle in the channel's
+ * {@link StorageEntityTable}.
+ * <p>
+ * Instances are exclusively used by the owning channel's thread, hence no implementation is required to be
+ * thread safe.
+ */
+public interface StorageEntityIndex
+{
+	/**
+	 * @param objectId the object id to look up.
+	 *
+	 * @return the handle of the registered entity for the passed object id or {@link StorageEntityTable#NONE}
+	 *         if there is none.
+	 */
+	public int get(long objectId);
+
+	/**
+	 * Registers the passed entity. The caller guarantees that no entity with the same object id is registered.
+	 *
+	 * @param objectId the entity's object id.
+	 * @param entity the handle of the entity to be registered.
+	 */
+	public void put(long objectId, int entity);
+
+	/**
+	 * Unregisters the passed entity. The caller guarantees that the entity is registered.
+	 *
+	 * @param objectId the entity's object id.
+	 * @param entity the handle of the entity to be unregistered.
+	 */
+	public void remove(long objectId, int entity);
+
+	public long size();
+
+	/**
+	 * Shrinks the internal structure if it is unnecessarily large compared to the number of registered entities.
+	 * Called when the channel is potentially going to be inactive, e.g. after a completed garbage collection.
+	 */
+	public void consolidate();
+
+	public void clear();
+
+
+
+	public static StorageEntityIndex.Creator Creator()
+	{
+		return new StorageEntityIndex.Creator.Default();
+	}
+
+	public static StorageEntityIndex.Creator CreatorOpenAddressing()
+	{
+		return new StorageEntityIndex.Creator.OpenAddressingCreator();
+	}
+
+	public interface Creator
+	{
+		public StorageEntityIndex createEntityIndex(int channelIndex, int channelCount, StorageEntityTable entityTable);
+
+
+
+		public final class Default implements StorageEntityIndex.Creator
+		{
+			@Override
+			public StorageEntityIndex createEntityIndex(
+				final int                channelIndex,
+				final int                channelCount,
+				final StorageEntityTable entityTable
+			)
+			{
+				return new StorageEntityIndex.Chained(XMath.log2pow2(channelCount), entityTable);
+			}
+
+		}
+
+		public final class OpenAddressingCreator implements StorageEntityIndex.Creator
+		{
+			@Override
+			public StorageEntityIndex createEntityIndex(
+				final int                channelIndex,
+				final int                channelCount,
+				final StorageEntityTable entityTable
+			)
+			{
+				return new StorageEntityIndex.OpenAddressing(XMath.log2pow2(channelCount), entityTable);
+			}
+
+		}
+
+	}
+
+
+
+	/**
+	 * Separate chaining hash table linking colliding entities via their hash link in the {@link StorageEntityTable}.
+	 * Cheap to maintain, but every hop in a collision chain is a potential cache miss.
+	 */
+	public final class Chained implements StorageEntityIndex
+	{
+		private final static Logger logger = Logging.getLogger(StorageEntityIndex.class);
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                channelHashShift;
+		private final StorageEntityTable entityTable     ;
+		private       int[]              oidHashTable    ;
+		private       int                oidModulo       ; // long modulo makes not difference
+		private       long               oidSize         ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Chained(final int channelHashShift, final StorageEntityTable entityTable)
+		{
+			super();
+			this.channelHashShift = channelHashShift;
+			this.entityTable      = entityTable     ;
+			this.clear();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private int oidHashIndex(final long objectId)
+		{
+			return StorageEntityCache.Default.oidHashIndex(objectId, this.channelHashShift, this.oidModulo);
+		}
+
+		@Override
+		public final void clear()
+		{
+			this.oidHashTable = new int[1];
+			this.oidModulo    = this.oidHashTable.length - 1;
+			this.oidSize      = 0;
+		}
+
+		@Override
+		public final long size()
+		{
+			return this.oidSize;
+		}
+
+		@Override
+		public final int get(final long objectId)
+		{
+			final StorageEntityTable table = this.entityTable;
+			for(int e = this.oidHashTable[this.oidHashIndex(objectId)]; e != StorageEntityTable.NONE; e = table.hashNext(e))
+			{
+				if(table.objectId(e) == objectId)
+				{
+					return e;
+				}
+			}
+			return StorageEntityTable.NONE;
+		}
+
+		@Override
+		public final void put(final long objectId, final int entity)
+		{
+			// increment size and check for necessary (and reasonable) rebuild
+			if(this.oidSize >= this.oidModulo && this.oidModulo < Integer.MAX_VALUE)
+			{
+				this.enlarge();
+			}
+
+			final int index = this.oidHashIndex(objectId);
+			this.entityTable.setHashNext(entity, this.oidHashTable[index]);
+			this.oidHashTable[index] = entity;
+			this.oidSize++;
+		}
+
+		@Override
+		public final void remove(final long objectId, final int item)
+		{
+			final StorageEntityTable table = this.entityTable;
+			final int                index = this.oidHashIndex(objectId);
+
+			int entry;
+			if((entry = this.oidHashTable[index]) == item)
+			{
+				this.oidHashTable[index] = table.hashNext(item);
+			}
+			else
+			{
+				// subject is (must be) guaranteed to be contained in the hash chain, hence no null check
+				while(table.hashNext(entry) != item)
+				{
+					entry = table.hashNext(entry);
+				}
+				table.setHashNext(entry, table.hashNext(item));
+			}
+			table.setHashNext(item, StorageEntityTable.NONE);
+			this.oidSize--;
+		}
+
+		private void enlarge()
+		{
+			final int newModulo;
+			final int[] newSlots =
+				XMath.isGreaterThanOrEqualHighestPowerOf2(this.oidHashTable.length)
+				? new int[newModulo = Integer.MAX_VALUE] // perfect hash range special case
+				: new int[(newModulo = (this.oidModulo + 1 << 1) - 1) + 1] // 1111 :D
+			;
+			this.rebuild(newSlots, newModulo);
+
+			logger.debug("Enlarged StorageEntityCache to {} entries!", newSlots.length);
+		}
+
+		@Override
+		public final void consolidate()
+		{
+			// if the hash table has suitable size, abort
+			if(this.oidHashTable.length >>> 1 < this.oidSize)
+			{
+				return;
+			}
+
+			// if the hash table is unnecessary large, shrink it
+			final int   newModulo = XMath.pow2BoundMaxed((int)this.oidSize) - 1;
+			final int[] newSlots  = new int[newModulo + 1];
+			this.rebuild(newSlots, newModulo);
+
+			logger.debug("Consolidated StorageEntityCache to {} entries!", newSlots.length);
+		}
+
+		private void rebuild(final int[] newSlots, final int newModulo)
+		{
+			final StorageEntityTable table         = this.entityTable     ;
+			final int                bitShiftCount = this.channelHashShift;
+			for(int entry : this.oidHashTable)
+			{
+				for(int next; entry != StorageEntityTable.NONE; entry = next)
+				{
+					next = table.hashNext(entry);
+					final int index = StorageEntityCache.Default.oidHashIndex(table.objectId(entry), bitShiftCount, newModulo);
+					table.setHashNext(entry, newSlots[index]);
+					newSlots[index] = entry;
+				}
+			}
+			this.oidHashTable = newSlots;
+			this.oidModulo    = newModulo;
+		}
+
+	}
+
+
+
+	/**
+	 * Open-addressing (linear probing) hash table holding the object ids in a primitive {@code long[]}
+	 * parallel to the entity handles. A lookup compares keys in adjacent memory and never reads an entity's
+	 * record, so neither probing nor resizing touches the {@link StorageEntityTable}.
+	 * <p>
+	 * Enlarging is done incrementally: a new table is allocated and every subsequent operation migrates a fixed
+	 * number of slots from the old table until it is drained. Lookups consult both tables in the meantime.
+	 * This avoids a single full rehash of hundreds of millions of entries stalling the channel.
+	 * <p>
+	 * Object id 0 is never a valid entity object id and is used as the empty slot marker.
+	 * <p>
+	 * Arrays cannot hold more than 2^30 slots as a power of 2, so the table holds at most 3/4 of that, about 805
+	 * million entities per channel. Registering more entities moves all of them into a {@link Chained} index once,
+	 * which handles all further operations until the index is cleared. Its limit is the one of the
+	 * {@link StorageEntityTable}, 2^31 - 1 entities per channel.
+	 */
+	public final class OpenAddressing implements StorageEntityIndex
+	{
+		private final static Logger logger = Logging.getLogger(StorageEntityIndex.class);
+
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final int  MINIMUM_CAPACITY = 16     ;
+		private static final int  MAXIMUM_CAPACITY = 1 << 30;
+		private static final int  MIGRATION_STEP   = 16     ; // must be >= 2 to drain before the next enlargement
+		private static final long EMPTY            = 0L     ;
+
+		// placeholder for migrated or removed slots in the table being drained. Keeps probe sequences intact.
+		private static final int MOVED = -1;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                channelHashShift;
+		private final StorageEntityTable entityTable     ;
+
+		// takes over all operations once the maximum capacity is exhausted. null as long as the table is used.
+		private Chained overflow;
+
+		private long[] keys       ;
+		private int[]  values     ;
+		private int    mask       ;
+		private int    resizeBound;
+		private long   size       ;
+
+		// table being drained by incremental enlargement. null if no migration is in progress.
+		private long[] oldKeys        ;
+		private int[]  oldValues      ;
+		private int    oldMask        ;
+		private int    migrationCursor;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		OpenAddressing(final int channelHashShift, final StorageEntityTable entityTable)
+		{
+			super();
+			this.channelHashShift = channelHashShift;
+			this.entityTable      = entityTable     ;
+			this.clear();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private static int resizeBound(final int capacity)
+		{
+			// load factor 0.75 for all capacities, linear probing degrades too much beyond that.
+			return capacity - (capacity >>> 2);
+		}
+
+		private int index(final long objectId, final int mask)
+		{
+			return StorageEntityCache.Default.oidHashIndex(objectId, this.channelHashShift, mask);
+		}
+
+		private void allocate(final int capacity)
+		{
+			this.keys        = new long[capacity];
+			this.values      = new int[capacity];
+			this.mask        = capacity - 1;
+			this.resizeBound = resizeBound(capacity);
+		}
+
+		@Override
+		public final void clear()
+		{
+			this.overflow = null;
+			this.allocate(MINIMUM_CAPACITY);
+			this.size = 0;
+			this.clearMigration();
+		}
+
+		private void clearMigration()
+		{
+			this.oldKeys         = null;
+			this.oldValues       = null;
+			this.oldMask         = 0;
+			this.migrationCursor = 0;
+		}
+
+		@Override
+		public final long size()
+		{
+			return this.overflow == null
+				? this.size
+				: this.overflow.size()
+			;
+		}
+
+		@Override
+		public final int get(final long objectId)
+		{
+			if(this.overflow != null)
+			{
+				return this.overflow.get(objectId);
+			}
+
+			final long[] keys = this.keys;
+			final int    mask = this.mask;
+			for(int i = this.index(objectId, mask); keys[i] != EMPTY; i = i + 1 & mask)
+			{
+				if(keys[i] == objectId)
+				{
+					return this.values[i];
+				}
+			}
+
+			return this.oldKeys == null
+				? StorageEntityTable.NONE
+				: this.getOld(objectId)
+			;
+		}
+
+		private int getOld(final long objectId)
+		{
+			final long[] keys = this.oldKeys;
+			final int    mask = this.oldMask;
+			for(int i = this.index(objectId, mask); keys[i] != EMPTY; i = i + 1 & mask)
+			{
+				if(keys[i] == objectId && this.oldValues[i] != MOVED)
+				{
+					return this.oldValues[i];
+				}
+			}
+
+			return StorageEntityTable.NONE;
+		}
+
+		@Override
+		public final void put(final long objectId, final int entity)
+		{
+			if(this.overflow != null)
+			{
+				this.overflow.put(objectId, entity);
+				return;
+			}
+			if(this.oldKeys != null)
+			{
+				this.migrate(MIGRATION_STEP);
+			}
+			if(this.size >= this.resizeBound)
+			{
+				if(this.keys.length >= MAXIMUM_CAPACITY)
+				{
+					this.overflow();
+					this.overflow.put(objectId, entity);
+					return;
+				}
+				this.enlarge();
+			}
+
+			this.insert(objectId, entity);
+			this.size++;
+		}
+
+		private void insert(final long objectId, final int entity)
+		{
+			final long[] keys = this.keys;
+			final int    mask = this.mask;
+
+			int i = this.index(objectId, mask);
+			while(keys[i] != EMPTY)
+			{
+				i = i + 1 & mask;
+			}
+			keys[i]        = objectId;
+			this.values[i] = entity;
+		}
+
+		@Override
+		public final void remove(final long objectId, final int entity)
+		{
+			if(this.overflow != null)
+			{
+				this.overflow.remove(objectId, entity);
+				return;
+			}
+			if(this.oldKeys != null)
+			{
+				this.migrate(MIGRATION_STEP);
+			}
+
+			if(!this.removeCurrent(objectId) && !this.removeOld(objectId))
+			{
+				throw new StorageException("Entity " + objectId + " is not registered.");
+			}
+			this.size--;
+		}
+
+		private boolean removeCurrent(final long objectId)
+		{
+			final long[] keys   = this.keys  ;
+			final int[]  values = this.values;
+			final int    mask   = this.mask  ;
+
+			int i = this.index(objectId, mask);
+			while(keys[i] != objectId)
+			{
+				if(keys[i] == EMPTY)
+				{
+					return false;
+				}
+				i = i + 1 & mask;
+			}
+
+			// backward shift deletion: move subsequent entries of the cluster up so no tombstone is required.
+			for(int j = i + 1 & mask; keys[j] != EMPTY; j = j + 1 & mask)
+			{
+				final int home = this.index(keys[j], mask);
+
+				// entry at j may fill the gap at i if its home slot is not cyclically located in (i; j].
+				if((j - home & mask) >= (j - i & mask))
+				{
+					keys[i]   = keys[j]  ;
+					values[i] = values[j];
+					i = j;
+				}
+			}
+			keys[i]   = EMPTY;
+			values[i] = StorageEntityTable.NONE;
+
+			return true;
+		}
+
+		private boolean removeOld(final long objectId)
+		{
+			final long[] keys = this.oldKeys;
+			if(keys == null)
+			{
+				return false;
+			}
+
+			final int mask = this.oldMask;
+			for(int i = this.index(objectId, mask); keys[i] != EMPTY; i = i + 1 & mask)
+			{
+				if(keys[i] == objectId && this.oldValues[i] != MOVED)
+				{
+					// the old table is discarded after draining, so marking the slot suffices.
+					this.oldValues[i] = MOVED;
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		private void enlarge()
+		{
+			final int capacity = this.keys.length;
+
+			// a pending migration must be completed before the next one can start.
+			if(this.oldKeys != null)
+			{
+				this.migrate(Integer.MAX_VALUE);
+			}
+
+			this.oldKeys   = this.keys  ;
+			this.oldValues = this.values;
+			this.oldMask   = this.mask  ;
+			this.migrationCursor = 0;
+			this.allocate(capacity << 1);
+
+			logger.debug("Enlarging StorageEntityCache index to {} entries.", capacity << 1);
+		}
+
+		private void overflow()
+		{
+			if(this.oldKeys != null)
+			{
+				this.migrate(Integer.MAX_VALUE);
+			}
+
+			// a one-time full rehash, but only for channels exceeding the table's maximum capacity.
+			final Chained overflow = new Chained(this.channelHashShift, this.entityTable);
+			final long[]  keys     = this.keys  ;
+			final int[]   values   = this.values;
+			for(int i = 0; i < keys.length; i++)
+			{
+				if(keys[i] != EMPTY)
+				{
+					overflow.put(keys[i], values[i]);
+				}
+			}
+
+			this.overflow = overflow;
+			this.keys     = null;
+			this.values   = null;
+			this.size     = 0;
+
+			logger.debug("Moved {} entities of StorageEntityCache index to a chained index.", overflow.size());
+		}
+
+		private void migrate(final int slotCount)
+		{
+			final long[] oldKeys   = this.oldKeys  ;
+			final int[]  oldValues = this.oldValues;
+			final int    bound     = (int)Math.min(oldKeys.length, (long)this.migrationCursor + slotCount);
+
+			for(int i = this.migrationCursor; i < bound; i++)
+			{
+				if(oldKeys[i] != EMPTY && oldValues[i] != MOVED)
+				{
+					this.insert(oldKeys[i], oldValues[i]);
+
+					// keep the key for intact probe sequences of entries that are not migrated yet.
+					oldValues[i] = MOVED;
+				}
+			}
+
+			if((this.migrationCursor = bound) == oldKeys.length)
+			{
+				this.clearMigration();
+			}
+		}
+
+		@Override
+		public final void consolidate()
+		{
+			if(this.overflow != null)
+			{
+				this.overflow.consolidate();
+				return;
+			}
+			if(this.oldKeys != null)
+			{
+				this.migrate(Integer.MAX_VALUE);
+			}
+
+			final int requiredCapacity = Math.max(
+				MINIMUM_CAPACITY,
+				XMath.pow2BoundMaxed((int)Math.min(MAXIMUM_CAPACITY, this.size + (this.size >>> 1)))
+			);
+
+			// only shrink if the table is unnecessarily large
+			if(requiredCapacity >= this.keys.length >>> 1)
+			{
+				return;
+			}
+
+			final long[] keys   = this.keys  ;
+			final int[]  values = this.values;
+			this.allocate(requiredCapacity);
+			for(int i = 0; i < keys.length; i++)
+			{
+				if(keys[i] != EMPTY)
+				{
+					this.insert(keys[i], values[i]);
+				}
+			}
+
+			logger.debug("Consolidated StorageEntityCache index to {} entries.", requiredCapacity);
+		}
+
+	}
+
+}
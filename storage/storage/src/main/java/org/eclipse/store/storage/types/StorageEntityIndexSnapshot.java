@@ -0,0 +1,736 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+import org.eclipse.serializer.afs.types.AFS;
+import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.serializer.afs.types.AReadableFile;
+import org.eclipse.serializer.afs.types.AWritableFile;
+import org.eclipse.serializer.collections.EqHashTable;
+import org.eclipse.serializer.collections.types.XGettingSequence;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.binary.types.Binary;
+import org.eclipse.serializer.util.logging.Logging;
+import org.eclipse.store.storage.exceptions.StorageExceptionConsistency;
+import org.eclipse.store.storage.exceptions.StorageExceptionIoReading;
+import org.slf4j.Logger;
+
+
+/**
+ * Handles a per-channel snapshot file of the entity registrations (object id, type id, storage position and length
+ * of every live entity per data file) that allows initializing a channel without reading all data files in full.
+ * <p>
+ * The snapshot is written at an orderly shutdown. On startup, the data file ranges covered by it are registered
+ * from the snapshot and only data written after it (appended to the then head file or in new data files) is
+ * scanned. Since data files are only ever appended to, deleted or truncated back to a consistent state that is
+ * never before a snapshot, a snapshot remains valid across multiple sessions. A snapshot that does not match the
+ * data files or is damaged is discarded, causing the default full scan of all data files.
+ * <p>
+ * Note that entities registered from a snapshot do not get their data cached initially.
+ */
+public interface StorageEntityIndexSnapshot
+{
+	/**
+	 * Reads and validates the snapshot of the passed channel.
+	 *
+	 * @param fileProvider   the file provider to provide the snapshot file.
+	 * @param channelIndex   the index of the channel to be initialized.
+	 * @param dataFiles      the data files of the channel, ordered by file number.
+	 * @param lastFileLength the consistent length of the last data file.
+	 * @param typeDictionary the type dictionary to validate the entries' type ids against.
+	 *
+	 * @return the validated snapshot content, which must be closed by the caller, or {@code null}
+	 *         if there is no usable snapshot.
+	 */
+	public StorageEntityIndexSnapshot.Content read(
+		StorageLiveFileProvider                              fileProvider  ,
+		int                                                  channelIndex  ,
+		XGettingSequence<? extends StorageDataInventoryFile> dataFiles     ,
+		long                                                 lastFileLength,
+		StorageTypeDictionary                                typeDictionary
+	);
+
+	/**
+	 * Writes the snapshot of the passed channel's currently registered entities, replacing any existing snapshot.
+	 *
+	 * @param fileProvider the file provider to provide the snapshot file.
+	 * @param channelIndex the index of the channel.
+	 * @param headFile     the channel's head file, linked to all other data files.
+	 */
+	public void write(
+		StorageLiveFileProvider     fileProvider,
+		int                         channelIndex,
+		StorageLiveDataFile.Default headFile
+	);
+
+
+
+	public static long entryLength()
+	{
+		return Default.ENTRY_LENGTH;
+	}
+
+	public static long getEntryObjectId(final long entryAddress)
+	{
+		return XMemory.get_long(entryAddress + Default.OFFSET_ENTRY_OID);
+	}
+
+	public static long getEntryTypeId(final long entryAddress)
+	{
+		return XMemory.get_long(entryAddress + Default.OFFSET_ENTRY_TID);
+	}
+
+	public static long getEntryPosition(final long entryAddress)
+	{
+		return XMemory.get_long(entryAddress + Default.OFFSET_ENTRY_POS);
+	}
+
+	public static int getEntryLength(final long entryAddress)
+	{
+		return XMemory.get_int(entryAddress + Default.OFFSET_ENTRY_LEN);
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityIndexSnapshot} instance that reads and writes
+	 * snapshot files.
+	 *
+	 * @return a new {@link StorageEntityIndexSnapshot} instance.
+	 */
+	public static StorageEntityIndexSnapshot New()
+	{
+		return new StorageEntityIndexSnapshot.Default();
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityIndexSnapshot} instance that neither reads
+	 * nor writes snapshot files, meaning every initialization scans all data files in full.
+	 *
+	 * @return a new disabled {@link StorageEntityIndexSnapshot} instance.
+	 */
+	public static StorageEntityIndexSnapshot Disabled()
+	{
+		return new StorageEntityIndexSnapshot.Disabled();
+	}
+
+
+
+	public final class Disabled implements StorageEntityIndexSnapshot
+	{
+		Disabled()
+		{
+			super();
+		}
+
+		@Override
+		public final StorageEntityIndexSnapshot.Content read(
+			final StorageLiveFileProvider                              fileProvider  ,
+			final int                                                  channelIndex  ,
+			final XGettingSequence<? extends StorageDataInventoryFile> dataFiles     ,
+			final long                                                 lastFileLength,
+			final StorageTypeDictionary                                typeDictionary
+		)
+		{
+			return null;
+		}
+
+		@Override
+		public final void write(
+			final StorageLiveFileProvider     fileProvider,
+			final int                         channelIndex,
+			final StorageLiveDataFile.Default headFile
+		)
+		{
+			// no-op
+		}
+
+	}
+
+
+
+	/**
+	 * File layout (all values in native byte order):
+	 * <pre>
+	 * header : [magic:long][version:int][channelIndex:int][fileCount:long][entityCount:long]
+	 * file   : [fileNumber:long][coveredLength:long][entityCount:long] followed by entityCount entries
+	 * entry  : [objectId:long][typeId:long][storagePosition:long][length:int][reserved:int]
+	 * trailer: [CRC32C of everything before:long]
+	 * </pre>
+	 */
+	public final class Default implements StorageEntityIndexSnapshot
+	{
+		private final static Logger logger = Logging.getLogger(StorageEntityIndexSnapshot.class);
+
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final long MAGIC   = 0x5345_4944_5853_4E50L; // "SEIDXSNP"
+		static final int  VERSION = 2;
+
+		static final int
+			OFFSET_HEADER_MAGIC    =  0,
+			OFFSET_HEADER_VERSION  =  8,
+			OFFSET_HEADER_CHANNEL  = 12,
+			OFFSET_HEADER_FILES    = 16,
+			OFFSET_HEADER_ENTITIES = 24,
+			HEADER_LENGTH          = 32,
+
+			OFFSET_FILE_NUMBER     =  0,
+			OFFSET_FILE_COVERED    =  8,
+			OFFSET_FILE_ENTITIES   = 16,
+			FILE_LENGTH            = 24,
+
+			OFFSET_ENTRY_OID       =  0,
+			OFFSET_ENTRY_TID       =  8,
+			OFFSET_ENTRY_POS       = 16,
+			OFFSET_ENTRY_LEN       = 24,
+			OFFSET_ENTRY_RESERVED  = 28,
+			ENTRY_LENGTH           = 32,
+
+			CHECKSUM_LENGTH        =  8
+		;
+
+		private static final int BUFFER_LENGTH = 1 << 20;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default()
+		{
+			super();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final StorageEntityIndexSnapshot.Content read(
+			final StorageLiveFileProvider                              fileProvider  ,
+			final int                                                  channelIndex  ,
+			final XGettingSequence<? extends StorageDataInventoryFile> dataFiles     ,
+			final long                                                 lastFileLength,
+			final StorageTypeDictionary                                typeDictionary
+		)
+		{
+			final AFile file = fileProvider.provideEntityIndexFile(channelIndex);
+			if(!file.exists())
+			{
+				return null;
+			}
+
+			final AReadableFile readableFile = file.useReading();
+			try
+			{
+				final StorageEntityIndexSnapshot.Content content = readContent(
+					readableFile  ,
+					channelIndex  ,
+					dataFiles     ,
+					lastFileLength,
+					typeDictionary
+				);
+				logger.debug("Channel {} initializing from entity index snapshot {}.", channelIndex, file);
+
+				return content;
+			}
+			catch(final Exception e)
+			{
+				readableFile.close();
+				logger.warn(
+					"Channel {} discarding unusable entity index snapshot {}: {}", channelIndex, file, e.getMessage()
+				);
+
+				return null;
+			}
+		}
+
+		private static StorageEntityIndexSnapshot.Content readContent(
+			final AReadableFile                                        file          ,
+			final int                                                  channelIndex  ,
+			final XGettingSequence<? extends StorageDataInventoryFile> dataFiles     ,
+			final long                                                 lastFileLength,
+			final StorageTypeDictionary                                typeDictionary
+		)
+		{
+			final long contentLength = file.size() - CHECKSUM_LENGTH;
+			if(contentLength < HEADER_LENGTH)
+			{
+				throw new StorageExceptionConsistency("Incomplete snapshot file.");
+			}
+
+			final ByteBuffer buffer  = XMemory.allocateDirectNative(BUFFER_LENGTH);
+			final long       address = XMemory.getDirectByteBufferAddress(buffer);
+			try
+			{
+				validateChecksum(file, contentLength, buffer, address);
+
+				read(file, 0, HEADER_LENGTH, buffer);
+				if(XMemory.get_long(address + OFFSET_HEADER_MAGIC) != MAGIC
+				|| XMemory.get_int(address + OFFSET_HEADER_VERSION) != VERSION
+				|| XMemory.get_int(address + OFFSET_HEADER_CHANNEL) != channelIndex
+				)
+				{
+					throw new StorageExceptionConsistency("Invalid snapshot header.");
+				}
+				final long fileCount = XMemory.get_long(address + OFFSET_HEADER_FILES);
+
+				final EqHashTable<Long, StorageDataInventoryFile> actualFiles = EqHashTable.New();
+				dataFiles.iterate(f -> actualFiles.add(f.number(), f));
+				final long lastFileNumber = dataFiles.last().number();
+
+				final EqHashTable<Long, CoveredFile> coveredFiles = EqHashTable.New();
+
+				long position = HEADER_LENGTH;
+				for(long i = 0; i < fileCount; i++)
+				{
+					read(file, position, FILE_LENGTH, buffer);
+					final long fileNumber    = XMemory.get_long(address + OFFSET_FILE_NUMBER  );
+					final long coveredLength = XMemory.get_long(address + OFFSET_FILE_COVERED );
+					final long entityCount   = XMemory.get_long(address + OFFSET_FILE_ENTITIES);
+					position += FILE_LENGTH;
+
+					if(entityCount < 0 || entityCount * Binary.entityHeaderLength() > coveredLength)
+					{
+						throw new StorageExceptionConsistency("Invalid entity count for data file " + fileNumber);
+					}
+
+					final StorageDataInventoryFile actualFile = actualFiles.get(fileNumber);
+					if(actualFile != null)
+					{
+						// covered data might have been appended to, but never removed.
+						final long actualLength = fileNumber == lastFileNumber
+							? lastFileLength
+							: actualFile.size()
+						;
+						if(actualLength < coveredLength)
+						{
+							throw new StorageExceptionConsistency(
+								"Data file " + fileNumber + " is shorter than its snapshot: "
+								+ actualLength + " < " + coveredLength
+							);
+						}
+						// every entry is validated before any is registered, so an unusable one still allows a full scan.
+						validateEntries(file, position, entityCount, coveredLength, typeDictionary, buffer, address);
+						coveredFiles.add(fileNumber, new CoveredFile(coveredLength, entityCount, position));
+					}
+					// else: file got deleted after the snapshot, all its live entities have been written elsewhere.
+
+					position += entityCount * ENTRY_LENGTH;
+				}
+
+				if(position != contentLength)
+				{
+					throw new StorageExceptionConsistency("Inconsistent snapshot file length.");
+				}
+
+				return new Content(file, coveredFiles);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+		private static void validateEntries(
+			final AReadableFile         file          ,
+			final long                  startPosition ,
+			final long                  entityCount   ,
+			final long                  coveredLength ,
+			final StorageTypeDictionary typeDictionary,
+			final ByteBuffer            buffer        ,
+			final long                  address
+		)
+		{
+			final long bufferEntryCount = buffer.capacity() / ENTRY_LENGTH;
+			
+			// entries are ordered by storage position and their entities may neither overlap nor exceed the range.
+			long entityBound = 0;
+			for(long index = 0; index < entityCount;)
+			{
+				final int entryCount = (int)Math.min(bufferEntryCount, entityCount - index);
+				read(file, startPosition + index * ENTRY_LENGTH, entryCount * ENTRY_LENGTH, buffer);
+				index += entryCount;
+				
+				for(int i = 0; i < entryCount; i++)
+				{
+					final long entryAddress = address + i * ENTRY_LENGTH;
+					final long position     = getEntryPosition(entryAddress);
+					final long length       = getEntryLength(entryAddress);
+					if(position < entityBound
+					|| length < Binary.entityHeaderLength()
+					|| position + length > coveredLength
+					|| typeDictionary.lookupTypeHandler(getEntryTypeId(entryAddress)) == null
+					)
+					{
+						throw new StorageExceptionConsistency(
+							"Invalid snapshot entry for entity " + getEntryObjectId(entryAddress)
+							+ " at position " + position + " of " + length + " bytes."
+						);
+					}
+					entityBound = position + length;
+				}
+			}
+		}
+
+		private static void validateChecksum(
+			final AReadableFile file         ,
+			final long          contentLength,
+			final ByteBuffer    buffer       ,
+			final long          address
+		)
+		{
+			final CRC32C checksum = new CRC32C();
+			for(long position = 0; position < contentLength;)
+			{
+				final int length = (int)Math.min(buffer.capacity(), contentLength - position);
+				read(file, position, length, buffer);
+				checksum.update(buffer);
+				position += length;
+			}
+
+			read(file, contentLength, CHECKSUM_LENGTH, buffer);
+			if(XMemory.get_long(address) != checksum.getValue())
+			{
+				throw new StorageExceptionConsistency("Snapshot checksum mismatch.");
+			}
+		}
+
+		static void read(
+			final AReadableFile file    ,
+			final long          position,
+			final int           length  ,
+			final ByteBuffer    buffer
+		)
+		{
+			buffer.clear().limit(length);
+			final long readCount = file.readBytes(buffer, position, length);
+			if(readCount != length)
+			{
+				throw new StorageExceptionIoReading(
+					"Incomplete read of " + file + ": " + readCount + " of " + length + " bytes at " + position
+				);
+			}
+			buffer.clear().limit(length);
+		}
+
+		@Override
+		public final void write(
+			final StorageLiveFileProvider     fileProvider,
+			final int                         channelIndex,
+			final StorageLiveDataFile.Default headFile
+		)
+		{
+			final AFile file = fileProvider.provideEntityIndexFile(channelIndex);
+			try
+			{
+				if(file.exists())
+				{
+					file.delete();
+				}
+				AFS.executeWriting(file, wf ->
+					writeContent(wf, channelIndex, headFile)
+				);
+				logger.debug("Channel {} wrote entity index snapshot {}.", channelIndex, file);
+			}
+			catch(final Exception e)
+			{
+				/*
+				 * A missing snapshot only means a full scan on the next initialization.
+				 * A partially written one would be recognized by its checksum, but it is removed nonetheless.
+				 */
+				logger.warn("Channel {} could not write entity index snapshot {}.", channelIndex, file, e);
+				if(file.exists())
+				{
+					file.delete();
+				}
+			}
+		}
+
+		private static void writeContent(
+			final AWritableFile               file        ,
+			final int                         channelIndex,
+			final StorageLiveDataFile.Default headFile
+		)
+		{
+			final SnapshotWriter writer = new SnapshotWriter(file);
+			try
+			{
+				long fileCount = 0, entityCount = 0;
+				StorageLiveDataFile.Default dataFile = headFile;
+				do
+				{
+					dataFile = dataFile.next;
+					fileCount++;
+					entityCount += countEntities(dataFile);
+				}
+				while(dataFile != headFile);
+
+				final long headerAddress = writer.ensure(HEADER_LENGTH);
+				XMemory.set_long(headerAddress + OFFSET_HEADER_MAGIC   , MAGIC       );
+				XMemory.set_int (headerAddress + OFFSET_HEADER_VERSION , VERSION     );
+				XMemory.set_int (headerAddress + OFFSET_HEADER_CHANNEL , channelIndex);
+				XMemory.set_long(headerAddress + OFFSET_HEADER_FILES   , fileCount   );
+				XMemory.set_long(headerAddress + OFFSET_HEADER_ENTITIES, entityCount );
+
+				// iterate from the oldest file to the head file, entities in each file in storage order.
+				dataFile = headFile;
+				do
+				{
+					dataFile = dataFile.next;
+
+					final long fileAddress = writer.ensure(FILE_LENGTH);
+					XMemory.set_long(fileAddress + OFFSET_FILE_NUMBER  , dataFile.number()      );
+					XMemory.set_long(fileAddress + OFFSET_FILE_COVERED , dataFile.totalLength() );
+					XMemory.set_long(fileAddress + OFFSET_FILE_ENTITIES, countEntities(dataFile));
+
+					final StorageEntityTable table = dataFile.entityTable;
+					final int                tail  = dataFile.tail;
+					for(int e = dataFile.head; (e = table.fileNext(e)) != tail;)
+					{
+						final long entryAddress = writer.ensure(ENTRY_LENGTH);
+						XMemory.set_long(entryAddress + OFFSET_ENTRY_OID     , table.objectId(e)       );
+						XMemory.set_long(entryAddress + OFFSET_ENTRY_TID     , table.typeId(e)         );
+						XMemory.set_long(entryAddress + OFFSET_ENTRY_POS     , table.storagePosition(e));
+						XMemory.set_int (entryAddress + OFFSET_ENTRY_LEN     , table.length(e)         );
+						XMemory.set_int (entryAddress + OFFSET_ENTRY_RESERVED, 0                       );
+					}
+				}
+				while(dataFile != headFile);
+
+				writer.complete();
+			}
+			finally
+			{
+				writer.dispose();
+			}
+		}
+
+		private static long countEntities(final StorageLiveDataFile.Default dataFile)
+		{
+			long count = 0;
+			final StorageEntityTable table = dataFile.entityTable;
+			final int                tail  = dataFile.tail;
+			for(int e = dataFile.head; (e = table.fileNext(e)) != tail;)
+			{
+				count++;
+			}
+
+			return count;
+		}
+
+
+
+		static final class SnapshotWriter
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final AWritableFile file    ;
+			private final ByteBuffer    buffer   = XMemory.allocateDirectNative(BUFFER_LENGTH);
+			private final long          address  = XMemory.getDirectByteBufferAddress(this.buffer);
+			private final CRC32C        checksum = new CRC32C();
+			private       int           length  ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			SnapshotWriter(final AWritableFile file)
+			{
+				super();
+				this.file = file;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			final long ensure(final int byteCount)
+			{
+				if(this.length + byteCount > this.buffer.capacity())
+				{
+					this.flush();
+				}
+				final long elementAddress = this.address + this.length;
+				this.length += byteCount;
+
+				return elementAddress;
+			}
+
+			private void flush()
+			{
+				this.buffer.clear().limit(this.length);
+				this.checksum.update(this.buffer);
+				this.buffer.flip();
+				this.file.writeBytes(this.buffer);
+				this.length = 0;
+			}
+
+			final void complete()
+			{
+				this.flush();
+				XMemory.set_long(this.address, this.checksum.getValue());
+				this.length = CHECKSUM_LENGTH;
+				this.buffer.clear().limit(this.length);
+				this.file.writeBytes(this.buffer);
+				this.length = 0;
+			}
+
+			final void dispose()
+			{
+				XMemory.deallocateDirectByteBuffer(this.buffer);
+			}
+
+		}
+
+	}
+
+
+
+	/**
+	 * The file ranges covered by a validated snapshot and access to their entity entries.
+	 */
+	public final class Content
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AReadableFile                  file        ;
+		private final EqHashTable<Long, CoveredFile> coveredFiles;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Content(final AReadableFile file, final EqHashTable<Long, CoveredFile> coveredFiles)
+		{
+			super();
+			this.file         = file        ;
+			this.coveredFiles = coveredFiles;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * @param fileNumber the number of the data file.
+		 *
+		 * @return the length of the data file's leading range covered by the snapshot or 0 if there is none.
+		 */
+		public final long coveredLength(final long fileNumber)
+		{
+			final CoveredFile coveredFile = this.coveredFiles.get(fileNumber);
+
+			return coveredFile == null
+				? 0
+				: coveredFile.coveredLength
+			;
+		}
+
+		/**
+		 * @param fileNumber the number of the data file.
+		 *
+		 * @return the number of entity entries of the passed data file or 0 if there are none.
+		 */
+		public final long entryCount(final long fileNumber)
+		{
+			final CoveredFile coveredFile = this.coveredFiles.get(fileNumber);
+
+			return coveredFile == null
+				? 0
+				: coveredFile.entityCount
+			;
+		}
+
+		/**
+		 * Reads a range of the entity entries of the passed data file into the passed buffer, ordered by storage
+		 * position. Every entry is {@link StorageEntityIndexSnapshot#entryLength()} bytes long.
+		 *
+		 * @param fileNumber the number of the data file.
+		 * @param startIndex the index of the first entry to be read.
+		 * @param entryCount the number of entries to be read.
+		 * @param buffer     the direct buffer to be filled.
+		 */
+		public final void readEntries(
+			final long       fileNumber,
+			final long       startIndex,
+			final int        entryCount,
+			final ByteBuffer buffer
+		)
+		{
+			final CoveredFile coveredFile = this.coveredFiles.get(fileNumber);
+			if(coveredFile == null || startIndex < 0 || startIndex + entryCount > coveredFile.entityCount)
+			{
+				throw new StorageExceptionConsistency(
+					"Invalid snapshot entry range [" + startIndex + ";" + (startIndex + entryCount) + "["
+					+ " for data file " + fileNumber
+				);
+			}
+
+			final long length = (long)entryCount * Default.ENTRY_LENGTH;
+			if(length > buffer.capacity())
+			{
+				throw new StorageExceptionConsistency(
+					"Snapshot entries of data file " + fileNumber + " exceed the initialization buffer."
+				);
+			}
+			Default.read(this.file, coveredFile.offset + startIndex * Default.ENTRY_LENGTH, (int)length, buffer);
+		}
+
+		public final void close()
+		{
+			this.file.close();
+		}
+
+	}
+
+
+
+	static final class CoveredFile
+	{
+		final long coveredLength, entityCount, offset;
+
+		CoveredFile(final long coveredLength, final long entityCount, final long offset)
+		{
+			super();
+			this.coveredLength = coveredLength;
+			this.entityCount   = entityCount  ;
+			this.offset        = offset       ;
+		}
+
+	}
+
+}
@@ -14,10 +14,15 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import static org.eclipse.serializer.math.XMath.positive;
+import static org.eclipse.serializer.util.X.mayNull;
 import static org.eclipse.serializer.util.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
 
 import org.eclipse.serializer.collections.types.XGettingSequence;
@@ -38,13 +43,162 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		final StorageEntityCache.Default                                      entityCache    ,
 		final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator
 	)
+	{
+		return New(entityCache, dataFileCreator, null);
+	}
+	
+	static StorageEntityInitializer<StorageLiveDataFile.Default> New(
+		final StorageEntityCache.Default                                      entityCache    ,
+		final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+		final StorageEntityIndexSnapshot.Content                              snapshot
+	)
 	{
 		return new StorageEntityInitializer.Default(
 			notNull(dataFileCreator),
-			notNull(entityCache)
+			notNull(entityCache)    ,
+			mayNull(snapshot)
 		);
 	}
 	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityInitializer.Creator} instance
+	 * that creates initializers reading and parsing a channel's data files one after another in the channel's thread.
+	 * 
+	 * @return a new {@link StorageEntityInitializer.Creator} instance.
+	 */
+	public static StorageEntityInitializer.Creator Creator()
+	{
+		return new StorageEntityInitializer.Creator.Default();
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityInitializer.Creator} instance
+	 * that creates initializers reading and parsing the data files in parallel in a {@link ForkJoinPool} that is
+	 * shared by all channels, while the entities are still registered in file order by each channel's thread.
+	 * <p>
+	 * Every file being read in advance occupies a buffer of its length, so the amount of data read in advance
+	 * per channel is limited by the passed read ahead length. At least one file is always read, regardless of
+	 * its length.
+	 * 
+	 * @param parallelism     the number of threads to read and parse data files.
+	 * @param readAheadLength the maximum number of bytes per channel to be read in advance.
+	 * 
+	 * @return a new {@link StorageEntityInitializer.Creator} instance.
+	 */
+	public static StorageEntityInitializer.Creator CreatorParallel(
+		final int  parallelism    ,
+		final long readAheadLength
+	)
+	{
+		return new StorageEntityInitializer.Creator.Parallel(
+			positive(parallelism)    ,
+			positive(readAheadLength)
+		);
+	}
+	
+	public interface Creator
+	{
+		public StorageEntityInitializer<StorageLiveDataFile.Default> createEntityInitializer(
+			StorageEntityCache.Default                                      entityCache    ,
+			Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+			StorageEntityIndexSnapshot.Content                              snapshot
+		);
+		
+		
+		
+		public final class Default implements StorageEntityInitializer.Creator
+		{
+			Default()
+			{
+				super();
+			}
+			
+			@Override
+			public StorageEntityInitializer<StorageLiveDataFile.Default> createEntityInitializer(
+				final StorageEntityCache.Default                                      entityCache    ,
+				final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+				final StorageEntityIndexSnapshot.Content                              snapshot
+			)
+			{
+				return StorageEntityInitializer.New(entityCache, dataFileCreator, snapshot);
+			}
+			
+		}
+		
+		public final class Parallel implements StorageEntityInitializer.Creator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final int  parallelism    ;
+			private final long readAheadLength;
+			
+			// shared by all channels' initializers and shut down as soon as none of them needs it any more.
+			private ForkJoinPool pool     ;
+			private int          poolUsers;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Parallel(final int parallelism, final long readAheadLength)
+			{
+				super();
+				this.parallelism     = parallelism    ;
+				this.readAheadLength = readAheadLength;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public StorageEntityInitializer<StorageLiveDataFile.Default> createEntityInitializer(
+				final StorageEntityCache.Default                                      entityCache    ,
+				final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+				final StorageEntityIndexSnapshot.Content                              snapshot
+			)
+			{
+				return new StorageEntityInitializer.Parallel(
+					notNull(dataFileCreator),
+					notNull(entityCache)    ,
+					mayNull(snapshot)       ,
+					this                    ,
+					this.readAheadLength
+				);
+			}
+			
+			final synchronized ForkJoinPool acquirePool()
+			{
+				if(this.pool == null)
+				{
+					this.pool = new ForkJoinPool(this.parallelism);
+				}
+				this.poolUsers++;
+				
+				return this.pool;
+			}
+			
+			final synchronized void releasePool()
+			{
+				if(--this.poolUsers == 0)
+				{
+					this.pool.shutdown();
+					this.pool = null;
+				}
+			}
+			
+		}
+		
+	}
+	
+	
+	
 	final class Default implements StorageEntityInitializer<StorageLiveDataFile.Default>
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -53,6 +207,7 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 
 		private final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator;
 		private final StorageEntityCache.Default                                      entityCache    ;
+		private final StorageEntityIndexSnapshot.Content                              snapshot       ; // optional
 		
 		
 		
@@ -62,12 +217,14 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 
 		Default(
 			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
-			final StorageEntityCache.Default                                      entityCache
+			final StorageEntityCache.Default                                      entityCache    ,
+			final StorageEntityIndexSnapshot.Content                              snapshot
 		)
 		{
 			super();
 			this.dataFileCreator = dataFileCreator;
 			this.entityCache     = entityCache    ;
+			this.snapshot        = snapshot       ;
 		}
 		
 		
@@ -82,12 +239,19 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			final long                                             lastFileLength
 		)
 		{
-			return registerEntities(this.dataFileCreator, this.entityCache, files.toReversed(), lastFileLength);
+			return registerEntities(
+				this.dataFileCreator,
+				this.entityCache    ,
+				this.snapshot       ,
+				files.toReversed()  ,
+				lastFileLength
+			);
 		}
 		
 		private static StorageLiveDataFile.Default registerEntities(
 			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> fileCreator    ,
 			final StorageEntityCache.Default                                      entityCache    ,
+			final StorageEntityIndexSnapshot.Content                              snapshot       ,
 			final XGettingSequence<? extends StorageDataInventoryFile>            reversedFiles  ,
 			final long                                                            lastFileLength
 		)
@@ -100,13 +264,13 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			
 			// special case handling for last/head file
 			final StorageLiveDataFile.Default headFile = setupHeadFile(fileCreator.apply(iterator.next()));
-			registerFileEntities(entityCache, initTime, headFile, lastFileLength, buffer, entityOffsets);
+			registerFileEntities(entityCache, snapshot, initTime, headFile, lastFileLength, buffer, entityOffsets);
 			
 			// simple tail file adding iteration for all remaining (previous!) storage files
 			for(StorageLiveDataFile.Default dataFile = headFile; iterator.hasNext();)
 			{
 				dataFile = linkTailFile(dataFile, fileCreator.apply(iterator.next()));
-				registerFileEntities(entityCache, initTime, dataFile, dataFile.size(), buffer, entityOffsets);
+				registerFileEntities(entityCache, snapshot, initTime, dataFile, dataFile.size(), buffer, entityOffsets);
 			}
 			
 			XMemory.deallocateDirectByteBuffer(buffer);
@@ -115,17 +279,301 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		}
 		
 		final static void registerFileEntities(
+			final StorageEntityCache.Default         entityCache       ,
+			final StorageEntityIndexSnapshot.Content snapshot          ,
+			final long                               initializationTime,
+			final StorageLiveDataFile.Default        file              ,
+			final long                               fileActualLength  ,
+			final ByteBuffer                         buffer            ,
+			final int[]                              entityOffsets
+		)
+		{
+			// the leading range covered by the snapshot (if any) does not have to be read at all.
+			final long coveredLength = coveredLength(snapshot, file);
+			if(fileActualLength - coveredLength > buffer.capacity())
+			{
+				registerChunkedFileEntities(
+					entityCache       ,
+					snapshot          ,
+					initializationTime,
+					file              ,
+					fileActualLength  ,
+					coveredLength     ,
+					buffer            ,
+					entityOffsets     ,
+					buffer
+				);
+				return;
+			}
+			
+			// entities must be indexed first to allow reverse iteration.
+			final int entityCount = coveredLength < fileActualLength
+				? indexEntities(file, coveredLength, fileActualLength, buffer, entityOffsets)
+				: 0
+			;
+			
+			registerFileEntities(
+				entityCache       ,
+				snapshot          ,
+				initializationTime,
+				file              ,
+				fileActualLength  ,
+				coveredLength     ,
+				buffer            ,
+				entityOffsets     ,
+				entityCount       ,
+				buffer
+			);
+		}
+		
+		static long coveredLength(
+			final StorageEntityIndexSnapshot.Content snapshot,
+			final StorageLiveDataFile.Default        file
+		)
+		{
+			return snapshot == null
+				? 0
+				: snapshot.coveredLength(file.number())
+			;
+		}
+		
+		static void registerFileEntities(
+			final StorageEntityCache.Default         entityCache       ,
+			final StorageEntityIndexSnapshot.Content snapshot          ,
+			final long                               initializationTime,
+			final StorageLiveDataFile.Default        file              ,
+			final long                               fileActualLength  ,
+			final long                               coveredLength     ,
+			final ByteBuffer                         scanBuffer        ,
+			final int[]                              entityOffsets     ,
+			final int                                entityCount       ,
+			final ByteBuffer                         snapshotBuffer
+		)
+		{
+			// data written after the snapshot is newer, so it must be registered first (see reverse iteration below).
+			long totalFileContentLength = registerIndexedEntities(
+				entityCache       ,
+				initializationTime,
+				file              ,
+				coveredLength     ,
+				scanBuffer        ,
+				entityOffsets     ,
+				entityCount
+			);
+			
+			completeFileRegistration(
+				entityCache           ,
+				snapshot              ,
+				file                  ,
+				fileActualLength      ,
+				coveredLength         ,
+				totalFileContentLength,
+				snapshotBuffer
+			);
+		}
+		
+		/**
+		 * Registers the entities of a file range exceeding the passed buffer's capacity, which can only happen for
+		 * files larger than {@link Integer#MAX_VALUE} bytes or for a bounded buffer. The range is split into chunks of
+		 * whole data items that fit into the buffer, which are then indexed and registered in reverse order, just like
+		 * the entities in them. A single entity exceeding the buffer is indexed in a temporary buffer of its own.
+		 * This requires the range to be read twice, but its size is only limited by the storage positions' value range.
+		 */
+		static void registerChunkedFileEntities(
+			final StorageEntityCache.Default         entityCache       ,
+			final StorageEntityIndexSnapshot.Content snapshot          ,
+			final long                               initializationTime,
+			final StorageLiveDataFile.Default        file              ,
+			final long                               fileActualLength  ,
+			final long                               coveredLength     ,
+			final ByteBuffer                         buffer            ,
+			final int[]                              entityOffsets     ,
+			final ByteBuffer                         snapshotBuffer
+		)
+		{
+			final long[] chunkBounds = determineChunkBounds(file, coveredLength, fileActualLength, buffer);
+			
+			long totalFileContentLength = 0;
+			for(int i = chunkBounds.length; (i -= 2) >= 0;)
+			{
+				if(chunkBounds[i + 1] - chunkBounds[i] <= buffer.capacity())
+				{
+					totalFileContentLength += registerChunkEntities(
+						entityCache       ,
+						initializationTime,
+						file              ,
+						chunkBounds[i]    ,
+						chunkBounds[i + 1],
+						buffer            ,
+						entityOffsets
+					);
+					continue;
+				}
+				
+				final ByteBuffer entityBuffer = XMemory.allocateDirectNative((int)(chunkBounds[i + 1] - chunkBounds[i]));
+				try
+				{
+					totalFileContentLength += registerChunkEntities(
+						entityCache       ,
+						initializationTime,
+						file              ,
+						chunkBounds[i]    ,
+						chunkBounds[i + 1],
+						entityBuffer      ,
+						new int[1]
+					);
+				}
+				finally
+				{
+					XMemory.deallocateDirectByteBuffer(entityBuffer);
+				}
+			}
+			
+			completeFileRegistration(
+				entityCache           ,
+				snapshot              ,
+				file                  ,
+				fileActualLength      ,
+				coveredLength         ,
+				totalFileContentLength,
+				snapshotBuffer
+			);
+		}
+		
+		private static long registerChunkEntities(
 			final StorageEntityCache.Default  entityCache       ,
 			final long                        initializationTime,
 			final StorageLiveDataFile.Default file              ,
-			final long                        fileActualLength  ,
+			final long                        startPosition     ,
+			final long                        boundPosition     ,
 			final ByteBuffer                  buffer            ,
 			final int[]                       entityOffsets
 		)
 		{
-			// entities must be indexed first to allow reverse iteration.
-			final int                         entityCount = indexEntities(file, fileActualLength, buffer, entityOffsets);
+			final int entityCount = indexEntities(file, startPosition, boundPosition, buffer, entityOffsets);
+			
+			return registerIndexedEntities(
+				entityCache       ,
+				initializationTime,
+				file              ,
+				startPosition     ,
+				buffer            ,
+				entityOffsets     ,
+				entityCount
+			);
+		}
+		
+		private static void completeFileRegistration(
+			final StorageEntityCache.Default         entityCache           ,
+			final StorageEntityIndexSnapshot.Content snapshot              ,
+			final StorageLiveDataFile.Default        file                  ,
+			final long                               fileActualLength      ,
+			final long                               coveredLength         ,
+			final long                               totalFileContentLength,
+			final ByteBuffer                         snapshotBuffer
+		)
+		{
+			long totalContentLength = totalFileContentLength;
+			if(coveredLength > 0)
+			{
+				totalContentLength += registerSnapshotEntities(
+					entityCache   ,
+					snapshot      ,
+					file          ,
+					coveredLength ,
+					snapshotBuffer
+				);
+			}
+
+			// the total length of all actually registered entities is the file's content length. The rest is gaps.
+			file.increaseContentLength(totalContentLength);
+			file.registerGapLength(fileActualLength - totalContentLength);
+		}
+		
+		/**
+		 * Splits the passed file range into consecutive chunks of whole data items, each fitting into the passed
+		 * buffer. Comments (gaps) too large for the buffer are skipped without being read completely, a single entity
+		 * too large for the buffer becomes a chunk of its own.
+		 * 
+		 * @return the chunks' start and bound positions as pairs.
+		 */
+		private static long[] determineChunkBounds(
+			final StorageLiveDataFile.Default file         ,
+			final long                        startPosition,
+			final long                        boundPosition,
+			final ByteBuffer                  buffer
+		)
+		{
+			long[] chunkBounds = new long[16];
+			int    chunkBoundsCount = 0;
+			
+			for(long position = startPosition; position < boundPosition;)
+			{
+				fillBuffer(buffer, file, position, Math.min(boundPosition, position + buffer.capacity()));
+				
+				final long bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
+				final long bufferLength       = buffer.limit();
+				if(bufferLength < Long.BYTES)
+				{
+					throw new StorageExceptionConsistency("Incomplete data item at " + position + " in " + file.identifier());
+				}
+				
+				long chunkLength = 0;
+				for(long itemLength; chunkLength + Long.BYTES <= bufferLength; chunkLength += itemLength)
+				{
+					itemLength = Math.abs(Binary.getEntityLengthRawValue(bufferStartAddress + chunkLength));
+					if(itemLength == 0)
+					{
+						// entity length may never be 0 or the iteration will hang forever
+						throw new StorageExceptionConsistency("Zero length data item.");
+					}
+					if(chunkLength + itemLength > bufferLength)
+					{
+						break;
+					}
+				}
+				
+				if(chunkLength == 0)
+				{
+					// a single comment exceeding the buffer does not have to be read.
+					final long itemLength = Binary.getEntityLengthRawValue(bufferStartAddress);
+					if(itemLength < 0)
+					{
+						position -= itemLength;
+						continue;
+					}
+					if(itemLength > Integer.MAX_VALUE || position + itemLength > boundPosition)
+					{
+						throw new StorageExceptionConsistency(
+							"Invalid length " + itemLength + " of entity at " + position + " in " + file.identifier()
+						);
+					}
+					chunkLength = itemLength;
+				}
+				
+				if(chunkBoundsCount == chunkBounds.length)
+				{
+					chunkBounds = Arrays.copyOf(chunkBounds, chunkBoundsCount * 2);
+				}
+				chunkBounds[chunkBoundsCount++] = position;
+				chunkBounds[chunkBoundsCount++] = position += chunkLength;
+			}
+			
+			return Arrays.copyOf(chunkBounds, chunkBoundsCount);
+		}
+		
+		private static long registerIndexedEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        startPosition     ,
+			final ByteBuffer                  buffer            ,
+			final int[]                       entityOffsets     ,
+			final int                         entityCount
+		)
+		{
 			final StorageEntityCacheEvaluator entityCacheEvaluator = entityCache.entityCacheEvaluator;
+			final StorageEntityTable          table                = entityCache.entityTable();
 			final long                        bufferStartAddress   = XMemory.getDirectByteBufferAddress(buffer);
 			
 			long totalFileContentLength = 0;
@@ -133,52 +581,110 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			// reverse entity iteration to register the most current version first and discard all prior versions.
 			for(int i = entityCount; i --> 0;)
 			{
+				final long entityAddress = bufferStartAddress + entityOffsets[i];
+				
 				/*
 				 * Initialization only registers the first occurrence in the reversed initialization,
 				 * meaning only the most current version of every entity (identified by its ObjectId).
 				 * All earlier versions are simply ignored, hence the "return false".
 				 */
-				if(entityCache.getEntry(Binary.getEntityObjectIdRawValue(bufferStartAddress + entityOffsets[i])) != null)
+				if(entityCache.getEntry(Binary.getEntityObjectIdRawValue(entityAddress)) != StorageEntityTable.NONE)
 				{
 					continue;
 				}
 				
-				final long                  entityAddress = bufferStartAddress + entityOffsets[i];
-				final long                  entityLength  = Binary.getEntityLengthRawValue(entityAddress);
-				final StorageEntity.Default entity        = entityCache.initialCreateEntity(entityAddress);
+				final long entityLength = Binary.getEntityLengthRawValue(entityAddress);
+				final int  entity       = entityCache.initialCreateEntity(entityAddress);
 				
-				entity.updateStorageInformation(XTypes.to_int(entityLength), entityOffsets[i]);
+				table.updateStorageInformation(
+					entity,
+					XTypes.to_int(entityLength),
+					startPosition + entityOffsets[i]
+				);
 				file.prependEntry(entity);
 				totalFileContentLength += entityLength;
 				
-				if(entityCacheEvaluator.initiallyCacheEntity(entityCache.cacheSize(), initializationTime, entity))
+				if(entityCacheEvaluator.initiallyCacheEntity(entityCache.cacheSize(), initializationTime, table.view(entity)))
 				{
-					entity.putCacheData(entityAddress, entityLength);
-					entityCache.modifyUsedCacheSize(entityLength);
+					table.putCacheData(entity, entityAddress, entityLength);
+					entityCache.registerCachedData(entity, entityLength);
 				}
 			}
 
-			// the total length of all actually registered entities is the file's content length. The rest is gaps.
-			file.increaseContentLength(totalFileContentLength);
+			return totalFileContentLength;
+		}
+		
+		private static long registerSnapshotEntities(
+			final StorageEntityCache.Default         entityCache  ,
+			final StorageEntityIndexSnapshot.Content snapshot     ,
+			final StorageLiveDataFile.Default        file         ,
+			final long                               coveredLength,
+			final ByteBuffer                         buffer
+		)
+		{
+			final long entryLength        = StorageEntityIndexSnapshot.entryLength();
+			final int  bufferEntryCount   = (int)(buffer.capacity() / entryLength);
+			final long bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
 			
-			// the buffer is currently limited to exactly the file size. So gapLength = limit - contentLength.
-			file.registerGapLength(buffer.limit() - totalFileContentLength);
+			long totalFileContentLength = 0;
+			
+			// entries are ordered by storage position, so reverse iteration (of chunks, too) is required for prepending.
+			for(long boundIndex = snapshot.entryCount(file.number()); boundIndex > 0;)
+			{
+				final long startIndex = Math.max(0, boundIndex - bufferEntryCount);
+				final int  entryCount = (int)(boundIndex - startIndex);
+				snapshot.readEntries(file.number(), startIndex, entryCount, buffer);
+				boundIndex = startIndex;
+				
+				for(int i = entryCount; i --> 0;)
+				{
+					final long entryAddress = bufferStartAddress + i * entryLength;
+					final long objectId     = StorageEntityIndexSnapshot.getEntryObjectId(entryAddress);
+					
+					// a newer version has already been registered from data written after the snapshot.
+					if(entityCache.getEntry(objectId) != StorageEntityTable.NONE)
+					{
+						continue;
+					}
+					
+					final long entityPosition = StorageEntityIndexSnapshot.getEntryPosition(entryAddress);
+					final int  entityLength   = StorageEntityIndexSnapshot.getEntryLength(entryAddress);
+					// all entries have been validated when reading the snapshot, so this only guards against misuse.
+					if(entityPosition < 0 || entityLength <= 0 || entityPosition + entityLength > coveredLength)
+					{
+						throw new StorageExceptionConsistency(
+							"Invalid snapshot entry for entity " + objectId + " in " + file.identifier()
+						);
+					}
+					
+					final int entity = entityCache.initialCreateEntity(
+						objectId,
+						StorageEntityIndexSnapshot.getEntryTypeId(entryAddress)
+					);
+					entityCache.entityTable().updateStorageInformation(entity, entityLength, entityPosition);
+					file.prependEntry(entity);
+					totalFileContentLength += entityLength;
+				}
+			}
+			
+			return totalFileContentLength;
 		}
 				
 		/**
 		 * 
 		 * @return the entity count.
 		 */
-		private static int indexEntities(
-			final StorageLiveDataFile.Default file            ,
-			final long                        fileActualLength,
-			final ByteBuffer                  buffer          ,
+		static int indexEntities(
+			final StorageLiveDataFile.Default file         ,
+			final long                        startPosition,
+			final long                        boundPosition,
+			final ByteBuffer                  buffer       ,
 			final int[]                       entityOffsets
 		)
 		{
 			int lastEntityIndex = -1;
 			
-			fillBuffer(buffer, file, fileActualLength);
+			fillBuffer(buffer, file, startPosition, boundPosition);
 			
 			final long bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
 			final long bufferBoundAddress = bufferStartAddress + buffer.limit();
@@ -217,7 +723,7 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		// utility methods //
 		////////////////////
 		
-		private static StorageLiveDataFile.Default setupHeadFile(
+		static StorageLiveDataFile.Default setupHeadFile(
 			final StorageLiveDataFile.Default storageFile
 		)
 		{
@@ -226,7 +732,7 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			return storageFile;
 		}
 
-		private static StorageLiveDataFile.Default linkTailFile(
+		static StorageLiveDataFile.Default linkTailFile(
 			final StorageLiveDataFile.Default currentTailFile,
 			final StorageLiveDataFile.Default nextTailFile
 		)
@@ -248,7 +754,7 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			return new int[largestFileLength / Binary.entityHeaderLength()];
 		}
 		
-		private static ByteBuffer allocateInitializationBuffer(final Iterable<? extends StorageDataInventoryFile> files)
+		static ByteBuffer allocateInitializationBuffer(final Iterable<? extends StorageDataInventoryFile> files)
 		{
 			final int largestFileSize = determineLargestFileSize(files);
 			
@@ -261,18 +767,19 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		}
 		
 		private static void fillBuffer(
-			final ByteBuffer                  buffer          ,
-			final StorageLiveDataFile.Default file            ,
-			final long                        fileActualLength
+			final ByteBuffer                  buffer       ,
+			final StorageLiveDataFile.Default file         ,
+			final long                        startPosition,
+			final long                        boundPosition
 		)
 		{
 			try
 			{
 				buffer.clear();
 				// the reason for the stupid limit is actually a single toArray() somewhere in NIO.
-				buffer.limit(X.checkArrayRange(fileActualLength));
+				buffer.limit(X.checkArrayRange(boundPosition - startPosition));
 				
-				file.readBytes(buffer, 0, fileActualLength);
+				file.readBytes(buffer, startPosition, boundPosition - startPosition);
 			}
 			catch(final Exception e)
 			{
@@ -286,28 +793,13 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			
 			for(final StorageDataInventoryFile file : files)
 			{
-				final long fileLength = file.size();
-				if(fileLength > Integer.MAX_VALUE)
-				{
-					/* (29.05.2018 TM)NOTE:
-					 * In case someone gets here after suffering this exception:
-					 * Yes, the file could be read incrementally in chunks, but while this would prevent some
-					 * problems with the JDK IO buffer limitation to int, it cannot prevent all of them.
-					 * Consider a single entity, probably a giant collection, whose binary form (8 bytes per
-					 * element) exceeds the int limit by itself.
-					 * The most reasonable strategy is:
-					 * For files that should be in the range of 1-100 MB, anyway, assume int to be "infinite".
-					 * Blame problems on users who chose too high a file size and on JDK who implemented
-					 * the int limit.
-					 */
-					throw new StorageExceptionIoReading(
-						"Storage file size exceeds Java technical IO limitations: " + file.identifier()
-					);
-				}
-				
+				/*
+				 * Buffers are limited to int, so larger files are read in chunks (see registerChunkedFileEntities).
+				 * A single data item can never exceed the int limit as a single commit is limited to it as well.
+				 */
+				final long fileLength = Math.min(file.size(), Integer.MAX_VALUE);
 				if(fileLength > largestFileSize)
 				{
-					// cast safety is guaranteed by the validation logic above.
 					largestFileSize = (int)fileLength;
 				}
 			}
@@ -316,5 +808,312 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		}
 		
 	}
+	
+	
+	/**
+	 * Reads and parses data files in advance in a shared {@link ForkJoinPool}, while the parsed entities are
+	 * registered by the calling channel thread in the same (reversed) file order as by {@link Default}.
+	 */
+	final class Parallel implements StorageEntityInitializer<StorageLiveDataFile.Default>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// ranges beyond the int limit are read in chunks of this length instead of being read ahead as a whole.
+		private static final int CHUNK_LENGTH = 64 * 1024 * 1024;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
 
+		private final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator;
+		private final StorageEntityCache.Default                                      entityCache    ;
+		private final StorageEntityIndexSnapshot.Content                              snapshot       ; // optional
+		private final StorageEntityInitializer.Creator.Parallel                       creator        ;
+		private final long                                                            readAheadLength;
+		
+		// allocated on demand and reused for all chunked files registered by this initializer's channel.
+		private ByteBuffer chunkBuffer       ;
+		private int[]      chunkEntityOffsets;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Parallel(
+			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+			final StorageEntityCache.Default                                      entityCache    ,
+			final StorageEntityIndexSnapshot.Content                              snapshot       ,
+			final StorageEntityInitializer.Creator.Parallel                       creator        ,
+			final long                                                            readAheadLength
+		)
+		{
+			super();
+			this.dataFileCreator = dataFileCreator;
+			this.entityCache     = entityCache    ;
+			this.snapshot        = snapshot       ;
+			this.creator         = creator        ;
+			this.readAheadLength = readAheadLength;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final StorageLiveDataFile.Default registerEntities(
+			final XGettingSequence<? extends StorageDataInventoryFile> files         ,
+			final long                                                 lastFileLength
+		)
+		{
+			final XGettingSequence<? extends StorageDataInventoryFile> reversedFiles = files.toReversed();
+			
+			// all files are created and linked up front in the same order as the sequential initialization does.
+			final StorageLiveDataFile.Default[] dataFiles   = new StorageLiveDataFile.Default[XTypes.to_int(reversedFiles.size())];
+			final long[]                        fileLengths = new long[dataFiles.length];
+			final Iterator<? extends StorageDataInventoryFile> iterator = reversedFiles.iterator();
+			
+			dataFiles[0]   = Default.setupHeadFile(this.dataFileCreator.apply(iterator.next()));
+			fileLengths[0] = lastFileLength;
+			for(int i = 1; iterator.hasNext(); i++)
+			{
+				dataFiles[i]   = Default.linkTailFile(dataFiles[i - 1], this.dataFileCreator.apply(iterator.next()));
+				fileLengths[i] = dataFiles[i].size();
+			}
+			
+			final ForkJoinPool pool = this.creator.acquirePool();
+			try
+			{
+				this.registerEntities(pool, dataFiles, fileLengths, reversedFiles);
+			}
+			finally
+			{
+				this.creator.releasePool();
+			}
+			
+			return dataFiles[0];
+		}
+		
+		private void registerEntities(
+			final ForkJoinPool                                         pool         ,
+			final StorageLiveDataFile.Default[]                        dataFiles    ,
+			final long[]                                               fileLengths  ,
+			final XGettingSequence<? extends StorageDataInventoryFile> reversedFiles
+		)
+		{
+			final long       initTime       = System.currentTimeMillis();
+			final ScanTask[] scanTasks      = new ScanTask[dataFiles.length];
+			final ByteBuffer snapshotBuffer = this.snapshot == null
+				? null
+				: Default.allocateInitializationBuffer(reversedFiles)
+			;
+			
+			try
+			{
+				long readAhead = 0;
+				for(int i = 0, next = 0; i < dataFiles.length; i++)
+				{
+					// read ahead as far as allowed, but at least the file to be registered next.
+					while(next < dataFiles.length)
+					{
+						final ScanTask scanTask = new ScanTask(
+							dataFiles[next]                                     ,
+							Default.coveredLength(this.snapshot, dataFiles[next]),
+							fileLengths[next]
+						);
+						if(next > i && readAhead + scanTask.bufferLength() > this.readAheadLength)
+						{
+							break;
+						}
+						pool.execute(scanTask);
+						scanTasks[next++] = scanTask;
+						readAhead += scanTask.bufferLength();
+					}
+					
+					final ScanTask scanTask = scanTasks[i];
+					scanTask.join();
+					
+					if(scanTask.isChunked())
+					{
+						this.registerChunkedFileEntities(
+							initTime              ,
+							dataFiles[i]          ,
+							fileLengths[i]        ,
+							scanTask.startPosition,
+							snapshotBuffer
+						);
+					}
+					else
+					{
+						Default.registerFileEntities(
+							this.entityCache        ,
+							this.snapshot           ,
+							initTime                ,
+							dataFiles[i]            ,
+							fileLengths[i]          ,
+							scanTask.startPosition  ,
+							scanTask.buffer         ,
+							scanTask.entityOffsets  ,
+							scanTask.entityCount    ,
+							snapshotBuffer
+						);
+					}
+					
+					readAhead -= scanTask.bufferLength();
+					scanTask.dispose();
+					scanTasks[i] = null;
+				}
+			}
+			finally
+			{
+				// in case of a problem, pending tasks must complete before their buffers can be deallocated.
+				for(final ScanTask scanTask : scanTasks)
+				{
+					if(scanTask != null)
+					{
+						scanTask.quietlyJoin();
+						scanTask.dispose();
+					}
+				}
+				if(snapshotBuffer != null)
+				{
+					XMemory.deallocateDirectByteBuffer(snapshotBuffer);
+				}
+				if(this.chunkBuffer != null)
+				{
+					XMemory.deallocateDirectByteBuffer(this.chunkBuffer);
+					this.chunkBuffer        = null;
+					this.chunkEntityOffsets = null;
+				}
+			}
+		}
+		
+		private void registerChunkedFileEntities(
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        fileActualLength  ,
+			final long                        coveredLength     ,
+			final ByteBuffer                  snapshotBuffer
+		)
+		{
+			// ranges beyond the int limit are not read ahead, but read in chunks by the registering thread itself.
+			if(this.chunkBuffer == null)
+			{
+				this.chunkBuffer        = XMemory.allocateDirectNative(CHUNK_LENGTH);
+				this.chunkEntityOffsets = new int[CHUNK_LENGTH / Binary.entityHeaderLength()];
+			}
+			
+			Default.registerChunkedFileEntities(
+				this.entityCache       ,
+				this.snapshot          ,
+				initializationTime     ,
+				file                   ,
+				fileActualLength       ,
+				coveredLength          ,
+				this.chunkBuffer       ,
+				this.chunkEntityOffsets,
+				snapshotBuffer
+			);
+		}
+		
+		
+		
+		static final class ScanTask extends RecursiveAction
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			final StorageLiveDataFile.Default file         ;
+			final long                        startPosition;
+			final long                        boundPosition;
+			
+			ByteBuffer buffer       ;
+			int[]      entityOffsets;
+			int        entityCount  ;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			ScanTask(
+				final StorageLiveDataFile.Default file         ,
+				final long                        startPosition,
+				final long                        boundPosition
+			)
+			{
+				super();
+				this.file          = file         ;
+				this.startPosition = startPosition;
+				this.boundPosition = boundPosition;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			final long length()
+			{
+				return Math.max(0, this.boundPosition - this.startPosition);
+			}
+			
+			final boolean isChunked()
+			{
+				return this.length() > Integer.MAX_VALUE;
+			}
+			
+			final long bufferLength()
+			{
+				return this.isChunked()
+					? 0
+					: this.length()
+				;
+			}
+			
+			@Override
+			protected final void compute()
+			{
+				final int length = (int)this.bufferLength();
+				if(length == 0)
+				{
+					return;
+				}
+				
+				// same sizing logic as for the sequential initialization, just for this file's range alone.
+				this.buffer        = XMemory.allocateDirectNative(length);
+				this.entityOffsets = new int[length / Binary.entityHeaderLength()];
+				this.entityCount   = Default.indexEntities(
+					this.file         ,
+					this.startPosition,
+					this.boundPosition,
+					this.buffer       ,
+					this.entityOffsets
+				);
+			}
+			
+			final void dispose()
+			{
+				if(this.buffer != null)
+				{
+					XMemory.deallocateDirectByteBuffer(this.buffer);
+					this.buffer = null;
+				}
+				this.entityOffsets = null;
+			}
+			
+		}
+		
+	}
+	
 }
@@ -65,6 +65,41 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 
 	public void enqueue(StorageObjectIdMarkQueue objectIdMarkQueue, long objectId);
 
+	/**
+	 * Returns whether garbage collection alternates between young generation and full cycles.
+	 * 
+	 * @return whether garbage collection is generational.
+	 */
+	public boolean isGenerational();
+
+	/**
+	 * Returns whether the current marking only covers the young generation, meaning old entities that have not
+	 * changed since the last full sweep are neither marked nor traversed.
+	 * 
+	 * @return whether the current marking is a young generation marking.
+	 */
+	public boolean isYoungGenerationMarking();
+
+	/**
+	 * Returns whether the current sweep only covers the young generation, meaning only entities created
+	 * since the last full sweep can be collected.
+	 * 
+	 * @return whether the current sweep is a young generation sweep.
+	 */
+	public boolean isYoungGenerationSweep();
+
+	/**
+	 * Returns whether the passed channel still has to enqueue its remembered entities as the additional roots of a
+	 * young generation marking. This is only the case once all channels have completed the preceding sweep.
+	 * 
+	 * @param channel the channel to check.
+	 * 
+	 * @return whether the passed channel has to enqueue its young generation roots.
+	 */
+	public boolean needsYoungGenerationRoots(StorageEntityCache<?> channel);
+
+	public void completeYoungGenerationRoots(StorageEntityCache<?> channel);
+
 	/**
 	 * Reset to a clean initial state, ready to be used.
 	 */
@@ -77,9 +112,33 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 	}
 	
 	public static StorageEntityMarkMonitor.Creator Creator(final int referenceCacheLength)
+	{
+		return Creator(referenceCacheLength, 0);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityMarkMonitor.Creator} instance
+	 * for generational garbage collection.
+	 * <p>
+	 * A young generation cycle only marks from the root entity and from the old entities that have been stored
+	 * since the last full cycle, without traversing any other old entity, and only sweeps the entities created
+	 * since the last full cycle. This keeps the effort of a cycle proportional to the recently stored data instead
+	 * of the whole entity graph. Only full cycles collect old entities and complete the garbage collection.
+	 * 
+	 * @param referenceCacheLength the length of the reference caches used to pass object ids between channels.
+	 * @param youngGenerationCycles the number of young generation cycles between two full cycles.
+	 *        0 disables generational garbage collection, meaning every cycle is a full cycle.
+	 * 
+	 * @return a new {@link StorageEntityMarkMonitor.Creator} instance.
+	 */
+	public static StorageEntityMarkMonitor.Creator Creator(
+		final int referenceCacheLength ,
+		final int youngGenerationCycles
+	)
 	{
 		return new StorageEntityMarkMonitor.Creator.Default(
-				XMath.positive(referenceCacheLength)
+			XMath.positive(referenceCacheLength),
+			XMath.notNegative(youngGenerationCycles)
 		);
 	}
 	
@@ -133,18 +192,20 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 			// instance fields //
 			////////////////////
 			
-			private final int                referenceCacheLength;
-			private StorageEntityMarkMonitor cachedInstance      ;
+			private final int                referenceCacheLength ;
+			private final int                youngGenerationCycles;
+			private StorageEntityMarkMonitor cachedInstance       ;
 			
 			
 			///////////////////////////////////////////////////////////////////////////
 			// constructors //
 			/////////////////
 			
-			Default(final int referenceCacheLength)
+			Default(final int referenceCacheLength, final int youngGenerationCycles)
 			{
 				super();
-				this.referenceCacheLength = referenceCacheLength;
+				this.referenceCacheLength  = referenceCacheLength ;
+				this.youngGenerationCycles = youngGenerationCycles;
 			}
 			
 			
@@ -164,7 +225,8 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 					objectIdMarkQueues.clone(),
 					eventLogger,
 					refStorerRegistry,
-					this.referenceCacheLength
+					this.referenceCacheLength,
+					this.youngGenerationCycles
 				);
 			}
 			
@@ -191,10 +253,11 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 
 		private final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry;
 		
-		private final StorageEventLogger eventLogger         ;
-		private final int                channelCount        ;
-		private final int                channelHash         ;
-		private final int                referenceCacheLength;
+		private final StorageEventLogger eventLogger          ;
+		private final int                channelCount         ;
+		private final int                channelHash          ;
+		private final int                referenceCacheLength ;
+		private final int                youngGenerationCycles;
 		
 		
 		// state 2.0: final references to mutable instances, i.e. content must be cleared on reset
@@ -213,6 +276,14 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 		private final boolean[] needsSweep             ;
 		private       int       sweepingChannelCount   ;
 		
+		private final boolean[] pendingYoungGenerationRoots    ;
+		private       int       pendingYoungGenerationRootCount;
+		
+		private boolean youngGenerationMarking    ;
+		private boolean youngGenerationSweep      ;
+		private int     youngGenerationCycleCount ;
+		private boolean storedSinceSweepInitiation;
+		
 		private long sweepGeneration     ;
 		private long lastSweepStart      ;
 		private long lastSweepEnd        ;
@@ -249,20 +320,23 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 		Default(
 			final StorageObjectIdMarkQueue[]                 oidMarkQueues       ,
 			final StorageEventLogger                         eventLogger         ,
-			final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry   ,
-			final int                                        referenceCacheLength
+			final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry    ,
+			final int                                        referenceCacheLength ,
+			final int                                        youngGenerationCycles
 		)
 		{
 			super();
-			this.eventLogger          = eventLogger                   ;
-			this.refStorerRegistry    = refStorerRegistry             ;
-			this.oidMarkQueues        = oidMarkQueues                 ;
-			this.referenceCacheLength = referenceCacheLength          ;
-			this.channelCount         = oidMarkQueues.length          ;
-			this.channelHash          = this.channelCount - 1         ;
-			this.pendingStoreUpdates  = new boolean[this.channelCount];
-			this.needsSweep           = new boolean[this.channelCount];
-			this.channelRootOids      = new long   [this.channelCount];
+			this.eventLogger                 = eventLogger                   ;
+			this.refStorerRegistry           = refStorerRegistry             ;
+			this.oidMarkQueues               = oidMarkQueues                 ;
+			this.referenceCacheLength        = referenceCacheLength          ;
+			this.youngGenerationCycles       = youngGenerationCycles         ;
+			this.channelCount                = oidMarkQueues.length          ;
+			this.channelHash                 = this.channelCount - 1         ;
+			this.pendingStoreUpdates         = new boolean[this.channelCount];
+			this.needsSweep                  = new boolean[this.channelCount];
+			this.pendingYoungGenerationRoots = new boolean[this.channelCount];
+			this.channelRootOids             = new long   [this.channelCount];
 			
 			this.referenceMarkers = new StorageReferenceMarker[this.channelCount];
 			
@@ -314,6 +388,20 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 			this.sweepingChannelCount = 0;
 		}
 		
+		private void initializeYoungGenerationState()
+		{
+			for(int i = 0; i < this.pendingYoungGenerationRoots.length; i++)
+			{
+				this.pendingYoungGenerationRoots[i] = false;
+			}
+			
+			this.pendingYoungGenerationRootCount = 0;
+			this.youngGenerationMarking          = false;
+			this.youngGenerationSweep            = false;
+			this.youngGenerationCycleCount       = 0;
+			this.storedSinceSweepInitiation      = false;
+		}
+		
 		private void initializeCompletionState()
 		{
 			// GC is initially completed because there is no data at all. Initialization and stores will flip them.
@@ -340,6 +428,7 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 			this.initializePendingStoreUpdates();
 			this.initializeSweepingState();
 			this.initializeGenerationalState();
+			this.initializeYoungGenerationState();
 			
 			// referenceMarkers may NOT be cleared! They are initialized once with a linking instance that must be kept!
 			
@@ -381,7 +470,10 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 		@Override
 		public final synchronized boolean isMarkingComplete()
 		{
-			return this.pendingMarksCount == 0 && this.pendingStoreUpdateCount == 0;
+			return this.pendingMarksCount == 0
+				&& this.pendingStoreUpdateCount == 0
+				&& this.pendingYoungGenerationRootCount == 0
+			;
 		}
 
 		@Override
@@ -415,6 +507,8 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 				this.pendingStoreUpdates[channel.channelIndex()] = true;
 				this.pendingStoreUpdateCount++;
 			}
+			
+			this.storedSinceSweepInitiation = true;
 		}
 
 		@Override
@@ -490,6 +584,9 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 			 */
 			this.resetMarkQueues();
 
+			// the completed marking determines the kind of the sweep and the next marking can be decided.
+			this.advanceYoungGeneration();
+
 			// no current sweep and completed marking means a new sweep has to be initiated.
 			this.initiateSweep();
 
@@ -546,7 +643,13 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 			{
 				this.lastSweepEnd = System.currentTimeMillis();
 				this.incrementSweepGeneration();
-				this.advanceGcCompletion();
+				
+				// only a full sweep collects all unreachable entities, so only a full sweep can complete the gc.
+				if(!this.youngGenerationSweep)
+				{
+					this.advanceGcCompletion();
+				}
+				this.initiateYoungGenerationRoots();
 				this.determineAndEnqueueRootOid(rootOidSelector);
 			}
 		}
@@ -581,6 +684,79 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 			}
 		}
 
+		private void advanceYoungGeneration()
+		{
+			// the sweep to be initiated applies to what has been marked.
+			this.youngGenerationSweep = this.youngGenerationMarking;
+
+			/*
+			 * Without new data since the last sweep initiation, there is no young garbage worth a young generation
+			 * cycle. Instead, full cycles are required to reach the gc completion as fast as before.
+			 */
+			this.youngGenerationMarking = this.youngGenerationCycleCount < this.youngGenerationCycles
+				&& this.storedSinceSweepInitiation
+			;
+			this.youngGenerationCycleCount = this.youngGenerationMarking
+				? this.youngGenerationCycleCount + 1
+				: 0
+			;
+			this.storedSinceSweepInitiation = false;
+		}
+
+		private void initiateYoungGenerationRoots()
+		{
+			if(!this.youngGenerationMarking)
+			{
+				return;
+			}
+
+			/*
+			 * Every channel must enqueue its remembered entities, but not before all channels have completed
+			 * the sweep. Otherwise, a channel might mark entities in the course of the next marking before its
+			 * own sweep resets their marking. Until then, the marking cannot be complete.
+			 */
+			for(int i = 0; i < this.pendingYoungGenerationRoots.length; i++)
+			{
+				this.pendingYoungGenerationRoots[i] = true;
+			}
+			this.pendingYoungGenerationRootCount = this.pendingYoungGenerationRoots.length;
+		}
+
+		@Override
+		public final boolean isGenerational()
+		{
+			return this.youngGenerationCycles > 0;
+		}
+
+		@Override
+		public final synchronized boolean isYoungGenerationMarking()
+		{
+			return this.youngGenerationMarking;
+		}
+
+		@Override
+		public final synchronized boolean isYoungGenerationSweep()
+		{
+			return this.youngGenerationSweep;
+		}
+
+		@Override
+		public final synchronized boolean needsYoungGenerationRoots(final StorageEntityCache<?> channel)
+		{
+			return this.pendingYoungGenerationRoots[channel.channelIndex()];
+		}
+
+		@Override
+		public final synchronized void completeYoungGenerationRoots(final StorageEntityCache<?> channel)
+		{
+			// check array to ensure idempotence
+			if(this.pendingYoungGenerationRoots[channel.channelIndex()])
+			{
+				this.pendingYoungGenerationRoots[channel.channelIndex()] = false;
+				this.pendingYoungGenerationRootCount--;
+			}
+		}
+
 		final synchronized void initiateSweep()
 		{
 			for(int i = 0; i < this.needsSweep.length; i++)
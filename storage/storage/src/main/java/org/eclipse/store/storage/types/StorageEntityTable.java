@@ -0,0 +1,920 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import org.eclipse.serializer.afs.types.AWritableFile;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.binary.types.Binary;
+import org.eclipse.serializer.persistence.binary.types.MemoryRangeReader;
+import org.eclipse.serializer.persistence.types.PersistenceObjectIdAcceptor;
+import org.eclipse.serializer.persistence.types.Unpersistable;
+import org.eclipse.store.storage.exceptions.StorageException;
+
+
+/**
+ * Channel-local registry of the meta data of all entities, replacing one heap object per entity by a fixed length
+ * record in off-heap memory. An entity is identified by an {@code int} handle, file chains, type chains and
+ * the collision chains of {@link StorageEntityIndex.Chained} are links between handles.
+ * <p>
+ * This keeps the heap footprint and the work of the JVM's garbage collector independent of the number of entities:
+ * the records are allocated in pages of direct memory that are never traced, only the page address table and the
+ * few {@link TypeInFile} instances are heap objects.
+ * <p>
+ * Handles of deleted entities are reused, so a handle may only be kept as long as its entity is registered.
+ * A handle of {@code 0} ({@link #NONE}) never denotes an entity and serves as the {@code null} handle.
+ * <p>
+ * Instances are exclusively used by the owning channel's thread, hence they are not thread safe.
+ */
+public final class StorageEntityTable implements Unpersistable
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	/**
+	 * The handle that never denotes an entity.
+	 */
+	public static final int NONE = 0;
+
+	// enough for ~17 years since class initialization with 256ms resolution.
+	private static final long TOUCHED_SHIFT_COUNT  = 8;
+	private static final long TOUCHED_START_OFFSET = System.currentTimeMillis();
+
+	/*
+	 * GC state meaning:
+	 *
+	 * black: reachable from root and no references to white nodes (already processed)
+	 * gray : reachable from root (marked by processing) but still to be processed
+	 * white: not yet marked, potentially unreachable/"condemned"
+	 *
+	 * For garbage collection algorithm, see http://en.wikipedia.org/wiki/Garbage_collection_(computer_science)
+	 */
+	static final byte GC_BLACK   = +2; // fully handled by marking
+	static final byte GC_GRAY    = +1; // marked but waiting for reference iteration marking
+	static final byte GC_INITIAL =  0; // created/updated. Not marked, but not to be deleted in current GC round.
+	static final byte GC_WHITE   = -1; // not marked
+
+	/*
+	 * GC generation meaning (only relevant for generational garbage collection):
+	 *
+	 * young     : created since the last full sweep
+	 * old       : survived the last full sweep and not changed since. Cannot reference young entities.
+	 * remembered: survived the last full sweep but changed since. Might reference young entities.
+	 */
+	static final byte GC_GENERATION_YOUNG      = 0;
+	static final byte GC_GENERATION_OLD        = 1;
+	static final byte GC_GENERATION_REMEMBERED = 2;
+
+	private static final byte
+		FLAG_DELETED          = 1 << 0,
+		FLAG_ONLY_REFS_CACHED = 1 << 1,
+		FLAG_COMPRESSED       = 1 << 2, // cached data is compressed, see StorageEntityCacheCompressor
+		FLAG_IN_CACHE_RING    = 1 << 3, // registered in the channel's cache ring (bounded cache only), maybe no longer live
+		FLAG_CACHE_REFERENCED = 1 << 4  // touched since the cache ring's last pass (bounded cache only)
+	;
+
+	/* Handling the cache as direct memory instead of a byte array has several reasons:
+	 *
+	 * 1.)
+	 * the cache never holds any references, but only "plain" data (bytes with primitive values),
+	 * so there can never be any interference with the JVM's managed references.
+	 *
+	 * 2.)
+	 * The JLS specifies that arrays do not need to physically span adjacent bytes in memory.
+	 * While this is still probably always the case, it's more "cleaner" to handle a range of plain bytes
+	 * consisting of variable size element (1,2,4,8,X) as a direct range in memory instead of abusing a
+	 * byte array for it.
+	 *
+	 * 3.)
+	 * Having a memory address unifies iteration logic to always work on addresses (like when
+	 * using a direct byte buffer) instead of having to always implement two variations
+	 * (one for direct memory address for direct byte buffers and one for byte array plus index offset).
+	 *
+	 * 4.)
+	 * this spares the byte array object header, which is 24 bytes each without compressed oops
+	 * (16 byte object header plus 4 byte array length plus 4 byte padding overhead).
+	 * With millions or billions of (mostly small) entities in cache, this can make a significant saving.
+	 *
+	 * 5.)
+	 * It also increases performance, as no object has to be created, registered, gc-checked (and whatever else
+	 * they might do internally), etc. and the array memory range does not have to be nulled out but instead always
+	 * gets filled with the actual data right after allocation.
+	 * Also, reference iteration via byte array plus index offset is most probably slower than just iterating
+	 * over pure memory addresses.
+	 *
+	 * 6.)
+	 * It especially speeds up garbage collection as directly managed memory is not subject to garbage collection.
+	 *
+	 * The only downside is that this circumvention of memory handling ignores the memory limit
+	 * (because the geniuses made Bits#reserveMemory package private ... and who puts the memory limit handling
+	 * in the "Bits" util class anyway?).
+	 * On the other hand, this even is a rather desired behavior because for something important like a
+	 * storing process ("database") that manages entity cache memory consumption anyway, it's more desirable
+	 * to take as much memory as it needs for spikes and let the OS swap if necessary instead of just dying
+	 * because of some unfortunate temporary memory limit hitting. Yes, this assumed that harddisc drive is
+	 * virtually "unlimited" (or at least not fillable by the running application before it is checked again).
+	 */
+
+	// record layout. Longs first to keep them aligned, as the record length is a multiple of 8.
+	private static final long
+		OFFSET_OBJECT_ID        =  0, // 0 for dummy entities
+		OFFSET_CACHE_ADDRESS    =  8, // address of the cached data or 0 if not cached
+		OFFSET_STORAGE_POSITION = 16, // the absolute position in the storage file
+		OFFSET_LENGTH           = 24, // the entity's total length
+		OFFSET_LAST_TOUCHED     = 28, // age timestamp for cache clearing evaluation. See #touch.
+		OFFSET_TYPE_IN_FILE     = 32, // id of the TypeInFile, see #typeInFile
+		OFFSET_FILE_PREV        = 36, // the prev in the file, potentially with a gap in between.
+		OFFSET_FILE_NEXT        = 40, // the next in the file. For free handles the next free handle.
+		OFFSET_TYPE_NEXT        = 44, // the next of the same type. Required for per-type iteration (e.g. export)
+		OFFSET_HASH_NEXT        = 48, // the next in an oid collision chain. Only used by StorageEntityIndex.Chained.
+		OFFSET_GC_STATE         = 52,
+		OFFSET_GC_GENERATION    = 53, // initially young
+		OFFSET_REFERENCE_COUNT  = 54, // see #calculateReferenceCount
+		OFFSET_FLAGS            = 55,
+		RECORD_LENGTH           = 56
+	;
+
+	// 8192 records of 56 bytes are 448 KB per page, small enough to not waste memory for small channels.
+	private static final int  PAGE_SHIFT  = 13;
+	private static final int  PAGE_LENGTH = 1 << PAGE_SHIFT;
+	private static final int  PAGE_MASK   = PAGE_LENGTH - 1;
+	private static final long PAGE_SIZE   = PAGE_LENGTH * RECORD_LENGTH;
+
+	private static final int INITIAL_PAGE_TABLE_LENGTH    = 16;
+	private static final int INITIAL_TYPE_IN_FILES_LENGTH = 64;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	// addresses of the allocated pages of records. Only the first pageCount entries are valid.
+	private long[] pages    ;
+	private int    pageCount;
+
+	// the lowest handle that has never been used, 0 is reserved for NONE.
+	private int nextEntity;
+
+	// the last freed handle, linking to the previously freed one via the file next link. NONE if there is none.
+	private int freeEntity;
+
+	private int entityCount;
+
+	// all TypeInFile instances referenced by records, indexed by their id. Id 0 is reserved for "no TypeInFile".
+	private TypeInFile[] typeInFiles        ;
+	private int          nextTypeInFile     ;
+	private int[]        freeTypeInFiles    ;
+	private int          freeTypeInFileCount;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	StorageEntityTable()
+	{
+		super();
+		this.clear();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	/**
+	 * Releases all records and {@link TypeInFile} registrations, invalidating all handles.
+	 */
+	final void clear()
+	{
+		if(this.pages != null)
+		{
+			for(int i = 0; i < this.pageCount; i++)
+			{
+				XMemory.free(this.pages[i]);
+			}
+		}
+		this.pages       = new long[INITIAL_PAGE_TABLE_LENGTH];
+		this.pageCount   = 0;
+		this.nextEntity  = NONE + 1;
+		this.freeEntity  = NONE;
+		this.entityCount = 0;
+
+		this.typeInFiles         = new TypeInFile[INITIAL_TYPE_IN_FILES_LENGTH];
+		this.nextTypeInFile      = 1;
+		this.freeTypeInFiles     = new int[INITIAL_TYPE_IN_FILES_LENGTH];
+		this.freeTypeInFileCount = 0;
+	}
+
+	/**
+	 * @return the number of handles in use, including the ones of dummy entities.
+	 */
+	public final long size()
+	{
+		return this.entityCount;
+	}
+
+	/**
+	 * @return the off-heap memory occupied by the records.
+	 */
+	public final long memorySize()
+	{
+		return this.pageCount * PAGE_SIZE;
+	}
+
+	private long address(final int entity)
+	{
+		return this.pages[entity >>> PAGE_SHIFT] + (entity & PAGE_MASK) * RECORD_LENGTH;
+	}
+
+	private int allocateEntity()
+	{
+		final int entity;
+		if(this.freeEntity != NONE)
+		{
+			entity = this.freeEntity;
+			this.freeEntity = XMemory.get_int(this.address(entity) + OFFSET_FILE_NEXT);
+		}
+		else
+		{
+			if(this.nextEntity == Integer.MAX_VALUE)
+			{
+				throw new StorageException("Entity table capacity exceeded: " + this.entityCount + " entities.");
+			}
+			if((this.nextEntity >>> PAGE_SHIFT) == this.pageCount)
+			{
+				this.allocatePage();
+			}
+			entity = this.nextEntity++;
+		}
+		this.entityCount++;
+
+		return entity;
+	}
+
+	private void allocatePage()
+	{
+		if(this.pageCount == this.pages.length)
+		{
+			this.pages = Arrays.copyOf(this.pages, this.pages.length << 1);
+		}
+		this.pages[this.pageCount++] = XMemory.allocate(PAGE_SIZE);
+		if(this.pageCount == 1)
+		{
+			// the NONE record must read as a deleted entity without any links to be harmless if accessed.
+			this.initialize(NONE, 0, null, (byte)0);
+			this.setFlag(NONE, FLAG_DELETED, true);
+		}
+	}
+
+	final int createEntity(
+		final long       objectId            ,
+		final TypeInFile type                ,
+		final boolean    hasReferences       ,
+		final long       simpleReferenceCount
+	)
+	{
+		return this.initialize(
+			this.allocateEntity(),
+			objectId,
+			type,
+			calculateReferenceCount(hasReferences, simpleReferenceCount)
+		);
+	}
+
+	/**
+	 * Creates a dummy entity serving as the head or tail of a file or type chain.
+	 * It has "no" object id ("null object id") and a length of 0, so it will never be deemed "too big".
+	 *
+	 * @param type the type of the chain or {@literal null} for a file chain.
+	 */
+	final int createDummy(final TypeInFile type)
+	{
+		return this.initialize(this.allocateEntity(), 0, type, (byte)0);
+	}
+
+	private int initialize(
+		final int        entity        ,
+		final long       objectId      ,
+		final TypeInFile type          ,
+		final byte       referenceCount
+	)
+	{
+		final long address = this.address(entity);
+		XMemory.set_long(address + OFFSET_OBJECT_ID       , objectId                          );
+		XMemory.set_long(address + OFFSET_CACHE_ADDRESS   , 0L                                );
+		XMemory.set_long(address + OFFSET_STORAGE_POSITION, 0L                                );
+		XMemory.set_int (address + OFFSET_LENGTH          , 0                                 );
+		// initially "touched in eternity", especially for dummy entities.
+		XMemory.set_int (address + OFFSET_LAST_TOUCHED    , Integer.MAX_VALUE                 );
+		XMemory.set_int (address + OFFSET_TYPE_IN_FILE    , type == null ? 0 : type.id        );
+		XMemory.set_int (address + OFFSET_FILE_PREV       , NONE                              );
+		XMemory.set_int (address + OFFSET_FILE_NEXT       , NONE                              );
+		XMemory.set_int (address + OFFSET_TYPE_NEXT       , NONE                              );
+		XMemory.set_int (address + OFFSET_HASH_NEXT       , NONE                              );
+		XMemory.set_byte(address + OFFSET_GC_STATE        , GC_INITIAL                        );
+		XMemory.set_byte(address + OFFSET_GC_GENERATION   , GC_GENERATION_YOUNG               );
+		XMemory.set_byte(address + OFFSET_REFERENCE_COUNT , referenceCount                    );
+		XMemory.set_byte(address + OFFSET_FLAGS           , (byte)0                           );
+
+		return entity;
+	}
+
+	private static byte calculateReferenceCount(final boolean hasReferences, final long simpleReferenceCount)
+	{
+		if(!hasReferences)
+		{
+			return 0; // means no references (value type)
+		}
+		if(simpleReferenceCount <= 0 || simpleReferenceCount > Byte.MAX_VALUE)
+		{
+			return -1; // means "normal" references (simple references concept not applicable)
+		}
+		return (byte)simpleReferenceCount; // apply simple references concept
+	}
+
+	/**
+	 * Releases the passed entity's handle for reuse. The entity must not be referenced by any chain, index or
+	 * other structure anymore and must not have cached data.
+	 * Until reused, the released handle reads as a deleted, improper entity.
+	 */
+	final void free(final int entity)
+	{
+		final long address = this.address(entity);
+		XMemory.set_long(address + OFFSET_OBJECT_ID    , 0L          );
+		XMemory.set_long(address + OFFSET_CACHE_ADDRESS, 0L          );
+		XMemory.set_int (address + OFFSET_TYPE_IN_FILE , 0           );
+		XMemory.set_byte(address + OFFSET_FLAGS        , FLAG_DELETED);
+		XMemory.set_int (address + OFFSET_FILE_NEXT    , this.freeEntity);
+		this.freeEntity = entity;
+		this.entityCount--;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// type in file registry //
+	//////////////////////////
+
+	/**
+	 * Assigns an id to the passed {@link TypeInFile} by which it is referenced from records.
+	 */
+	final void register(final TypeInFile typeInFile)
+	{
+		final int id;
+		if(this.freeTypeInFileCount > 0)
+		{
+			id = this.freeTypeInFiles[--this.freeTypeInFileCount];
+		}
+		else
+		{
+			if(this.nextTypeInFile == this.typeInFiles.length)
+			{
+				this.typeInFiles = Arrays.copyOf(this.typeInFiles, this.typeInFiles.length << 1);
+			}
+			id = this.nextTypeInFile++;
+		}
+		this.typeInFiles[typeInFile.id = id] = typeInFile;
+	}
+
+	/**
+	 * Releases the passed {@link TypeInFile}'s id. No record may reference it anymore.
+	 */
+	final void unregister(final TypeInFile typeInFile)
+	{
+		if(typeInFile.id == 0 || typeInFile.id >= this.nextTypeInFile || this.typeInFiles[typeInFile.id] != typeInFile)
+		{
+			return;
+		}
+		this.typeInFiles[typeInFile.id] = null;
+		if(this.freeTypeInFileCount == this.freeTypeInFiles.length)
+		{
+			this.freeTypeInFiles = Arrays.copyOf(this.freeTypeInFiles, this.freeTypeInFiles.length << 1);
+		}
+		this.freeTypeInFiles[this.freeTypeInFileCount++] = typeInFile.id;
+		typeInFile.id = 0;
+	}
+
+	final TypeInFile typeInFile(final int entity)
+	{
+		return this.typeInFiles[XMemory.get_int(this.address(entity) + OFFSET_TYPE_IN_FILE)];
+	}
+
+	final void setTypeInFile(final int entity, final TypeInFile typeInFile)
+	{
+		XMemory.set_int(this.address(entity) + OFFSET_TYPE_IN_FILE, typeInFile.id);
+	}
+
+	final StorageEntityType.Default type(final int entity)
+	{
+		return this.typeInFile(entity).type;
+	}
+
+	final StorageLiveDataFile.Default file(final int entity)
+	{
+		return this.typeInFile(entity).file;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// record fields //
+	//////////////////
+
+	/**
+	 * @param entity the handle of a registered entity.
+	 *
+	 * @return the entity's object id.
+	 */
+	public final long objectId(final int entity)
+	{
+		return XMemory.get_long(this.address(entity) + OFFSET_OBJECT_ID);
+	}
+
+	final long cacheAddress(final int entity)
+	{
+		return XMemory.get_long(this.address(entity) + OFFSET_CACHE_ADDRESS);
+	}
+
+	private void setCacheAddress(final int entity, final long cacheAddress)
+	{
+		XMemory.set_long(this.address(entity) + OFFSET_CACHE_ADDRESS, cacheAddress);
+	}
+
+	final long storagePosition(final int entity)
+	{
+		return XMemory.get_long(this.address(entity) + OFFSET_STORAGE_POSITION);
+	}
+
+	final void setStoragePosition(final int entity, final long storagePosition)
+	{
+		XMemory.set_long(this.address(entity) + OFFSET_STORAGE_POSITION, storagePosition);
+	}
+
+	final int length(final int entity)
+	{
+		return XMemory.get_int(this.address(entity) + OFFSET_LENGTH);
+	}
+
+	final void updateStorageInformation(
+		final int  entity         ,
+		final int  length         ,
+		final long storagePosition
+	)
+	{
+		final long address = this.address(entity);
+		XMemory.set_long(address + OFFSET_STORAGE_POSITION, storagePosition);
+		XMemory.set_int (address + OFFSET_LENGTH          , length         );
+	}
+
+	final int filePrev(final int entity)
+	{
+		return XMemory.get_int(this.address(entity) + OFFSET_FILE_PREV);
+	}
+
+	final void setFilePrev(final int entity, final int filePrev)
+	{
+		XMemory.set_int(this.address(entity) + OFFSET_FILE_PREV, filePrev);
+	}
+
+	final int fileNext(final int entity)
+	{
+		return XMemory.get_int(this.address(entity) + OFFSET_FILE_NEXT);
+	}
+
+	final void setFileNext(final int entity, final int fileNext)
+	{
+		XMemory.set_int(this.address(entity) + OFFSET_FILE_NEXT, fileNext);
+	}
+
+	/**
+	 * Links the two passed entities as adjacent in their file chain.
+	 */
+	final void linkInFile(final int filePrev, final int fileNext)
+	{
+		this.setFileNext(filePrev, fileNext);
+		this.setFilePrev(fileNext, filePrev);
+	}
+
+	final int typeNext(final int entity)
+	{
+		return XMemory.get_int(this.address(entity) + OFFSET_TYPE_NEXT);
+	}
+
+	final void setTypeNext(final int entity, final int typeNext)
+	{
+		XMemory.set_int(this.address(entity) + OFFSET_TYPE_NEXT, typeNext);
+	}
+
+	final int hashNext(final int entity)
+	{
+		return XMemory.get_int(this.address(entity) + OFFSET_HASH_NEXT);
+	}
+
+	final void setHashNext(final int entity, final int hashNext)
+	{
+		XMemory.set_int(this.address(entity) + OFFSET_HASH_NEXT, hashNext);
+	}
+
+	private byte gcState(final int entity)
+	{
+		return XMemory.get_byte(this.address(entity) + OFFSET_GC_STATE);
+	}
+
+	private void setGcState(final int entity, final byte gcState)
+	{
+		XMemory.set_byte(this.address(entity) + OFFSET_GC_STATE, gcState);
+	}
+
+	private byte gcGeneration(final int entity)
+	{
+		return XMemory.get_byte(this.address(entity) + OFFSET_GC_GENERATION);
+	}
+
+	private void setGcGeneration(final int entity, final byte gcGeneration)
+	{
+		XMemory.set_byte(this.address(entity) + OFFSET_GC_GENERATION, gcGeneration);
+	}
+
+	private int referenceCount(final int entity)
+	{
+		return XMemory.get_byte(this.address(entity) + OFFSET_REFERENCE_COUNT);
+	}
+
+	private boolean isFlagged(final int entity, final byte flag)
+	{
+		return (XMemory.get_byte(this.address(entity) + OFFSET_FLAGS) & flag) != 0;
+	}
+
+	private void setFlag(final int entity, final byte flag, final boolean value)
+	{
+		final long address = this.address(entity) + OFFSET_FLAGS;
+		final byte flags   = XMemory.get_byte(address);
+		XMemory.set_byte(address, (byte)(value ? flags | flag : flags & ~flag));
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// entity logic //
+	/////////////////
+
+	final boolean isGcGray(final int entity)
+	{
+		return this.gcState(entity) == GC_GRAY;
+	}
+
+	final void markInitial(final int entity)
+	{
+		this.setGcState(entity, GC_INITIAL);
+	}
+
+	final void markGray(final int entity)
+	{
+		this.setGcState(entity, GC_GRAY);
+	}
+
+	final boolean isGcBlack(final int entity)
+	{
+		return this.gcState(entity) == GC_BLACK;
+	}
+
+	final void markBlack(final int entity)
+	{
+		this.setGcState(entity, GC_BLACK);
+	}
+
+	final void markWhite(final int entity)
+	{
+		this.setGcState(entity, GC_WHITE);
+	}
+
+	final boolean isGcAlreadyHandled(final int entity)
+	{
+		return this.gcState(entity) >= GC_GRAY;
+	}
+
+	final boolean isGcMarked(final int entity)
+	{
+		return this.gcState(entity) >= GC_INITIAL;
+	}
+
+	final boolean isGcOld(final int entity)
+	{
+		return this.gcGeneration(entity) == GC_GENERATION_OLD;
+	}
+
+	final void markOld(final int entity)
+	{
+		this.setGcGeneration(entity, GC_GENERATION_OLD);
+	}
+
+	final boolean isGcRemembered(final int entity)
+	{
+		return this.gcGeneration(entity) == GC_GENERATION_REMEMBERED;
+	}
+
+	final void markRemembered(final int entity)
+	{
+		this.setGcGeneration(entity, GC_GENERATION_REMEMBERED);
+	}
+
+	final boolean hasOnlySimpleReferencesLoaded(final int entity)
+	{
+		return this.isFlagged(entity, FLAG_ONLY_REFS_CACHED);
+	}
+
+	final int simpleReferenceCount(final int entity)
+	{
+		return this.referenceCount(entity);
+	}
+
+	final boolean hasSimpleReferences(final int entity)
+	{
+		return this.referenceCount(entity) > 0; // >0 is important: 0 means no refs, <0 means normal refs!
+	}
+
+	final boolean hasReferences(final int entity)
+	{
+		return this.referenceCount(entity) != 0; // both "normal"/"full" (<0) or simple references are loaded.
+	}
+
+	final boolean isLive(final int entity)
+	{
+		return this.cacheAddress(entity) != 0;
+	}
+
+	final boolean isCompressed(final int entity)
+	{
+		return this.isFlagged(entity, FLAG_COMPRESSED);
+	}
+
+	final boolean isInCacheRing(final int entity)
+	{
+		return this.isFlagged(entity, FLAG_IN_CACHE_RING);
+	}
+
+	final void setInCacheRing(final int entity, final boolean inCacheRing)
+	{
+		this.setFlag(entity, FLAG_IN_CACHE_RING, inCacheRing);
+	}
+
+	final boolean isCacheReferenced(final int entity)
+	{
+		return this.isFlagged(entity, FLAG_CACHE_REFERENCED);
+	}
+
+	final void setCacheReferenced(final int entity, final boolean cacheReferenced)
+	{
+		this.setFlag(entity, FLAG_CACHE_REFERENCED, cacheReferenced);
+	}
+
+	final boolean isProper(final int entity)
+	{
+		return XMemory.get_int(this.address(entity) + OFFSET_TYPE_IN_FILE) != 0;
+	}
+
+	final boolean isExisting(final int entity)
+	{
+		return !this.isDeleted(entity) && this.isProper(entity);
+	}
+
+	/**
+	 * Note that a deleted entity can never be live as the deletion logic clears the entity's cache first.
+	 */
+	final boolean isDeleted(final int entity)
+	{
+		return this.isFlagged(entity, FLAG_DELETED);
+	}
+
+	final void setDeleted(final int entity)
+	{
+		this.setFlag(entity, FLAG_DELETED, true);
+	}
+
+	final long typeId(final int entity)
+	{
+		return this.type(entity).typeId;
+	}
+
+	private long calculateSimpleReferenceCacheLength(final int entity)
+	{
+		return Binary.entityTotalLength(
+			Binary.referenceBinaryLength(this.simpleReferenceCount(entity))
+		);
+	}
+
+	private boolean ensureCachedReferenceData(final int entity)
+	{
+		if(this.isLive(entity))
+		{
+			// already data present which means at least all reference data must be available already, so abort.
+			return false;
+		}
+
+		// load only simple references if applicable, otherwise load entity data completely
+		if(this.hasSimpleReferences(entity))
+		{
+			final long length = this.calculateSimpleReferenceCacheLength(entity);
+			this.internalLoadData(entity, length, length);
+			this.setFlag(entity, FLAG_ONLY_REFS_CACHED, true);
+		}
+		else
+		{
+			this.internalLoadFullEntityData(entity);
+		}
+		return true;
+	}
+
+	final void ensureCachedFullData(final int entity)
+	{
+		if(this.hasOnlySimpleReferencesLoaded(entity))
+		{
+			// if simple refs have been loaded, clear the cache, load complete length and account for cache increase
+			final int length = this.length(entity);
+			this.internalLoadData(entity, length, length - this.clearCache(entity));
+		}
+		else if(!this.isLive(entity))
+		{
+			// if no cached data is present, just load all entity data completely
+			this.internalLoadFullEntityData(entity);
+		}
+		// already fully loaded, nothing to do
+	}
+
+	private void internalLoadData(final int entity, final long length, final long cacheChange)
+	{
+		this.file(entity).loadEntityData(entity, length, cacheChange);
+	}
+
+	private void internalLoadFullEntityData(final int entity)
+	{
+		final int length = this.length(entity);
+		this.internalLoadData(entity, length, length);
+
+		// (05.04.2016 TM)TODO: should not be needed here
+		this.setFlag(entity, FLAG_ONLY_REFS_CACHED, false);
+	}
+
+	final void detachFromFile(final int entity)
+	{
+		this.file(entity).remove(entity);
+	}
+
+	final void putCacheData(final int entity, final long sourceAddress, final long length)
+	{
+		final long cacheAddress = XMemory.allocate(length);
+		XMemory.copyRange(sourceAddress, cacheAddress, length);
+		this.setCacheAddress(entity, cacheAddress);
+	}
+
+	/**
+	 * Replaces the cached data by its compressed form at the passed address.
+	 *
+	 * @return the new cached data length.
+	 */
+	final long putCompressedCacheData(final int entity, final long compressedAddress)
+	{
+		XMemory.free(this.cacheAddress(entity));
+		this.setCacheAddress(entity, compressedAddress);
+		this.setFlag(entity, FLAG_COMPRESSED, true);
+
+		return this.cachedDataLength(entity);
+	}
+
+	final boolean needsFullDataLoading(final int entity)
+	{
+		return !this.isLive(entity) || this.hasOnlySimpleReferencesLoaded(entity);
+	}
+
+	/**
+	 * Caches the entity's complete data from the passed address, replacing cached simple references, if present.
+	 * Equivalent to {@link #ensureCachedFullData(int)} with the data already being read.
+	 *
+	 * @return the change of the used cache size.
+	 */
+	final long putFullCacheData(final int entity, final long sourceAddress)
+	{
+		final int  length      = this.length(entity);
+		final long cacheChange = this.hasOnlySimpleReferencesLoaded(entity)
+			? length - this.clearCache(entity)
+			: length
+		;
+		this.putCacheData(entity, sourceAddress, length);
+		this.setFlag(entity, FLAG_ONLY_REFS_CACHED, false);
+
+		return cacheChange;
+	}
+
+	final long cachedDataLength(final int entity)
+	{
+		if(this.isCompressed(entity))
+		{
+			return StorageEntityCacheCompressor.ChannelCompressor.compressedCacheDataLength(this.cacheAddress(entity));
+		}
+		return this.hasOnlySimpleReferencesLoaded(entity)
+			? this.calculateSimpleReferenceCacheLength(entity)
+			: this.length(entity)
+		;
+	}
+
+	final void touch(final int entity)
+	{
+		XMemory.set_int(
+			this.address(entity) + OFFSET_LAST_TOUCHED,
+			(int)(System.currentTimeMillis() - TOUCHED_START_OFFSET >>> TOUCHED_SHIFT_COUNT)
+		);
+		this.setCacheReferenced(entity, true);
+	}
+
+	final long lastTouched(final int entity)
+	{
+		return TOUCHED_START_OFFSET
+			+ ((long)XMemory.get_int(this.address(entity) + OFFSET_LAST_TOUCHED) << TOUCHED_SHIFT_COUNT)
+		;
+	}
+
+	final boolean iterateReferenceIds(final int entity, final PersistenceObjectIdAcceptor referenceIdIterator)
+	{
+		if(!this.hasReferences(entity))
+		{
+			// if type has no references at all, abort right away.
+			return false;
+		}
+
+		final boolean requiredLoading = this.ensureCachedReferenceData(entity);
+
+		/*
+		 * must touch for two reasons:
+		 * - to update the initial "in eternity" timestamp and make their loaded data unloadable in the future
+		 * - to cache-favor entities with references over entities without.
+		 */
+		this.touch(entity);
+
+		this.type(entity).typeHandler().iterateReferences(this.cacheAddress(entity), referenceIdIterator);
+		return requiredLoading;
+	}
+
+	final long exportTo(final int entity, final AWritableFile file)
+	{
+		return this.file(entity).copyTo(file, this.storagePosition(entity), this.length(entity));
+	}
+
+	final void copyCachedData(final int entity, final MemoryRangeReader entityDataCollector)
+	{
+		this.ensureCachedFullData(entity);
+		this.touch(entity);
+		if(this.isCompressed(entity))
+		{
+			this.file(entity).copyCompressedEntityData(entity, entityDataCollector);
+			return;
+		}
+		entityDataCollector.readMemory(this.cacheAddress(entity), this.length(entity));
+	}
+
+	final long clearCache(final int entity)
+	{
+		final long currentDataLength = this.cachedDataLength(entity);
+		XMemory.free(this.cacheAddress(entity));
+		this.setCacheAddress(entity, 0L);
+		this.setFlag(entity, (byte)(FLAG_ONLY_REFS_CACHED | FLAG_COMPRESSED), false);
+
+		return currentDataLength;
+	}
+
+	/**
+	 * Creates a {@link StorageEntity} view of the passed entity for the public API. The view is only valid as long
+	 * as the entity is registered, as its handle may be reused afterwards.
+	 */
+	final StorageEntity.Default view(final int entity)
+	{
+		return new StorageEntity.Default(this, entity);
+	}
+
+	final String toString(final int entity)
+	{
+		return this.objectId(entity)
+			+ (this.isLive(entity) ? " L" : "  ")
+			+ " GC[" + (this.isGcGray(entity) ? 'G' : ' ') + (this.isGcBlack(entity) ? 'B' : ' ') + ']'
+			+ " [" + this.length(entity) + "]"
+		;
+	}
+
+}
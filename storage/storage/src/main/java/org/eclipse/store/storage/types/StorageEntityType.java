@@ -14,8 +14,6 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
-import java.util.function.Predicate;
-
 import org.eclipse.store.storage.exceptions.StorageException;
 import org.eclipse.serializer.functional.ThrowingProcedure;
 import org.eclipse.serializer.persistence.types.Persistence;
@@ -47,15 +45,14 @@ public interface StorageEntityType<E extends StorageEntity>
 
 	public final class Default implements StorageEntityType<StorageEntity.Default>
 	{
-		public interface EntityDeleter extends Predicate<StorageEntity.Default>
+		public interface EntityDeleter
 		{
-			@Override
-			public boolean test(StorageEntity.Default entity);
+			public boolean test(int entity);
 
 			public void delete(
-				StorageEntity.Default     entity        ,
+				int                       entity        ,
 				StorageEntityType.Default type          ,
-				StorageEntity.Default     previousInType
+				int                       previousInType
 			);
 		}
 
@@ -70,14 +67,18 @@ public interface StorageEntityType<E extends StorageEntity>
 		private final StorageEntityTypeHandler typeHandler             ;
 		private final boolean                  hasReferences           ;
 		private final long                     simpleReferenceDataCount;
+		        final StorageEntityTable       entityTable             ;
 		
 		private       long                     entityCount             ;
 		StorageEntityType.Default              hashNext                ;
 		StorageEntityType.Default              next                    ;
-		        final TypeInFile               dummy                    = new TypeInFile(this, null, null);
+		        final TypeInFile               dummy                   ;
 
-		StorageEntity.Default head = StorageEntity.Default.createDummy(this.dummy);
-		StorageEntity.Default tail = this.head;
+		// handles in the entity table. The head is a dummy entity.
+		int head, tail;
+		
+		// the last entity that survived the last full sweep. All following entities belong to the young generation.
+		int youngHead;
 
 
 
@@ -87,30 +88,41 @@ public interface StorageEntityType<E extends StorageEntity>
 
 		Default(final int channelIndex)
 		{
+			// the head of the channel's type chain never contains any entities.
 			super();
-			this.channelIndex             = channelIndex;
-			this.typeId                   =           -1;
-			this.typeHandler              =         null;
-			this.hasReferences            =        false;
-			this.simpleReferenceDataCount =            0;
-			this.next                     =         this;
+			this.channelIndex             = channelIndex           ;
+			this.typeId                   =                      -1;
+			this.typeHandler              =                    null;
+			this.hasReferences            =                   false;
+			this.simpleReferenceDataCount =                       0;
+			this.entityTable              =                    null;
+			this.dummy                    =                    null;
+			this.next                     =                    this;
+			this.head                     = StorageEntityTable.NONE;
+			this.tail                     = StorageEntityTable.NONE;
+			this.youngHead                = StorageEntityTable.NONE;
 		}
 
 		Default(
-			final int                              channelIndex,
-			final StorageEntityTypeHandler         typeHandler ,
+			final int                       channelIndex,
+			final StorageEntityTable        entityTable ,
+			final StorageEntityTypeHandler  typeHandler ,
 			final StorageEntityType.Default hashNext    ,
 			final StorageEntityType.Default next
 		)
 		{
 			super();
 			this.channelIndex             = channelIndex                        ;
+			this.entityTable              = entityTable                         ;
 			this.hasReferences            = typeHandler.hasPersistedReferences();
 			this.simpleReferenceDataCount = typeHandler.simpleReferenceCount()  ;
 			this.typeId                   = typeHandler.typeId()                ;
 			this.typeHandler              = typeHandler                         ;
 			this.hashNext                 = hashNext                            ;
 			this.next                     = next                                ;
+			
+			entityTable.register(this.dummy = new TypeInFile(this, null, null));
+			this.head = this.tail = this.youngHead = entityTable.createDummy(this.dummy);
 		}
 
 
@@ -119,24 +131,30 @@ public interface StorageEntityType<E extends StorageEntity>
 		// declared methods //
 		/////////////////////
 
-		final void add(final StorageEntity.Default entry)
+		final void add(final int entry)
 		{
-			// last item next null strategy to increase adding and iteration performance
-//			(entry.typePrev = this.head.typePrev).typeNext = this.head.typePrev = entry;
-			this.tail = this.tail.typeNext = entry;
+			// last item next NONE strategy to increase adding and iteration performance
+			this.entityTable.setTypeNext(this.tail, entry);
+			this.tail = entry;
 			this.entityCount++;
 		}
 
-		final void remove(final StorageEntity.Default entry, final StorageEntity.Default previousInType)
+		final void remove(final int entry, final int previousInType)
 		{
 			// tail reference requires special handling logic
 			if(entry == this.tail)
 			{
-				(this.tail = previousInType).typeNext = null;
+				this.entityTable.setTypeNext(this.tail = previousInType, StorageEntityTable.NONE);
 			}
 			else
 			{
-				previousInType.typeNext = entry.typeNext;
+				this.entityTable.setTypeNext(previousInType, this.entityTable.typeNext(entry));
+			}
+			
+			// the young generation boundary must remain part of the chain
+			if(entry == this.youngHead)
+			{
+				this.youngHead = previousInType;
 			}
 
 			// decrement entity count (strictly only once per remove as guaranteed by check above)
@@ -147,16 +165,18 @@ public interface StorageEntityType<E extends StorageEntity>
 		public <T extends Throwable, P extends ThrowingProcedure<? super StorageEntity.Default, T>>
 		P iterateEntities(final P procedure) throws T
 		{
-			for(StorageEntity.Default entity = this.head; (entity = entity.typeNext) != null;)
+			final StorageEntityTable table = this.entityTable;
+			for(int entity = this.head; (entity = table.typeNext(entity)) != StorageEntityTable.NONE;)
 			{
-				procedure.accept(entity);
+				procedure.accept(table.view(entity));
 			}
 			return procedure;
 		}
 
 		public <P extends EntityDeleter> P removeAll(final P deleter)
 		{
-			for(StorageEntity.Default last, entity = this.head; (entity = (last = entity).typeNext) != null;)
+			final StorageEntityTable table = this.entityTable;
+			for(int last, entity = this.head; (entity = table.typeNext(last = entity)) != StorageEntityTable.NONE;)
 			{
 				if(deleter.test(entity))
 				{
@@ -194,28 +214,29 @@ public interface StorageEntityType<E extends StorageEntity>
 
 		@Override
 		public final void iterateEntityReferenceIds(
-			final StorageEntity.Default entity  ,
-			final PersistenceObjectIdAcceptor  iterator
+			final StorageEntity.Default       entity  ,
+			final PersistenceObjectIdAcceptor iterator
 		)
 		{
-			this.typeHandler.iterateReferences(entity.cacheAddress(), iterator);
+			this.typeHandler.iterateReferences(entity.table.cacheAddress(entity.entity), iterator);
 		}
 
 		@Override
 		public StorageIdAnalysis validateEntities()
 		{
 			final StorageEntityTypeHandler typeHandler = this.typeHandler;
+			final StorageEntityTable       table       = this.entityTable;
 
 			long maxObjectId = 0, maxConstantId = 0;
 			final long maxTypeId = 0;
-			for(StorageEntity.Default entity = this.head; (entity = entity.typeNext) != null;)
+			for(int entity = this.head; (entity = table.typeNext(entity)) != StorageEntityTable.NONE;)
 			{
-				final long entityLength   = entity.length;
-				final long entityObjectId = entity.objectId();
+				final long entityLength   = table.length(entity);
+				final long entityObjectId = table.objectId(entity);
 
 				typeHandler.validateEntityGuaranteedType(entityLength, entityObjectId);
 
-				final long objectId = entity.objectId();
+				final long objectId = entityObjectId;
 				if(Persistence.IdType.OID.isInRange(objectId))
 				{
 					if(objectId >= maxObjectId)
@@ -14,16 +14,24 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ToLongFunction;
 
+import org.eclipse.serializer.X;
 import org.eclipse.serializer.afs.types.AFile;
 import org.eclipse.serializer.afs.types.AReadableFile;
 import org.eclipse.serializer.afs.types.AWritableFile;
 import org.eclipse.serializer.chars.VarString;
 import org.eclipse.serializer.chars.XChars;
 import org.eclipse.serializer.io.BufferProvider;
+import org.eclipse.store.afs.nio.types.NioFileSystem;
+import org.eclipse.store.afs.nio.types.NioWritableFile;
 import org.eclipse.store.storage.exceptions.StorageException;
 import org.eclipse.store.storage.exceptions.StorageExceptionIoReading;
+import org.eclipse.store.storage.exceptions.StorageExceptionIoWriting;
 
 public interface StorageFile
 {
@@ -93,8 +101,51 @@ public interface StorageFile
 		return vs.add(file.file().identifier() + "[" + file.file().size() + "]");
 	}
 	
+	/**
+	 * Forces the directory containing the passed file to the storage device, making the file's directory entry
+	 * durable. Forcing a file only covers its content, so a newly created file can be lost in a crash despite
+	 * being forced until its directory has been forced as well.
+	 * 
+	 * @param file the newly created file whose directory entry shall be made durable.
+	 * 
+	 * @return whether the directory could be forced. Not supported by non-NIO file systems and some platforms.
+	 */
+	public static boolean forceDirectory(final AFile file)
+	{
+		if(!(file.fileSystem() instanceof NioFileSystem))
+		{
+			return false;
+		}
+		
+		try(final FileChannel directory = FileChannel.open(
+			((NioFileSystem)file.fileSystem()).resolve(file.parent()),
+			StandardOpenOption.READ
+		))
+		{
+			directory.force(true);
+			return true;
+		}
+		catch(final IOException e)
+		{
+			// e.g. Windows does not allow opening directories as channels, but does not require it either.
+			return false;
+		}
+	}
+	
 	public abstract class Abstract implements StorageFile
 	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// length of the buffer used for buffered copying, e.g. of the uncompressed data of block compressed files.
+		private static final int COPY_BUFFER_LENGTH = 1024 * 1024;
+		
+		// zero bytes written into preallocated space. Shared, so only duplicates of it may be used.
+		private static final ByteBuffer PREALLOCATION_ZEROS = ByteBuffer.allocateDirect(64 * 1024).asReadOnlyBuffer();
+		
+		
+		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
@@ -104,6 +155,14 @@ public interface StorageFile
 		private AWritableFile writeAccess;
 		private AReadableFile readAccess ;
 		
+		// block compressed format of data files, determined on demand. See StorageDataFileCompression.
+		private StorageDataFileCompression.BlockFile blockFile         ;
+		private boolean                              isFormatDetermined;
+		private StorageDataFileCompression           adoptedCompression;
+		
+		// content length of a file with trailing preallocated space, -1 if the file is not preallocated.
+		private long preallocatedContentLength = -1;
+		
 		
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
@@ -130,7 +189,17 @@ public interface StorageFile
 		@Override
 		public final synchronized long size()
 		{
-			return this.file().size();
+			final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+			
+			if(blockFile != null)
+			{
+				return blockFile.length();
+			}
+			
+			return this.isPreallocated()
+				? this.preallocatedContentLength
+				: this.file().size()
+			;
 		}
 		
 		@Override
@@ -145,7 +214,17 @@ public interface StorageFile
 		{
 			try
 			{
-				return this.ensureReadable().readBytes(targetBuffer);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				if(blockFile != null)
+				{
+					return blockFile.read(this.ensureReadable(), targetBuffer, 0, targetBuffer.remaining());
+				}
+				
+				return this.isPreallocated()
+					? this.ensureReadable().readBytes(targetBuffer, 0, this.contentLength(0, targetBuffer.remaining()))
+					: this.ensureReadable().readBytes(targetBuffer)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -158,7 +237,21 @@ public interface StorageFile
 		{
 			try
 			{
-				return this.ensureReadable().readBytes(targetBuffer, position);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				if(blockFile != null)
+				{
+					return blockFile.read(this.ensureReadable(), targetBuffer, position, targetBuffer.remaining());
+				}
+				
+				return this.isPreallocated()
+					? this.ensureReadable().readBytes(
+						targetBuffer,
+						position,
+						this.contentLength(position, targetBuffer.remaining())
+					)
+					: this.ensureReadable().readBytes(targetBuffer, position)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -171,7 +264,12 @@ public interface StorageFile
 		{
 			try
 			{
-				return this.ensureReadable().readBytes(targetBuffer, position, length);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				return blockFile != null
+					? blockFile.read(this.ensureReadable(), targetBuffer, position, length)
+					: this.ensureReadable().readBytes(targetBuffer, position, length)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -184,7 +282,17 @@ public interface StorageFile
 		{
 			try
 			{
-				return this.ensureReadable().readBytes(bufferProvider);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				if(blockFile != null)
+				{
+					return blockFile.read(this.ensureReadable(), bufferProvider, 0, blockFile.length());
+				}
+				
+				return this.isPreallocated()
+					? this.ensureReadable().readBytes(bufferProvider, 0, this.preallocatedContentLength)
+					: this.ensureReadable().readBytes(bufferProvider)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -200,7 +308,17 @@ public interface StorageFile
 		{
 			try
 			{
-				return this.ensureReadable().readBytes(bufferProvider, position);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				if(blockFile != null)
+				{
+					return blockFile.read(this.ensureReadable(), bufferProvider, position, blockFile.length() - position);
+				}
+				
+				return this.isPreallocated()
+					? this.ensureReadable().readBytes(bufferProvider, position, this.contentLength(position, Long.MAX_VALUE))
+					: this.ensureReadable().readBytes(bufferProvider, position)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -217,7 +335,12 @@ public interface StorageFile
 		{
 			try
 			{
-				return this.ensureReadable().readBytes(bufferProvider, position, length);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				return blockFile != null
+					? blockFile.read(this.ensureReadable(), bufferProvider, position, length)
+					: this.ensureReadable().readBytes(bufferProvider, position, length)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -231,7 +354,17 @@ public interface StorageFile
 		{
 			try
 			{
-				return this.ensureWritable().writeBytes(buffers);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				if(blockFile != null)
+				{
+					return blockFile.write(this.ensureWritable(), buffers);
+				}
+				
+				return this.isPreallocated()
+					? this.writePreallocated(buffers)
+					: this.ensureWritable().writeBytes(buffers)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -244,7 +377,17 @@ public interface StorageFile
 			final StorageFile target
 		)
 		{
-			return target.copyFrom(this.ensureReadable());
+			this.transferCompression(target);
+			
+			if(this.isBlockCompressed())
+			{
+				return this.copyDecompressedTo(target::writeBytes, 0, this.size());
+			}
+			
+			return this.isPreallocated()
+				? target.copyFrom(this.ensureReadable(), 0, this.preallocatedContentLength)
+				: target.copyFrom(this.ensureReadable())
+			;
 		}
 		
 		@Override
@@ -253,7 +396,17 @@ public interface StorageFile
 			final long        sourcePosition
 		)
 		{
-			return target.copyFrom(this.ensureReadable(), sourcePosition);
+			this.transferCompression(target);
+			
+			if(this.isBlockCompressed())
+			{
+				return this.copyDecompressedTo(target::writeBytes, sourcePosition, this.size() - sourcePosition);
+			}
+			
+			return this.isPreallocated()
+				? target.copyFrom(this.ensureReadable(), sourcePosition, this.contentLength(sourcePosition, Long.MAX_VALUE))
+				: target.copyFrom(this.ensureReadable(), sourcePosition)
+			;
 		}
 
 		@Override
@@ -263,7 +416,12 @@ public interface StorageFile
 			final long        length
 		)
 		{
-			return target.copyFrom(this.ensureReadable(), sourcePosition, length);
+			this.transferCompression(target);
+			
+			return this.isBlockCompressed()
+				? this.copyDecompressedTo(target::writeBytes, sourcePosition, length)
+				: target.copyFrom(this.ensureReadable(), sourcePosition, length)
+			;
 		}
 		
 		@Override
@@ -273,7 +431,11 @@ public interface StorageFile
 		{
 			try
 			{
-				return target.copyFrom(this.ensureReadable());
+				// a full copy is a physical copy, so block compressed files remain block compressed.
+				return this.isPreallocated()
+					? target.copyFrom(this.ensureReadable(), 0, this.preallocatedContentLength)
+					: target.copyFrom(this.ensureReadable())
+				;
 			}
 			catch(final Exception e)
 			{
@@ -289,7 +451,15 @@ public interface StorageFile
 		{
 			try
 			{
-				return target.copyFrom(this.ensureReadable(), sourcePosition);
+				if(this.isBlockCompressed())
+				{
+					return this.copyDecompressedTo(target::writeBytes, sourcePosition, this.size() - sourcePosition);
+				}
+				
+				return this.isPreallocated()
+					? target.copyFrom(this.ensureReadable(), sourcePosition, this.contentLength(sourcePosition, Long.MAX_VALUE))
+					: target.copyFrom(this.ensureReadable(), sourcePosition)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -307,7 +477,10 @@ public interface StorageFile
 			try
 			{
 				target.ensureExists();
-				return target.copyFrom(this.ensureReadable(), sourcePosition, length);
+				return this.isBlockCompressed()
+					? this.copyDecompressedTo(target::writeBytes, sourcePosition, length)
+					: target.copyFrom(this.ensureReadable(), sourcePosition, length)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -322,7 +495,17 @@ public interface StorageFile
 		{
 			try
 			{
-				return source.copyTo(this.ensureWritable());
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				if(blockFile != null)
+				{
+					return blockFile.write(this.ensureWritable(), source, 0, source.size());
+				}
+				
+				return this.isPreallocated()
+					? this.copyPreallocated(source, 0, source.size())
+					: source.copyTo(this.ensureWritable())
+				;
 			}
 			catch(final Exception e)
 			{
@@ -338,7 +521,17 @@ public interface StorageFile
 		{
 			try
 			{
-				return source.copyTo(this.ensureWritable(), sourcePosition);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				if(blockFile != null)
+				{
+					return blockFile.write(this.ensureWritable(), source, sourcePosition, source.size() - sourcePosition);
+				}
+				
+				return this.isPreallocated()
+					? this.copyPreallocated(source, sourcePosition, source.size() - sourcePosition)
+					: source.copyTo(this.ensureWritable(), sourcePosition)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -355,7 +548,17 @@ public interface StorageFile
 		{
 			try
 			{
-				return source.copyTo(this.ensureWritable(), sourcePosition, length);
+				final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+				
+				if(blockFile != null)
+				{
+					return blockFile.write(this.ensureWritable(), source, sourcePosition, length);
+				}
+				
+				return this.isPreallocated()
+					? this.copyPreallocated(source, sourcePosition, length)
+					: source.copyTo(this.ensureWritable(), sourcePosition, length)
+				;
 			}
 			catch(final Exception e)
 			{
@@ -366,19 +569,184 @@ public interface StorageFile
 		@Override
 		public synchronized void truncate(final long newLength)
 		{
-			this.ensureWritable().truncate(newLength);
+			final StorageDataFileCompression.BlockFile blockFile = this.blockFile();
+			if(blockFile != null)
+			{
+				blockFile.truncate(
+					this.ensureWritable(),
+					newLength,
+					StorageDataFileCompression.BlockFile.truncationJournalFile(this.file)
+				);
+			}
+			else
+			{
+				// truncating discards any preallocated space as well
+				this.ensureWritable().truncate(newLength);
+				this.preallocatedContentLength = -1;
+			}
 		}
 		
 		@Override
 		public final synchronized boolean delete()
 		{
-			return this.ensureWritable().delete();
+			final boolean result = this.ensureWritable().delete();
+			this.resetFormat();
+			this.preallocatedContentLength = -1;
+			
+			return result;
 		}
 		
 		@Override
 		public final synchronized void moveTo(final AWritableFile target)
 		{
 			this.ensureWritable().moveTo(target);
+			this.resetFormat();
+			this.preallocatedContentLength = -1;
+		}
+		
+		/**
+		 * Defines if the file can be in the block compressed format, see {@link StorageDataFileCompression}.
+		 * Only data files can be.
+		 * 
+		 * @return whether the file can be block compressed.
+		 */
+		protected boolean isBlockFormatCapable()
+		{
+			return false;
+		}
+		
+		/**
+		 * The compression to be used if the file is newly created, {@literal null} for none.
+		 * By default, this is the compression adopted from the source file of a copy into the still empty file.
+		 * 
+		 * @return the compression for the newly created file.
+		 */
+		protected StorageDataFileCompression dataFileCompression()
+		{
+			return this.adoptedCompression;
+		}
+		
+		public final synchronized boolean isBlockCompressed()
+		{
+			return this.blockFile() != null;
+		}
+		
+		private StorageDataFileCompression.BlockFile blockFile()
+		{
+			if(!this.isFormatDetermined)
+			{
+				this.determineFormat();
+			}
+			
+			return this.blockFile;
+		}
+		
+		private void determineFormat()
+		{
+			if(!this.isBlockFormatCapable())
+			{
+				this.blockFile = null;
+			}
+			else if(!this.file.exists() || this.file.size() == 0)
+			{
+				final StorageDataFileCompression compression = this.dataFileCompression();
+				this.blockFile = compression != null && compression.isCompressionEnabled()
+					? StorageDataFileCompression.BlockFile.New(compression)
+					: null
+				;
+			}
+			else
+			{
+				// a truncation interrupted by a crash has to be completed before the file can be indexed.
+				final AFile truncationJournalFile = StorageDataFileCompression.BlockFile.truncationJournalFile(this.file);
+				if(truncationJournalFile.exists())
+				{
+					StorageDataFileCompression.BlockFile.recoverTruncation(this.ensureWritable(), truncationJournalFile);
+				}
+				
+				final AReadableFile access = this.ensureReadable();
+				this.blockFile = StorageDataFileCompression.BlockFile.isBlockFile(access)
+					? StorageDataFileCompression.BlockFile.Load(access, this.blockCompression())
+					: null
+				;
+			}
+			this.isFormatDetermined = true;
+		}
+		
+		private void resetFormat()
+		{
+			this.blockFile          = null ;
+			this.isFormatDetermined = false;
+		}
+		
+		private StorageDataFileCompression blockCompression()
+		{
+			// existing block compressed files are written to with the defaults if compression is disabled.
+			final StorageDataFileCompression compression = this.dataFileCompression();
+			
+			return compression != null && compression.isCompressionEnabled()
+				? compression
+				: StorageDataFileCompression.New()
+			;
+		}
+		
+		private void transferCompression(final StorageFile target)
+		{
+			// a file copied into a still empty file, e.g. a backup file, determines the target's format.
+			if(!(target instanceof StorageFile.Abstract))
+			{
+				return;
+			}
+			
+			final StorageDataFileCompression compression = this.dataFileCompression();
+			if(compression != null && compression.isCompressionEnabled())
+			{
+				((StorageFile.Abstract)target).adoptCompression(compression);
+			}
+			else if(this.isBlockCompressed())
+			{
+				((StorageFile.Abstract)target).adoptCompression(this.blockCompression());
+			}
+		}
+		
+		private synchronized void adoptCompression(final StorageDataFileCompression compression)
+		{
+			if(!this.isBlockFormatCapable() || this.file.exists() && this.file.size() > 0)
+			{
+				return;
+			}
+			
+			this.adoptedCompression = compression;
+			this.resetFormat();
+		}
+		
+		private long copyDecompressedTo(
+			final ToLongFunction<Iterable<ByteBuffer>> target        ,
+			final long                                 sourcePosition,
+			final long                                 length
+		)
+		{
+			final AReadableFile access = this.ensureReadable();
+			final ByteBuffer    buffer = ByteBuffer.allocate(
+				(int)Math.max(0, Math.min(length, COPY_BUFFER_LENGTH))
+			);
+			
+			final long bound   = sourcePosition + length;
+			long       current = sourcePosition;
+			while(current < bound)
+			{
+				buffer.clear().limit((int)Math.min(buffer.capacity(), bound - current));
+				final long readCount = this.blockFile.read(access, buffer, current, buffer.remaining());
+				if(readCount <= 0)
+				{
+					break;
+				}
+				buffer.flip();
+				target.applyAsLong(X.ArrayView(buffer));
+				current += readCount;
+			}
+			
+			return current - sourcePosition;
 		}
 		
 		protected synchronized AReadableFile ensureReadable()
@@ -399,6 +767,152 @@ public interface StorageFile
 		{
 			return this.writeAccess != null && this.writeAccess.isOpen();
 		}
+		
+		/**
+		 * Forces the bytes written to this file to the storage device, if it is currently opened for writing
+		 * and its file system supports forcing. See {@link StorageDurabilityController}.
+		 * 
+		 * @return whether the file has been forced.
+		 */
+		public synchronized boolean force()
+		{
+			if(!(this.writeAccess instanceof NioWritableFile))
+			{
+				return false;
+			}
+			
+			try
+			{
+				return ((NioWritableFile)this.writeAccess).force();
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoWriting(e);
+			}
+		}
+
+		public final synchronized boolean isPreallocated()
+		{
+			return this.preallocatedContentLength >= 0;
+		}
+		
+		/**
+		 * Extends the file by zero bytes up to the passed physical length, so that subsequent writes fill that space
+		 * instead of appending to the file. The content length of the file, as reported by {@link #size()}, remains
+		 * unchanged. Preallocation is only possible for files that are not block compressed and whose file system
+		 * supports positional writing. See {@link StorageDataFilePreallocationController}.
+		 * 
+		 * @param length the physical length the file shall have at least.
+		 * 
+		 * @return whether the file is preallocated.
+		 */
+		public synchronized boolean preallocate(final long length)
+		{
+			if(this.blockFile() != null)
+			{
+				return false;
+			}
+			
+			final AWritableFile access = this.ensureWritable();
+			if(!(access instanceof NioWritableFile))
+			{
+				return false;
+			}
+			
+			try
+			{
+				final long physicalLength = access.size();
+				if(!this.isPreallocated())
+				{
+					this.preallocatedContentLength = physicalLength;
+				}
+				
+				long position = physicalLength;
+				while(position < length)
+				{
+					final ByteBuffer zeros = PREALLOCATION_ZEROS.duplicate();
+					zeros.limit((int)Math.min(zeros.capacity(), length - position));
+					position += ((NioWritableFile)access).writeBytes(X.ArrayView(zeros), position);
+				}
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoWriting(e);
+			}
+			
+			return true;
+		}
+		
+		/**
+		 * Truncates the trailing preallocated space of the file, if any, making its physical length equal its
+		 * content length again.
+		 * 
+		 * @return whether there was preallocated space to be trimmed.
+		 */
+		public synchronized boolean trimPreallocation()
+		{
+			if(!this.isPreallocated())
+			{
+				return false;
+			}
+			
+			try
+			{
+				this.ensureWritable().truncate(this.preallocatedContentLength);
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoWriting(e);
+			}
+			this.preallocatedContentLength = -1;
+			
+			return true;
+		}
+		
+		private long contentLength(final long position, final long length)
+		{
+			return Math.max(0, Math.min(length, this.preallocatedContentLength - position));
+		}
+		
+		private long writePreallocated(final Iterable<? extends ByteBuffer> buffers)
+		{
+			final long writeCount = ((NioWritableFile)this.ensureWritable()).writeBytes(
+				buffers,
+				this.preallocatedContentLength
+			);
+			this.preallocatedContentLength += writeCount;
+			
+			return writeCount;
+		}
+		
+		private long copyPreallocated(
+			final AReadableFile source        ,
+			final long          sourcePosition,
+			final long          length
+		)
+		{
+			// positional writing requires the copied data to be buffered instead of being transferred directly
+			final ByteBuffer buffer = ByteBuffer.allocate(
+				(int)Math.max(0, Math.min(length, COPY_BUFFER_LENGTH))
+			);
+			
+			final long bound   = sourcePosition + length;
+			long       current = sourcePosition;
+			while(current < bound)
+			{
+				buffer.clear().limit((int)Math.min(buffer.capacity(), bound - current));
+				final long readCount = source.readBytes(buffer, current, buffer.remaining());
+				if(readCount <= 0)
+				{
+					break;
+				}
+				buffer.flip();
+				this.writePreallocated(X.ArrayView(buffer));
+				current += readCount;
+			}
+			
+			return current - sourcePosition;
+		}
 
 		public synchronized boolean close()
 		{
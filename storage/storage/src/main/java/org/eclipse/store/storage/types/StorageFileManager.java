@@ -22,6 +22,7 @@ import static org.eclipse.serializer.util.X.notNull;
 
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
+import java.util.zip.CRC32C;
 
 import org.eclipse.serializer.afs.types.AFS;
 import org.eclipse.serializer.afs.types.AFile;
@@ -32,8 +33,8 @@ import org.eclipse.serializer.collections.XSort;
 import org.eclipse.serializer.collections.types.XGettingSequence;
 import org.eclipse.serializer.exceptions.MultiCauseException;
 import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.binary.types.MemoryRangeReader;
 import org.eclipse.serializer.typing.Disposable;
-import org.eclipse.serializer.typing.XTypes;
 import org.eclipse.serializer.util.BufferSizeProvider;
 import org.eclipse.serializer.util.X;
 import org.eclipse.serializer.util.logging.Logging;
@@ -94,9 +95,25 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 	public boolean issuedFileCleanupCheck(long nanoTimeBudgetBound);
 
 	public void exportData(StorageLiveFileProvider fileProvider);
+	
+	public void writeEntityIndexSnapshot();
 
 	public StorageRawFileStatistics.ChannelStatistics createRawFileStatistics();
 
+	/**
+	 * Collects all checksummed data ranges of the channel's files for a verification that is performed by
+	 * another thread. The files are registered as used by the returned verification until it is released.
+	 * 
+	 * @return a new {@link StorageDataChecksumVerification} instance for all current ranges.
+	 */
+	public StorageDataChecksumVerification provideChecksumVerification();
+
+	public boolean incrementalChecksumVerification(long nanoTimeBudgetBound);
+
+	public boolean incrementalIdleFileClosing(long nanoTimeBudgetBound);
+
+	public boolean checkPeriodicSync();
+
 	// this is not "reset" in terms of "set to initial state", more like a "go back to the start of the chain".
 	public void restartFileCleanupCursor();
 
@@ -110,11 +127,17 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		// constants //
 		//////////////
 
-		// the only reason for this limit is to have an int instead of a long for the item's file position.
-		static final int MAX_FILE_LENGTH = Integer.MAX_VALUE;
-
 		// (22.05.2015 TM)TODO: Debug Flag to disable file cleanup for testing
 		private static final boolean DEBUG_ENABLE_FILE_CLEANUP = true;
+		
+		// entities are loaded with a single read if the gap between them is not larger than a "page".
+		private static final int LOAD_COALESCING_GAP_LENGTH = 4096;
+		
+		// coalesced reads are not extended beyond this length to keep the unrequested data read along moderate.
+		private static final int LOAD_COALESCING_MAXIMUM_LENGTH = 1024 * 1024;
+		
+		// CRC32C values are unsigned 32 bit values, so any negative value can mark the absence of a checksum.
+		private static final long NO_CHECKSUM = -1;
 
 
 
@@ -134,6 +157,17 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			
 			return storagePositions;
 		}
+		
+		private static long chunksLength(final ByteBuffer[] chunks)
+		{
+			long length = 0;
+			for(int i = 0; i < chunks.length; i++)
+			{
+				length += chunks[i].limit();
+			}
+			
+			return length;
+		}
 
 
 
@@ -152,10 +186,25 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		private final StorageWriteController               writeController              ;
 		private final StorageFileWriter                    writer                       ;
 		private final StorageBackupHandler                 backupHandler                ;
+		private final StorageEntityIndexSnapshot           entityIndexSnapshot          ;
+		private final StorageEntityInitializer.Creator     entityInitializerCreator     ;
+		private final StorageDataFileMappingEvaluator      dataFileMappingEvaluator     ;
+		private final StorageDataFileCompression           dataFileCompression          ;
+		private final StorageDataChecksumController        dataChecksumController       ;
+		private final StorageDataFileCostBenefitEvaluator  dataFileCostBenefitEvaluator ;
+		private final StorageIoRateController              ioRateController             ;
+		private final StorageDataFileHandleController      dataFileHandleController     ;
+		private final StorageTransactionsCheckpoint        transactionsCheckpoint       ;
+		private final StorageDurabilityController          durabilityController         ;
+		private final StorageDataFilePreallocationController preallocationController     ;
+		
+		// explicitly issued file checks are never limited
+		private final StorageIoRateLimiter issuedRateLimiter = StorageIoRateLimiter.Unlimited();
 		
 		// to avoid permanent lambda instantiation
 		private final Consumer<? super StorageLiveDataFile.Default> deleter        = this::deleteFile       ;
 		private final Consumer<? super StorageLiveDataFile.Default> pendingDeleter = this::deletePendingFile;
+		private final StorageDataFileDissolvingEvaluator costBenefitDissolver = this::needsCostBenefitDissolving;
 		
 		
 		// state 1.1: entry buffers. Don't need to be resetted. See comment in reset().
@@ -166,7 +215,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			entryBufferStore          = XMemory.allocateDirectNative(StorageTransactionsAnalysis.Logic.entryLengthStore())         ,
 			entryBufferTransfer       = XMemory.allocateDirectNative(StorageTransactionsAnalysis.Logic.entryLengthTransfer())      ,
 			entryBufferFileDeletion   = XMemory.allocateDirectNative(StorageTransactionsAnalysis.Logic.entryLengthFileCreation())  ,
-			entryBufferFileTruncation = XMemory.allocateDirectNative(StorageTransactionsAnalysis.Logic.entryLengthFileTruncation())
+			entryBufferFileTruncation = XMemory.allocateDirectNative(StorageTransactionsAnalysis.Logic.entryLengthFileTruncation()),
+			entryBufferChecksum       = XMemory.allocateDirectNative(StorageTransactionsAnalysis.Logic.entryLengthChecksum())
 		;
 		
 		private final Iterable<? extends ByteBuffer>
@@ -174,7 +224,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			entryBufferWrapStore          = X.ArrayView(this.entryBufferStore         ),
 			entryBufferWrapTransfer       = X.ArrayView(this.entryBufferTransfer      ),
 			entryBufferWrapFileDeletion   = X.ArrayView(this.entryBufferFileDeletion  ),
-			entryBufferWrapFileTruncation = X.ArrayView(this.entryBufferFileTruncation)
+			entryBufferWrapFileTruncation = X.ArrayView(this.entryBufferFileTruncation),
+			
+			// checksum entries are written along with the entry of the range they belong to
+			entryBufferWrapStoreChecksum    = X.ArrayView(this.entryBufferStore   , this.entryBufferChecksum),
+			entryBufferWrapTransferChecksum = X.ArrayView(this.entryBufferTransfer, this.entryBufferChecksum)
 		;
 
 		private final long
@@ -182,7 +236,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			entryBufferStoreAddress          = XMemory.getDirectByteBufferAddress(this.entryBufferStore)         ,
 			entryBufferTransferAddress       = XMemory.getDirectByteBufferAddress(this.entryBufferTransfer)      ,
 			entryBufferFileDeletionAddress   = XMemory.getDirectByteBufferAddress(this.entryBufferFileDeletion)  ,
-			entryBufferFileTruncationAddress = XMemory.getDirectByteBufferAddress(this.entryBufferFileTruncation)
+			entryBufferFileTruncationAddress = XMemory.getDirectByteBufferAddress(this.entryBufferFileTruncation),
+			entryBufferChecksumAddress       = XMemory.getDirectByteBufferAddress(this.entryBufferChecksum)
 		;
 
 		// Entry Buffers have their "effectively immutable" first parts initialized once and never changed again.
@@ -192,6 +247,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			StorageTransactionsAnalysis.Logic.initializeEntryTransfer      (this.entryBufferTransferAddress      );
 			StorageTransactionsAnalysis.Logic.initializeEntryFileDeletion  (this.entryBufferFileDeletionAddress  );
 			StorageTransactionsAnalysis.Logic.initializeEntryFileTruncation(this.entryBufferFileTruncationAddress);
+			StorageTransactionsAnalysis.Logic.initializeEntryChecksum      (this.entryBufferChecksumAddress      );
 		}
 		
 		
@@ -200,6 +256,38 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		// cleared by clearStandardByteBuffer() / reset().
 		private final ByteBuffer standardByteBuffer;
 		
+		// reset before every calculation.
+		private final CRC32C checksum = new CRC32C();
+		
+		// cumulative load statistics, never reset. Monitoring only evaluates differences.
+		private long loadReadCount  ;
+		private long loadEntityCount;
+		
+		// cumulative write statistics, never reset. Monitoring only evaluates differences.
+		private long storedDataLength     ;
+		private long transferredDataLength;
+		
+		// cost-benefit cleanup write budget: write statistics decayed over the evaluator's window,
+		// the cumulative values they were last updated with and the time of the last update (0 if none yet).
+		private double budgetStoredLength     ;
+		private double budgetTransferredLength;
+		private long   budgetStoredMark       ;
+		private long   budgetTransferredMark  ;
+		private long   budgetUpdateTimeNs     ;
+		
+		// cumulative open file handle pool statistics, never reset.
+		private long fileHandleHitCount ;
+		private long fileHandleMissCount;
+		
+		// cumulative durability statistics, never reset. See StorageDurabilityController.
+		private long syncCount        ;
+		private long syncTimeNs       ;
+		private long maximumSyncTimeNs;
+		
+		// periodic sync state. Unsynced writes are only tracked if files are not forced on every write.
+		private long    lastSyncTimeMs   ;
+		private boolean hasUnsyncedWrites;
+		
 		
 		// state 3.0: mutable fields. Must be cleared on reset.
 		
@@ -208,6 +296,13 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		
 		// cleared and nulled by clearRegisteredFiles() / reset()
 		private StorageLiveDataFile.Default fileCleanupCursor;
+		
+		// cleared and nulled by clearRegisteredFiles() / reset()
+		private StorageLiveDataFile.Default costBenefitCandidate;
+		
+		// open non-head data files in least recently used order. Cleared by clearRegisteredFiles() / reset()
+		private StorageLiveDataFile.Default handlePoolFirst, handlePoolLast;
+		private int                         handlePoolSize                ;
 
 		// cleared by clearUncommittedDataLength() / reset()
 		private long uncommittedDataLength;
@@ -215,11 +310,19 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		// cleared in reset() directly, but kind of irrelevant.
 		private int pendingFileDeletes;
 		
+		// cleared and nulled by clearChecksumVerification() / reset()
+		private StorageTransactionsAnalysis.ChecksumCollector checksumVerificationRanges;
+		private int                                           checksumVerificationCursor;
+		private long                                          checksumVerificationTransactionsLength;
+		
 		
 		// state 3.1: variable length content
 
 		// cleared and nulled by clearRegisteredFiles() / reset()
 		private StorageLiveDataFile.Default headFile;
+		
+		// physical length up to which the head file is preallocated, -1 if it cannot be preallocated.
+		private long headFilePreallocatedLength;
 
 		private StorageTransactionsFileCleaner.Default transactionFileCleaner;
 
@@ -239,7 +342,18 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final StorageWriteController               writeController              ,
 			final StorageFileWriter                    writer                       ,
 			final BufferSizeProvider                   standardBufferSizeProvider   ,
-			final StorageBackupHandler                 backupHandler
+			final StorageBackupHandler                 backupHandler                ,
+			final StorageEntityIndexSnapshot           entityIndexSnapshot          ,
+			final StorageEntityInitializer.Creator     entityInitializerCreator     ,
+			final StorageDataFileMappingEvaluator      dataFileMappingEvaluator     ,
+			final StorageDataFileCompression           dataFileCompression          ,
+			final StorageDataChecksumController        dataChecksumController       ,
+			final StorageDataFileCostBenefitEvaluator  dataFileCostBenefitEvaluator ,
+			final StorageIoRateController              ioRateController             ,
+			final StorageDataFileHandleController      dataFileHandleController     ,
+			final StorageTransactionsCheckpoint        transactionsCheckpoint       ,
+			final StorageDurabilityController          durabilityController         ,
+			final StorageDataFilePreallocationController preallocationController
 		)
 		{
 			super();
@@ -252,6 +366,17 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			this.writeController               =     notNull(writeController)              ;
 			this.writer                        =     notNull(writer)                       ;
 			this.backupHandler                 =     mayNull(backupHandler)                ;
+			this.entityIndexSnapshot           =     notNull(entityIndexSnapshot)          ;
+			this.entityInitializerCreator      =     notNull(entityInitializerCreator)     ;
+			this.dataFileMappingEvaluator      =     notNull(dataFileMappingEvaluator)     ;
+			this.dataFileCompression           =     notNull(dataFileCompression)          ;
+			this.dataChecksumController        =     notNull(dataChecksumController)       ;
+			this.dataFileCostBenefitEvaluator  =     notNull(dataFileCostBenefitEvaluator) ;
+			this.ioRateController              =     notNull(ioRateController)             ;
+			this.dataFileHandleController      =     notNull(dataFileHandleController)     ;
+			this.transactionsCheckpoint        =     notNull(transactionsCheckpoint)       ;
+			this.durabilityController          =     notNull(durabilityController)         ;
+			this.preallocationController       =     notNull(preallocationController)      ;
 			
 			this.standardByteBuffer = XMemory.allocateDirectNative(
 				standardBufferSizeProvider.provideBufferSize()
@@ -276,19 +401,25 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			return this.writeController.isFileCleanupEnabled();
 		}
 
+		final StorageEntityTable entityTable()
+		{
+			return this.entityCache.entityTable();
+		}
+
 		final <L extends Consumer<StorageEntity.Default>> L iterateEntities(final L logic)
 		{
 			// (01.04.2016)XXX: not tested yet
 
-			final StorageLiveDataFile.Default head = this.headFile;
+			final StorageEntityTable          table = this.entityTable();
+			final StorageLiveDataFile.Default head  = this.headFile;
 			StorageLiveDataFile.Default file = head; // initial reference, but gets handled at the end
 			do
 			{
 				file = file.next;
-				final StorageEntity.Default tail = file.tail;
-				for(StorageEntity.Default entity = file.head; (entity = entity.fileNext) != tail;)
+				final int tail = file.tail;
+				for(int entity = file.head; (entity = table.fileNext(entity)) != tail;)
 				{
-					logic.accept(entity);
+					logic.accept(table.view(entity));
 				}
 			}
 			while(file != head);
@@ -333,6 +464,16 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			}
 
 			final StorageLiveDataFile.Default headFile = this.headFile;
+			
+			try
+			{
+				this.trimHeadFilePreallocation();
+			}
+			catch(final Exception e)
+			{
+				// not critical: the next initialization truncates the trailing space like any uncommitted data.
+				logger.warn("StorageChannel#{} could not trim preallocated space of head file", this.channelIndex, e);
+			}
 
 			StorageLiveDataFile.Default file = headFile;
 			do
@@ -341,7 +482,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			}
 			while((file = file.next) != headFile);
 
-			this.fileCleanupCursor = this.headFile = null;
+			this.fileCleanupCursor = this.costBenefitCandidate = this.headFile = null;
+			this.handlePoolFirst   = this.handlePoolLast = null;
+			this.handlePoolSize    = 0;
 		}
 
 		private ByteBuffer buffer(final int length)
@@ -367,12 +510,15 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		
 		final void transferOneChainToHeadFile(final StorageLiveDataFile.Default sourceFile)
 		{
-			final StorageLiveDataFile.Default headFile = this.headFile           ;
-			final StorageEntity.Default   first    = sourceFile.head.fileNext;
-			      StorageEntity.Default   last     = null                    ;
-			      StorageEntity.Default   current  = first                   ;
+			this.useFileHandle(sourceFile);
+			
+			final StorageEntityTable          table    = this.entityTable()                 ;
+			final StorageLiveDataFile.Default headFile = this.headFile                      ;
+			final int                         first    = table.fileNext(sourceFile.head)    ;
+			      int                         last     = StorageEntityTable.NONE            ;
+			      int                         current  = first                              ;
 
-			final long copyStart                = first.storagePosition                     ;
+			final long copyStart                = table.storagePosition(first)              ;
 			final long targetFileOldTotalLength = headFile.totalLength()                    ;
 			final long maximumFileSize          = this.dataFileEvaluator.fileMaximumSize()  ;
 			final long freeSpace                = maximumFileSize - targetFileOldTotalLength;
@@ -389,7 +535,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			do
 			{
 				// check for enough free space
-				if(copyLength + current.length > freeSpace)
+				if(copyLength + table.length(current) > freeSpace)
 				{
 					// if there is already something to transfer, break and copy it
 					if(copyLength != 0)
@@ -408,16 +554,16 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				}
 
 				// set new file. Enqueuing in the file's item chain is done for the whole sub chain
-				current.typeInFile      = headFile.typeInFile(current.typeInFile.type);
+				table.setTypeInFile(current, headFile.typeInFile(table.type(current)));
 								
 				// update position to the one in the target file (old length plus current copy length)
-				current.storagePosition = XTypes.to_int(targetFileOldTotalLength + copyLength);
+				table.setStoragePosition(current, targetFileOldTotalLength + copyLength);
 
 				// advance to next entity and add current entity's length to the total copy length
-				copyLength += current.length;
-				current = (last = current).fileNext;
+				copyLength += table.length(current);
+				current = table.fileNext(last = current);
 			}
-			while(current.storagePosition == copyStart + copyLength);
+			while(table.storagePosition(current) == copyStart + copyLength);
 
 			// can only reach here if there is at least one entity to transfer
 
@@ -447,12 +593,15 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 			long headFileLength = headFile.totalLength();
 			
+			this.preallocateHeadFile(copyLength);
+			
 			// do the actual file-level copying in one go at the end and validate the byte count to be sure
 			long bytes = this.writer.writeTransfer(sourceFile, copyStart, copyLength, headFile);
 			if(copyLength != bytes) {
 				
 				logger.error("Data transfer error! Expected {} bytes transferred to head file but only {} bytes had been transferred! Trying again.", copyLength, bytes);
 				headFile.truncate(headFileLength);
+				this.headFilePreallocatedLength = 0;
 				
 				bytes = this.writer.writeTransfer(sourceFile, copyStart, copyLength, headFile);
 				if(copyLength != bytes) {
@@ -464,10 +613,18 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			// increase content length by length of chain
 			// (15.02.2019 TM)NOTE: changed from arithmetic inside #addChainToTail to directly using copyLength in here.
 			headFile.increaseContentLength(copyLength);
+			this.transferredDataLength += copyLength;
 
 			final long newHeadFileLength = headFile.totalLength();
 			final long timestamp         = this.timestampProvider.currentNanoTimestamp();
-			this.writeTransactionsEntryTransfer(sourceFile, copyStart, copyLength, timestamp, newHeadFileLength);
+			
+			// the checksum is calculated from the written data to cover the transfer itself as well
+			final long checksum = this.isChecksumEnabled()
+				? this.calculateChecksum(headFile, headFileLength, copyLength)
+				: NO_CHECKSUM
+			;
+			this.syncHeadFileWrite();
+			this.writeTransactionsEntryTransfer(sourceFile, copyStart, copyLength, timestamp, newHeadFileLength, checksum);
 			
 			/*
 			 * Note:
@@ -499,12 +656,24 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 		private void createNewStorageFile(final long fileNumber)
 		{
+			if(this.headFile != null)
+			{
+				// the former head file must have its logged length before the new file is created
+				final boolean isTrimmed = this.trimHeadFilePreallocation();
+				
+				// data written to the former head file is not covered by syncing the head file any more
+				if(this.durabilityController.isSyncingPeriodically() || isTrimmed && this.durabilityController.isSyncing())
+				{
+					this.syncFile(this.headFile);
+				}
+			}
 
 			final AFile file = this.fileProvider.provideDataFile(
 				this.channelIndex(),
 				fileNumber
 			);
 			file.ensureExists();
+			this.syncFileCreation(file);
 
 			/*
 			 * File#length is incredibly slow compared to FileChannel#size (although irrelevant here),
@@ -535,10 +704,14 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				storageFile.prev = this.headFile;
 				this.headFile.next.prev = storageFile;
 				this.headFile.next = storageFile;
+				
+				// the former head file is no longer written to and becomes a regular member of the pool
+				this.addFileHandle(this.headFile);
 			}
 
 			// in the end the file is set as current head in any case
 			this.headFile = storageFile;
+			this.headFilePreallocatedLength = 0;
 		}
 
 		@Override
@@ -596,12 +769,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			return physicalLength;
 		}
 		
-		private void ensureHeadFileLoadableSize(final ByteBuffer[] dataBuffers)
+		private void ensureLoadableCommitSize(final ByteBuffer[] dataBuffers)
 		{
-			//Must ensure that a file size never exceeds 2^31 bytes size.
-			//If that size is exceeded the storage is corrupted and can't be loaded any more because
-			//the current implementation use only one byte buffer to load a file.
-			//This buffer size is limited to an Integer.MAX_VALUE value.
+			//Must ensure that a single commit never exceeds 2^31 bytes size.
+			//Storage positions are 64 bit values, so files may grow beyond that size, but a commit's data
+			//has to be validated and loaded as a whole by one byte buffer, which is limited to Integer.MAX_VALUE.
 			
 			long commitSize = 0;
 			for(int i = 0; i < dataBuffers.length; i++)
@@ -614,11 +786,6 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 					//But keep exception to have second guard as the validator might be replaced.
 					throw new StorageExceptionCommitSizeExceeded(this.channelIndex(), commitSize);
 				}
-				if(commitSize + this.headFile.totalLength() > Integer.MAX_VALUE)
-				{
-					logger.debug("creating new storage file because appending would exceed the file size limit of 2^31 bytes");
-					this.createNextStorageFile();
-				}
 			}
 		}
 
@@ -626,91 +793,682 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		public final long[] storeChunks(final long timestamp, final ByteBuffer[] dataBuffers)
 			throws StorageExceptionIoWritingChunk
 		{
-			if(dataBuffers.length == 0)
+			if(dataBuffers.length == 0)
+			{
+				return new long[0]; // nothing to write (empty chunk, only header for consistency)
+			}
+			
+			this.checkForNewFile();
+			this.ensureLoadableCommitSize(dataBuffers);
+			this.preallocateHeadFile(chunksLength(dataBuffers));
+				
+			final long   oldTotalLength   = this.ensureHeadFileTotalLength();
+			final long[] storagePositions = allChunksStoragePositions(dataBuffers, oldTotalLength);
+			final long   checksum         = this.isChecksumEnabled() ? this.calculateChecksum(dataBuffers) : NO_CHECKSUM;
+			final long   writeCount       = this.writer.writeStore(this.headFile, X.ArrayView(dataBuffers));
+			final long   newTotalLength   = oldTotalLength + writeCount;
+			
+			if(newTotalLength != this.headFile.size())
+			{
+				throwImpossibleStoreLengthException(timestamp, oldTotalLength, writeCount, dataBuffers);
+			}
+			
+			this.uncommittedDataLength = writeCount;
+			
+			// depending on the durability level, the data must be durable before its transactions entry is written
+			this.syncHeadFileWrite();
+			this.writeTransactionsEntryStore(this.headFile, oldTotalLength, writeCount, timestamp, newTotalLength, checksum);
+			this.syncTransactionsFileWrite();
+			this.checkPeriodicSync();
+
+			this.restartFileCleanupCursor();
+
+			return storagePositions;
+		}
+
+		@Override
+		public final void rollbackWrite()
+		{
+			this.writer.truncate(this.headFile, this.headFile.totalLength(), this.fileProvider);
+			this.headFilePreallocatedLength = 0;
+		}
+
+		@Override
+		public final void commitWrite()
+		{
+			// commit data length
+			this.headFile.increaseContentLength(this.uncommittedDataLength);
+			this.storedDataLength += this.uncommittedDataLength;
+			this.ioRateController.registerForegroundWrite(this.uncommittedDataLength);
+
+			// reset the length change helper field
+			this.clearUncommittedDataLength();
+		}
+		
+		final void clearUncommittedDataLength()
+		{
+			this.uncommittedDataLength = 0;
+		}
+		
+		final void loadData(
+			final StorageLiveDataFile.Default dataFile   ,
+			final int                         entity     ,
+			final long                        length     ,
+			final long                        cacheChange
+		)
+		{
+			this.loadEntityCount++;
+			this.useFileHandle(dataFile);
+			if(this.needsMapping(dataFile) && this.loadMappedData(dataFile, entity, length, cacheChange))
+			{
+				return;
+			}
+			
+			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(length));
+			try
+			{
+				this.loadReadCount++;
+				dataFile.readBytes(dataBuffer, this.entityTable().storagePosition(entity));
+				this.putLiveEntityData(entity, XMemory.getDirectByteBufferAddress(dataBuffer), length, cacheChange);
+			}
+			catch(final StorageExceptionIoReading e)
+			{
+				throw e;
+			}
+			catch(final Exception e)
+			{
+				// (10.12.2014 TM)EXCP: report relevant values
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				this.clearBuffer(dataBuffer);
+			}
+		}
+
+		final void copyCompressedEntityData(
+			final int               entity,
+			final MemoryRangeReader reader
+		)
+		{
+			this.entityCache.copyCompressedEntityData(entity, reader);
+		}
+
+		/**
+		 * Loads the complete data of all passed entities that are not fully cached, yet. The entities are ordered
+		 * by file and position so that adjacent or nearly adjacent entities can be read with a single read.
+		 * <p>
+		 * Note that the passed array gets reordered.
+		 */
+		final void loadData(final int[] entities, final int entityCount)
+		{
+			final StorageEntityTable table = this.entityTable();
+			
+			// move all entities that require loading to the front.
+			int loadCount = 0;
+			for(int i = 0; i < entityCount; i++)
+			{
+				if(table.needsFullDataLoading(entities[i]))
+				{
+					final int entity = entities[i];
+					entities[i] = entities[loadCount];
+					entities[loadCount++] = entity;
+				}
+			}
+			
+			// a single entity does not need any sorting or coalescing, so it is simply loaded on demand later on.
+			if(loadCount < 2)
+			{
+				return;
+			}
+			
+			sortByLoadOrder(table, entities, loadCount);
+			
+			// the cache is trimmed once for the whole batch, so loading it cannot evict parts of it again.
+			this.entityCache.deferCacheEviction();
+			try
+			{
+				for(int i = 0, bound; i < loadCount; i = bound)
+				{
+					bound = this.loadCoalesced(entities, i, loadCount);
+				}
+			}
+			finally
+			{
+				this.entityCache.evictDeferredCachedData(entities, loadCount);
+			}
+		}
+		
+		/**
+		 * Orders the passed entities by file layout. File numbers are unique per channel.
+		 * A shell sort is used as the handles can only be compared via the entity table.
+		 */
+		private static void sortByLoadOrder(final StorageEntityTable table, final int[] entities, final int count)
+		{
+			int gap = 1;
+			while(gap < count / 3)
+			{
+				gap = 3 * gap + 1;
+			}
+			for(; gap > 0; gap /= 3)
+			{
+				for(int i = gap; i < count; i++)
+				{
+					final int entity = entities[i];
+					int j = i;
+					for(; j >= gap && isLoadedBefore(table, entity, entities[j - gap]); j -= gap)
+					{
+						entities[j] = entities[j - gap];
+					}
+					entities[j] = entity;
+				}
+			}
+		}
+		
+		private static boolean isLoadedBefore(final StorageEntityTable table, final int e1, final int e2)
+		{
+			final long fileNumber1 = table.file(e1).number();
+			final long fileNumber2 = table.file(e2).number();
+			
+			return fileNumber1 != fileNumber2
+				? fileNumber1 < fileNumber2
+				: table.storagePosition(e1) < table.storagePosition(e2)
+			;
+		}
+		
+		private int loadCoalesced(
+			final int[] entities  ,
+			final int   startIndex,
+			final int   loadCount
+		)
+		{
+			final StorageEntityTable          table         = this.entityTable();
+			final StorageLiveDataFile.Default dataFile      = table.file(entities[startIndex]);
+			final long                        startPosition = table.storagePosition(entities[startIndex]);
+			
+			long boundPosition = startPosition + table.length(entities[startIndex]);
+			int  boundIndex    = startIndex + 1;
+			for(; boundIndex < loadCount; boundIndex++)
+			{
+				final int  entity   = entities[boundIndex];
+				final long position = table.storagePosition(entity);
+				if(table.file(entity) != dataFile
+				|| position - boundPosition > LOAD_COALESCING_GAP_LENGTH
+				|| position + table.length(entity) - startPosition > LOAD_COALESCING_MAXIMUM_LENGTH)
+				{
+					break;
+				}
+				boundPosition = position + table.length(entity);
+			}
+			
+			if(boundIndex - startIndex == 1 || this.needsMapping(dataFile))
+			{
+				// a mapping makes coalescing pointless and single entities are loaded as usual.
+				for(int i = startIndex; i < boundIndex; i++)
+				{
+					table.ensureCachedFullData(entities[i]);
+				}
+				return boundIndex;
+			}
+			
+			this.useFileHandle(dataFile);
+			
+			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(boundPosition - startPosition));
+			try
+			{
+				this.loadReadCount++;
+				this.loadEntityCount += boundIndex - startIndex;
+				dataFile.readBytes(dataBuffer, startPosition, boundPosition - startPosition);
+				
+				final long bufferAddress = XMemory.getDirectByteBufferAddress(dataBuffer) - startPosition;
+				for(int i = startIndex; i < boundIndex; i++)
+				{
+					this.entityCache.registerCachedData(
+						entities[i],
+						table.putFullCacheData(entities[i], bufferAddress + table.storagePosition(entities[i]))
+					);
+				}
+			}
+			catch(final StorageExceptionIoReading e)
+			{
+				throw e;
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				this.clearBuffer(dataBuffer);
+			}
+			
+			return boundIndex;
+		}
+		
+		final long loadReadCount()
+		{
+			return this.loadReadCount;
+		}
+		
+		final long loadEntityCount()
+		{
+			return this.loadEntityCount;
+		}
+		
+		final long storedDataLength()
+		{
+			return this.storedDataLength;
+		}
+		
+		final long transferredDataLength()
+		{
+			return this.transferredDataLength;
+		}
+		
+		final long fileHandleHitCount()
+		{
+			return this.fileHandleHitCount;
+		}
+		
+		final long fileHandleMissCount()
+		{
+			return this.fileHandleMissCount;
+		}
+		
+		final int openFileHandleCount()
+		{
+			return this.handlePoolSize;
+		}
+		
+		final boolean isFileHandlePoolingEnabled()
+		{
+			return this.dataFileHandleController.isPoolingEnabled();
+		}
+		
+		final long syncCount()
+		{
+			return this.syncCount;
+		}
+		
+		final long syncTimeNs()
+		{
+			return this.syncTimeNs;
+		}
+		
+		final long maximumSyncTimeNs()
+		{
+			return this.maximumSyncTimeNs;
+		}
+		
+		final boolean isSyncing()
+		{
+			return this.durabilityController.isSyncing();
+		}
+		
+		private void syncFile(final StorageFile file)
+		{
+			final long startTimeNs = System.nanoTime();
+			if(!(file instanceof StorageFile.Abstract) || !((StorageFile.Abstract)file).force())
+			{
+				// file is not open for writing or its file system does not support forcing
+				return;
+			}
+			final long syncTimeNs = System.nanoTime() - startTimeNs;
+			
+			this.syncCount++;
+			this.syncTimeNs += syncTimeNs;
+			if(syncTimeNs > this.maximumSyncTimeNs)
+			{
+				this.maximumSyncTimeNs = syncTimeNs;
+			}
+		}
+		
+		/**
+		 * Called after a new file has been created. Stores that are durable on completion must not be lost
+		 * along with the directory entry of the file they have been written to, so the directory is forced, too.
+		 */
+		private void syncFileCreation(final AFile file)
+		{
+			if(this.durabilityController.isSyncingStores())
+			{
+				StorageFile.forceDirectory(file);
+			}
+		}
+		
+		/**
+		 * Called after data has been written to the head file, before the transactions entry referencing it
+		 * is written.
+		 */
+		private void syncHeadFileWrite()
+		{
+			if(this.durabilityController.isSyncingStores())
+			{
+				this.syncFile(this.headFile);
+			}
+			else
+			{
+				this.hasUnsyncedWrites = true;
+			}
+		}
+		
+		/**
+		 * Called after a transactions entry has been written that has to be durable before the operation
+		 * it belongs to is completed.
+		 */
+		private void syncTransactionsFileWrite()
+		{
+			if(this.durabilityController.isSyncingStores())
+			{
+				this.syncFile(this.fileTransactions);
+			}
+			else
+			{
+				this.hasUnsyncedWrites = true;
+			}
+		}
+		
+		/**
+		 * Forces the head file and then the transactions file, making everything durable that has been written
+		 * so far. Former head files have already been forced when they were replaced.
+		 */
+		private void syncAll()
+		{
+			this.syncFile(this.headFile);
+			this.syncFile(this.fileTransactions);
+			
+			this.lastSyncTimeMs    = System.currentTimeMillis();
+			this.hasUnsyncedWrites = false;
+		}
+		
+		/**
+		 * Preallocates the head file if the passed length to be written would exceed its preallocated space.
+		 * See {@link StorageDataFilePreallocationController}.
+		 * 
+		 * @param writeLength the length of the data to be written to the head file.
+		 */
+		private void preallocateHeadFile(final long writeLength)
+		{
+			if(!this.preallocationController.isPreallocationEnabled() || this.headFilePreallocatedLength < 0)
+			{
+				return;
+			}
+			
+			final long requiredLength = this.headFile.totalLength() + writeLength;
+			final long maximumLength  = this.dataFileEvaluator.fileMaximumSize();
+			if(requiredLength <= this.headFilePreallocatedLength || requiredLength > maximumLength)
+			{
+				// oversized writes are simply appended, preallocating for them would only write them twice.
+				return;
+			}
+			
+			final long preallocatedLength = Math.min(
+				Math.max(requiredLength, this.headFilePreallocatedLength + this.preallocationController.preallocationIncrement()),
+				maximumLength
+			);
+			
+			this.headFilePreallocatedLength = this.headFile.preallocate(preallocatedLength)
+				? preallocatedLength
+				: -1 // file system or file format does not support preallocation, don't try again for this file
+			;
+		}
+		
+		private boolean trimHeadFilePreallocation()
+		{
+			this.headFilePreallocatedLength = 0;
+			
+			return this.headFile.trimPreallocation();
+		}
+		
+		@Override
+		public final boolean checkPeriodicSync()
+		{
+			if(this.hasUnsyncedWrites
+			&& this.durabilityController.isSyncingPeriodically()
+			&& System.currentTimeMillis() - this.lastSyncTimeMs >= this.durabilityController.syncIntervalMs()
+			)
+			{
+				this.syncAll();
+			}
+			
+			return true;
+		}
+		
+		/**
+		 * Marks the passed data file as most recently used before it is read. Reading a closed file reopens it
+		 * transparently, so this only has to keep track of the open files and close the least recently used one
+		 * if there are too many.
+		 */
+		private void useFileHandle(final StorageLiveDataFile.Default dataFile)
+		{
+			if(!this.dataFileHandleController.isPoolingEnabled() || this.isHeadFile(dataFile))
+			{
+				return;
+			}
+			
+			if(dataFile.isHandlePooled)
+			{
+				this.fileHandleHitCount++;
+				this.unlinkFileHandle(dataFile);
+			}
+			else
+			{
+				this.fileHandleMissCount++;
+			}
+			
+			this.addFileHandle(dataFile);
+		}
+		
+		private void addFileHandle(final StorageLiveDataFile.Default dataFile)
+		{
+			if(!this.dataFileHandleController.isPoolingEnabled())
+			{
+				return;
+			}
+			
+			dataFile.handleAccessTime = System.nanoTime();
+			dataFile.isHandlePooled   = true;
+			if((dataFile.handlePrev = this.handlePoolLast) == null)
+			{
+				this.handlePoolFirst = dataFile;
+			}
+			else
+			{
+				this.handlePoolLast.handleNext = dataFile;
+			}
+			this.handlePoolLast = dataFile;
+			this.handlePoolSize++;
+			
+			final int maximumOpenFileCount = this.dataFileHandleController.maximumOpenFileCount();
+			while(maximumOpenFileCount > 0 && this.handlePoolSize > maximumOpenFileCount)
+			{
+				this.closeFileHandle(this.handlePoolFirst);
+			}
+		}
+		
+		private void unlinkFileHandle(final StorageLiveDataFile.Default dataFile)
+		{
+			if(!dataFile.isHandlePooled)
+			{
+				return;
+			}
+			
+			if(dataFile.handlePrev == null)
+			{
+				this.handlePoolFirst = dataFile.handleNext;
+			}
+			else
+			{
+				dataFile.handlePrev.handleNext = dataFile.handleNext;
+			}
+			if(dataFile.handleNext == null)
+			{
+				this.handlePoolLast = dataFile.handlePrev;
+			}
+			else
+			{
+				dataFile.handleNext.handlePrev = dataFile.handlePrev;
+			}
+			
+			dataFile.handleNext = dataFile.handlePrev = null;
+			dataFile.isHandlePooled = false;
+			this.handlePoolSize--;
+		}
+		
+		private void closeFileHandle(final StorageLiveDataFile.Default dataFile)
+		{
+			this.unlinkFileHandle(dataFile);
+			
+			// waits for concurrent reads, e.g. by the backup, as all file accesses are synchronized on the file.
+			dataFile.close();
+		}
+		
+		private void registerInitialFileHandles()
+		{
+			if(!this.dataFileHandleController.isPoolingEnabled() || this.headFile == null)
+			{
+				return;
+			}
+			
+			// from the oldest to the newest file, so that the newest files remain open
+			for(StorageLiveDataFile.Default file = this.headFile.next; file != this.headFile; file = file.next)
+			{
+				this.addFileHandle(file);
+			}
+		}
+		
+		@Override
+		public final boolean incrementalIdleFileClosing(final long nanoTimeBudgetBound)
+		{
+			final long idleTimeoutMs = this.dataFileHandleController.idleTimeoutMs();
+			if(idleTimeoutMs == 0)
+			{
+				return true;
+			}
+			
+			final long idleBoundTime = System.nanoTime() - Storage.millisecondsToNanoseconds(idleTimeoutMs);
+			
+			// the pool is ordered by access time, so the first file that is not idle ends the closing
+			while(this.handlePoolFirst != null && this.handlePoolFirst.handleAccessTime - idleBoundTime < 0)
+			{
+				if(System.nanoTime() >= nanoTimeBudgetBound)
+				{
+					return false;
+				}
+				this.closeFileHandle(this.handlePoolFirst);
+			}
+			
+			return true;
+		}
+		
+		final StorageDataFileCompression dataFileCompression()
+		{
+			return this.dataFileCompression;
+		}
+		
+		final boolean isChecksumEnabled()
+		{
+			return this.dataChecksumController.isChecksumEnabled();
+		}
+		
+		final boolean isChecksumVerificationEnabled()
+		{
+			return this.dataChecksumController.isVerificationEnabled();
+		}
+		
+		final long checksumVerificationTimeBudgetNs()
+		{
+			return this.dataChecksumController.verificationTimeBudgetNs();
+		}
+		
+		private long calculateChecksum(final ByteBuffer[] dataBuffers)
+		{
+			final CRC32C checksum = this.checksum;
+			checksum.reset();
+			for(final ByteBuffer dataBuffer : dataBuffers)
 			{
-				return new long[0]; // nothing to write (empty chunk, only header for consistency)
+				// duplicates to leave the buffers' positions untouched for the actual writing
+				checksum.update(dataBuffer.duplicate());
 			}
 			
-			this.checkForNewFile();
-			this.ensureHeadFileLoadableSize(dataBuffers);
-				
-			final long   oldTotalLength   = this.ensureHeadFileTotalLength();
-			final long[] storagePositions = allChunksStoragePositions(dataBuffers, oldTotalLength);
-			final long   writeCount       = this.writer.writeStore(this.headFile, X.ArrayView(dataBuffers));
-			final long   newTotalLength   = oldTotalLength + writeCount;
+			return checksum.getValue();
+		}
+		
+		private long calculateChecksum(
+			final StorageLiveDataFile.Default dataFile,
+			final long                        position,
+			final long                        length
+		)
+		{
+			this.useFileHandle(dataFile);
 			
-			if(newTotalLength != this.headFile.size())
+			final CRC32C     checksum = this.checksum;
+			final ByteBuffer buffer   = this.standardByteBuffer;
+			checksum.reset();
+			
+			try
 			{
-				throwImpossibleStoreLengthException(timestamp, oldTotalLength, writeCount, dataBuffers);
+				for(long p = position, bound = position + length; p < bound;)
+				{
+					final int chunkLength = (int)Math.min(buffer.capacity(), bound - p);
+					buffer.clear().limit(chunkLength);
+					if(dataFile.readBytes(buffer, p, chunkLength) != chunkLength)
+					{
+						throw new StorageExceptionIoReading(
+							"Incomplete read of " + chunkLength + " bytes at position " + p + " of " + dataFile
+						);
+					}
+					buffer.flip();
+					checksum.update(buffer);
+					p += chunkLength;
+				}
+			}
+			finally
+			{
+				this.clearStandardByteBuffer();
 			}
 			
-			this.uncommittedDataLength = writeCount;
-			
-			this.writeTransactionsEntryStore(this.headFile, oldTotalLength, writeCount, timestamp, newTotalLength);
-
-			this.restartFileCleanupCursor();
-
-			return storagePositions;
-		}
-
-		@Override
-		public final void rollbackWrite()
-		{
-			this.writer.truncate(this.headFile, this.headFile.totalLength(), this.fileProvider);
-		}
-
-		@Override
-		public final void commitWrite()
-		{
-			// commit data length
-			this.headFile.increaseContentLength(this.uncommittedDataLength);
-
-			// reset the length change helper field
-			this.clearUncommittedDataLength();
+			return checksum.getValue();
 		}
 		
-		final void clearUncommittedDataLength()
+		private boolean needsMapping(final StorageLiveDataFile.Default dataFile)
 		{
-			this.uncommittedDataLength = 0;
+			// the head file is still written to, so a mapping of it would become outdated right away.
+			return !this.isHeadFile(dataFile) && this.dataFileMappingEvaluator.needsMapping(dataFile.totalLength());
 		}
 		
-		final void loadData(
+		private boolean loadMappedData(
 			final StorageLiveDataFile.Default dataFile   ,
-			final StorageEntity.Default       entity     ,
+			final int                         entity     ,
 			final long                        length     ,
 			final long                        cacheChange
 		)
 		{
-			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(length));
 			try
 			{
-				dataFile.readBytes(dataBuffer, entity.storagePosition);
-				this.putLiveEntityData(entity, XMemory.getDirectByteBufferAddress(dataBuffer), length, cacheChange);
-			}
-			catch(final StorageExceptionIoReading e)
-			{
-				throw e;
+				// copies directly from the mapping into the cache, no read call and no intermediate buffer.
+				if(!dataFile.loadMappedEntityData(entity, length))
+				{
+					return false;
+				}
 			}
 			catch(final Exception e)
 			{
-				// (10.12.2014 TM)EXCP: report relevant values
 				throw new StorageExceptionIoReading(e);
 			}
-			finally
-			{
-				this.clearBuffer(dataBuffer);
-			}
+			this.entityCache.registerCachedData(entity, cacheChange);
+			
+			return true;
 		}
 
 		private void putLiveEntityData(
-			final StorageEntity.Default entity     ,
-			final long                         address    ,
-			final long                         length     ,
-			final long                         cacheChange
+			final int  entity     ,
+			final long address    ,
+			final long length     ,
+			final long cacheChange
 		)
 		{
-			entity.putCacheData(address, length);
-			this.entityCache.modifyUsedCacheSize(cacheChange);
+			this.entityTable().putCacheData(entity, address, length);
+			this.entityCache.registerCachedData(entity, cacheChange);
 		}
 
 		@Override
@@ -750,7 +1508,31 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			try
 			{
 				final StorageTransactionsAnalysis.EntryAggregator
-					aggregator = file.processBy(new StorageTransactionsAnalysis.EntryAggregator(this.channelIndex()));
+					aggregator = new StorageTransactionsAnalysis.EntryAggregator(this.channelIndex());
+
+				final StorageTransactionsCheckpoint.Content checkpoint = this.transactionsCheckpoint.read(
+					this.fileProvider  ,
+					this.channelIndex(),
+					file
+				);
+				if(checkpoint == null)
+				{
+					file.processBy(aggregator);
+				}
+				else
+				{
+					// the checkpoint's consolidated entries replace the log's entries up to the checkpointed length.
+					try
+					{
+						checkpoint.processBy(aggregator);
+					}
+					finally
+					{
+						checkpoint.close();
+					}
+					file.processBy(aggregator, checkpoint.transactionsLength());
+				}
+
 				return aggregator.yield(file);
 			}
 			catch(final Exception e)
@@ -928,7 +1710,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 					this.channelIndex,
 					this.dataFileEvaluator.transactionFileMaximumSize(),
 					this.fileProvider,
-					this.writer
+					this.writer,
+					this.transactionsCheckpoint
 				);
 			
 				this.restartFileCleanupCursor();
@@ -1022,13 +1805,36 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				: this.determineLastFileLength(consistentStoreTimestamp, storageInventory)
 			;
 
-			// register items (gaps and entities, with latest version of each entity replacing all previous)
-			final StorageEntityInitializer<StorageLiveDataFile.Default> initializer =
-				StorageEntityInitializer.New(this.entityCache, f ->
-					StorageLiveDataFile.New(this, f)
-				)
-			;
-			this.headFile = initializer.registerEntities(files, lastFileLength);
+			// a valid snapshot spares reading the data files' ranges covered by it.
+			final StorageEntityIndexSnapshot.Content snapshot = this.entityIndexSnapshot.read(
+				this.fileProvider                ,
+				this.channelIndex                ,
+				files                            ,
+				lastFileLength                   ,
+				this.entityCache.typeDictionary()
+			);
+			try
+			{
+				// register items (gaps and entities, with latest version of each entity replacing all previous)
+				final StorageEntityInitializer<StorageLiveDataFile.Default> initializer =
+					this.entityInitializerCreator.createEntityInitializer(
+						this.entityCache                     ,
+						f -> StorageLiveDataFile.New(this, f),
+						snapshot
+					)
+				;
+				this.headFile = initializer.registerEntities(files, lastFileLength);
+			}
+			finally
+			{
+				if(snapshot != null)
+				{
+					snapshot.close();
+				}
+			}
+			
+			// files read by the initialization are pooled right away, closing the oldest ones beyond the maximum.
+			this.registerInitialFileHandles();
 
 			// validate entities (only the latest versions) before potential transaction file derivation
 			final StorageIdAnalysis idAnalysis = this.entityCache.validateEntities();
@@ -1129,7 +1935,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		private StorageLiveTransactionsFile createTransactionsFile()
 		{
 			final AFile file = this.fileProvider.provideTransactionsFile(this.channelIndex());
-			file.ensureExists();
+			if(!file.exists())
+			{
+				file.ensureExists();
+				this.syncFileCreation(file);
+			}
 			
 			return StorageLiveTransactionsFile.New(file, this.channelIndex());
 		}
@@ -1189,7 +1999,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final long                dataFileOffset        ,
 			final long                storeLength           ,
 			final long                timestamp             ,
-			final long                headFileNewTotalLength
+			final long                headFileNewTotalLength,
+			final long                checksum
 		)
 		{
 			this.entryBufferStore.clear();
@@ -1199,10 +2010,17 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				timestamp
 			);
 			this.writer.writeTransactionEntryStore(
-				this.fileTransactions    ,
-				this.entryBufferWrapStore,
-				dataFile                 ,
-				dataFileOffset           ,
+				this.fileTransactions,
+				this.setChecksumEntry(
+					checksum,
+					headFileNewTotalLength - storeLength,
+					headFileNewTotalLength,
+					timestamp,
+					this.entryBufferWrapStore,
+					this.entryBufferWrapStoreChecksum
+				),
+				dataFile      ,
+				dataFileOffset,
 				storeLength
 			);
 		}
@@ -1212,7 +2030,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final long                sourcefileOffset      ,
 			final long                copyLength            ,
 			final long                timestamp             ,
-			final long                headNewFileTotalLength
+			final long                headNewFileTotalLength,
+			final long                checksum
 		)
 		{
 			this.entryBufferTransfer.clear();
@@ -1226,13 +2045,46 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			
 			this.writer.writeTransactionEntryTransfer(
 				this.fileTransactions,
-				this.entryBufferWrapTransfer,
+				this.setChecksumEntry(
+					checksum,
+					headNewFileTotalLength - copyLength,
+					headNewFileTotalLength,
+					timestamp,
+					this.entryBufferWrapTransfer,
+					this.entryBufferWrapTransferChecksum
+				),
 				sourceFile,
 				sourcefileOffset,
 				copyLength
 			);
 		}
 
+		private Iterable<? extends ByteBuffer> setChecksumEntry(
+			final long                           checksum          ,
+			final long                           startOffset       ,
+			final long                           boundOffset       ,
+			final long                           timestamp         ,
+			final Iterable<? extends ByteBuffer> entryBuffers      ,
+			final Iterable<? extends ByteBuffer> checksummedBuffers
+		)
+		{
+			if(checksum == NO_CHECKSUM)
+			{
+				return entryBuffers;
+			}
+			
+			this.entryBufferChecksum.clear();
+			StorageTransactionsAnalysis.Logic.setEntryChecksum(
+				this.entryBufferChecksumAddress,
+				boundOffset                    ,
+				timestamp                      ,
+				checksum                       ,
+				startOffset
+			);
+			
+			return checksummedBuffers;
+		}
+
 		private void writeTransactionsEntryFileDeletion(
 			final StorageLiveDataFile.Default dataFile ,
 			final long                        timestamp
@@ -1292,6 +2144,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			// 3.X) mutable fields and variable length content
 			this.clearUncommittedDataLength();
 			this.clearRegisteredFiles();
+			this.clearChecksumVerification();
 			
 			// at this point, it is either 0 already or it won't matter since everything has been cleared.
 			this.pendingFileDeletes = 0;
@@ -1312,6 +2165,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			XMemory.deallocateDirectByteBuffer(this.entryBufferTransfer);
 			XMemory.deallocateDirectByteBuffer(this.entryBufferFileDeletion);
 			XMemory.deallocateDirectByteBuffer(this.entryBufferFileTruncation);
+			XMemory.deallocateDirectByteBuffer(this.entryBufferChecksum);
 			XMemory.deallocateDirectByteBuffer(this.standardByteBuffer);
 		}
 
@@ -1351,6 +2205,18 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			});
 		}
 		
+		@Override
+		public void writeEntityIndexSnapshot()
+		{
+			// nothing to write if the channel has not been initialized or is not allowed to write at all.
+			if(this.headFile == null || !this.writeController.isWritable())
+			{
+				return;
+			}
+			
+			this.entityIndexSnapshot.write(this.fileProvider, this.channelIndex, this.headFile);
+		}
+		
 		private static StorageRawFileStatistics.FileStatistics createFileStatistics(final StorageLiveDataFile.Default file)
 		{
 			return StorageRawFileStatistics.FileStatistics.New(
@@ -1391,10 +2257,282 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			);
 		}
 
+		@Override
+		public final StorageDataChecksumVerification provideChecksumVerification()
+		{
+			final StorageTransactionsAnalysis.ChecksumCollector ranges       = this.updateChecksumRanges();
+			final StorageDataChecksumVerification.Default       verification = StorageDataChecksumVerification.New(
+				this.channelIndex,
+				this.standardByteBuffer.capacity()
+			);
+			
+			try
+			{
+				StorageLiveDataFile.Default file = null;
+				for(int i = 0; i < ranges.size(); i++)
+				{
+					if((file = this.lookupChecksumFile(ranges, i, file)) == null)
+					{
+						continue;
+					}
+					
+					// a handle opened only by the verification must not remain open outside of the handle pool.
+					verification.add(
+						file                                                        ,
+						ranges.startOffset(i)                                       ,
+						ranges.boundOffset(i)                                       ,
+						ranges.checksum(i)                                          ,
+						this.dataFileHandleController.isPoolingEnabled()
+							&& !this.isHeadFile(file)
+							&& !file.isHandlePooled
+					);
+				}
+			}
+			catch(final RuntimeException e)
+			{
+				verification.release();
+				throw e;
+			}
+			
+			return verification;
+		}
+
+		@Override
+		public final boolean incrementalChecksumVerification(final long nanoTimeBudgetBound)
+		{
+			if(System.nanoTime() >= nanoTimeBudgetBound)
+			{
+				return false;
+			}
+			
+			if(this.checksumVerificationRanges == null
+				|| this.checksumVerificationCursor >= this.checksumVerificationRanges.size()
+			)
+			{
+				// a new pass only requires parsing the transactions entries appended since the last one
+				this.updateChecksumRanges();
+				this.checksumVerificationCursor = 0;
+			}
+
+			final StorageTransactionsAnalysis.ChecksumCollector ranges = this.checksumVerificationRanges;
+			StorageLiveDataFile.Default file = null;
+			while(this.checksumVerificationCursor < ranges.size())
+			{
+				if(System.nanoTime() >= nanoTimeBudgetBound)
+				{
+					return false;
+				}
+				
+				final int i = this.checksumVerificationCursor++;
+				if((file = this.lookupChecksumFile(ranges, i, file)) == null)
+				{
+					continue;
+				}
+				
+				final StorageDataChecksumReport.CorruptRange corruptRange = this.verifyChecksumRange(ranges, i, file);
+				if(corruptRange != null)
+				{
+					logger.error("StorageChannel#{} detected corrupt data: {}", this.channelIndex, corruptRange);
+				}
+			}
+
+			return true;
+		}
+
+		final void clearChecksumVerification()
+		{
+			this.checksumVerificationRanges             = null;
+			this.checksumVerificationCursor             =    0;
+			this.checksumVerificationTransactionsLength =    0;
+		}
+
+		private StorageTransactionsAnalysis.ChecksumCollector updateChecksumRanges()
+		{
+			final long length = this.fileTransactions.size();
+			if(this.checksumVerificationRanges == null || length < this.checksumVerificationTransactionsLength)
+			{
+				// the log has been rewritten, so the ranges have to be collected anew
+				this.checksumVerificationRanges             = new StorageTransactionsAnalysis.ChecksumCollector();
+				this.checksumVerificationTransactionsLength = 0;
+			}
+			
+			// only the entries appended since the last collection have to be parsed.
+			if(length > this.checksumVerificationTransactionsLength)
+			{
+				this.fileTransactions.processBy(
+					this.checksumVerificationRanges,
+					this.checksumVerificationTransactionsLength
+				);
+				this.checksumVerificationTransactionsLength = length;
+			}
+			
+			return this.checksumVerificationRanges;
+		}
+
+		private StorageLiveDataFile.Default lookupChecksumFile(
+			final StorageTransactionsAnalysis.ChecksumCollector ranges  ,
+			final int                                           index   ,
+			final StorageLiveDataFile.Default                   lastFile
+		)
+		{
+			final long fileNumber = ranges.fileNumber(index);
+
+			// ranges are ordered by file, so the last looked up file is very likely to be the right one again
+			StorageLiveDataFile.Default file = lastFile;
+			if(file == null || file.number() != fileNumber)
+			{
+				file = this.headFile;
+				while((file = file.next).number() != fileNumber)
+				{
+					if(file == this.headFile)
+					{
+						// file has been deleted in the meantime
+						return null;
+					}
+				}
+			}
+
+			// ranges beyond the file's current length have been rolled back without a truncation entry
+			return ranges.boundOffset(index) <= file.totalLength()
+				? file
+				: null
+			;
+		}
+
+		private StorageDataChecksumReport.CorruptRange verifyChecksumRange(
+			final StorageTransactionsAnalysis.ChecksumCollector ranges,
+			final int                                           index ,
+			final StorageLiveDataFile.Default                   file
+		)
+		{
+			final long position = ranges.startOffset(index);
+			final long length   = ranges.boundOffset(index) - position;
+			final long expected = ranges.checksum(index);
+			final long actual   = this.calculateChecksum(file, position, length);
+
+			return actual == expected
+				? null
+				: StorageDataChecksumReport.CorruptRange.New(
+					this.channelIndex,
+					file.number()    ,
+					position         ,
+					length           ,
+					expected         ,
+					actual
+				)
+			;
+		}
+
 		@Override
 		public final boolean incrementalFileCleanupCheck(final long nanoTimeBudgetBound)
 		{
-			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator);
+			if(!this.dataFileCostBenefitEvaluator.isEnabled())
+			{
+				return this.internalCheckForCleanup(
+					nanoTimeBudgetBound                          ,
+					this.dataFileEvaluator                       ,
+					this.ioRateController.housekeepingRateLimiter()
+				);
+			}
+			
+			// a dissolved candidate has no more content, no matter if it is already deleted or still pending deletion
+			if(this.costBenefitCandidate == null || !this.costBenefitCandidate.hasContent())
+			{
+				if((this.costBenefitCandidate = this.selectCostBenefitCandidate()) != null)
+				{
+					// the best candidate is dissolved first, the cycle then continues checking all other files
+					this.fileCleanupCursor = this.costBenefitCandidate;
+				}
+			}
+			
+			return this.internalCheckForCleanup(
+				nanoTimeBudgetBound                          ,
+				this.costBenefitDissolver                    ,
+				this.ioRateController.housekeepingRateLimiter()
+			);
+		}
+		
+		private StorageLiveDataFile.Default selectCostBenefitCandidate()
+		{
+			final StorageDataFileCostBenefitEvaluator evaluator = this.dataFileCostBenefitEvaluator;
+			
+			// dissolving a file copies its live data, which must fit into the remaining write amplification budget
+			final long writeBudget = this.updateWriteBudget(evaluator);
+			if(writeBudget <= 0)
+			{
+				return null;
+			}
+			
+			final StorageLiveDataFile.Default headFile = this.headFile;
+			StorageLiveDataFile.Default bestFile    = null;
+			double                      bestBenefit = 0.0 ;
+			for(StorageLiveDataFile.Default file = headFile.next; file != headFile; file = file.next)
+			{
+				// files without users are pending deletion anyway
+				if(!file.hasUsers() || file.dataLength() > writeBudget)
+				{
+					continue;
+				}
+				
+				final double benefit = evaluator.evaluateBenefit(file, headFile.number() - file.number());
+				if(benefit > bestBenefit)
+				{
+					bestFile    = file   ;
+					bestBenefit = benefit;
+				}
+			}
+			
+			return bestFile;
+		}
+		
+		/**
+		 * Decays the write statistics of the budget window by the time passed since the last update and adds
+		 * the data written since then. Only recent writes count, so neither a restart (empty cumulative values)
+		 * nor a long history of transfers without corresponding stores blocks the cleanup for good.
+		 * The evaluator's minimum budget is always granted on top of the amplification budget.
+		 */
+		private long updateWriteBudget(final StorageDataFileCostBenefitEvaluator evaluator)
+		{
+			final long   timeNs = System.nanoTime();
+			final double decay  = this.budgetUpdateTimeNs == 0
+				? 0.0
+				: Math.exp(-(double)(timeNs - this.budgetUpdateTimeNs) / evaluator.writeBudgetWindowNs())
+			;
+			
+			this.budgetStoredLength      = this.budgetStoredLength      * decay
+				+ (this.storedDataLength      - this.budgetStoredMark)
+			;
+			this.budgetTransferredLength = this.budgetTransferredLength * decay
+				+ (this.transferredDataLength - this.budgetTransferredMark)
+			;
+			this.budgetStoredMark      = this.storedDataLength     ;
+			this.budgetTransferredMark = this.transferredDataLength;
+			this.budgetUpdateTimeNs    = timeNs == 0 ? 1 : timeNs  ;
+			
+			return (long)((evaluator.maximumWriteAmplification() - 1.0) * this.budgetStoredLength
+				+ evaluator.minimumWriteBudget()
+				- this.budgetTransferredLength
+			);
+		}
+		
+		private boolean needsCostBenefitDissolving(final StorageLiveDataFile file)
+		{
+			if(file == this.costBenefitCandidate)
+			{
+				return true;
+			}
+			
+			// only the size related part of the default evaluation applies, the use ratio is replaced by the ranking
+			if(file.isHeadFile())
+			{
+				return false;
+			}
+			
+			final long totalLength = file.totalLength();
+			return totalLength < this.dataFileEvaluator.fileMinimumSize()
+				|| totalLength > this.dataFileEvaluator.fileMaximumSize()
+				&& !(file.hasSingleEntity() && file.dataLength() == totalLength)
+			;
 		}
 
 		@Override
@@ -1406,7 +2544,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		@Override
 		public final boolean issuedFileCleanupCheck(final long nanoTimeBudgetBound)
 		{
-			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator);
+			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator, this.issuedRateLimiter);
 		}
 
 		public boolean issuedTransactionFileCheck(final boolean checkSize)
@@ -1435,7 +2573,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 		private boolean internalCheckForCleanup(
 			final long                               nanoTimeBudgetBound,
-			final StorageDataFileDissolvingEvaluator fileDissolver
+			final StorageDataFileDissolvingEvaluator fileDissolver      ,
+			final StorageIoRateLimiter               rateLimiter
 		)
 		{
 			if(!DEBUG_ENABLE_FILE_CLEANUP)
@@ -1482,8 +2621,13 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 						this.createNextStorageFile();
 					}
 
-					if(!this.incrementalDissolveStorageFile(this.fileCleanupCursor, nanoTimeBudgetBound))
+					if(!this.incrementalDissolveStorageFile(this.fileCleanupCursor, nanoTimeBudgetBound, rateLimiter))
 					{
+						// transfers beyond the I/O rate limit are continued by a later housekeeping cycle
+						if(rateLimiter.isThrottled())
+						{
+							break;
+						}
 						continue;
 					}
 					// file has been dissolved completely and deleted, do special case checking here as well.
@@ -1524,11 +2668,12 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 		private boolean incrementalDissolveStorageFile(
 			final StorageLiveDataFile.Default file               ,
-			final long                        nanoTimeBudgetBound
+			final long                        nanoTimeBudgetBound,
+			final StorageIoRateLimiter        rateLimiter
 		)
 		{
 
-			if(this.incrementalTransferEntities(file, nanoTimeBudgetBound))
+			if(this.incrementalTransferEntities(file, nanoTimeBudgetBound, rateLimiter))
 			{
 				if(file.unregisterUsageClosingData(this, this.deleter))
 				{
@@ -1548,6 +2693,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		{
 
 			file.detach();
+			this.unlinkFileHandle(file);
 			file.close(); // idempotent. No harm in calling on an already closed file.
 
 			/* must write transaction file entry BEFORE actually deleting the file (inverted logic)
@@ -1564,25 +2710,41 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			 * (keep it alive to re-evaluate it or delete it, etc.)
 			 */
 			this.writeTransactionsEntryFileDeletion(file, this.timestampProvider.currentNanoTimestamp());
+			
+			// the deletion entry and all data transferred out of the file must be durable before the file is gone
+			if(this.durabilityController.isSyncingPeriodically())
+			{
+				this.syncAll();
+			}
+			else
+			{
+				this.syncTransactionsFileWrite();
+			}
 
 			// (12.08.2020 TM)FIXME: priv#351: where and how to check whether files may be deleted? Here? Weird!
 			
 			// physically delete file after the transactions entry is ensured
 			this.writer.delete(file, this.writeController, this.fileProvider);
+			
+			// the file does not contain any entities anymore, so its entries in the entity table are obsolete.
+			file.releaseTableEntries();
 		}
 
 		private boolean incrementalTransferEntities(
 			final StorageLiveDataFile.Default file               ,
-			final long                        nanoTimeBudgetBound
+			final long                        nanoTimeBudgetBound,
+			final StorageIoRateLimiter        rateLimiter
 		)
 		{
 			// check for new head file in any case
 			this.checkForNewFile();
 
 			// dissolve file to as much head files as needed.
-			while(file.hasContent() && System.nanoTime() < nanoTimeBudgetBound)
+			while(file.hasContent() && System.nanoTime() < nanoTimeBudgetBound && !rateLimiter.isThrottled())
 			{
+				final long transferredDataLength = this.transferredDataLength;
 				this.transferOneChainToHeadFile(file);
+				rateLimiter.consume(this.transferredDataLength - transferredDataLength);
 			}
 
 
@@ -1590,31 +2752,32 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			return !file.hasContent();
 		}
 		
-		final StorageEntity.Default getFirstEntity()
+		final int getFirstEntity()
 		{
 			final StorageLiveDataFile.Default currentFile = this.currentStorageFile();
 			if(currentFile == null)
 			{
 				// can occur when an exception causes a reset call during initialization
-				return null;
+				return StorageEntityTable.NONE;
 			}
 			
+			final StorageEntityTable          table        = this.entityTable();
 			final StorageLiveDataFile.Default startingFile = currentFile.next;
 			StorageLiveDataFile.Default file = startingFile;
 			do
 			{
-				if(file.head.fileNext != startingFile.tail)
+				if(table.fileNext(file.head) != startingFile.tail)
 				{
 					if(file.hasContent())
 					{
-						return file.head.fileNext;
+						return table.fileNext(file.head);
 					}
 				}
 			}
 			while((file = file.next) != startingFile);
 			
-			// no file contains any (proper) entity. So return null.
-			return null;
+			// no file contains any (proper) entity. So return NONE.
+			return StorageEntityTable.NONE;
 		}
 		
 		
@@ -1656,8 +2819,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				// register each entity in the batch (possibly just one)
 				for(StorageChannelImportEntity entity = batch.first(); entity != null; entity = entity.next())
 				{
-					final StorageEntity.Default actual = entityCache.putEntity(entity.objectId(), entity.type());
-					actual.updateStorageInformation(entity.length(), X.checkArrayRange(loopFileLength));
+					final int actual = entityCache.putEntity(entity.objectId(), entity.type());
+					entityCache.entityTable().updateStorageInformation(actual, entity.length(), loopFileLength);
 					headFile.appendEntry(actual);
 					loopFileLength += entity.length();
 				}
@@ -1665,9 +2828,15 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 			final long copyLength = loopFileLength - oldTotalLength;
 			headFile.increaseContentLength(copyLength);
+			this.storedDataLength += copyLength;
+			this.ioRateController.registerForegroundWrite(copyLength);
 			this.cleanupImportHelper();
 
-			this.writeTransactionsEntryStore(this.headFile, oldTotalLength, copyLength, taskTimestamp, loopFileLength);
+			final long checksum = this.isChecksumEnabled() && copyLength > 0
+				? this.calculateChecksum(headFile, oldTotalLength, copyLength)
+				: NO_CHECKSUM
+			;
+			this.writeTransactionsEntryStore(this.headFile, oldTotalLength, copyLength, taskTimestamp, loopFileLength, checksum);
 		}
 
 		final void cleanupImportHelper()
@@ -1699,6 +2868,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			StorageLiveDataFile.Default       doomed = this.importHelper.preImportHeadFile.next;
 			this.headFile.next = null;
 			(first.prev = this.headFile = this.importHelper.preImportHeadFile).next = first;
+			
+			// the former head file is written to again
+			this.unlinkFileHandle(this.headFile);
 
 			final BulkList<RuntimeException> exceptions = BulkList.New();
 			while(doomed != null)
@@ -1724,6 +2896,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		private void terminateFile(final StorageLiveDataFile.Default file)
 		{
 			// (12.08.2020 TM)FIXME: priv#351: where and how to check whether files may be deleted? Here? Weird!
+			this.unlinkFileHandle(file);
 			file.close();
 			this.writer.delete(file, this.writeController, this.fileProvider);
 		}
@@ -1800,7 +2973,13 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				return true;
 			}
 			
-			this.transactionFileCleaner.compactTransactionsFile(checkSize);
+			if(this.transactionFileCleaner.compactTransactionsFile(checkSize))
+			{
+				// positions in the rewritten log do not match the collected ones any more
+				this.checksumVerificationRanges             = null;
+				this.checksumVerificationTransactionsLength =    0;
+			}
+			this.transactionFileCleaner.checkpointTransactionsFile(true);
 			
 			return true;
 		}
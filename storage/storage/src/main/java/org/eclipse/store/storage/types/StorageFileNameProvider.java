@@ -34,6 +34,10 @@ public interface StorageFileNameProvider
 	
 	public String transactionsFileType();
 
+	public String entityIndexFileType();
+
+	public String transactionsCheckpointFileType();
+
 	public String rescuedFileType();
 	
 	public String typeDictionaryFileName();
@@ -44,6 +48,10 @@ public interface StorageFileNameProvider
 
 	public String provideTransactionsFileName(int channelIndex);
 	
+	public String provideEntityIndexFileName(int channelIndex);
+	
+	public String provideTransactionsCheckpointFileName(int channelIndex);
+	
 	/* (18.06.2020 TM)TODO: remove parsing from filename provider.
 	 * So far, the meta information of a file are parsed from its file name.
 	 * This is dangerous since renaming a file would affect (= destroy) the storage data order and consistency.
@@ -88,6 +96,21 @@ public interface StorageFileNameProvider
 			return "sft"; // "storage file transactions"
 		}
 		
+		public static String defaultEntityIndexFilePrefix()
+		{
+			return "index_";
+		}
+		
+		public static String defaultEntityIndexFileSuffix()
+		{
+			return "sei"; // "storage entity index"
+		}
+		
+		public static String defaultTransactionsCheckpointFileSuffix()
+		{
+			return "stc"; // "storage transactions checkpoint"
+		}
+		
 		public static String defaultRescuedFileSuffix()
 		{
 			return "bak"; // "backup" - although admittedly, that might be a bit confusing with the BackupFile concept.
@@ -237,6 +260,18 @@ public interface StorageFileNameProvider
 			return this.transactionsFileType;
 		}
 		
+		@Override
+		public String entityIndexFileType()
+		{
+			return Defaults.defaultEntityIndexFileSuffix();
+		}
+		
+		@Override
+		public String transactionsCheckpointFileType()
+		{
+			return Defaults.defaultTransactionsCheckpointFileSuffix();
+		}
+		
 		@Override
 		public String rescuedFileType()
 		{
@@ -267,6 +302,19 @@ public interface StorageFileNameProvider
 			return this.transactionsFilePrefix + channelIndex;
 		}
 
+		@Override
+		public final String provideEntityIndexFileName(final int channelIndex)
+		{
+			return Defaults.defaultEntityIndexFilePrefix() + channelIndex;
+		}
+
+		@Override
+		public final String provideTransactionsCheckpointFileName(final int channelIndex)
+		{
+			// same name as the transactions file, distinguished by the file type.
+			return this.transactionsFilePrefix + channelIndex;
+		}
+
 		@Override
 		public <F extends StorageDataFile> void parseDataInventoryFile(
 			final StorageDataFile.Creator<F> fileCreator ,
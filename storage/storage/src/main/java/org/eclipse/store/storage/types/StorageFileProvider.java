@@ -507,6 +507,26 @@ public interface StorageFileProvider extends PersistenceTypeDictionaryIoHandler.
 			return file;
 		}
 
+		public AFile provideEntityIndexFile(final int channelIndex)
+		{
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     fileName         = this.fileNameProvider.provideEntityIndexFileName(channelIndex);
+			final String     fileType         = this.fileNameProvider.entityIndexFileType();
+			final AFile      file             = channelDirectory.ensureFile(fileName, fileType);
+			
+			return file;
+		}
+
+		public AFile provideTransactionsCheckpointFile(final int channelIndex)
+		{
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     fileName         = this.fileNameProvider.provideTransactionsCheckpointFileName(channelIndex);
+			final String     fileType         = this.fileNameProvider.transactionsCheckpointFileType();
+			final AFile      file             = channelDirectory.ensureFile(fileName, fileType);
+			
+			return file;
+		}
+
 		public AFile provideLockFile()
 		{
 			final AFile file = this.baseDirectory.ensureFile(this.fileNameProvider.lockFileName());
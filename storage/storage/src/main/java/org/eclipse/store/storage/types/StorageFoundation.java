@@ -540,6 +540,202 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	 */
 	public StorageEntityCollector.Creator getStorageEntityCollectorCreator();
 	
+	/**
+	 * Returns the currently set {@link StorageEntityIndex.Creator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityIndex.Creator getEntityIndexCreator();
+	
+	/**
+	 * Returns the currently set {@link StorageEntityIndexSnapshot} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityIndexSnapshot getEntityIndexSnapshot();
+	
+	/**
+	 * Returns the currently set {@link StorageEntityInitializer.Creator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityInitializer.Creator getEntityInitializerCreator();
+	
+	/**
+	 * Returns the currently set {@link StorageDataFileMappingEvaluator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataFileMappingEvaluator getDataFileMappingEvaluator();
+	
+	/**
+	 * Returns the currently set {@link StorageGroupCommitController} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageGroupCommitController getGroupCommitController();
+	
+	/**
+	 * Returns the currently set {@link StorageEntityCacheCompressor} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityCacheCompressor getEntityCacheCompressor();
+	
+	/**
+	 * Returns the currently set {@link StorageDataFileCompression} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataFileCompression getDataFileCompression();
+	
+	/**
+	 * Returns the currently set {@link StorageDataChecksumController} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataChecksumController getDataChecksumController();
+	
+	/**
+	 * Returns the currently set {@link StorageDataFileCostBenefitEvaluator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataFileCostBenefitEvaluator getDataFileCostBenefitEvaluator();
+	
+	/**
+	 * Returns the currently set {@link StorageIoRateController} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageIoRateController getIoRateController();
+	
+	/**
+	 * Returns the currently set {@link StorageDataFileHandleController} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataFileHandleController getDataFileHandleController();
+	
+	/**
+	 * Returns the currently set {@link StorageTransactionsCheckpoint} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageTransactionsCheckpoint getTransactionsCheckpoint();
+	
+	/**
+	 * Returns the currently set {@link StorageDurabilityController} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDurabilityController getDurabilityController();
+	
+	/**
+	 * Returns the currently set {@link StorageDataFilePreallocationController} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageDataFilePreallocationController getDataFilePreallocationController();
+	
 	/**
 	 * Sets the {@link StorageConfiguration} instance to be used for the assembly.
 	 * 
@@ -578,6 +774,8 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	
 	/**
 	 * Sets the {@link StorageTaskBroker.Creator} instance to be used for the assembly.
+	 * The default is {@link StorageTaskBroker.Creator.Default}, use {@link StorageTaskBroker.Creator#LockFree()}
+	 * for a task broker that enqueues tasks without locking and wakes waiting channel threads individually.
 	 * 
 	 * @param taskBrokerCreator the instance to be used.
 	 * 
@@ -731,6 +929,9 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	
 	/**
 	 * Sets the {@link StorageObjectIdMarkQueue.Creator} instance to be used for the assembly.
+	 * The default is {@link StorageObjectIdMarkQueue.Creator.Default}, use
+	 * {@link StorageObjectIdMarkQueue.Creator#LockFree()} for mark queues that other channels can hand off
+	 * object ids to without locking.
 	 * 
 	 * @param oidMarkQueueCreator the instance to be used.
 	 * 
@@ -740,6 +941,7 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	
 	/**
 	 * Sets the {@link StorageEntityMarkMonitor.Creator} instance to be used for the assembly.
+	 * Use {@link StorageEntityMarkMonitor#Creator(int, int)} for generational garbage collection.
 	 * 
 	 * @param entityMarkMonitorCreator the instance to be used.
 	 * 
@@ -861,6 +1063,172 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	 */
 	public F setStorageEntityCollectorCreator(StorageEntityCollector.Creator storageEntityCollectorCreator);
 	
+	/**
+	 * Sets the {@link StorageEntityIndex.Creator} instance to be used for the assembly.
+	 * 
+	 * @param entityIndexCreator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityIndexCreator(StorageEntityIndex.Creator entityIndexCreator);
+	
+	/**
+	 * Sets the {@link StorageEntityIndexSnapshot} instance to be used for the assembly.
+	 * The default is {@link StorageEntityIndexSnapshot#Disabled()}, use {@link StorageEntityIndexSnapshot#New()}
+	 * to initialize channels from snapshots written at shutdown.
+	 * 
+	 * @param entityIndexSnapshot the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityIndexSnapshot(StorageEntityIndexSnapshot entityIndexSnapshot);
+	
+	/**
+	 * Sets the {@link StorageEntityInitializer.Creator} instance to be used for the assembly.
+	 * The default is {@link StorageEntityInitializer#Creator()}, use
+	 * {@link StorageEntityInitializer#CreatorParallel(int, long)} to read and parse the data files in parallel
+	 * during channel initialization.
+	 * 
+	 * @param entityInitializerCreator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityInitializerCreator(StorageEntityInitializer.Creator entityInitializerCreator);
+	
+	/**
+	 * Sets the {@link StorageDataFileMappingEvaluator} instance to be used for the assembly.
+	 * The default is {@link StorageDataFileMappingEvaluator#Disabled()}, use
+	 * {@link StorageDataFileMappingEvaluator#New()} to load entity data from memory mapped data files.
+	 * 
+	 * @param dataFileMappingEvaluator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataFileMappingEvaluator(StorageDataFileMappingEvaluator dataFileMappingEvaluator);
+	
+	/**
+	 * Sets the {@link StorageGroupCommitController} instance to be used for the assembly.
+	 * The default is {@link StorageGroupCommitController#Disabled()}, use
+	 * {@link StorageGroupCommitController#New(long, long)} to group concurrent store requests.
+	 * <p>
+	 * Note that the instance is used by the default {@link StorageRequestTaskCreator}, so setting it has no effect
+	 * if a custom {@link StorageRequestTaskCreator} is set.
+	 * 
+	 * @param groupCommitController the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setGroupCommitController(StorageGroupCommitController groupCommitController);
+	
+	/**
+	 * Sets the {@link StorageEntityCacheCompressor} instance to be used for the assembly.
+	 * The default is {@link StorageEntityCacheCompressor#Disabled()}, use
+	 * {@link StorageEntityCacheCompressor#New(long)} to keep large cached entity data compressed.
+	 * 
+	 * @param entityCacheCompressor the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityCacheCompressor(StorageEntityCacheCompressor entityCacheCompressor);
+	
+	/**
+	 * Sets the {@link StorageDataFileCompression} instance to be used for the assembly.
+	 * The default is {@link StorageDataFileCompression#Disabled()}, use
+	 * {@link StorageDataFileCompression#New()} to write new data files block compressed.
+	 * 
+	 * @param dataFileCompression the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataFileCompression(StorageDataFileCompression dataFileCompression);
+	
+	/**
+	 * Sets the {@link StorageDataChecksumController} instance to be used for the assembly.
+	 * The default is {@link StorageDataChecksumController#Disabled()}, use
+	 * {@link StorageDataChecksumController#New()} to record and verify checksums of newly written data.
+	 * 
+	 * @param dataChecksumController the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataChecksumController(StorageDataChecksumController dataChecksumController);
+	
+	/**
+	 * Sets the {@link StorageDataFileCostBenefitEvaluator} instance to be used for the assembly.
+	 * The default is {@link StorageDataFileCostBenefitEvaluator#Disabled()}, meaning files are dissolved solely
+	 * based on the {@link StorageDataFileEvaluator}. Use {@link StorageDataFileCostBenefitEvaluator#New()}
+	 * to dissolve the most beneficial files first within a write amplification budget.
+	 * 
+	 * @param dataFileCostBenefitEvaluator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataFileCostBenefitEvaluator(StorageDataFileCostBenefitEvaluator dataFileCostBenefitEvaluator);
+	
+	/**
+	 * Sets the {@link StorageIoRateController} instance to be used for the assembly.
+	 * The default is {@link StorageIoRateController#Disabled()}, use
+	 * {@link StorageIoRateController#New(long, long, long)} to limit the byte rates of file cleanup transfers
+	 * and backup copying.
+	 * 
+	 * @param ioRateController the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setIoRateController(StorageIoRateController ioRateController);
+	
+	/**
+	 * Sets the {@link StorageDataFileHandleController} instance to be used for the assembly.
+	 * The default is {@link StorageDataFileHandleController#Disabled()}, use
+	 * {@link StorageDataFileHandleController#New()} to limit the number of open data files per channel
+	 * and to close idle data files.
+	 * 
+	 * @param dataFileHandleController the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataFileHandleController(StorageDataFileHandleController dataFileHandleController);
+	
+	/**
+	 * Sets the {@link StorageTransactionsCheckpoint} instance to be used for the assembly.
+	 * The default is {@link StorageTransactionsCheckpoint#Disabled()}, use
+	 * {@link StorageTransactionsCheckpoint#New()} to periodically checkpoint the transactions log
+	 * and only analyze the entries appended after the last checkpoint on startup.
+	 * 
+	 * @param transactionsCheckpoint the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setTransactionsCheckpoint(StorageTransactionsCheckpoint transactionsCheckpoint);
+	
+	/**
+	 * Sets the {@link StorageDurabilityController} instance to be used for the assembly.
+	 * The default is {@link StorageDurabilityController#Disabled()}, leaving it to the file system when written
+	 * data becomes durable. Use {@link StorageDurabilityController#SyncEach()},
+	 * {@link StorageDurabilityController#GroupSync()} or {@link StorageDurabilityController#Periodic()}
+	 * to force written data to the storage device.
+	 * <p>
+	 * Note that {@link StorageDurabilityController.Level#GROUP_SYNC} replaces a group commit controller that
+	 * is not set explicitly.
+	 * 
+	 * @param durabilityController the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDurabilityController(StorageDurabilityController durabilityController);
+	
+	/**
+	 * Sets the {@link StorageDataFilePreallocationController} instance to be used for the assembly.
+	 * The default is {@link StorageDataFilePreallocationController#Disabled()}, use
+	 * {@link StorageDataFilePreallocationController#New()} to preallocate the head data files in increments
+	 * instead of appending to them with every write.
+	 * 
+	 * @param dataFilePreallocationController the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setDataFilePreallocationController(StorageDataFilePreallocationController dataFilePreallocationController);
+	
 	/**
 	 * Creates and returns a new {@link StorageSystem} instance by using the current state of all registered
 	 * logic part instances and by on-demand creating missing ones via a default logic.
@@ -927,6 +1295,20 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 		private StorageStructureValidator                storageStructureValidator    ;
 		private MonitoringManager                        storageMonitorManager        ;
 		private StorageEntityCollector.Creator           storageEntityCollectorCreator;
+		private StorageEntityIndex.Creator               entityIndexCreator           ;
+		private StorageEntityIndexSnapshot               entityIndexSnapshot          ;
+		private StorageEntityInitializer.Creator         entityInitializerCreator     ;
+		private StorageDataFileMappingEvaluator          dataFileMappingEvaluator     ;
+		private StorageGroupCommitController             groupCommitController        ;
+		private StorageEntityCacheCompressor             entityCacheCompressor        ;
+		private StorageDataFileCompression               dataFileCompression          ;
+		private StorageDataChecksumController            dataChecksumController       ;
+		private StorageDataFileCostBenefitEvaluator      dataFileCostBenefitEvaluator ;
+		private StorageIoRateController                  ioRateController             ;
+		private StorageDataFileHandleController          dataFileHandleController     ;
+		private StorageTransactionsCheckpoint            transactionsCheckpoint       ;
+		private StorageDurabilityController              durabilityController         ;
+		private StorageDataFilePreallocationController   dataFilePreallocationController;
 
 		
 		
@@ -1043,7 +1425,8 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 		protected StorageRequestTaskCreator ensureRequestTaskCreator()
 		{
 			return new StorageRequestTaskCreator.Default(
-				this.getTimestampProvider()
+				this.getTimestampProvider()    ,
+				this.getGroupCommitController()
 			);
 		}
 
@@ -1186,6 +1569,86 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			return StorageEntityCollector.Creator.Default();
 		}
 		
+		protected StorageEntityIndex.Creator ensureEntityIndexCreator()
+		{
+			return StorageEntityIndex.Creator();
+		}
+		
+		protected StorageEntityIndexSnapshot ensureEntityIndexSnapshot()
+		{
+			return StorageEntityIndexSnapshot.Disabled();
+		}
+		
+		protected StorageEntityInitializer.Creator ensureEntityInitializerCreator()
+		{
+			return StorageEntityInitializer.Creator();
+		}
+		
+		protected StorageDataFileMappingEvaluator ensureDataFileMappingEvaluator()
+		{
+			return StorageDataFileMappingEvaluator.Disabled();
+		}
+		
+		protected StorageGroupCommitController ensureGroupCommitController()
+		{
+			final StorageDurabilityController durabilityController = this.getDurabilityController();
+			if(durabilityController.level() == StorageDurabilityController.Level.GROUP_SYNC)
+			{
+				// grouping concurrent stores is what makes one sync cover several of them
+				return StorageGroupCommitController.New(
+					durabilityController.maximumGroupLength(),
+					durabilityController.groupingDelayNs()
+				);
+			}
+			
+			return StorageGroupCommitController.Disabled();
+		}
+		
+		protected StorageEntityCacheCompressor ensureEntityCacheCompressor()
+		{
+			return StorageEntityCacheCompressor.Disabled();
+		}
+		
+		protected StorageDataFileCompression ensureDataFileCompression()
+		{
+			return StorageDataFileCompression.Disabled();
+		}
+		
+		protected StorageDataChecksumController ensureDataChecksumController()
+		{
+			return StorageDataChecksumController.Disabled();
+		}
+		
+		protected StorageDataFileCostBenefitEvaluator ensureDataFileCostBenefitEvaluator()
+		{
+			return StorageDataFileCostBenefitEvaluator.Disabled();
+		}
+		
+		protected StorageIoRateController ensureIoRateController()
+		{
+			return StorageIoRateController.Disabled();
+		}
+		
+		protected StorageDataFileHandleController ensureDataFileHandleController()
+		{
+			return StorageDataFileHandleController.Disabled();
+		}
+		
+		protected StorageTransactionsCheckpoint ensureTransactionsCheckpoint()
+		{
+			return StorageTransactionsCheckpoint.Disabled();
+		}
+		
+		protected StorageDurabilityController ensureDurabilityController()
+		{
+			return StorageDurabilityController.Disabled();
+		}
+		
+		protected StorageDataFilePreallocationController ensureDataFilePreallocationController()
+		{
+			return StorageDataFilePreallocationController.Disabled();
+		}
+		
 
 		@Override
 		public StorageOperationController.Creator getOperationControllerCreator()
@@ -1587,6 +2050,146 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			return this.storageEntityCollectorCreator;
 		}
 		
+		@Override
+		public StorageEntityIndex.Creator getEntityIndexCreator()
+		{
+			if(this.entityIndexCreator == null)
+			{
+				this.entityIndexCreator = this.dispatch(this.ensureEntityIndexCreator());
+			}
+			return this.entityIndexCreator;
+		}
+		
+		@Override
+		public StorageEntityIndexSnapshot getEntityIndexSnapshot()
+		{
+			if(this.entityIndexSnapshot == null)
+			{
+				this.entityIndexSnapshot = this.dispatch(this.ensureEntityIndexSnapshot());
+			}
+			return this.entityIndexSnapshot;
+		}
+		
+		@Override
+		public StorageEntityInitializer.Creator getEntityInitializerCreator()
+		{
+			if(this.entityInitializerCreator == null)
+			{
+				this.entityInitializerCreator = this.dispatch(this.ensureEntityInitializerCreator());
+			}
+			return this.entityInitializerCreator;
+		}
+		
+		@Override
+		public StorageDataFileMappingEvaluator getDataFileMappingEvaluator()
+		{
+			if(this.dataFileMappingEvaluator == null)
+			{
+				this.dataFileMappingEvaluator = this.dispatch(this.ensureDataFileMappingEvaluator());
+			}
+			return this.dataFileMappingEvaluator;
+		}
+		
+		@Override
+		public StorageGroupCommitController getGroupCommitController()
+		{
+			if(this.groupCommitController == null)
+			{
+				this.groupCommitController = this.dispatch(this.ensureGroupCommitController());
+			}
+			return this.groupCommitController;
+		}
+		
+		@Override
+		public StorageEntityCacheCompressor getEntityCacheCompressor()
+		{
+			if(this.entityCacheCompressor == null)
+			{
+				this.entityCacheCompressor = this.dispatch(this.ensureEntityCacheCompressor());
+			}
+			return this.entityCacheCompressor;
+		}
+		
+		@Override
+		public StorageDataFileCompression getDataFileCompression()
+		{
+			if(this.dataFileCompression == null)
+			{
+				this.dataFileCompression = this.dispatch(this.ensureDataFileCompression());
+			}
+			return this.dataFileCompression;
+		}
+		
+		@Override
+		public StorageDataChecksumController getDataChecksumController()
+		{
+			if(this.dataChecksumController == null)
+			{
+				this.dataChecksumController = this.dispatch(this.ensureDataChecksumController());
+			}
+			return this.dataChecksumController;
+		}
+		
+		@Override
+		public StorageDataFileCostBenefitEvaluator getDataFileCostBenefitEvaluator()
+		{
+			if(this.dataFileCostBenefitEvaluator == null)
+			{
+				this.dataFileCostBenefitEvaluator = this.dispatch(this.ensureDataFileCostBenefitEvaluator());
+			}
+			return this.dataFileCostBenefitEvaluator;
+		}
+		
+		@Override
+		public StorageIoRateController getIoRateController()
+		{
+			if(this.ioRateController == null)
+			{
+				this.ioRateController = this.dispatch(this.ensureIoRateController());
+			}
+			return this.ioRateController;
+		}
+		
+		@Override
+		public StorageDataFileHandleController getDataFileHandleController()
+		{
+			if(this.dataFileHandleController == null)
+			{
+				this.dataFileHandleController = this.dispatch(this.ensureDataFileHandleController());
+			}
+			return this.dataFileHandleController;
+		}
+		
+		@Override
+		public StorageTransactionsCheckpoint getTransactionsCheckpoint()
+		{
+			if(this.transactionsCheckpoint == null)
+			{
+				this.transactionsCheckpoint = this.dispatch(this.ensureTransactionsCheckpoint());
+			}
+			return this.transactionsCheckpoint;
+		}
+		
+		@Override
+		public StorageDurabilityController getDurabilityController()
+		{
+			if(this.durabilityController == null)
+			{
+				this.durabilityController = this.dispatch(this.ensureDurabilityController());
+			}
+			return this.durabilityController;
+		}
+		
+		@Override
+		public StorageDataFilePreallocationController getDataFilePreallocationController()
+		{
+			if(this.dataFilePreallocationController == null)
+			{
+				this.dataFilePreallocationController = this.dispatch(this.ensureDataFilePreallocationController());
+			}
+			return this.dataFilePreallocationController;
+		}
+		
 		
 		@Override
 		public F setOperationControllerCreator(
@@ -1901,6 +2504,108 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			return this.$();
 		}
 		
+		@Override
+		public F setEntityIndexCreator(final StorageEntityIndex.Creator entityIndexCreator)
+		{
+			this.entityIndexCreator = entityIndexCreator;
+			return this.$();
+		}
+		
+		@Override
+		public F setEntityIndexSnapshot(final StorageEntityIndexSnapshot entityIndexSnapshot)
+		{
+			this.entityIndexSnapshot = entityIndexSnapshot;
+			return this.$();
+		}
+		
+		@Override
+		public F setEntityInitializerCreator(final StorageEntityInitializer.Creator entityInitializerCreator)
+		{
+			this.entityInitializerCreator = entityInitializerCreator;
+			return this.$();
+		}
+		
+		@Override
+		public F setDataFileMappingEvaluator(final StorageDataFileMappingEvaluator dataFileMappingEvaluator)
+		{
+			this.dataFileMappingEvaluator = dataFileMappingEvaluator;
+			return this.$();
+		}
+		
+		@Override
+		public F setGroupCommitController(final StorageGroupCommitController groupCommitController)
+		{
+			this.groupCommitController = groupCommitController;
+			return this.$();
+		}
+		
+		@Override
+		public F setEntityCacheCompressor(final StorageEntityCacheCompressor entityCacheCompressor)
+		{
+			this.entityCacheCompressor = entityCacheCompressor;
+			return this.$();
+		}
+		
+		@Override
+		public F setDataFileCompression(final StorageDataFileCompression dataFileCompression)
+		{
+			this.dataFileCompression = dataFileCompression;
+			return this.$();
+		}
+		
+		@Override
+		public F setDataChecksumController(final StorageDataChecksumController dataChecksumController)
+		{
+			this.dataChecksumController = dataChecksumController;
+			return this.$();
+		}
+		
+		@Override
+		public F setDataFileCostBenefitEvaluator(
+			final StorageDataFileCostBenefitEvaluator dataFileCostBenefitEvaluator
+		)
+		{
+			this.dataFileCostBenefitEvaluator = dataFileCostBenefitEvaluator;
+			return this.$();
+		}
+		
+		@Override
+		public F setIoRateController(final StorageIoRateController ioRateController)
+		{
+			this.ioRateController = ioRateController;
+			return this.$();
+		}
+		
+		@Override
+		public F setDataFileHandleController(final StorageDataFileHandleController dataFileHandleController)
+		{
+			this.dataFileHandleController = dataFileHandleController;
+			return this.$();
+		}
+		
+		@Override
+		public F setTransactionsCheckpoint(final StorageTransactionsCheckpoint transactionsCheckpoint)
+		{
+			this.transactionsCheckpoint = transactionsCheckpoint;
+			return this.$();
+		}
+		
+		@Override
+		public F setDurabilityController(final StorageDurabilityController durabilityController)
+		{
+			this.durabilityController = durabilityController;
+			return this.$();
+		}
+		
+		@Override
+		public F setDataFilePreallocationController(
+			final StorageDataFilePreallocationController dataFilePreallocationController
+		)
+		{
+			this.dataFilePreallocationController = dataFilePreallocationController;
+			return this.$();
+		}
+		
 		public final boolean isByteOrderMismatch()
 		{
 			/* (11.02.2019 TM)NOTE: On byte order switching:
@@ -1954,7 +2659,20 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 				this.getLiveStorerRegistryReference()  ,
 				this.getStorageStructureValidator()    ,
 				this.getStorageMonitorManager()        ,
-				this.getStorageEntityCollectorCreator()
+				this.getStorageEntityCollectorCreator(),
+				this.getEntityIndexCreator()           ,
+				this.getEntityIndexSnapshot()          ,
+				this.getEntityInitializerCreator()     ,
+				this.getDataFileMappingEvaluator()     ,
+				this.getEntityCacheCompressor()        ,
+				this.getDataFileCompression()          ,
+				this.getDataChecksumController()       ,
+				this.getDataFileCostBenefitEvaluator() ,
+				this.getIoRateController()             ,
+				this.getDataFileHandleController()     ,
+				this.getTransactionsCheckpoint()       ,
+				this.getDurabilityController()         ,
+				this.getDataFilePreallocationController()
 			);
 		}
 
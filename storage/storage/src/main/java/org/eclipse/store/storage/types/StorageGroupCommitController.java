@@ -0,0 +1,144 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+import static org.eclipse.serializer.math.XMath.positive;
+
+/**
+ * Controls the grouping of concurrent store requests into a single store task ("group commit").
+ * <p>
+ * A store request that arrives while the last enqueued task is a store task that no channel has started
+ * processing yet gets merged into that task, as long as the group's total data length stays within
+ * {@link #maximumGroupLength()}. All data of a group is written with one write and one transactions entry
+ * per involved channel, all callers of a group are completed together and a failure rolls back the whole group.
+ * <p>
+ * Optionally, channels delay processing a group by up to {@link #groupingDelayNs()} after its creation to
+ * allow more requests to join it, trading store latency for throughput.
+ */
+public interface StorageGroupCommitController
+{
+	/**
+	 * The maximum total length in bytes of all data of a group. Groups are never extended beyond this length,
+	 * but a single store request exceeding it is still processed as a group of its own.
+	 * A value of 0 disables grouping.
+	 *
+	 * @return the maximum total length of all data of a group.
+	 */
+	public long maximumGroupLength();
+
+	/**
+	 * The time in nanoseconds a group may wait for more requests to join it before it gets processed.
+	 * A value of 0 means groups are only formed from requests arriving while the channels are busy.
+	 *
+	 * @return the grouping delay in nanoseconds.
+	 */
+	public long groupingDelayNs();
+
+	public default boolean isGroupingEnabled()
+	{
+		return this.maximumGroupLength() > 0;
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageGroupCommitController} instance
+	 * that disables grouping, meaning every store request is processed as a task of its own. This is the default.
+	 *
+	 * @return a new {@link StorageGroupCommitController} instance.
+	 */
+	public static StorageGroupCommitController Disabled()
+	{
+		return new StorageGroupCommitController.Default(0, 0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageGroupCommitController} instance
+	 * that groups store requests arriving while the channels are busy, without delaying any processing.
+	 *
+	 * @param maximumGroupLength the maximum total length in bytes of all data of a group.
+	 *
+	 * @return a new {@link StorageGroupCommitController} instance.
+	 *
+	 * @see #New(long, long)
+	 */
+	public static StorageGroupCommitController New(final long maximumGroupLength)
+	{
+		return New(maximumGroupLength, 0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageGroupCommitController} instance.
+	 *
+	 * @param maximumGroupLength the maximum total length in bytes of all data of a group.
+	 * @param groupingDelayNs the time in nanoseconds a group may wait for more requests to join it.
+	 *
+	 * @return a new {@link StorageGroupCommitController} instance.
+	 */
+	public static StorageGroupCommitController New(
+		final long maximumGroupLength,
+		final long groupingDelayNs
+	)
+	{
+		return new StorageGroupCommitController.Default(
+			   positive(maximumGroupLength),
+			notNegative(groupingDelayNs)
+		);
+	}
+
+	public final class Default implements StorageGroupCommitController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long maximumGroupLength;
+		private final long groupingDelayNs   ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long maximumGroupLength, final long groupingDelayNs)
+		{
+			super();
+			this.maximumGroupLength = maximumGroupLength;
+			this.groupingDelayNs    = groupingDelayNs   ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long maximumGroupLength()
+		{
+			return this.maximumGroupLength;
+		}
+
+		@Override
+		public final long groupingDelayNs()
+		{
+			return this.groupingDelayNs;
+		}
+
+	}
+
+}
@@ -53,6 +53,18 @@ public interface StorageHousekeepingBroker
 		boolean                     checkSize
 	);
 	
+	public boolean performChecksumVerification(
+		StorageHousekeepingExecutor executor      ,
+		long                        nanoTimeBudget
+	);
+	
+	public boolean performIdleFileClosing(
+		StorageHousekeepingExecutor executor      ,
+		long                        nanoTimeBudget
+	);
+	
+	public boolean performPeriodicSync(StorageHousekeepingExecutor executor);
+	
 	public static StorageHousekeepingBroker New()
 	{
 		return new StorageHousekeepingBroker.Default();
@@ -140,6 +152,30 @@ public interface StorageHousekeepingBroker
 			return executor.performTransactionFileCheck(checkSize);
 		}
 		
+		@Override
+		public boolean performChecksumVerification(
+			final StorageHousekeepingExecutor executor      ,
+			final long                        nanoTimeBudget
+		)
+		{
+			return executor.performChecksumVerification(nanoTimeBudget);
+		}
+		
+		@Override
+		public boolean performIdleFileClosing(
+			final StorageHousekeepingExecutor executor      ,
+			final long                        nanoTimeBudget
+		)
+		{
+			return executor.performIdleFileClosing(nanoTimeBudget);
+		}
+		
+		@Override
+		public boolean performPeriodicSync(final StorageHousekeepingExecutor executor)
+		{
+			return executor.performPeriodicSync();
+		}
+		
 	}
 	
 }
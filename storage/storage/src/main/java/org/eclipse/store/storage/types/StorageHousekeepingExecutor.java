@@ -32,4 +32,10 @@ public interface StorageHousekeepingExecutor
 
 	public boolean performTransactionFileCheck(boolean checkSize);
 	
+	public boolean performChecksumVerification(long nanoTimeBudget);
+	
+	public boolean performIdleFileClosing(long nanoTimeBudget);
+	
+	public boolean performPeriodicSync();
+	
 }
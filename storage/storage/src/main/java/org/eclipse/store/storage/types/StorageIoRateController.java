@@ -0,0 +1,269 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+
+/**
+ * Controls the byte rates of storage I/O that competes with foreground stores for disk bandwidth:
+ * the entity transfers of the incremental file cleanup (see {@link StorageHousekeepingController}) and the
+ * copying of the continuous backup (see {@link StorageBackupHandler}).
+ * <p>
+ * Housekeeping is already bounded in CPU time, but not in bytes. Limiting the byte rates keeps bursts of
+ * file cleanup or backup copying from degrading store latencies. If a foreground threshold is configured,
+ * the limits are additionally lowered proportionally while the foreground stores exceed it.
+ * <p>
+ * Explicitly issued file checks are never limited.
+ */
+public interface StorageIoRateController
+{
+	/**
+	 * The rate limiter for the entity transfers of the incremental file cleanup.
+	 *
+	 * @return the housekeeping rate limiter.
+	 */
+	public StorageIoRateLimiter housekeepingRateLimiter();
+
+	/**
+	 * The rate limiter for the copying of the continuous backup.
+	 *
+	 * @return the backup rate limiter.
+	 */
+	public StorageIoRateLimiter backupRateLimiter();
+
+	/**
+	 * Registers the passed number of bytes as written by foreground stores or imports.
+	 *
+	 * @param length the number of written bytes.
+	 */
+	public void registerForegroundWrite(long length);
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIoRateController} instance
+	 * that does not limit any I/O. This is the default.
+	 *
+	 * @return a new {@link StorageIoRateController} instance.
+	 */
+	public static StorageIoRateController Disabled()
+	{
+		return new StorageIoRateController.Default(
+			StorageIoRateLimiter.Unlimited(),
+			StorageIoRateLimiter.Unlimited(),
+			null
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIoRateController} instance
+	 * with fixed rate limits.
+	 *
+	 * @param housekeepingBytesPerSecond the byte rate limit of the file cleanup transfers, 0 for no limit.
+	 * @param backupBytesPerSecond the byte rate limit of the backup copying, 0 for no limit.
+	 *
+	 * @return a new {@link StorageIoRateController} instance.
+	 *
+	 * @see #New(long, long, long)
+	 */
+	public static StorageIoRateController New(
+		final long housekeepingBytesPerSecond,
+		final long backupBytesPerSecond
+	)
+	{
+		return New(housekeepingBytesPerSecond, backupBytesPerSecond, 0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIoRateController} instance
+	 * with rate limits adapting to the foreground store traffic.
+	 *
+	 * @param housekeepingBytesPerSecond the byte rate limit of the file cleanup transfers, 0 for no limit.
+	 * @param backupBytesPerSecond the byte rate limit of the backup copying, 0 for no limit.
+	 * @param foregroundBytesPerSecondThreshold the byte rate of foreground stores above which the limits
+	 *        are lowered by the ratio of the threshold to the actual foreground rate, 0 for fixed limits.
+	 *
+	 * @return a new {@link StorageIoRateController} instance.
+	 */
+	public static StorageIoRateController New(
+		final long housekeepingBytesPerSecond       ,
+		final long backupBytesPerSecond             ,
+		final long foregroundBytesPerSecondThreshold
+	)
+	{
+		final ForegroundTraffic foregroundTraffic = notNegative(foregroundBytesPerSecondThreshold) == 0
+			? null
+			: new ForegroundTraffic(foregroundBytesPerSecondThreshold)
+		;
+
+		return new StorageIoRateController.Default(
+			createRateLimiter(housekeepingBytesPerSecond, foregroundTraffic),
+			createRateLimiter(backupBytesPerSecond      , foregroundTraffic),
+			foregroundTraffic
+		);
+	}
+
+	public static StorageIoRateLimiter createRateLimiter(
+		final long              bytesPerSecond   ,
+		final ForegroundTraffic foregroundTraffic
+	)
+	{
+		return notNegative(bytesPerSecond) == 0
+			? StorageIoRateLimiter.Unlimited()
+			: StorageIoRateLimiter.New(bytesPerSecond, foregroundTraffic)
+		;
+	}
+
+	/**
+	 * Measures the byte rate of foreground writes in intervals of one second and derives the factor
+	 * to lower the rate limits by.
+	 */
+	public final class ForegroundTraffic
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final long MEASURING_INTERVAL_NS = 1_000_000_000L;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long bytesPerSecondThreshold;
+
+		private long   intervalStartTime;
+		private long   intervalLength   ;
+		private double rateFactor       ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		ForegroundTraffic(final long bytesPerSecondThreshold)
+		{
+			super();
+			this.bytesPerSecondThreshold = bytesPerSecondThreshold;
+			this.intervalStartTime       = System.nanoTime()      ;
+			this.rateFactor              = 1.0                    ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private void updateInterval()
+		{
+			final long now     = System.nanoTime();
+			final long elapsed = now - this.intervalStartTime;
+			if(elapsed < MEASURING_INTERVAL_NS)
+			{
+				return;
+			}
+
+			// an idle period spanning multiple intervals lowers the measured rate accordingly
+			final double bytesPerSecond = this.intervalLength * 1_000_000_000.0 / elapsed;
+			this.rateFactor = bytesPerSecond <= this.bytesPerSecondThreshold
+				? 1.0
+				: this.bytesPerSecondThreshold / bytesPerSecond
+			;
+			this.intervalStartTime = now;
+			this.intervalLength    = 0  ;
+		}
+
+		public final synchronized void register(final long length)
+		{
+			this.updateInterval();
+			this.intervalLength += length;
+		}
+
+		/**
+		 * The factor in ]0.0;1.0] to lower the rate limits by, derived from the last completed measuring interval.
+		 *
+		 * @return the current rate factor.
+		 */
+		public final synchronized double rateFactor()
+		{
+			this.updateInterval();
+			return this.rateFactor;
+		}
+
+	}
+
+	public final class Default implements StorageIoRateController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageIoRateLimiter housekeepingRateLimiter;
+		private final StorageIoRateLimiter backupRateLimiter      ;
+		private final ForegroundTraffic    foregroundTraffic      ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageIoRateLimiter housekeepingRateLimiter,
+			final StorageIoRateLimiter backupRateLimiter      ,
+			final ForegroundTraffic    foregroundTraffic
+		)
+		{
+			super();
+			this.housekeepingRateLimiter = housekeepingRateLimiter;
+			this.backupRateLimiter       = backupRateLimiter      ;
+			this.foregroundTraffic       = foregroundTraffic      ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final StorageIoRateLimiter housekeepingRateLimiter()
+		{
+			return this.housekeepingRateLimiter;
+		}
+
+		@Override
+		public final StorageIoRateLimiter backupRateLimiter()
+		{
+			return this.backupRateLimiter;
+		}
+
+		@Override
+		public final void registerForegroundWrite(final long length)
+		{
+			if(this.foregroundTraffic != null)
+			{
+				this.foregroundTraffic.register(length);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,269 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting the rate in bytes per second of a certain kind of storage I/O that competes with
+ * foreground stores for disk bandwidth, like the transfers of the file cleanup or the copying of the backup.
+ * <p>
+ * Consumed bytes are always granted, even if they exceed the currently available tokens. The resulting debt
+ * has to be paid off by the refilling of tokens before the limiter grants further I/O. This allows limiting
+ * operations whose exact length is only known after they have been executed, like the transfer of an entity chain.
+ * <p>
+ * Instances are shared by all channels and must be thread-safe.
+ *
+ * @see StorageIoRateController
+ */
+public interface StorageIoRateLimiter
+{
+	/**
+	 * Checks if the limiter is in debt, meaning the caller has to defer further I/O to a later point in time.
+	 * Intended for callers that must not block, like housekeeping in a channel thread.
+	 *
+	 * @return whether further I/O has to be deferred.
+	 */
+	public boolean isThrottled();
+
+	/**
+	 * Registers the passed number of bytes as consumed.
+	 *
+	 * @param length the number of consumed bytes.
+	 *
+	 * @return the time in nanoseconds until the resulting debt is paid off, 0 if there is no debt.
+	 */
+	public long consume(long length);
+
+	/**
+	 * Registers the passed number of bytes as consumed and blocks the calling thread until the resulting debt
+	 * is paid off. Intended for callers running in a thread of their own, like the backup.
+	 *
+	 * @param length the number of consumed bytes.
+	 */
+	public default void acquire(final long length)
+	{
+		final long waitTimeNs = this.consume(length);
+		if(waitTimeNs <= 0)
+		{
+			return;
+		}
+
+		try
+		{
+			TimeUnit.NANOSECONDS.sleep(waitTimeNs);
+		}
+		catch(final InterruptedException e)
+		{
+			// interruption is a matter of the calling logic, no reason to throttle any further.
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * The total number of bytes that exceeded the available tokens and had to be paid off by waiting.
+	 *
+	 * @return the total number of throttled bytes.
+	 */
+	public long throttledLength();
+
+	/**
+	 * The total time in nanoseconds required to pay off all debts.
+	 *
+	 * @return the total throttling time in nanoseconds.
+	 */
+	public long throttledTimeNs();
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIoRateLimiter} instance that never limits.
+	 *
+	 * @return a new {@link StorageIoRateLimiter} instance.
+	 */
+	public static StorageIoRateLimiter Unlimited()
+	{
+		return new StorageIoRateLimiter.Unlimited();
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIoRateLimiter} instance.
+	 *
+	 * @param bytesPerSecond the number of bytes per second granted without throttling. This is also the
+	 *        capacity of the bucket, meaning up to one second's worth of I/O can be done as a burst.
+	 * @param foregroundTraffic the foreground traffic the rate gets adapted to, may be {@literal null}.
+	 *
+	 * @return a new {@link StorageIoRateLimiter} instance.
+	 */
+	public static StorageIoRateLimiter New(
+		final long                                      bytesPerSecond   ,
+		final StorageIoRateController.ForegroundTraffic foregroundTraffic
+	)
+	{
+		if(bytesPerSecond <= 0)
+		{
+			throw new IllegalArgumentException("Non-positive bytes per second: " + bytesPerSecond);
+		}
+
+		return new StorageIoRateLimiter.Default(bytesPerSecond, foregroundTraffic);
+	}
+
+	public final class Default implements StorageIoRateLimiter
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long                                      bytesPerSecond   ;
+		private final StorageIoRateController.ForegroundTraffic foregroundTraffic;
+
+		private double tokens         ;
+		private long   lastRefillTime ;
+		private long   throttledLength;
+		private long   throttledTimeNs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                                      bytesPerSecond   ,
+			final StorageIoRateController.ForegroundTraffic foregroundTraffic
+		)
+		{
+			super();
+			this.bytesPerSecond    = bytesPerSecond   ;
+			this.foregroundTraffic = foregroundTraffic;
+			this.tokens            = bytesPerSecond   ;
+			this.lastRefillTime    = System.nanoTime();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private double currentBytesPerSecond()
+		{
+			return this.foregroundTraffic == null
+				? this.bytesPerSecond
+				: this.bytesPerSecond * this.foregroundTraffic.rateFactor()
+			;
+		}
+
+		private double refill()
+		{
+			final long   now            = System.nanoTime();
+			final double bytesPerSecond = this.currentBytesPerSecond();
+
+			this.tokens = Math.min(
+				this.bytesPerSecond,
+				this.tokens + (now - this.lastRefillTime) * bytesPerSecond / NANOS_PER_SECOND
+			);
+			this.lastRefillTime = now;
+
+			return bytesPerSecond;
+		}
+
+		@Override
+		public final synchronized boolean isThrottled()
+		{
+			this.refill();
+
+			return this.tokens < 0;
+		}
+
+		@Override
+		public final synchronized long consume(final long length)
+		{
+			final double bytesPerSecond = this.refill();
+			final double oldDebt        = Math.max(0, -this.tokens);
+
+			this.tokens -= length;
+			if(this.tokens >= 0)
+			{
+				return 0;
+			}
+
+			final long waitTimeNs = (long)(-this.tokens * NANOS_PER_SECOND / bytesPerSecond);
+
+			// only the additional debt counts, older debt has already been accounted for
+			final double addedDebt = -this.tokens - oldDebt;
+			this.throttledLength += (long)addedDebt;
+			this.throttledTimeNs += (long)(addedDebt * NANOS_PER_SECOND / bytesPerSecond);
+
+			return waitTimeNs;
+		}
+
+		@Override
+		public final synchronized long throttledLength()
+		{
+			return this.throttledLength;
+		}
+
+		@Override
+		public final synchronized long throttledTimeNs()
+		{
+			return this.throttledTimeNs;
+		}
+
+	}
+
+	public final class Unlimited implements StorageIoRateLimiter
+	{
+		Unlimited()
+		{
+			super();
+		}
+
+		@Override
+		public final boolean isThrottled()
+		{
+			return false;
+		}
+
+		@Override
+		public final long consume(final long length)
+		{
+			return 0;
+		}
+
+		@Override
+		public final long throttledLength()
+		{
+			return 0;
+		}
+
+		@Override
+		public final long throttledTimeNs()
+		{
+			return 0;
+		}
+
+	}
+
+}
@@ -18,10 +18,15 @@ import static org.eclipse.serializer.math.XMath.notNegative;
 
 import static org.eclipse.serializer.util.X.notNull;
 
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.serializer.afs.types.AReadableFile;
 import org.eclipse.serializer.math.XMath;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.binary.types.MemoryRangeReader;
+import org.eclipse.store.afs.nio.types.NioReadableFile;
 import org.eclipse.store.storage.exceptions.StorageExceptionConsistency;
 
 
@@ -86,9 +91,11 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 		private final long number;
 		
 		private final StorageFileManager.Default parent;
+		
+		final StorageEntityTable entityTable;
 
-		final StorageEntity.Default head = StorageEntity.Default.createDummy();
-		final StorageEntity.Default tail = StorageEntity.Default.createDummy();
+		// dummy entities of the file's chain in the entity table. Released by #releaseTableEntries.
+		final int head, tail;
 		
 		private long fileTotalLength;
 		private long fileDataLength ;
@@ -99,6 +106,14 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 		private int          typeInFileRange = this.typeInFileSlots.length - 1                  ;
 		private int          typeInFileCount                                                    ;
 		
+		// the file access whose read-only mapping is currently used to load entity data, if any.
+		private NioReadableFile mappedAccess;
+		
+		// open file handle pool state, solely maintained by the parent. See StorageDataFileHandleController.
+		StorageLiveDataFile.Default handleNext, handlePrev;
+		long                        handleAccessTime      ;
+		boolean                     isHandlePooled        ;
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -114,11 +129,13 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 		{
 			super(file);
 			
-			this.channelIndex  = channelIndex;
-			this.number        = number      ;
-			this.parent        = parent      ;
-			this.head.fileNext = this.tail   ;
-			this.tail.filePrev = this.head   ;
+			this.channelIndex = channelIndex        ;
+			this.number       = number              ;
+			this.parent       = parent              ;
+			this.entityTable  = parent.entityTable();
+			this.head         = this.entityTable.createDummy(null);
+			this.tail         = this.entityTable.createDummy(null);
+			this.entityTable.linkInFile(this.head, this.tail);
 			
 			// must register parent user before anything else can use the instance, of course.
 			this.registerUsage(parent);
@@ -153,15 +170,89 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			return this.fileTotalLength;
 		}
 		
+		@Override
+		protected boolean isBlockFormatCapable()
+		{
+			return true;
+		}
+		
+		@Override
+		protected StorageDataFileCompression dataFileCompression()
+		{
+			return this.parent.dataFileCompression();
+		}
+		
 		@Override
 		public synchronized void truncate(long newLength)
 		{
 			//Do not use this.internalOpenWriting() because this method does an size check
 			//if the file is re-opened.
 			//This size check is not appropriate if the file shall be opened with write access for truncation.
+			this.releaseMapping();
 			super.internalOpenWriting();
 			super.truncate(newLength);
 		}
+		
+		@Override
+		public synchronized boolean close()
+		{
+			// the mapping must be released before the file gets deleted or its access is released otherwise.
+			this.releaseMapping();
+			
+			return super.close();
+		}
+		
+		/**
+		 * Copies the passed entity's data from a read-only mapping of the whole file into the entity's cache,
+		 * mapping the file first if required. This is only viable for files that are no longer written to
+		 * and that are not block compressed.
+		 * 
+		 * @return whether the data could be loaded via a mapping. If not, it has to be read as usual.
+		 */
+		final synchronized boolean loadMappedEntityData(
+			final int  entity,
+			final long length
+		)
+		{
+			if(this.isBlockCompressed())
+			{
+				return false;
+			}
+			
+			final AReadableFile access = this.ensureReadable();
+			if(!(access instanceof NioReadableFile))
+			{
+				return false;
+			}
+			if(access != this.mappedAccess)
+			{
+				// the file has been reopened in the meantime, e.g. for writing, so the old mapping is obsolete.
+				this.releaseMapping();
+				this.mappedAccess = (NioReadableFile)access;
+			}
+			
+			final ByteBuffer mapping         = this.mappedAccess.ensureMapping(this.fileTotalLength);
+			final long       storagePosition = this.entityTable.storagePosition(entity);
+			if(storagePosition + length > mapping.capacity())
+			{
+				return false;
+			}
+			
+			this.entityTable.putCacheData(entity, XMemory.getDirectByteBufferAddress(mapping) + storagePosition, length);
+			
+			return true;
+		}
+		
+		final synchronized void releaseMapping()
+		{
+			if(this.mappedAccess == null)
+			{
+				return;
+			}
+			
+			this.mappedAccess.releaseMapping();
+			this.mappedAccess = null;
+		}
 
 		final TypeInFile typeInFile(final StorageEntityType.Default type)
 		{
@@ -185,9 +276,27 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			final TypeInFile newInstance = this.typeInFileSlots[System.identityHashCode(type) & this.typeInFileRange] =
 				new TypeInFile(type, this, this.typeInFileSlots[System.identityHashCode(type) & this.typeInFileRange])
 			;
+			this.entityTable.register(newInstance);
 			this.typeInFileCount++;
 			return newInstance;
 		}
+		
+		/**
+		 * Releases the file's dummy entities and {@link TypeInFile} instances in the entity table.
+		 * Must only be called once no entity is contained in the file anymore.
+		 */
+		final void releaseTableEntries()
+		{
+			for(TypeInFile entries : this.typeInFileSlots)
+			{
+				for(; entries != null; entries = entries.hashNext)
+				{
+					this.entityTable.unregister(entries);
+				}
+			}
+			this.entityTable.free(this.head);
+			this.entityTable.free(this.tail);
+		}
 
 		private void rebuildTypeInFileTable()
 		{
@@ -284,7 +393,8 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 				return true;
 			}
 			
-			final long actualSize = this.ensureReadable().size();
+			// the data length, which differs from the file's actual length for block compressed files.
+			final long actualSize = this.size();
 
 			if(actualSize != expectedSize)
 			{
@@ -307,17 +417,17 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 		public final boolean hasSingleEntity()
 		{
 			// if the first entity (always head's next) amounts to the whole data length, it must be the only entity.
-			return this.head.fileNext.length == this.fileDataLength;
+			return this.entityTable.length(this.entityTable.fileNext(this.head)) == this.fileDataLength;
 		}
 
-		public final void remove(final StorageEntity.Default entity)
+		public final void remove(final int entity)
 		{
 			// disjoin entity from chain and decrement data length
-			(entity.fileNext.filePrev = entity.filePrev).fileNext = entity.fileNext;
-			this.decrementDataLength(entity.length);
+			this.entityTable.linkInFile(this.entityTable.filePrev(entity), this.entityTable.fileNext(entity));
+			this.decrementDataLength(this.entityTable.length(entity));
 		}
 
-		final void removeHeadBoundChain(final StorageEntity.Default newFirst, final long copylength)
+		final void removeHeadBoundChain(final int newFirst, final long copylength)
 		{
 			// check for special case of completely clearing a file (no new first means empty file)
 
@@ -336,17 +446,17 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 
 			// copy length can't be derived from newFirst's position because of potential gap before it.
 			this.decrementDataLength(copylength);
-			(this.head.fileNext = newFirst).filePrev = this.head;
+			this.entityTable.linkInFile(this.head, newFirst);
 		}
 
 		final void addChainToTail(
-			final StorageEntity.Default first,
-			final StorageEntity.Default last
+			final int first,
+			final int last
 		)
 		{
 			// enqueue whole chain
-			(this.tail.filePrev.fileNext = first).filePrev = this.tail.filePrev;
-			(this.tail.filePrev          = last ).fileNext = this.tail;
+			this.entityTable.linkInFile(this.entityTable.filePrev(this.tail), first);
+			this.entityTable.linkInFile(last, this.tail);
 		}
 
 		final void decrementDataLength(final long value)
@@ -354,33 +464,43 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			this.fileDataLength -= value;
 		}
 
-		public final void prependEntry(final StorageEntity.Default entry)
+		public final void prependEntry(final int entry)
 		{
 			// moved here from StorageEntity.Default#updateStorageInformation
-			entry.typeInFile = this.typeInFile(entry.typeInFile.type);
+			this.entityTable.setTypeInFile(entry, this.typeInFile(this.entityTable.type(entry)));
 			
 			// entry gets appended after the start (the head), hence reverse-building the order.
-			(entry.filePrev = this.head).fileNext = (entry.fileNext = this.head.fileNext).filePrev = entry;
+			this.entityTable.linkInFile(entry, this.entityTable.fileNext(this.head));
+			this.entityTable.linkInFile(this.head, entry);
 		}
 
-		public final void appendEntry(final StorageEntity.Default entry)
+		public final void appendEntry(final int entry)
 		{
 			// moved here from StorageEntity.Default#updateStorageInformation
-			entry.typeInFile = this.typeInFile(entry.typeInFile.type);
+			this.entityTable.setTypeInFile(entry, this.typeInFile(this.entityTable.type(entry)));
 
             // entry gets appended before the end (the tail), hence forward-building the order
-			(entry.fileNext = this.tail).filePrev = (entry.filePrev = this.tail.filePrev).fileNext = entry;
+			this.entityTable.linkInFile(this.entityTable.filePrev(this.tail), entry);
+			this.entityTable.linkInFile(entry, this.tail);
 		}
 
 		public final void loadEntityData(
-			final StorageEntity.Default entity     ,
-			final long                  length     ,
-			final long                  cacheChange
+			final int  entity     ,
+			final long length     ,
+			final long cacheChange
 		)
 		{
 			this.parent.loadData(this, entity, length, cacheChange);
 		}
 		
+		final void copyCompressedEntityData(
+			final int               entity,
+			final MemoryRangeReader reader
+		)
+		{
+			this.parent.copyCompressedEntityData(entity, reader);
+		}
+		
 		@Override
 		public boolean isHeadFile()
 		{
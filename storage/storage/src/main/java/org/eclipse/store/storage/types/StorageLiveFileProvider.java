@@ -35,6 +35,10 @@ public interface StorageLiveFileProvider extends StorageFileProvider
 
 	public AFile provideTransactionsFile(int channelIndex);
 	
+	public AFile provideEntityIndexFile(int channelIndex);
+	
+	public AFile provideTransactionsCheckpointFile(int channelIndex);
+	
 	public AFile provideLockFile();
 	
 	
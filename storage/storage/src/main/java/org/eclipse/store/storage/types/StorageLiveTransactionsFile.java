@@ -18,6 +18,7 @@ import static org.eclipse.serializer.util.X.notNull;
 import static org.eclipse.serializer.math.XMath.notNegative;
 
 import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.serializer.afs.types.AReadableFile;
 
 public interface StorageLiveTransactionsFile
 extends StorageTransactionsFile, StorageLiveChannelFile<StorageLiveTransactionsFile>
@@ -31,6 +32,8 @@ extends StorageTransactionsFile, StorageLiveChannelFile<StorageLiveTransactionsF
 	
 	public <P extends StorageTransactionsAnalysis.EntryIterator> P processBy(P iterator);
 	
+	public <P extends StorageTransactionsAnalysis.EntryIterator> P processBy(P iterator, long startPosition);
+	
 	
 	public static StorageLiveTransactionsFile New(
 		final AFile file        ,
@@ -91,6 +94,23 @@ extends StorageTransactionsFile, StorageLiveChannelFile<StorageLiveTransactionsF
 			return iterator;
 		}
 		
+		@Override
+		public <P extends StorageTransactionsAnalysis.EntryIterator> P processBy(
+			final P    iterator     ,
+			final long startPosition
+		)
+		{
+			final AReadableFile file = this.ensureReadable();
+			StorageTransactionsAnalysis.Logic.processInputFile(
+				file                       ,
+				startPosition              ,
+				file.size() - startPosition,
+				iterator
+			);
+			
+			return iterator;
+		}
+		
 	}
 	
 }
@@ -14,6 +14,10 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.eclipse.serializer.math.XMath;
 import org.eclipse.store.storage.exceptions.StorageException;
 
@@ -27,6 +31,17 @@ public interface StorageObjectIdMarkQueue
 
 	public boolean hasElements();
 
+	/**
+	 * Waits up to the passed time for elements to become available. Only the owning channel may call this method.
+	 * 
+	 * @param timeMs the maximum time to wait in milliseconds.
+	 * 
+	 * @return whether there are elements available.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public boolean awaitElements(long timeMs) throws InterruptedException;
+
 	public void advanceTail(int amount);
 
 	public void reset();
@@ -38,6 +53,19 @@ public interface StorageObjectIdMarkQueue
 	public interface Creator
 	{
 		public StorageObjectIdMarkQueue createOidMarkQueue(int segmentLength);
+		
+		
+		
+		/**
+		 * Pseudo-constructor method to create a new {@link Creator} instance that creates
+		 * {@link StorageObjectIdMarkQueue.LockFree} instances.
+		 * 
+		 * @return a new {@link Creator} instance.
+		 */
+		public static Creator LockFree()
+		{
+			return new Creator.LockFree();
+		}
 
 
 
@@ -51,6 +79,22 @@ public interface StorageObjectIdMarkQueue
 
 		}
 
+		public final class LockFree implements StorageObjectIdMarkQueue.Creator
+		{
+			LockFree()
+			{
+				super();
+			}
+			
+			@Override
+			public StorageObjectIdMarkQueue createOidMarkQueue(final int segmentLength)
+			{
+				// segments are created per enqueued batch, so there is no fixed segment length
+				return new StorageObjectIdMarkQueue.LockFree();
+			}
+
+		}
+
 	}
 
 
@@ -192,6 +236,17 @@ public interface StorageObjectIdMarkQueue
 			return this.head != this.tail || this.head.hasElements();
 		}
 
+		@Override
+		public synchronized boolean awaitElements(final long timeMs) throws InterruptedException
+		{
+			if(!this.hasElements())
+			{
+				this.wait(timeMs);
+			}
+			
+			return this.hasElements();
+		}
+
 
 
 		static final class Segment
@@ -302,4 +357,203 @@ public interface StorageObjectIdMarkQueue
 
 	}
 
+	/**
+	 * Mark queue implementation that lets other channels hand off object ids without locking.
+	 * Every enqueuing appends an immutable segment via an atomic swap of the head segment, while only the owning
+	 * channel consumes segments from the tail. Waiting for new elements is only synchronized when the owning
+	 * channel actually waits.
+	 */
+	final class LockFree implements StorageObjectIdMarkQueue
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		// appended to by any channel
+		private final AtomicReference<Segment> head = new AtomicReference<>();
+		
+		// only advanced by the owning channel, but read by the mark monitor
+		private volatile Segment tail;
+		
+		private volatile boolean waiting;
+
+		// only for debugging purposes, see Default#size
+		private final LongAdder size = new LongAdder();
+
+		@Override
+		public final long size()
+		{
+			return this.size.sum();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		LockFree()
+		{
+			super();
+			this.reset();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// declared methods //
+		/////////////////////
+
+		@Override
+		public final void reset()
+		{
+			// only called while no marking is going on, see StorageEntityMarkMonitor.Default#resetMarkQueues.
+			final Segment root = new Segment(new long[0]);
+			this.head.set(root);
+			this.tail = root;
+			this.size.reset();
+		}
+
+		@Override
+		public final int getNext(final long[] buffer)
+		{
+			Segment tail = this.tail;
+			while(!tail.hasElements())
+			{
+				final Segment next = tail.next;
+				if(next == null)
+				{
+					return 0;
+				}
+				
+				// a fully processed segment is simply dropped
+				this.tail = tail = next;
+			}
+
+			return tail.getNext(buffer);
+		}
+
+		@Override
+		public final void advanceTail(final int amount)
+		{
+			this.tail.advanceLowIndex(amount);
+			this.size.add(-amount);
+		}
+
+		@Override
+		public final void enqueue(final long objectId)
+		{
+			this.append(new Segment(new long[]{objectId}));
+		}
+
+		@Override
+		public final void enqueueBulk(final long[] oids, final int size)
+		{
+			if(size == 0)
+			{
+				return;
+			}
+			
+			// the passed array gets reused by the enqueuing channel, so a copy is required anyway
+			this.append(new Segment(Arrays.copyOf(oids, size)));
+		}
+		
+		private void append(final Segment segment)
+		{
+			this.size.add(segment.objectIds.length);
+			
+			// only the appending thread can ever link the previous head, so no further synchronization is required
+			this.head.getAndSet(segment).next = segment;
+			
+			// only notify if the owning channel actually waits. See #awaitElements for the other side.
+			if(this.waiting)
+			{
+				synchronized(this)
+				{
+					this.notifyAll();
+				}
+			}
+		}
+
+		@Override
+		public final boolean hasElements()
+		{
+			final Segment tail = this.tail;
+			
+			return tail.hasElements() || tail.next != null;
+		}
+
+		@Override
+		public final boolean awaitElements(final long timeMs) throws InterruptedException
+		{
+			if(this.hasElements())
+			{
+				return true;
+			}
+			
+			synchronized(this)
+			{
+				/*
+				 * Setting the flag before checking again guarantees that either this check sees
+				 * a newly appended segment or the appending thread sees the flag and notifies.
+				 */
+				this.waiting = true;
+				try
+				{
+					if(!this.hasElements())
+					{
+						this.wait(timeMs);
+					}
+				}
+				finally
+				{
+					this.waiting = false;
+				}
+			}
+			
+			return this.hasElements();
+		}
+
+
+
+		static final class Segment
+		{
+			final    long[]  objectIds;
+			         int     lowIndex ;
+			volatile Segment next     ;
+
+			Segment(final long[] objectIds)
+			{
+				super();
+				this.objectIds = objectIds;
+			}
+
+			final boolean hasElements()
+			{
+				return this.lowIndex < this.objectIds.length;
+			}
+
+			final int getNext(final long[] buffer)
+			{
+				final int copyLength = Math.min(this.objectIds.length - this.lowIndex, buffer.length);
+				System.arraycopy(this.objectIds, this.lowIndex, buffer, 0, copyLength);
+				
+				// lowIndex is advanced separately with the actually processed amount, see Default.Segment#getNext
+				return copyLength;
+			}
+
+			final void advanceLowIndex(final int amount)
+			{
+				// should never happen, but just in case. Better check here than causing data to get deleted erroneously by the GC.
+				if(this.lowIndex + amount > this.objectIds.length)
+				{
+					throw new StorageException("Inconsistent OidMarkQueue low index advance");
+				}
+				this.lowIndex += amount;
+			}
+
+		}
+
+	}
+
 }
@@ -15,9 +15,12 @@ package org.eclipse.store.storage.types;
  */
 
 import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.serializer.collections.BulkList;
 import org.eclipse.serializer.collections.types.XGettingSequence;
+import org.eclipse.store.storage.exceptions.StorageException;
 import org.eclipse.store.storage.exceptions.StorageExceptionDisruptingExceptions;
 
 
@@ -31,6 +34,15 @@ public interface StorageOperationController
 	
 	public void registerDisruption(Throwable disruption);
 	
+	/**
+	 * Registers the passed {@link CompletableFuture} to be completed exceptionally as soon as a disruption
+	 * gets registered, unless it has been completed before. If there already are disruptions, it gets completed
+	 * exceptionally right away.
+	 * 
+	 * @param completion the {@link CompletableFuture} to be aborted in case of a disruption.
+	 */
+	public void abortOnDisruption(CompletableFuture<?> completion);
+	
 	public XGettingSequence<Throwable> disruptions();
 	
 	public default boolean hasDisruptions()
@@ -68,6 +80,9 @@ public interface StorageOperationController
 		
 		private final BulkList<Throwable> disruptions = BulkList.New();
 		
+		// pending completions to be aborted by the next disruption, guarded by this instance.
+		private final HashSet<CompletableFuture<?>> abortableCompletions = new HashSet<>();
+		
 		private boolean hasDisruptions;
 		private boolean channelProcessingEnabled;
 
@@ -143,12 +158,51 @@ public interface StorageOperationController
 			return this.channelProcessingEnabled;
 		}
 
+		private static void abort(final CompletableFuture<?> completion, final Throwable disruption)
+		{
+			completion.completeExceptionally(new StorageException("Aborting after: ", disruption));
+		}
+
 		@Override
-		public final synchronized void registerDisruption(final Throwable disruption)
+		public final void registerDisruption(final Throwable disruption)
 		{
-			this.disruptions.add(disruption);
-			this.hasDisruptions = true;
-			this.channelProcessingEnabled = false;
+			final CompletableFuture<?>[] abortedCompletions;
+			synchronized(this)
+			{
+				this.disruptions.add(disruption);
+				this.hasDisruptions = true;
+				this.channelProcessingEnabled = false;
+				
+				abortedCompletions = this.abortableCompletions.toArray(new CompletableFuture<?>[0]);
+				this.abortableCompletions.clear();
+			}
+			
+			// aborting outside the lock, as dependent actions might get executed by the current thread.
+			for(final CompletableFuture<?> completion : abortedCompletions)
+			{
+				abort(completion, disruption);
+			}
+		}
+		
+		@Override
+		public final void abortOnDisruption(final CompletableFuture<?> completion)
+		{
+			synchronized(this)
+			{
+				if(!this.hasDisruptions)
+				{
+					this.abortableCompletions.add(completion);
+					completion.whenComplete((v, e) -> this.removeAbortableCompletion(completion));
+					return;
+				}
+			}
+			
+			abort(completion, this.disruptions().first());
+		}
+		
+		private synchronized void removeAbortableCompletion(final CompletableFuture<?> completion)
+		{
+			this.abortableCompletions.remove(completion);
 		}
 
 		@Override
@@ -14,17 +14,29 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import static org.eclipse.serializer.util.X.mayNull;
 import static org.eclipse.serializer.util.X.notNull;
 
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import org.eclipse.serializer.afs.types.AFile;
 import org.eclipse.serializer.collections.types.XGettingEnum;
+import org.eclipse.serializer.memory.XMemory;
 import org.eclipse.serializer.persistence.binary.types.Binary;
 import org.eclipse.serializer.persistence.types.PersistenceIdSet;
+import org.eclipse.serializer.persistence.types.PersistenceObjectIdAcceptor;
+import org.eclipse.store.storage.exceptions.StorageException;
 import org.eclipse.store.storage.exceptions.StorageExceptionRequest;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
 
@@ -35,6 +47,24 @@ public interface StorageRequestAcceptor
 
 	public void storeData(Binary data) throws StorageExceptionRequest, InterruptedException;
 
+	/**
+	 * Executes the passed storing logic on the current thread, but without waiting for the completion of the
+	 * store requests it causes via {@link #storeData(Binary)}. Instead, the returned {@link CompletableFuture}
+	 * gets completed with the storing logic's result as soon as all those store requests are complete.
+	 * Dependent actions of the returned instance are never executed by a storage channel thread.
+	 * <p>
+	 * The entities of such store requests are pending until their request is complete. Any later store request
+	 * referencing a pending entity waits for it before being enqueued, so that it can never be committed while
+	 * the referenced entity might still fail to be stored. Should a store request fail, every later store request
+	 * referencing one of its entities fails as well, until the entity has been stored again successfully.
+	 * 
+	 * @param <R> the result type of the storing logic.
+	 * @param storingLogic the storing logic to be executed.
+	 * 
+	 * @return a {@link CompletableFuture} for the completion of all caused store requests.
+	 */
+	public <R> CompletableFuture<R> executeStoringAsync(Supplier<R> storingLogic);
+
 	// querying //
 
 	public Binary queryByObjectIds(PersistenceIdSet[] loadOids) throws StorageExceptionRequest, InterruptedException;
@@ -107,6 +137,8 @@ public interface StorageRequestAcceptor
 
 	public StorageRawFileStatistics createStatistics() throws InterruptedException;
 
+	public StorageDataChecksumReport verifyChecksums() throws InterruptedException;
+
 
 
 	public interface Creator
@@ -115,6 +147,25 @@ public interface StorageRequestAcceptor
 			StorageDataChunkValidator dataChunkValidator,
 			StorageTaskBroker         taskBroker
 		);
+		
+		/**
+		 * Creates a {@link StorageRequestAcceptor} that uses the passed {@link StorageTypeDictionary} to determine
+		 * the references of stored entities, see {@link StorageRequestAcceptor#executeStoringAsync(Supplier)}.
+		 * 
+		 * @param dataChunkValidator the validator for stored data.
+		 * @param taskBroker the task broker to enqueue requests.
+		 * @param typeDictionary the storage's type dictionary.
+		 * 
+		 * @return a new {@link StorageRequestAcceptor}.
+		 */
+		public default StorageRequestAcceptor createRequestAcceptor(
+			final StorageDataChunkValidator dataChunkValidator,
+			final StorageTaskBroker         taskBroker        ,
+			final StorageTypeDictionary     typeDictionary
+		)
+		{
+			return this.createRequestAcceptor(dataChunkValidator, taskBroker);
+		}
 
 
 		public final class Default implements Creator
@@ -125,7 +176,17 @@ public interface StorageRequestAcceptor
 				final StorageTaskBroker         taskBroker
 			)
 			{
-				return new StorageRequestAcceptor.Default(dataChunkValidator, taskBroker);
+				return new StorageRequestAcceptor.Default(dataChunkValidator, taskBroker, null);
+			}
+			
+			@Override
+			public StorageRequestAcceptor createRequestAcceptor(
+				final StorageDataChunkValidator dataChunkValidator,
+				final StorageTaskBroker         taskBroker        ,
+				final StorageTypeDictionary     typeDictionary
+			)
+			{
+				return new StorageRequestAcceptor.Default(dataChunkValidator, taskBroker, notNull(typeDictionary));
 			}
 
 		}
@@ -142,6 +203,14 @@ public interface StorageRequestAcceptor
 
 		private final StorageTaskBroker         taskBroker           ;
 		private final StorageDataChunkValidator prevalidatorDataChunk;
+		private final StorageTypeDictionary     typeDictionary       ; // null if references cannot be determined
+		
+		// completions of the asynchronous storing logic currently executed on the current thread.
+		private final ThreadLocal<List<CompletableFuture<?>>> asyncCompletions = new ThreadLocal<>();
+		
+		// entities of incomplete asynchronous store requests and of failed ones not stored again. Guarded by this.
+		private final HashMap<Long, PendingStore> pendingEntities = new HashMap<>();
+		private final HashSet<Long>               failedEntities  = new HashSet<>();
 
 
 
@@ -151,12 +220,14 @@ public interface StorageRequestAcceptor
 
 		public Default(
 			final StorageDataChunkValidator dataChunkValidator,
-			final StorageTaskBroker         taskBroker
+			final StorageTaskBroker         taskBroker        ,
+			final StorageTypeDictionary     typeDictionary
 		)
 		{
 			super();
 			this.prevalidatorDataChunk = notNull(dataChunkValidator);
 			this.taskBroker            = notNull(taskBroker)        ;
+			this.typeDictionary        = mayNull(typeDictionary)    ;
 		}
 
 
@@ -165,6 +236,29 @@ public interface StorageRequestAcceptor
 			task.waitOnCompletion();
 			return task;
 		}
+		
+		private static long[] collectObjectIds(final Binary data)
+		{
+			final LongStream.Builder objectIds = LongStream.builder();
+			data.iterateChannelChunks(cc ->
+			{
+				for(final ByteBuffer bb : cc.buffers())
+				{
+					final long boundAddress = XMemory.getDirectByteBufferAddress(bb) + bb.limit();
+					for(
+						long adr = XMemory.getDirectByteBufferAddress(bb);
+						adr < boundAddress;
+						adr += Binary.getEntityLengthRawValue(adr)
+					)
+					{
+						objectIds.accept(Binary.getEntityObjectIdRawValue(adr));
+					}
+				}
+			});
+			
+			// sorted for looking up whether a referenced entity is stored by the same request.
+			return objectIds.build().sorted().toArray();
+		}
 
 
 
@@ -180,7 +274,194 @@ public interface StorageRequestAcceptor
 			// pre-validate on the caller site before creating and enqueuing a task (it may be a no-op)
 			this.prevalidatorDataChunk.validateDataChunk(data);
 
-			waitOnTask(this.taskBroker.enqueueStoreTask(data));
+			final List<CompletableFuture<?>> asyncCompletions = this.asyncCompletions.get();
+			
+			// the object ids have to be collected before enqueuing, as the data is released once it is stored.
+			final long[] objectIds = asyncCompletions != null || this.hasPendingOrFailedEntities()
+				? collectObjectIds(data)
+				: null
+			;
+			if(objectIds != null)
+			{
+				this.awaitReferencedEntities(data, objectIds);
+			}
+			
+			final StorageRequestTaskStoreEntities task = this.taskBroker.enqueueStoreTask(data);
+			if(asyncCompletions == null)
+			{
+				waitOnTask(task);
+				if(objectIds != null)
+				{
+					this.clearFailedEntities(objectIds);
+				}
+				return;
+			}
+			
+			// asynchronous storing: the caller gets notified via the task's completion instead of waiting on it.
+			asyncCompletions.add(this.registerPendingStore(objectIds, task));
+		}
+		
+		private synchronized boolean hasPendingOrFailedEntities()
+		{
+			return !this.pendingEntities.isEmpty() || !this.failedEntities.isEmpty();
+		}
+		
+		/**
+		 * Waits until no entity referenced by the passed data is pending any more. Referencing an entity whose
+		 * storing has failed is an error, as the storer considers it to be persisted and does not store it again.
+		 */
+		private void awaitReferencedEntities(final Binary data, final long[] objectIds) throws InterruptedException
+		{
+			while(true)
+			{
+				final PendingStore referencedStore;
+				synchronized(this)
+				{
+					if(this.pendingEntities.isEmpty() && this.failedEntities.isEmpty())
+					{
+						return;
+					}
+					if((referencedStore = this.findReferencedPendingStore(data, objectIds)) == null)
+					{
+						return;
+					}
+				}
+				
+				try
+				{
+					referencedStore.settled.get();
+				}
+				catch(final ExecutionException e)
+				{
+					// the failed entities have been registered, so checking again reports the failure.
+				}
+			}
+		}
+		
+		private PendingStore findReferencedPendingStore(final Binary data, final long[] objectIds)
+		{
+			final ReferenceCheck check = new ReferenceCheck(objectIds);
+			if(this.typeDictionary == null)
+			{
+				// references cannot be determined, so every pending or failed entity is assumed to be referenced.
+				for(final Long objectId : this.failedEntities)
+				{
+					check.acceptObjectId(objectId);
+				}
+				for(final Long objectId : this.pendingEntities.keySet())
+				{
+					check.acceptObjectId(objectId);
+				}
+				
+				return check.referencedStore;
+			}
+			
+			data.iterateChannelChunks(cc ->
+			{
+				for(final ByteBuffer bb : cc.buffers())
+				{
+					final long boundAddress = XMemory.getDirectByteBufferAddress(bb) + bb.limit();
+					for(
+						long adr = XMemory.getDirectByteBufferAddress(bb);
+						adr < boundAddress;
+						adr += Binary.getEntityLengthRawValue(adr)
+					)
+					{
+						this.typeDictionary.lookupTypeHandlerChecked(Binary.getEntityTypeIdRawValue(adr))
+							.iterateReferences(adr, check)
+						;
+					}
+				}
+			});
+			
+			return check.referencedStore;
+		}
+		
+		private synchronized CompletableFuture<Void> registerPendingStore(
+			final long[]                          objectIds,
+			final StorageRequestTaskStoreEntities task
+		)
+		{
+			final PendingStore store = new PendingStore(objectIds);
+			for(final long objectId : objectIds)
+			{
+				this.pendingEntities.put(objectId, store);
+			}
+			
+			// asynchronous, so the registry of pending entities is never locked by a channel thread.
+			store.settled = task.completion().whenCompleteAsync((v, e) -> this.settle(store, e == null));
+			
+			return store.settled;
+		}
+		
+		private synchronized void settle(final PendingStore store, final boolean isSuccess)
+		{
+			for(final long objectId : store.objectIds)
+			{
+				// an entity stored again by a later request is settled by that request.
+				if(this.pendingEntities.get(objectId) != store)
+				{
+					continue;
+				}
+				this.pendingEntities.remove(objectId);
+				if(isSuccess)
+				{
+					this.failedEntities.remove(objectId);
+				}
+				else
+				{
+					this.failedEntities.add(objectId);
+				}
+			}
+		}
+		
+		private synchronized void clearFailedEntities(final long[] objectIds)
+		{
+			if(this.failedEntities.isEmpty())
+			{
+				return;
+			}
+			for(final long objectId : objectIds)
+			{
+				// an entity of a pending request is settled by that request.
+				if(!this.pendingEntities.containsKey(objectId))
+				{
+					this.failedEntities.remove(objectId);
+				}
+			}
+		}
+		
+		@Override
+		public final <R> CompletableFuture<R> executeStoringAsync(final Supplier<R> storingLogic)
+		{
+			final List<CompletableFuture<?>> outerCompletions = this.asyncCompletions.get();
+			final List<CompletableFuture<?>> completions      = new ArrayList<>();
+			
+			final R result;
+			this.asyncCompletions.set(completions);
+			try
+			{
+				result = storingLogic.get();
+			}
+			finally
+			{
+				if(outerCompletions == null)
+				{
+					this.asyncCompletions.remove();
+				}
+				else
+				{
+					// nested asynchronous storing is part of the outer storing as well
+					outerCompletions.addAll(completions);
+					this.asyncCompletions.set(outerCompletions);
+				}
+			}
+			
+			// the async step ensures that no dependent action of the caller is ever executed by a channel thread
+			return CompletableFuture
+				.allOf(completions.toArray(new CompletableFuture<?>[completions.size()]))
+				.thenApplyAsync(v -> result)
+			;
 		}
 
 		@Override
@@ -269,6 +550,12 @@ public interface StorageRequestAcceptor
 			return waitOnTask(this.taskBroker.enqueueCreateRawFileStatisticsTask()).result();
 		}
 
+		@Override
+		public StorageDataChecksumReport verifyChecksums() throws InterruptedException
+		{
+			return waitOnTask(this.taskBroker.enqueueVerifyChecksumsTask()).result();
+		}
+
 		@Override
 		public void importFiles(final XGettingEnum<AFile> importFiles) throws InterruptedException
 		{
@@ -280,6 +567,90 @@ public interface StorageRequestAcceptor
 		{
 			waitOnTask(this.taskBroker.enqueueImportFromByteBuffersTask(importData));
 		}
+		
+		
+		
+		static final class PendingStore
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			final long[] objectIds;
+			
+			// completes after the entities have been settled, see #settle.
+			CompletableFuture<Void> settled;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			PendingStore(final long[] objectIds)
+			{
+				super();
+				this.objectIds = objectIds;
+			}
+			
+		}
+		
+		/**
+		 * Checks the references of stored entities for pending and failed entities. Must be used while holding
+		 * the lock of the {@link StorageRequestAcceptor.Default} instance.
+		 */
+		final class ReferenceCheck implements PersistenceObjectIdAcceptor
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final long[] storedObjectIds;
+			
+			PendingStore referencedStore;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			ReferenceCheck(final long[] storedObjectIds)
+			{
+				super();
+				this.storedObjectIds = storedObjectIds;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public final void acceptObjectId(final long objectId)
+			{
+				// null references and entities stored by the checked request itself do not matter.
+				if(objectId == 0 || Arrays.binarySearch(this.storedObjectIds, objectId) >= 0)
+				{
+					return;
+				}
+				
+				final PendingStore store = Default.this.pendingEntities.get(objectId);
+				if(store != null)
+				{
+					this.referencedStore = store;
+				}
+				else if(Default.this.failedEntities.contains(objectId))
+				{
+					throw new StorageException(
+						"Stored data references entity " + objectId
+						+ " whose asynchronous storing failed. It has to be stored again first."
+					);
+				}
+			}
+			
+		}
 
 	}
 
@@ -80,6 +80,11 @@ public interface StorageRequestTaskCreator
 		StorageOperationController operationController
 	);
 
+	public StorageRequestTaskVerifyChecksums createVerifyChecksumsTask(
+		int                        channelCount       ,
+		StorageOperationController operationController
+	);
+
 	public StorageRequestTaskFileCheck createFullFileCheckTask(
 		int                        channelCount       ,
 		long                       nanoTimeBudget     ,
@@ -134,7 +139,8 @@ public interface StorageRequestTaskCreator
 		// instance fields //
 		////////////////////
 
-		private final StorageTimestampProvider timestampProvider;
+		private final StorageTimestampProvider     timestampProvider;
+		private final StorageGroupCommitController groupController  ;
 
 
 
@@ -143,9 +149,18 @@ public interface StorageRequestTaskCreator
 		/////////////////
 
 		public Default(final StorageTimestampProvider timestampProvider)
+		{
+			this(timestampProvider, StorageGroupCommitController.Disabled());
+		}
+		
+		public Default(
+			final StorageTimestampProvider     timestampProvider,
+			final StorageGroupCommitController groupController
+		)
 		{
 			super();
 			this.timestampProvider = notNull(timestampProvider);
+			this.groupController   = notNull(groupController)  ;
 		}
 
 
@@ -189,7 +204,8 @@ public interface StorageRequestTaskCreator
 			return new StorageRequestTaskStoreEntities.Default(
 				this.timestampProvider.currentNanoTimestamp(),
 				data,
-				operationController
+				operationController,
+				this.groupController
 			);
 		}
 
@@ -279,6 +295,19 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskVerifyChecksums createVerifyChecksumsTask(
+			final int                        channelCount       ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskVerifyChecksums.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount,
+				operationController
+			);
+		}
+
 		@Override
 		public StorageRequestTaskFileCheck createFullFileCheckTask(
 			final int                        channelCount       ,
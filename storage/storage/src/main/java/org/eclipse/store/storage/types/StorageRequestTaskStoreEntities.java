@@ -17,13 +17,27 @@ package org.eclipse.store.storage.types;
 import java.nio.ByteBuffer;
 
 import org.eclipse.serializer.chars.VarString;
+import org.eclipse.serializer.collections.XArrays;
 import org.eclipse.serializer.meta.XDebug;
 import org.eclipse.serializer.persistence.binary.types.Binary;
+import org.eclipse.serializer.persistence.binary.types.Chunk;
 import org.eclipse.serializer.typing.KeyValue;
 import org.eclipse.serializer.util.UtilStackTrace;
 
 public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 {
+	/**
+	 * Tries to add the passed data to this task to be stored together with the task's current data.
+	 * This is only possible as long as no channel has started processing the task and the group
+	 * commit limits allow it.
+	 * 
+	 * @param data the data to be added.
+	 * 
+	 * @return whether the data has been added.
+	 */
+	public boolean tryAddData(Binary data);
+	
+	
 	
 	/* (11.08.2018 TM)TODO:
 	 * The overly complex "KeyValue<ByteBuffer[], long[]>" construct could be replaced by a simple Long containing
@@ -45,7 +59,15 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		// instance fields //
 		////////////////////
 
-		private final Binary data;
+		private final StorageGroupCommitController groupController;
+		private final long                         creationTimeNs ;
+		
+		// grouped data in request order. Guarded by this instance, immutable after sealing.
+		private Binary[]        data        ;
+		private int             dataCount   ;
+		private long            dataLength  ;
+		private boolean         sealed      ;
+		private final boolean[] participants;
 
 
 
@@ -55,9 +77,59 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 
 		Default(final long timestamp, final Binary data, final StorageOperationController controller)
 		{
-			// every channel has to store at least a chunk header, so progress count is always equal to channel count
-			super(timestamp, data.channelCount(), controller);
-			this.data = data;
+			this(timestamp, data, controller, StorageGroupCommitController.Disabled());
+		}
+
+		Default(
+			final long                         timestamp      ,
+			final Binary                       data           ,
+			final StorageOperationController   controller     ,
+			final StorageGroupCommitController groupController
+		)
+		{
+			// only channels that actually receive data participate, so progress starts at 0 and gets added up.
+			super(timestamp, data.channelCount(), 0, controller);
+			this.groupController = groupController ;
+			this.creationTimeNs  = System.nanoTime();
+			this.data            = new Binary[]{data};
+			this.dataCount       = 1;
+			this.dataLength      = dataLength(data);
+			this.participants    = new boolean[data.channelCount()];
+			
+			int participantCount = this.markParticipants(data);
+			if(participantCount == 0)
+			{
+				// a store without any data is still processed by one channel to keep the task's regular lifecycle.
+				this.participants[0] = true;
+				participantCount = 1;
+			}
+			this.addParticipants(participantCount);
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+		
+		private static long dataLength(final Binary data)
+		{
+			long length = 0;
+			for(int i = 0; i < data.channelCount(); i++)
+			{
+				for(final ByteBuffer buffer : data.channelChunk(i).buffers())
+				{
+					length += buffer.limit();
+				}
+			}
+			
+			return length;
+		}
+		
+		private static boolean hasChannelData(final Binary data, final int channelIndex)
+		{
+			// an empty chunk causes no write and no transactions entry at all, so there is nothing to process.
+			return data.channelChunk(channelIndex).buffers().length != 0;
 		}
 
 
@@ -65,12 +137,132 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		///////////////////////////////////////////////////////////////////////////
 		// methods //
 		////////////
+		
+		@Override
+		public final synchronized boolean tryAddData(final Binary data)
+		{
+			if(this.sealed || !this.groupController.isGroupingEnabled())
+			{
+				return false;
+			}
+			
+			final long dataLength = dataLength(data);
+			if(this.dataLength + dataLength > this.groupController.maximumGroupLength())
+			{
+				return false;
+			}
+			
+			if(this.dataCount == this.data.length)
+			{
+				this.data = XArrays.enlarge(this.data, this.data.length * 2);
+			}
+			this.data[this.dataCount++] = data;
+			this.dataLength += dataLength;
+			
+			// no channel has processed this task before sealing, so participants can still be added safely.
+			this.addParticipants(this.markParticipants(data));
+			
+			// a full group does not have to wait any longer.
+			if(this.dataLength >= this.groupController.maximumGroupLength())
+			{
+				this.notifyAll();
+			}
+			
+			return true;
+		}
+		
+		private int markParticipants(final Binary data)
+		{
+			int newParticipantCount = 0;
+			for(int i = 0; i < this.participants.length; i++)
+			{
+				if(!this.participants[i] && hasChannelData(data, i))
+				{
+					this.participants[i] = true;
+					newParticipantCount++;
+				}
+			}
+			
+			return newParticipantCount;
+		}
+		
+		/**
+		 * Ends the grouping when the first channel reaches this task, after waiting for the grouping delay if
+		 * necessary. From then on, the grouped data and the participating channels are immutable and can safely
+		 * be read by all channels.
+		 */
+		private void seal()
+		{
+			if(!this.sealed)
+			{
+				this.waitForGrouping();
+				this.sealed = true;
+			}
+		}
+		
+		private synchronized Chunk[] sealData(final int channelIndex)
+		{
+			this.seal();
+			
+			final Chunk[] chunks = new Chunk[this.dataCount];
+			for(int i = 0; i < chunks.length; i++)
+			{
+				chunks[i] = this.data[i].channelChunk(channelIndex);
+			}
+			
+			return chunks;
+		}
+		
+		private void waitForGrouping()
+		{
+			if(!this.groupController.isGroupingEnabled())
+			{
+				return;
+			}
+			
+			final long groupingBoundNs = this.creationTimeNs + this.groupController.groupingDelayNs();
+			try
+			{
+				long remainingNs;
+				while(this.dataLength < this.groupController.maximumGroupLength()
+				&& (remainingNs = groupingBoundNs - System.nanoTime()) > 0)
+				{
+					this.wait(remainingNs / 1_000_000, (int)(remainingNs % 1_000_000));
+				}
+			}
+			catch(final InterruptedException e)
+			{
+				// the group is simply processed right away, but the interruption must not get lost.
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public final synchronized boolean concernsChannel(final int channelIndex)
+		{
+			// does not seal, as it is checked by enqueuing threads, not by processing channels.
+			return this.participants[channelIndex];
+		}
+
+		@Override
+		protected final synchronized boolean isParticipant(final StorageChannel channel)
+		{
+			// channels without any data of this task skip it instead of synchronizing with the ones storing data.
+			this.seal();
+			
+			return this.participants[channel.channelIndex()];
+		}
 
 		@Override
 		protected final KeyValue<ByteBuffer[], long[]> internalProcessBy(final StorageChannel channel)
 		{
 //			this.DEBUG_Print(channel);
-			return channel.storeEntities(this.timestamp(), this.data.channelChunk(channel.channelIndex()));
+			final Chunk[] chunks = this.sealData(channel.channelIndex());
+			
+			return chunks.length == 1
+				? channel.storeEntities(this.timestamp(), chunks[0])
+				: channel.storeEntities(this.timestamp(), chunks)
+			;
 		}
 		
 		public final void DEBUG_Print(final StorageChannel channel)
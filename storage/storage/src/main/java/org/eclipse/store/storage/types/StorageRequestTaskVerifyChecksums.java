@@ -0,0 +1,188 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.eclipse.serializer.collections.BulkList;
+import org.eclipse.store.storage.exceptions.StorageException;
+
+
+public interface StorageRequestTaskVerifyChecksums extends StorageRequestTask
+{
+	/**
+	 * Waits for the verification of all channels' ranges, which is performed by the workers of a pool after
+	 * the task is complete, and returns the combined report.
+	 * 
+	 * @return the combined {@link StorageDataChecksumReport} of all channels.
+	 * 
+	 * @throws InterruptedException if the waiting thread is interrupted.
+	 */
+	public StorageDataChecksumReport result() throws InterruptedException;
+
+
+
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<StorageDataChecksumVerification>
+	implements StorageRequestTaskVerifyChecksums
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final ForkJoinTask<StorageDataChecksumReport>[] channelTasks  ;
+		private final StorageDataChecksumReport[]               channelResults;
+
+		private ForkJoinPool              pool  ;
+		private StorageDataChecksumReport result;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		@SuppressWarnings("unchecked")
+		Default(
+			final long                       timestamp   ,
+			final int                        channelCount,
+			final StorageOperationController controller
+		)
+		{
+			super(timestamp, channelCount, controller);
+			this.channelTasks   = new ForkJoinTask[channelCount]               ;
+			this.channelResults = new StorageDataChecksumReport[channelCount];
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final StorageDataChecksumVerification internalProcessBy(final StorageChannel channel)
+		{
+			// channels only collect their ranges, reading the data would block them for too long
+			return channel.provideChecksumVerification();
+		}
+
+		@Override
+		protected synchronized void succeed(
+			final StorageChannel                  channel     ,
+			final StorageDataChecksumVerification verification
+		)
+		{
+			// all channels' ranges are verified in batches by one pool, so the load is spread over all cores
+			if(this.pool == null)
+			{
+				this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+			}
+			this.channelTasks[verification.channelIndex()] = verification.verify(this.pool);
+		}
+
+		@Override
+		protected void fail(
+			final StorageChannel                  channel     ,
+			final StorageDataChecksumVerification verification
+		)
+		{
+			if(verification != null)
+			{
+				verification.release();
+			}
+		}
+
+		@Override
+		public StorageDataChecksumReport result() throws InterruptedException
+		{
+			final ForkJoinTask<StorageDataChecksumReport>[] channelTasks;
+			synchronized(this)
+			{
+				if(this.result != null)
+				{
+					return this.result;
+				}
+				channelTasks = this.channelTasks.clone();
+			}
+
+			try
+			{
+				// joining outside the lock, as channels submit their verifications under it.
+				for(int i = 0; i < channelTasks.length; i++)
+				{
+					if(channelTasks[i] == null)
+					{
+						continue;
+					}
+					try
+					{
+						this.channelResults[i] = channelTasks[i].get();
+					}
+					catch(final ExecutionException e)
+					{
+						throw new StorageException("Checksum verification failed in channel #" + i, e.getCause());
+					}
+				}
+			}
+			finally
+			{
+				this.shutdownPool();
+			}
+
+			synchronized(this)
+			{
+				if(this.result == null)
+				{
+					this.result = this.createResult();
+				}
+				return this.result;
+			}
+		}
+
+		private synchronized void shutdownPool()
+		{
+			if(this.pool != null)
+			{
+				// tasks still running after a failure or interruption complete nevertheless and release their files
+				this.pool.shutdown();
+			}
+		}
+
+		private StorageDataChecksumReport createResult()
+		{
+			long verifiedRangeCount = 0;
+			long verifiedLength     = 0;
+			final BulkList<StorageDataChecksumReport.CorruptRange> corruptRanges = BulkList.New();
+
+			for(final StorageDataChecksumReport result : this.channelResults)
+			{
+				verifiedRangeCount += result.verifiedRangeCount();
+				verifiedLength     += result.verifiedLength()    ;
+				corruptRanges.addAll(result.corruptRanges());
+			}
+
+			return StorageDataChecksumReport.New(
+				verifiedRangeCount,
+				verifiedLength    ,
+				corruptRanges
+			);
+		}
+
+	}
+	
+}
@@ -190,6 +190,19 @@ public interface StorageSystem extends StorageController
 		private final StorageStructureValidator                  storageStructureValidator     ;
 		private final MonitoringManager                          monitorManager                ;
 		private final StorageEntityCollector.Creator             entityCollectorCreator        ;
+		private final StorageEntityIndex.Creator                 entityIndexCreator            ;
+		private final StorageEntityIndexSnapshot                 entityIndexSnapshot           ;
+		private final StorageEntityInitializer.Creator           entityInitializerCreator      ;
+		private final StorageDataFileMappingEvaluator            dataFileMappingEvaluator      ;
+		private final StorageEntityCacheCompressor               entityCacheCompressor         ;
+		private final StorageDataFileCompression                 dataFileCompression           ;
+		private final StorageDataChecksumController              dataChecksumController        ;
+		private final StorageDataFileCostBenefitEvaluator        dataFileCostBenefitEvaluator  ;
+		private final StorageIoRateController                    ioRateController              ;
+		private final StorageDataFileHandleController            dataFileHandleController      ;
+		private final StorageTransactionsCheckpoint              transactionsCheckpoint        ;
+		private final StorageDurabilityController                durabilityController          ;
+		private final StorageDataFilePreallocationController     preallocationController       ;
 		
 		// state flags //
 		private final AtomicBoolean    isStartingUp       = new AtomicBoolean();
@@ -246,7 +259,20 @@ public interface StorageSystem extends StorageController
 			final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry             ,
 			final StorageStructureValidator                  storageStructureValidator     ,
 			final MonitoringManager                          monitorManager                ,
-			final StorageEntityCollector.Creator             entityCollectorCreator
+			final StorageEntityCollector.Creator             entityCollectorCreator        ,
+			final StorageEntityIndex.Creator                 entityIndexCreator            ,
+			final StorageEntityIndexSnapshot                 entityIndexSnapshot           ,
+			final StorageEntityInitializer.Creator           entityInitializerCreator      ,
+			final StorageDataFileMappingEvaluator            dataFileMappingEvaluator      ,
+			final StorageEntityCacheCompressor               entityCacheCompressor         ,
+			final StorageDataFileCompression                 dataFileCompression           ,
+			final StorageDataChecksumController              dataChecksumController        ,
+			final StorageDataFileCostBenefitEvaluator        dataFileCostBenefitEvaluator  ,
+			final StorageIoRateController                    ioRateController              ,
+			final StorageDataFileHandleController            dataFileHandleController      ,
+			final StorageTransactionsCheckpoint              transactionsCheckpoint        ,
+			final StorageDurabilityController                durabilityController          ,
+			final StorageDataFilePreallocationController     preallocationController
 		)
 		{
 			super();
@@ -294,6 +320,19 @@ public interface StorageSystem extends StorageController
 			this.storageStructureValidator      = notNull(storageStructureValidator)           ;
 			this.monitorManager                 = notNull(monitorManager)                      ;
 			this.entityCollectorCreator         = notNull(entityCollectorCreator)              ;
+			this.entityIndexCreator             = notNull(entityIndexCreator)                  ;
+			this.entityIndexSnapshot            = notNull(entityIndexSnapshot)                 ;
+			this.entityInitializerCreator       = notNull(entityInitializerCreator)            ;
+			this.dataFileMappingEvaluator       = notNull(dataFileMappingEvaluator)            ;
+			this.entityCacheCompressor          = notNull(entityCacheCompressor)               ;
+			this.dataFileCompression            = notNull(dataFileCompression)                 ;
+			this.dataChecksumController         = notNull(dataChecksumController)              ;
+			this.dataFileCostBenefitEvaluator   = notNull(dataFileCostBenefitEvaluator)        ;
+			this.ioRateController               = notNull(ioRateController)                    ;
+			this.dataFileHandleController       = notNull(dataFileHandleController)            ;
+			this.transactionsCheckpoint         = notNull(transactionsCheckpoint)              ;
+			this.durabilityController           = notNull(durabilityController)                ;
+			this.preallocationController        = notNull(preallocationController)             ;
 		}
 
 
@@ -425,7 +464,8 @@ public interface StorageSystem extends StorageController
 					this.operationController,
 					this.writeController,
 					this.backupDataFileValidatorCreator,
-					this.typeDictionary()
+					this.typeDictionary(),
+					this.ioRateController.backupRateLimiter()
 				);
 			}
 			
@@ -554,7 +594,20 @@ public interface StorageSystem extends StorageController
 				this.switchByteOrder                       ,
 				this.rootTypeIdProvider.provideRootTypeId(),
 				this.monitorManager                        ,
-				this.entityCollectorCreator
+				this.entityCollectorCreator                ,
+				this.entityIndexCreator                    ,
+				this.entityIndexSnapshot                   ,
+				this.entityInitializerCreator              ,
+				this.dataFileMappingEvaluator              ,
+				this.entityCacheCompressor                 ,
+				this.dataFileCompression                   ,
+				this.dataChecksumController                ,
+				this.dataFileCostBenefitEvaluator          ,
+				this.ioRateController                      ,
+				this.dataFileHandleController              ,
+				this.transactionsCheckpoint                ,
+				this.durabilityController                  ,
+				this.preallocationController
 			);
 
 			final ChannelKeeper[] keepers = this.channelKeepers;
@@ -784,7 +837,8 @@ public interface StorageSystem extends StorageController
 
 			return this.requestAcceptorCreator.createRequestAcceptor(
 				this.dataChunkValidatorProvider.provideDataChunkValidator(this.typeDictionary),
-				this.taskbroker
+				this.taskbroker,
+				this.typeDictionary
 			);
 		}
 		
@@ -14,6 +14,8 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.store.storage.exceptions.StorageException;
 
 public interface StorageTask
@@ -30,6 +32,17 @@ public interface StorageTask
 
 	public void waitOnCompletion() throws InterruptedException;
 
+	/**
+	 * Returns a {@link CompletableFuture} that gets completed as soon as this task is complete, exceptionally
+	 * in case of problems, without requiring a waiting thread.
+	 * <p>
+	 * Note that the returned instance might get completed by a channel thread, so dependent actions must never be
+	 * attached to it directly, but only via its asynchronous methods.
+	 * 
+	 * @return the completion of this task.
+	 */
+	public CompletableFuture<Void> completion();
+
 	public boolean hasProblems();
 
 	public Throwable[] problems();
@@ -38,6 +51,20 @@ public interface StorageTask
 
 	public long timestamp();
 
+	/**
+	 * Defines if the channel with the passed index has to process this task, so that a waiting channel thread
+	 * only has to be woken up for tasks concerning it. Must never return {@code false} for a channel that has to
+	 * process the task, but may return {@code true} for a channel that eventually skips it.
+	 * 
+	 * @param channelIndex the index of the channel to be checked.
+	 * 
+	 * @return whether the task concerns the channel with the passed index.
+	 */
+	public default boolean concernsChannel(final int channelIndex)
+	{
+		return true;
+	}
+
 
 
 	public abstract class Abstract implements StorageTask
@@ -143,6 +170,12 @@ public interface StorageTask
 			// no-op, i.e. instantly complete
 		}
 
+		@Override
+		public final CompletableFuture<Void> completion()
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+
 		@Override
 		public void processBy(final StorageChannel storageChannel) throws InterruptedException
 		{
@@ -18,7 +18,11 @@ import static org.eclipse.serializer.util.X.notNull;
 
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.eclipse.serializer.afs.types.AFile;
 import org.eclipse.serializer.collections.types.XGettingEnum;
@@ -32,6 +36,27 @@ public interface StorageTaskBroker
 {
 	public StorageTask currentTask();
 
+	/**
+	 * Waits up to the passed time for the task following the passed task in the task chain.
+	 * 
+	 * @param channel the channel waiting for the next task.
+	 * @param task the task last processed by the passed channel.
+	 * @param ms the maximum time to wait in milliseconds.
+	 * 
+	 * @return the next task or {@code null} if there was none within the passed time.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public default StorageTask awaitNextTask(
+		final StorageChannel channel,
+		final StorageTask    task   ,
+		final long           ms
+	)
+		throws InterruptedException
+	{
+		return task.awaitNext(ms);
+	}
+
 	public StorageRequestTaskLoadRoots enqueueRootsLoadTask()
 		throws InterruptedException;
 
@@ -75,6 +100,9 @@ public interface StorageTaskBroker
 	public StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask()
 		throws InterruptedException;
 
+	public StorageRequestTaskVerifyChecksums enqueueVerifyChecksumsTask()
+		throws InterruptedException;
+
 	public StorageChannelTaskInitialize issueChannelInitialization(
 		StorageOperationController operationController
 	)
@@ -386,6 +414,16 @@ public interface StorageTaskBroker
 			return task;
 		}
 
+		@Override
+		public StorageRequestTaskVerifyChecksums enqueueVerifyChecksumsTask() throws InterruptedException
+		{
+			final StorageRequestTaskVerifyChecksums task = this.taskCreator.createVerifyChecksumsTask(
+				this.channelCount, this.operationController
+			);
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
 
 		@Override
 		public final synchronized StorageRequestTaskExportEntitiesByType enqueueExportTypesTask(
@@ -430,6 +468,14 @@ public interface StorageTaskBroker
 		{
 			this.validateChannelCount(data.channelCount());
 			
+			// group commit: join the last enqueued store task if it has not been started, yet, and has room left.
+			final StorageTask currentHead = this.currentHead;
+			if(currentHead instanceof StorageRequestTaskStoreEntities
+			&& ((StorageRequestTaskStoreEntities)currentHead).tryAddData(data))
+			{
+				return (StorageRequestTaskStoreEntities)currentHead;
+			}
+			
 			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
 			final StorageRequestTaskStoreEntities task = this.taskCreator.createSaveTask(data, this.operationController);
 			
@@ -522,12 +568,515 @@ public interface StorageTaskBroker
 
 	}
 
+	/**
+	 * Task broker implementation that enqueues tasks without locking by atomically replacing the current head task
+	 * and that lets waiting channel threads park until they get unparked specifically by an enqueuing thread,
+	 * instead of waiting on and notifying via the monitor of the current head task.
+	 * <p>
+	 * To keep the task chain in strict timestamp order, a task is always created after reading the current
+	 * head task. If another task has been enqueued in the meantime, the task is discarded and created again.
+	 */
+	public final class LockFree implements StorageTaskBroker
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		// can't have a strong reference to StorageManager since that would prevent automatic shutdown
+		private final StorageOperationController    operationController   ;
+		private final StorageDataFileEvaluator      fileEvaluator         ;
+		private final StorageObjectIdRangeEvaluator objectIdRangeEvaluator;
+		private final StorageRequestTaskCreator     taskCreator           ;
+		private final int                           channelCount          ;
+
+		private final AtomicReference<StorageTask> currentHead   ;
+		private final AtomicReferenceArray<Thread> waitingThreads; // indexed by channel index
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		LockFree(
+			final StorageRequestTaskCreator     taskCreator           ,
+			final StorageOperationController    operationController   ,
+			final StorageDataFileEvaluator      fileEvaluator         ,
+			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
+			final int                           channelCount
+		)
+		{
+			super();
+			this.taskCreator            = notNull(taskCreator);
+			this.operationController    = notNull(operationController);
+			this.fileEvaluator          = notNull(fileEvaluator);
+			this.objectIdRangeEvaluator = notNull(objectIdRangeEvaluator);
+			this.channelCount           =         channelCount;
+			this.currentHead            = new AtomicReference<>(new StorageTask.DummyTask());
+			this.waitingThreads         = new AtomicReferenceArray<>(channelCount);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private void checkProcessingEnabled()
+		{
+			/* (12.06.2019 TM)NOTE:
+			 * prevents application threads from waiting forever for a storage
+			 * that is already shutdown due to an error (e.g. IO-location not reachable).
+			 */
+			if(!this.operationController.checkProcessingEnabled())
+			{
+				throw new StorageExceptionNotRunning("Storage is shut down.");
+			}
+		}
+
+		private boolean tryEnqueueTasks(
+			final StorageTask expectedHead,
+			final StorageTask firstTask   ,
+			final StorageTask secondTask
+		)
+		{
+			/* The first task is the next task to be processed, the second task is the new head task, i.e.
+			 * the new last task that gets future tasks attached to.
+			 * It is the first task's responsibility to (eventually) lead to the second task in order to
+			 * close the task chain.
+			 */
+			if(!this.currentHead.compareAndSet(expectedHead, secondTask))
+			{
+				return false;
+			}
+
+			// only the thread that replaced the expected head may attach to it, so this can never collide.
+			expectedHead.setNext(firstTask);
+			this.unparkWaitingThreads(firstTask);
+
+			return true;
+		}
+
+		private <T extends StorageTask> T enqueueTask(final Supplier<T> taskSupplier)
+		{
+			this.checkProcessingEnabled();
+
+			return this.uncheckedEnqueueTask(taskSupplier);
+		}
+
+		private <T extends StorageTask> T uncheckedEnqueueTask(final Supplier<T> taskSupplier)
+		{
+			while(true)
+			{
+				// task creation must be called AFTER reading the head to ensure temporal consistency in the task chain
+				final StorageTask currentHead = this.currentHead.get();
+				final T           task        = taskSupplier.get();
+				if(this.tryEnqueueTasks(currentHead, task, task))
+				{
+					return task;
+				}
+				// another task has been enqueued in the meantime, so the created one might be outdated
+			}
+		}
+
+		private <T extends StorageTask> T enqueueTaskPrependingFullGc(
+			final Supplier<T> taskSupplier  ,
+			final long        nanoTimeBudget
+		)
+		{
+			this.checkProcessingEnabled();
+
+			while(true)
+			{
+				final StorageTask currentHead = this.currentHead.get();
+				final T           task        = taskSupplier.get();
+				if(this.tryEnqueueTasks(currentHead, this.createGcTask(task, nanoTimeBudget), task))
+				{
+					return task;
+				}
+			}
+		}
+
+		private StorageRequestTaskGarbageCollection createGcTask(final StorageTask task, final long nanoTimeBudget)
+		{
+			return new StorageRequestTaskGarbageCollection.Default(
+				task.timestamp() - 1,
+				this.channelCount   ,
+				nanoTimeBudget      ,
+				task                ,
+				this.operationController
+			);
+		}
+
+		/**
+		 * Unparks the waiting threads of all channels the passed task concerns. All other channels skip the task
+		 * anyway, so they can keep waiting until a task concerning them is enqueued or their wait times out.
+		 */
+		private void unparkWaitingThreads(final StorageTask task)
+		{
+			for(int i = 0; i < this.channelCount; i++)
+			{
+				final Thread waitingThread = this.waitingThreads.get(i);
+				if(waitingThread != null && task.concernsChannel(i))
+				{
+					LockSupport.unpark(waitingThread);
+				}
+			}
+		}
+
+		@Override
+		public final StorageTask awaitNextTask(
+			final StorageChannel channel,
+			final StorageTask    task   ,
+			final long           ms
+		)
+			throws InterruptedException
+		{
+			StorageTask next;
+			if((next = task.next()) != null)
+			{
+				return next;
+			}
+
+			final int  channelIndex = channel.channelIndex();
+			final long targetTime   = System.nanoTime() + ms * 1_000_000;
+
+			/*
+			 * Registering before checking again guarantees that either this thread sees the next task
+			 * or the enqueuing thread sees this thread and unparks it.
+			 */
+			this.waitingThreads.set(channelIndex, Thread.currentThread());
+			try
+			{
+				long waitTime;
+				// if no immediate next task is available, wait for it a little, but then switch back to do housekeeping
+				while((next = task.next()) == null && (waitTime = targetTime - System.nanoTime()) > 0)
+				{
+					LockSupport.parkNanos(this, waitTime);
+					if(Thread.interrupted())
+					{
+						throw new InterruptedException();
+					}
+				}
+			}
+			finally
+			{
+				this.waitingThreads.set(channelIndex, null);
+			}
+
+			return next;
+		}
+
+		@Override
+		public final StorageTask currentTask()
+		{
+			return this.currentHead.get();
+		}
+
+		@Override
+		public final StorageRequestTaskGarbageCollection issueGarbageCollection(
+			final long nanoTimeBudget
+		)
+			throws InterruptedException
+		{
+			this.checkProcessingEnabled();
+
+			while(true)
+			{
+				final StorageTask        currentHead = this.currentHead.get();
+				final StorageRequestTask dummy       =
+					new StorageChannelSynchronizingTask.AbstractCompletingTask.Dummy(this.channelCount, this.operationController)
+				;
+				final StorageRequestTaskGarbageCollection gcTask = this.createGcTask(dummy, nanoTimeBudget);
+				if(this.tryEnqueueTasks(currentHead, gcTask, dummy))
+				{
+					return gcTask;
+				}
+			}
+		}
+
+		@Override
+		public final StorageRequestTaskCacheCheck issueCacheCheck(
+			final long                        nanoTimeBudget ,
+			final StorageEntityCacheEvaluator entityEvaluator
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createFullCacheCheckTask(
+					this.channelCount,
+					nanoTimeBudget,
+					entityEvaluator,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskFileCheck issueFileCheck(
+			final long nanoTimeBudget
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createFullFileCheckTask(
+					this.channelCount,
+					nanoTimeBudget,
+					this.operationController
+				)
+			);
+		}
+		
+		@Override
+		public final StorageRequestTaskTransactionsLogCleanup issueTransactionsLogCleanup()
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.CreateTransactionsLogCleanupTask(
+					this.channelCount,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskExportAdjacencyData exportAdjacencyData(final Path exportDirectory)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createExportAdjacencyDataTask(
+					this.channelCount,
+					this.operationController,
+					exportDirectory
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTask enqueueExportChannelsTask(
+			final StorageLiveFileProvider fileProvider            ,
+			final boolean                 performGarbageCollection
+		)
+			throws InterruptedException
+		{
+			final Supplier<StorageRequestTaskExportChannels> taskSupplier = () ->
+				this.taskCreator.createTaskExportChannels(
+					this.channelCount,
+					fileProvider,
+					this.operationController
+				)
+			;
+
+			// see StorageTaskBroker.Default for the rationale of the optional GC.
+			return performGarbageCollection
+				? this.enqueueTaskPrependingFullGc(taskSupplier, Long.MAX_VALUE) // must let GC complete
+				: this.enqueueTask(taskSupplier)
+			;
+		}
+
+		@Override
+		public final StorageRequestTask enqueueImportFromFilesTask(final XGettingEnum<AFile> importFiles)
+			throws InterruptedException
+		{
+			// always use the internal evaluator to match live operation
+			return this.enqueueTask(() ->
+				this.taskCreator.createImportFromFilesTask(
+					this.channelCount          ,
+					this.fileEvaluator         ,
+					this.objectIdRangeEvaluator,
+					importFiles                ,
+					this.operationController
+				)
+			);
+		}
+		
+		@Override
+		public final StorageRequestTask enqueueImportFromByteBuffersTask(final XGettingEnum<ByteBuffer> importData)
+			throws InterruptedException
+		{
+			// always use the internal evaluator to match live operation
+			return this.enqueueTask(() ->
+				this.taskCreator.createImportFromByteBuffersTask(
+					this.channelCount          ,
+					this.fileEvaluator         ,
+					this.objectIdRangeEvaluator,
+					importData                 ,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask()
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createCreateRawFileStatisticsTask(this.channelCount, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskVerifyChecksums enqueueVerifyChecksumsTask()
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createVerifyChecksumsTask(this.channelCount, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskExportEntitiesByType enqueueExportTypesTask(
+			final StorageEntityTypeExportFileProvider         exportFileProvider,
+			final Predicate<? super StorageEntityTypeHandler> isExportType
+		)
+			throws InterruptedException
+		{
+			// must let GC complete to get viable results
+			return this.enqueueTaskPrependingFullGc(
+				() -> this.taskCreator.createExportTypesTask(
+					this.channelCount ,
+					exportFileProvider,
+					isExportType,
+					this.operationController
+				),
+				Long.MAX_VALUE
+			);
+		}
+		
+		/**
+		 * The task broker cannot rely on any outside logic to pass an array with valid length or validate its length.
+		 * Every channel-count-depending array must be validated right before it is enqueued as a task to prevent
+		 * the system from crashing.
+		 */
+		private void validateChannelCount(final int channelCount)
+		{
+			if(channelCount != this.channelCount)
+			{
+				throw UtilStackTrace.cutStacktraceByOne(new StorageException(
+					"Invalid channel count, given: " + channelCount +
+					", expected: " + this.channelCount
+				));
+			}
+		}
+
+		@Override
+		public final StorageRequestTaskStoreEntities enqueueStoreTask(final Binary data)
+			throws InterruptedException
+		{
+			this.validateChannelCount(data.channelCount());
+			
+			/* group commit: join the last enqueued store task if it has not been started, yet, and has room left.
+			 * Should another task have been enqueued in the meantime, joining is still valid, as long as
+			 * no channel has started processing the store task.
+			 */
+			final StorageTask currentHead = this.currentHead.get();
+			if(currentHead instanceof StorageRequestTaskStoreEntities
+			&& ((StorageRequestTaskStoreEntities)currentHead).tryAddData(data))
+			{
+				// the added data may concern channels that have not been unparked for the task before.
+				this.unparkWaitingThreads(currentHead);
+				return (StorageRequestTaskStoreEntities)currentHead;
+			}
+			
+			return this.enqueueTask(() ->
+				this.taskCreator.createSaveTask(data, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskLoadByOids enqueueLoadTaskByOids(
+			final PersistenceIdSet[] loadOids
+		)
+			throws InterruptedException
+		{
+			this.validateChannelCount(loadOids.length);
+			
+			return this.enqueueTask(() ->
+				this.taskCreator.createLoadTaskByOids(loadOids, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskLoadRoots enqueueRootsLoadTask() throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createRootsLoadTask(this.channelCount, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskLoadByTids enqueueLoadTaskByTids(
+			final PersistenceIdSet loadTids
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createLoadTaskByTids(loadTids, this.channelCount, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageChannelTaskInitialize issueChannelInitialization(
+			final StorageOperationController operationController
+		)
+			throws InterruptedException
+		{
+			/* (12.06.2019 TM)NOTE:
+			 * Even more special case:
+			 * Cannot check for running storage in the initialization that will cause it to run.
+			 * Plus the old special case:
+			 * Cannot wait on the task before the channel threads are started
+			 */
+			return this.uncheckedEnqueueTask(() ->
+				this.taskCreator.createInitializationTask(
+					this.channelCount  ,
+					operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageChannelTaskShutdown issueChannelShutdown(
+			final StorageOperationController operationController
+		)
+			throws InterruptedException
+		{
+			// special case: cannot wait on the task before the channel threads are started
+			return this.enqueueTask(() ->
+				this.taskCreator.createShutdownTask(
+					this.channelCount  ,
+					operationController
+				)
+			);
+		}
+
+		@Override
+		public StorageOperationController operationController()
+		{
+			return this.operationController;
+		}
+
+	}
+
 	public interface Creator
 	{
 		public StorageTaskBroker createTaskBroker(
 			StorageSystem             storageSystem,
 			StorageRequestTaskCreator taskCreator
 		);
+		
+		
+		
+		/**
+		 * Pseudo-constructor method to create a new {@link Creator} instance that creates
+		 * {@link StorageTaskBroker.LockFree} instances.
+		 * 
+		 * @return a new {@link Creator} instance.
+		 */
+		public static Creator LockFree()
+		{
+			return new Creator.LockFree();
+		}
 
 
 
@@ -555,6 +1104,30 @@ public interface StorageTaskBroker
 
 		}
 		
+		public final class LockFree implements Creator
+		{
+			LockFree()
+			{
+				super();
+			}
+			
+			@Override
+			public StorageTaskBroker createTaskBroker(
+				final StorageSystem             storageSystem,
+				final StorageRequestTaskCreator taskCreator
+			)
+			{
+				return new StorageTaskBroker.LockFree(
+					taskCreator,
+					storageSystem.operationController(),
+					storageSystem.configuration().dataFileEvaluator(),
+					storageSystem.objectIdRangeEvaluator(),
+					storageSystem.channelCountProvider().getChannelCount()
+				);
+			}
+
+		}
+		
 	}
 
 }
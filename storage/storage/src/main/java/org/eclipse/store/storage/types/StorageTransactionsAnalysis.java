@@ -19,6 +19,7 @@ import static org.eclipse.serializer.util.X.notNull;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 
 import org.eclipse.serializer.afs.types.AFS;
@@ -88,6 +89,10 @@ public interface StorageTransactionsAnalysis
 		 * Length[1]   Type[1]   FileLength[8]   Timestamp[8]          FileNumber[8]
 		 * 26          3         889874786       1404033352111000000   97
 		 *
+		 * Checksum (34 byte, CRC32C of the current head file's range [StartOffset; FileLength[)
+		 * Length[1]   Type[1]   FileLength[8]   Timestamp[8]          Checksum[8]           StartOffset[8]
+		 * 34          5         589874700       1404033352748000000   3735928559            589870000
+		 *
 		 * Gap ( >= 1byte)
 		 * -Length[1]  (Content)[arbitrary size of "-Length - 1"]
 		 * -24         S.O.M.E .C.O.M.M.E.N.T.
@@ -104,6 +109,7 @@ public interface StorageTransactionsAnalysis
 			TYPE_TRANSFER                     = 2  /* length: 34 | binary header pattern: 2202 */         ,
 			TYPE_FILE_TRUNCATION              = 3  /* length: 34 | binary header pattern: 2203 */         ,
 			TYPE_FILE_DELETION                = 4  /* length: 26 | binary header pattern: 1A04 */         ,
+			TYPE_CHECKSUM                     = 5  /* length: 34 | binary header pattern: 2205 */         ,
 
 			OFFSET_COMMON_LENGTH              = 0                                                         ,
 			OFFSET_COMMON_TYPE                = (byte)(OFFSET_COMMON_LENGTH         + LENGTH_ENTRY_LENGTH),
@@ -117,11 +123,15 @@ public interface StorageTransactionsAnalysis
 			OFFSET_COMMON_SPECIAL_OFFSET      = LENGTH_COMMON_NUMBERED                                    ,
 			LENGTH_COMMON_MAXIMUM             = (byte)(OFFSET_COMMON_SPECIAL_OFFSET + LENGTH_FILE_LENGTH ),
 
+			OFFSET_CHECKSUM_VALUE             = OFFSET_COMMON_FILE_NUMBER                                 ,
+			OFFSET_CHECKSUM_START             = OFFSET_COMMON_SPECIAL_OFFSET                              ,
+
 			LENGTH_FILE_CREATION              = LENGTH_COMMON_NUMBERED                                    ,
 			LENGTH_STORE                      = LENGTH_COMMON                                             ,
 			LENGTH_TRANSFER                   = LENGTH_COMMON_MAXIMUM                                     ,
 			LENGTH_FILE_TRUNCATION            = LENGTH_COMMON_MAXIMUM                                     ,
-			LENGTH_FILE_DELETION              = LENGTH_COMMON_NUMBERED
+			LENGTH_FILE_DELETION              = LENGTH_COMMON_NUMBERED                                    ,
+			LENGTH_CHECKSUM                   = LENGTH_COMMON_MAXIMUM
 		;
 
 		public static byte entryLengthFileCreation()
@@ -149,6 +159,11 @@ public interface StorageTransactionsAnalysis
 			return LENGTH_FILE_DELETION;
 		}
 
+		public static byte entryLengthChecksum()
+		{
+			return LENGTH_CHECKSUM;
+		}
+
 		public static void initializeEntry(final long address, final byte length, final byte type)
 		{
 			XMemory.set_byte(address + OFFSET_COMMON_LENGTH, length);
@@ -180,6 +195,11 @@ public interface StorageTransactionsAnalysis
 			initializeEntry(address, entryLengthFileTruncation(), TYPE_FILE_TRUNCATION);
 		}
 
+		public static void initializeEntryChecksum(final long address)
+		{
+			initializeEntry(address, entryLengthChecksum(), TYPE_CHECKSUM);
+		}
+
 		public static void setEntryCommon(final long address, final long fileLength, final long timestamp)
 		{
 			XMemory.set_long(address + OFFSET_COMMON_FILE_LENGTH, fileLength);
@@ -211,6 +231,7 @@ public interface StorageTransactionsAnalysis
 				case Logic.TYPE_TRANSFER       : return StorageTransactionsEntryType.DATA_TRANSFER  ;
 				case Logic.TYPE_FILE_TRUNCATION: return StorageTransactionsEntryType.FILE_TRUNCATION;
 				case Logic.TYPE_FILE_DELETION  : return StorageTransactionsEntryType.FILE_DELETION  ;
+				case Logic.TYPE_CHECKSUM       : return StorageTransactionsEntryType.DATA_CHECKSUM  ;
 				default:
 				{
 					throw new StorageException("Unknown transactions entry type: " + entryTypeKey);
@@ -248,6 +269,16 @@ public interface StorageTransactionsAnalysis
 			return XMemory.get_long(address + OFFSET_COMMON_SPECIAL_OFFSET);
 		}
 
+		public static long getChecksum(final long address)
+		{
+			return XMemory.get_long(address + OFFSET_CHECKSUM_VALUE);
+		}
+
+		public static long getChecksumStartOffset(final long address)
+		{
+			return XMemory.get_long(address + OFFSET_CHECKSUM_START);
+		}
+
 		public static void setEntryStore(final long address, final long fileLength, final long timestamp)
 		{
 			setEntryCommon(address, fileLength, timestamp);
@@ -290,6 +321,19 @@ public interface StorageTransactionsAnalysis
 			XMemory.set_long(address + OFFSET_COMMON_SPECIAL_OFFSET, oldLength );
 		}
 
+		public static void setEntryChecksum(
+			final long address    ,
+			final long fileLength ,
+			final long timestamp  ,
+			final long checksum   ,
+			final long startOffset
+		)
+		{
+			setEntryCommon(address, fileLength, timestamp);
+			XMemory.set_long(address + OFFSET_CHECKSUM_VALUE, checksum   );
+			XMemory.set_long(address + OFFSET_CHECKSUM_START, startOffset);
+		}
+
 		public static <P extends EntryIterator> P processInputFile(
 			final AReadableFile file          ,
 			final P             entryProcessor
@@ -521,6 +565,7 @@ public interface StorageTransactionsAnalysis
 				case Logic.TYPE_TRANSFER       : return this.assembleEntryTransfer      (address, availableEntryLength);
 				case Logic.TYPE_FILE_TRUNCATION: return this.assembleEntryFileTruncation(address, availableEntryLength);
 				case Logic.TYPE_FILE_DELETION  : return this.assembleEntryFileDeletion  (address, availableEntryLength);
+				case Logic.TYPE_CHECKSUM       : return this.assembleEntryChecksum      (address, availableEntryLength);
 				default:
 				{
 					throw new StorageException("Unknown transactions entry type: " + Logic.getEntryType(address));
@@ -660,6 +705,25 @@ public interface StorageTransactionsAnalysis
 			return true;
 		}
 
+		private boolean assembleEntryChecksum(final long address, final long availableItemLength)
+		{
+			if(availableItemLength < Logic.LENGTH_CHECKSUM)
+			{
+				return false;
+			}
+
+			this.vs
+			.add(StorageTransactionsEntryType.DATA_CHECKSUM.typeName()).tab();
+			this.addCommonTimestampPart(address);
+			this.addCommonFileLengthDifference(address);
+			this.addCommonCurrentHeadFile();
+			this.vs
+			.add(Logic.getChecksum(address)).tab()
+			.add(Logic.getChecksumStartOffset(address)).lf()
+			;
+			return true;
+		}
+
 	}
 
 	
@@ -702,6 +766,7 @@ public interface StorageTransactionsAnalysis
 				case Logic.TYPE_TRANSFER       : return this.handleEntryTransfer      (address, availableItemLength);
 				case Logic.TYPE_FILE_TRUNCATION: return this.handleEntryFileTruncation(address, availableItemLength);
 				case Logic.TYPE_FILE_DELETION  : return this.handleEntryFileDeletion  (address, availableItemLength);
+				case Logic.TYPE_CHECKSUM       : return this.handleEntryChecksum      (address, availableItemLength);
 				default:
 				{
 					throw new StorageException("Unknown transactions entry type: " + Logic.getEntryType(address));
@@ -883,6 +948,17 @@ public interface StorageTransactionsAnalysis
 			return true;
 		}
 
+		private boolean handleEntryChecksum(final long address, final long availableItemLength)
+		{
+			if(availableItemLength < Logic.LENGTH_CHECKSUM)
+			{
+				return false;
+			}
+
+			// a checksum entry only describes already stored data and does not change any file's length
+			return true;
+		}
+
 		final StorageTransactionsAnalysis yield(final StorageLiveTransactionsFile transactionsFile)
 		{
 			// register latest file
@@ -905,6 +981,149 @@ public interface StorageTransactionsAnalysis
 		}
 
 	}
+	
+	
+	
+	/**
+	 * Collects the checksummed data ranges still valid at the end of a transactions file, meaning all ranges
+	 * neither rolled back, truncated nor deleted, in the order of their entries.
+	 */
+	public final class ChecksumCollector implements EntryIterator
+	{
+		private long[] fileNumbers  = new long[16];
+		private long[] startOffsets = new long[16];
+		private long[] boundOffsets = new long[16];
+		private long[] checksums    = new long[16];
+		private int    size        ;
+
+		private long currentFileNumber = -1;
+
+
+
+		public ChecksumCollector()
+		{
+			super();
+		}
+
+		@Override
+		public boolean accept(final long address, final long availableItemLength)
+		{
+			// check for and skip gaps / comments
+			if(availableItemLength < 0)
+			{
+				return true;
+			}
+
+			final byte type = Logic.getEntryType(address);
+			if(availableItemLength < Logic.getEntryLength(address))
+			{
+				return false;
+			}
+
+			switch(type)
+			{
+				case Logic.TYPE_FILE_CREATION:
+				{
+					this.currentFileNumber = Logic.getFileNumber(address);
+					break;
+				}
+				case Logic.TYPE_FILE_TRUNCATION:
+				{
+					this.removeTrailingRanges(Logic.getFileNumber(address), Logic.getFileLength(address));
+					break;
+				}
+				case Logic.TYPE_FILE_DELETION:
+				{
+					this.removeRanges(Logic.getFileNumber(address));
+					break;
+				}
+				case Logic.TYPE_CHECKSUM:
+				{
+					// a range starting before the end of preceding ranges means those have been rolled back
+					final long startOffset = Logic.getChecksumStartOffset(address);
+					this.removeTrailingRanges(this.currentFileNumber, startOffset);
+					this.add(this.currentFileNumber, startOffset, Logic.getFileLength(address), Logic.getChecksum(address));
+					break;
+				}
+				default:
+				{
+					// store and transfer entries are only relevant via their subsequent checksum entries
+				}
+			}
+
+			return true;
+		}
+
+		private void add(final long fileNumber, final long startOffset, final long boundOffset, final long checksum)
+		{
+			if(this.size == this.fileNumbers.length)
+			{
+				final int newLength = this.size * 2;
+				this.fileNumbers  = Arrays.copyOf(this.fileNumbers , newLength);
+				this.startOffsets = Arrays.copyOf(this.startOffsets, newLength);
+				this.boundOffsets = Arrays.copyOf(this.boundOffsets, newLength);
+				this.checksums    = Arrays.copyOf(this.checksums   , newLength);
+			}
+			this.fileNumbers [this.size] = fileNumber ;
+			this.startOffsets[this.size] = startOffset;
+			this.boundOffsets[this.size] = boundOffset;
+			this.checksums   [this.size] = checksum   ;
+			this.size++;
+		}
+
+		private void removeTrailingRanges(final long fileNumber, final long length)
+		{
+			// ranges of a file are always contiguous at the end as only the current head file is written to
+			while(this.size > 0 && this.fileNumbers[this.size - 1] == fileNumber && this.boundOffsets[this.size - 1] > length)
+			{
+				this.size--;
+			}
+		}
+
+		private void removeRanges(final long fileNumber)
+		{
+			int t = 0;
+			for(int i = 0; i < this.size; i++)
+			{
+				if(this.fileNumbers[i] == fileNumber)
+				{
+					continue;
+				}
+				this.fileNumbers [t] = this.fileNumbers [i];
+				this.startOffsets[t] = this.startOffsets[i];
+				this.boundOffsets[t] = this.boundOffsets[i];
+				this.checksums   [t] = this.checksums   [i];
+				t++;
+			}
+			this.size = t;
+		}
+
+		public final int size()
+		{
+			return this.size;
+		}
+
+		public final long fileNumber(final int index)
+		{
+			return this.fileNumbers[index];
+		}
+
+		public final long startOffset(final int index)
+		{
+			return this.startOffsets[index];
+		}
+
+		public final long boundOffset(final int index)
+		{
+			return this.boundOffsets[index];
+		}
+
+		public final long checksum(final int index)
+		{
+			return this.checksums[index];
+		}
+
+	}
 
 
 
@@ -0,0 +1,541 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+import org.eclipse.serializer.afs.types.AFS;
+import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.serializer.afs.types.AReadableFile;
+import org.eclipse.serializer.afs.types.AWritableFile;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.util.logging.Logging;
+import org.eclipse.store.storage.exceptions.StorageExceptionConsistency;
+import org.eclipse.store.storage.types.StorageTransactionsAnalysis.EntryIterator;
+import org.slf4j.Logger;
+
+
+/**
+ * Handles a per-channel checkpoint file of the transactions log that allows analyzing the log on startup
+ * without parsing it in full.
+ * <p>
+ * A checkpoint records the consolidated state of every data file (creation, last store or transfer, checksummed
+ * ranges and deletion) as of a certain length of the transactions log, in the same entry format the compaction of
+ * the log produces. On startup, the checkpoint's entries are analyzed first and only the log entries appended after
+ * the checkpointed length are parsed. At runtime, the consolidated state is maintained incrementally, so neither
+ * writing a checkpoint nor compacting the log requires parsing the log in full.
+ * <p>
+ * The log format itself is not changed. A checkpoint that does not match the log (e.g. because the log has been
+ * compacted or replaced in the meantime) or is damaged is discarded, causing the default full parse of the log.
+ */
+public interface StorageTransactionsCheckpoint
+{
+	/**
+	 * The number of bytes to be appended to the transactions log after the last checkpoint before a new
+	 * checkpoint is written. A value of 0 disables checkpoints.
+	 *
+	 * @return the checkpoint interval in bytes.
+	 */
+	public long checkpointInterval();
+
+	public default boolean isEnabled()
+	{
+		return this.checkpointInterval() > 0;
+	}
+
+	/**
+	 * Reads and validates the checkpoint of the passed channel.
+	 *
+	 * @param fileProvider     the file provider to provide the checkpoint file.
+	 * @param channelIndex     the index of the channel.
+	 * @param transactionsFile the channel's transactions file the checkpoint must match.
+	 *
+	 * @return the validated checkpoint content, which must be closed by the caller, or {@code null}
+	 *         if there is no usable checkpoint.
+	 */
+	public StorageTransactionsCheckpoint.Content read(
+		StorageLiveFileProvider     fileProvider    ,
+		int                         channelIndex    ,
+		StorageLiveTransactionsFile transactionsFile
+	);
+
+	/**
+	 * Writes the checkpoint of the passed channel, replacing any existing checkpoint.
+	 *
+	 * @param fileProvider       the file provider to provide the checkpoint file.
+	 * @param channelIndex       the index of the channel.
+	 * @param transactionsFile   the channel's transactions file.
+	 * @param transactionsLength the length of the transactions log the consolidated entries represent.
+	 * @param entries            a buffer containing the consolidated transactions entries.
+	 */
+	public void write(
+		StorageLiveFileProvider     fileProvider      ,
+		int                         channelIndex      ,
+		StorageLiveTransactionsFile transactionsFile  ,
+		long                        transactionsLength,
+		ByteBuffer                  entries
+	);
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageTransactionsCheckpoint} instance
+	 * that never writes or reads checkpoints, meaning the transactions log is always parsed in full.
+	 * This is the default.
+	 *
+	 * @return a new disabled {@link StorageTransactionsCheckpoint} instance.
+	 */
+	public static StorageTransactionsCheckpoint Disabled()
+	{
+		return new StorageTransactionsCheckpoint.Disabled();
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageTransactionsCheckpoint} instance
+	 * that writes a checkpoint after every 1 MiB appended to the transactions log.
+	 *
+	 * @return a new {@link StorageTransactionsCheckpoint} instance.
+	 *
+	 * @see #New(long)
+	 */
+	public static StorageTransactionsCheckpoint New()
+	{
+		return New(1024 * 1024);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageTransactionsCheckpoint} instance.
+	 *
+	 * @param checkpointInterval the number of bytes appended to the transactions log after which
+	 *        a new checkpoint is written.
+	 *
+	 * @return a new {@link StorageTransactionsCheckpoint} instance.
+	 */
+	public static StorageTransactionsCheckpoint New(final long checkpointInterval)
+	{
+		return new StorageTransactionsCheckpoint.Default(
+			positive(checkpointInterval)
+		);
+	}
+
+
+
+	public final class Disabled implements StorageTransactionsCheckpoint
+	{
+		Disabled()
+		{
+			super();
+		}
+
+		@Override
+		public final long checkpointInterval()
+		{
+			return 0;
+		}
+
+		@Override
+		public final StorageTransactionsCheckpoint.Content read(
+			final StorageLiveFileProvider     fileProvider    ,
+			final int                         channelIndex    ,
+			final StorageLiveTransactionsFile transactionsFile
+		)
+		{
+			return null;
+		}
+
+		@Override
+		public final void write(
+			final StorageLiveFileProvider     fileProvider      ,
+			final int                         channelIndex      ,
+			final StorageLiveTransactionsFile transactionsFile  ,
+			final long                        transactionsLength,
+			final ByteBuffer                  entries
+		)
+		{
+			// no-op
+		}
+
+	}
+
+
+
+	/**
+	 * File layout (all values in native byte order):
+	 * <pre>
+	 * header : [magic:long][version:int][channelIndex:int][transactionsLength:long][fingerprint:long][entriesLength:long]
+	 * entries: consolidated transactions entries in the transactions log format
+	 * trailer: [CRC32C of everything before:long]
+	 * </pre>
+	 * The fingerprint is the CRC32C of the last (up to) {@value #FINGERPRINT_LENGTH} bytes of the checkpointed
+	 * range of the transactions log.
+	 */
+	public final class Default implements StorageTransactionsCheckpoint
+	{
+		private final static Logger logger = Logging.getLogger(StorageTransactionsCheckpoint.class);
+
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final long MAGIC   = 0x5354_4348_4B50_4E54L; // "STCHKPNT"
+		static final int  VERSION = 1;
+
+		static final int
+			OFFSET_HEADER_MAGIC        =  0,
+			OFFSET_HEADER_VERSION      =  8,
+			OFFSET_HEADER_CHANNEL      = 12,
+			OFFSET_HEADER_TRANSACTIONS = 16,
+			OFFSET_HEADER_FINGERPRINT  = 24,
+			OFFSET_HEADER_ENTRIES      = 32,
+			HEADER_LENGTH              = 40,
+
+			CHECKSUM_LENGTH            =  8,
+
+			FINGERPRINT_LENGTH         = 4096
+		;
+
+		private static final int BUFFER_LENGTH = 64 * 1024;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long checkpointInterval;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long checkpointInterval)
+		{
+			super();
+			this.checkpointInterval = checkpointInterval;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long checkpointInterval()
+		{
+			return this.checkpointInterval;
+		}
+
+		@Override
+		public final StorageTransactionsCheckpoint.Content read(
+			final StorageLiveFileProvider     fileProvider    ,
+			final int                         channelIndex    ,
+			final StorageLiveTransactionsFile transactionsFile
+		)
+		{
+			final AFile file = fileProvider.provideTransactionsCheckpointFile(channelIndex);
+			if(!file.exists())
+			{
+				return null;
+			}
+
+			final AReadableFile readableFile = file.useReading();
+			try
+			{
+				final StorageTransactionsCheckpoint.Content content = readContent(
+					readableFile    ,
+					channelIndex    ,
+					transactionsFile
+				);
+				logger.debug(
+					"Channel {} analyzing transactions log from checkpoint {} at length {}.",
+					channelIndex, file, content.transactionsLength()
+				);
+
+				return content;
+			}
+			catch(final Exception e)
+			{
+				readableFile.close();
+				logger.warn(
+					"Channel {} discarding unusable transactions checkpoint {}: {}", channelIndex, file, e.getMessage()
+				);
+
+				return null;
+			}
+		}
+
+		private static StorageTransactionsCheckpoint.Content readContent(
+			final AReadableFile               file            ,
+			final int                         channelIndex    ,
+			final StorageLiveTransactionsFile transactionsFile
+		)
+		{
+			final long contentLength = file.size() - CHECKSUM_LENGTH;
+			if(contentLength < HEADER_LENGTH)
+			{
+				throw new StorageExceptionConsistency("Incomplete checkpoint file.");
+			}
+
+			final ByteBuffer buffer  = XMemory.allocateDirectNative(BUFFER_LENGTH);
+			final long       address = XMemory.getDirectByteBufferAddress(buffer);
+			try
+			{
+				validateChecksum(file, contentLength, buffer, address);
+
+				StorageEntityIndexSnapshot.Default.read(file, 0, HEADER_LENGTH, buffer);
+				if(XMemory.get_long(address + OFFSET_HEADER_MAGIC) != MAGIC
+				|| XMemory.get_int(address + OFFSET_HEADER_VERSION) != VERSION
+				|| XMemory.get_int(address + OFFSET_HEADER_CHANNEL) != channelIndex
+				)
+				{
+					throw new StorageExceptionConsistency("Invalid checkpoint header.");
+				}
+				final long transactionsLength = XMemory.get_long(address + OFFSET_HEADER_TRANSACTIONS);
+				final long fingerprint        = XMemory.get_long(address + OFFSET_HEADER_FINGERPRINT );
+				final long entriesLength      = XMemory.get_long(address + OFFSET_HEADER_ENTRIES     );
+
+				if(entriesLength < 0 || HEADER_LENGTH + entriesLength != contentLength)
+				{
+					throw new StorageExceptionConsistency("Inconsistent checkpoint file length.");
+				}
+
+				// the log might have been appended to, but a checkpointed range must never have been changed.
+				final long actualLength = transactionsFile.size();
+				if(actualLength < transactionsLength)
+				{
+					throw new StorageExceptionConsistency(
+						"Transactions file is shorter than its checkpoint: " + actualLength + " < " + transactionsLength
+					);
+				}
+				if(fingerprint(transactionsFile, transactionsLength, buffer) != fingerprint)
+				{
+					throw new StorageExceptionConsistency("Transactions file does not match its checkpoint.");
+				}
+
+				return new Content(file, transactionsLength, entriesLength);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+		private static void validateChecksum(
+			final AReadableFile file         ,
+			final long          contentLength,
+			final ByteBuffer    buffer       ,
+			final long          address
+		)
+		{
+			final CRC32C checksum = new CRC32C();
+			for(long position = 0; position < contentLength;)
+			{
+				final int length = (int)Math.min(buffer.capacity(), contentLength - position);
+				StorageEntityIndexSnapshot.Default.read(file, position, length, buffer);
+				checksum.update(buffer);
+				position += length;
+			}
+
+			StorageEntityIndexSnapshot.Default.read(file, contentLength, CHECKSUM_LENGTH, buffer);
+			if(XMemory.get_long(address) != checksum.getValue())
+			{
+				throw new StorageExceptionConsistency("Checkpoint checksum mismatch.");
+			}
+		}
+
+		private static long fingerprint(
+			final StorageLiveTransactionsFile transactionsFile  ,
+			final long                        transactionsLength,
+			final ByteBuffer                  buffer
+		)
+		{
+			final int  length   = (int)Math.min(FINGERPRINT_LENGTH, transactionsLength);
+			final long position = transactionsLength - length;
+
+			buffer.clear().limit(length);
+			final long readCount = transactionsFile.readBytes(buffer, position, length);
+			if(readCount != length)
+			{
+				throw new StorageExceptionConsistency(
+					"Incomplete read of " + transactionsFile.identifier() + ": "
+					+ readCount + " of " + length + " bytes at " + position
+				);
+			}
+			buffer.clear().limit(length);
+
+			final CRC32C checksum = new CRC32C();
+			checksum.update(buffer);
+
+			return checksum.getValue();
+		}
+
+		@Override
+		public final void write(
+			final StorageLiveFileProvider     fileProvider      ,
+			final int                         channelIndex      ,
+			final StorageLiveTransactionsFile transactionsFile  ,
+			final long                        transactionsLength,
+			final ByteBuffer                  entries
+		)
+		{
+			final AFile file = fileProvider.provideTransactionsCheckpointFile(channelIndex);
+			try
+			{
+				if(file.exists())
+				{
+					file.delete();
+				}
+				AFS.executeWriting(file, wf ->
+					writeContent(wf, channelIndex, transactionsFile, transactionsLength, entries)
+				);
+				logger.debug(
+					"Channel {} wrote transactions checkpoint {} at length {}.", channelIndex, file, transactionsLength
+				);
+			}
+			catch(final Exception e)
+			{
+				/*
+				 * A missing checkpoint only means a full parse of the log on the next initialization.
+				 * A partially written one would be recognized by its checksum, but it is removed nonetheless.
+				 */
+				logger.warn("Channel {} could not write transactions checkpoint {}.", channelIndex, file, e);
+				if(file.exists())
+				{
+					file.delete();
+				}
+			}
+		}
+
+		private static void writeContent(
+			final AWritableFile               file              ,
+			final int                         channelIndex      ,
+			final StorageLiveTransactionsFile transactionsFile  ,
+			final long                        transactionsLength,
+			final ByteBuffer                  entries
+		)
+		{
+			final ByteBuffer buffer  = XMemory.allocateDirectNative(BUFFER_LENGTH);
+			final long       address = XMemory.getDirectByteBufferAddress(buffer);
+			try
+			{
+				final long fingerprint = fingerprint(transactionsFile, transactionsLength, buffer);
+
+				XMemory.set_long(address + OFFSET_HEADER_MAGIC       , MAGIC             );
+				XMemory.set_int (address + OFFSET_HEADER_VERSION     , VERSION           );
+				XMemory.set_int (address + OFFSET_HEADER_CHANNEL     , channelIndex      );
+				XMemory.set_long(address + OFFSET_HEADER_TRANSACTIONS, transactionsLength);
+				XMemory.set_long(address + OFFSET_HEADER_FINGERPRINT , fingerprint       );
+				XMemory.set_long(address + OFFSET_HEADER_ENTRIES     , entries.remaining());
+
+				final CRC32C checksum = new CRC32C();
+
+				buffer.clear().limit(HEADER_LENGTH);
+				checksum.update(buffer);
+				buffer.flip();
+				file.writeBytes(buffer);
+
+				final int entriesPosition = entries.position();
+				checksum.update(entries);
+				entries.position(entriesPosition);
+				file.writeBytes(entries);
+
+				XMemory.set_long(address, checksum.getValue());
+				buffer.clear().limit(CHECKSUM_LENGTH);
+				file.writeBytes(buffer);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+	}
+
+
+
+	/**
+	 * The consolidated transactions entries of a validated checkpoint.
+	 */
+	public final class Content
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AReadableFile file              ;
+		private final long          transactionsLength;
+		private final long          entriesLength     ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Content(final AReadableFile file, final long transactionsLength, final long entriesLength)
+		{
+			super();
+			this.file               = file              ;
+			this.transactionsLength = transactionsLength;
+			this.entriesLength      = entriesLength     ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * @return the length of the transactions log's leading range represented by the checkpoint.
+		 */
+		public final long transactionsLength()
+		{
+			return this.transactionsLength;
+		}
+
+		/**
+		 * Passes the checkpoint's consolidated entries to the passed iterator, just like processing
+		 * the checkpointed range of the transactions log.
+		 *
+		 * @param <P>      the type of the iterator.
+		 * @param iterator the iterator to process the entries.
+		 *
+		 * @return the passed iterator.
+		 */
+		public final <P extends EntryIterator> P processBy(final P iterator)
+		{
+			return StorageTransactionsAnalysis.Logic.processInputFile(
+				this.file            ,
+				Default.HEADER_LENGTH,
+				this.entriesLength   ,
+				iterator
+			);
+		}
+
+		public final void close()
+		{
+			this.file.close();
+		}
+
+	}
+
+}
@@ -297,6 +297,7 @@ public interface StorageTransactionsEntries
 				case StorageTransactionsAnalysis.Logic.TYPE_TRANSFER       : return this.parseEntryTransfer      (address, availableEntryLength);
 				case StorageTransactionsAnalysis.Logic.TYPE_FILE_TRUNCATION: return this.parseEntryFileTruncation(address, availableEntryLength);
 				case StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION  : return this.parseEntryFileDeletion  (address, availableEntryLength);
+				case StorageTransactionsAnalysis.Logic.TYPE_CHECKSUM       : return this.parseEntryChecksum      (address, availableEntryLength);
 				default:
 				{
 					throw new StorageException("Unknown transactions entry type: " + StorageTransactionsAnalysis.Logic.getEntryType(address));
@@ -417,6 +418,28 @@ public interface StorageTransactionsEntries
 			return true;
 		}
 		
+		private boolean parseEntryChecksum(final long address, final long availableEntryLength)
+		{
+			if(availableEntryLength < StorageTransactionsAnalysis.Logic.LENGTH_CHECKSUM)
+			{
+				return false;
+			}
+			
+			final Entry e = Entry.New(
+				StorageTransactionsEntryType.DATA_CHECKSUM                       ,
+				StorageTransactionsAnalysis.Logic.getEntryTimestamp     (address),
+				StorageTransactionsAnalysis.Logic.getFileLength         (address),
+				this.currentFileNumber                                           ,
+				null                                                             ,
+				StorageTransactionsAnalysis.Logic.getChecksumStartOffset(address)
+			);
+			
+			// no changing of current file length by a checksum, it only describes already written data
+			this.entries.add(e);
+			
+			return true;
+		}
+		
 	}
 
 
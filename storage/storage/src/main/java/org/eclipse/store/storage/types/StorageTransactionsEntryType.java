@@ -23,7 +23,8 @@ public enum StorageTransactionsEntryType
 	DATA_STORE     ("STORE"     , StorageTransactionsAnalysis.Logic.TYPE_STORE          , StorageTransactionsAnalysis.Logic.LENGTH_STORE          ),
 	DATA_TRANSFER  ("TRANSFER"  , StorageTransactionsAnalysis.Logic.TYPE_TRANSFER       , StorageTransactionsAnalysis.Logic.LENGTH_TRANSFER       ),
 	FILE_TRUNCATION("TRUNCATION", StorageTransactionsAnalysis.Logic.TYPE_FILE_TRUNCATION, StorageTransactionsAnalysis.Logic.LENGTH_FILE_TRUNCATION),
-	FILE_DELETION  ("DELETION"  , StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION  , StorageTransactionsAnalysis.Logic.LENGTH_FILE_DELETION  );
+	FILE_DELETION  ("DELETION"  , StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION  , StorageTransactionsAnalysis.Logic.LENGTH_FILE_DELETION  ),
+	DATA_CHECKSUM  ("CHECKSUM"  , StorageTransactionsAnalysis.Logic.TYPE_CHECKSUM       , StorageTransactionsAnalysis.Logic.LENGTH_CHECKSUM       );
 	
 	
 	
@@ -84,6 +85,7 @@ public enum StorageTransactionsEntryType
 			case StorageTransactionsAnalysis.Logic.TYPE_TRANSFER       : return StorageTransactionsEntryType.DATA_TRANSFER  ;
 			case StorageTransactionsAnalysis.Logic.TYPE_FILE_TRUNCATION: return StorageTransactionsEntryType.FILE_TRUNCATION;
 			case StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION  : return StorageTransactionsEntryType.FILE_DELETION  ;
+			case StorageTransactionsAnalysis.Logic.TYPE_CHECKSUM       : return StorageTransactionsEntryType.DATA_CHECKSUM  ;
 			default:
 			{
 				throw new StorageException("Unknown transactions entry type: " + code);
@@ -15,7 +15,9 @@ package org.eclipse.store.storage.types;
  */
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.serializer.memory.XMemory;
 import org.eclipse.serializer.util.X;
@@ -36,8 +38,20 @@ public interface StorageTransactionsFileCleaner
 	 * to deleted files are removed if the storage data file does no more exist.
 	 * 
 	 * @param checkSize if false the file is compacted regardless of its current size.
+	 * 
+	 * @return whether the file has been compacted.
+	 */
+	public boolean compactTransactionsFile(boolean checkSize);
+	
+	/**
+	 * Writes a checkpoint of the consolidated transactions log state if checkpoints are enabled and
+	 * the log has grown by at least the checkpoint interval since the last checkpoint.
+	 * 
+	 * @param checkInterval if false the checkpoint is written regardless of the log's growth.
+	 * 
+	 * @see StorageTransactionsCheckpoint
 	 */
-	public void compactTransactionsFile(boolean checkSize);
+	public void checkpointTransactionsFile(boolean checkInterval);
 	
 	public final class Default implements StorageTransactionsFileCleaner
 	{
@@ -53,6 +67,11 @@ public interface StorageTransactionsFileCleaner
 			private long storeTimeStamp;
 			private long deletionFileLength;
 			private long deletionTimeStamp;
+			
+			/**
+			 * Checksummed ranges as {start offset, bound offset, checksum, timestamp}.
+			 */
+			private final ArrayList<long[]> checksums = new ArrayList<>();
 	
 			///////////////////////////////////////////////////////////////////////////
 			// constructors //
@@ -83,6 +102,19 @@ public interface StorageTransactionsFileCleaner
 			{
 				this.deletionFileLength = fileLength;
 				this.deletionTimeStamp  = timestamp;
+				this.checksums.clear();
+			}
+			
+			public void addChecksum(final long startOffset, final long boundOffset, final long checksum, final long timestamp)
+			{
+				// a range starting before the end of preceding ranges means those have been rolled back
+				this.truncateChecksums(startOffset);
+				this.checksums.add(new long[]{startOffset, boundOffset, checksum, timestamp});
+			}
+			
+			public void truncateChecksums(final long fileLength)
+			{
+				this.checksums.removeIf(c -> c[1] > fileLength);
 			}
 				
 		}
@@ -133,6 +165,7 @@ public interface StorageTransactionsFileCleaner
 					case Logic.TYPE_TRANSFER       : return this.handleEntryTransfer      (address, availableEntryLength);
 					case Logic.TYPE_FILE_TRUNCATION: return this.handleEntryFileTruncation(address, availableEntryLength);
 					case Logic.TYPE_FILE_DELETION  : return this.handleEntryFileDeletion  (address, availableEntryLength);
+					case Logic.TYPE_CHECKSUM       : return this.handleEntryChecksum      (address, availableEntryLength);
 					default:
 					{
 						throw new StorageException("Unknown transactions entry type: " + Logic.getEntryType(address));
@@ -172,10 +205,28 @@ public interface StorageTransactionsFileCleaner
 				final long FileLength = Logic.getFileLength(address);
 				
 				this.currentTransactionInfo.setStore(FileLength, this.currentTransactionInfo.storeTimeStamp);
+				this.currentTransactionInfo.truncateChecksums(FileLength);
 
 				return true;
 			}
 	
+			private boolean handleEntryChecksum(final long address, final long availableEntryLength)
+			{
+				if(availableEntryLength < Logic.LENGTH_CHECKSUM)
+				{
+					return false;
+				}
+				
+				this.currentTransactionInfo.addChecksum(
+					Logic.getChecksumStartOffset(address),
+					Logic.getFileLength(address),
+					Logic.getChecksum(address),
+					Logic.getEntryTimestamp(address)
+				);
+				
+				return true;
+			}
+	
 			private boolean handleEntryTransfer(final long address, final long availableEntryLength)
 			{
 				if(availableEntryLength < Logic.LENGTH_TRANSFER)
@@ -240,6 +291,15 @@ public interface StorageTransactionsFileCleaner
 		private final long transactionFileSizeLimit;
 		private final StorageFileWriter storageFileWriter;
 		private final StorageLiveFileProvider fileProvider;
+		private final StorageTransactionsCheckpoint checkpoint;
+		
+		/**
+		 * The consolidated state of all entries up to {@link #collectedLength}, maintained incrementally
+		 * to never parse the transactions log more than once.
+		 */
+		private Collector collector;
+		private long collectedLength;
+		private long checkpointLength;
 
 		/**
 		 * The most actual store time stamp in all processed files.
@@ -257,7 +317,8 @@ public interface StorageTransactionsFileCleaner
 			final int channelIndex,
 			final long transactionFileSizeLimit,
 			final StorageLiveFileProvider fileProvider,
-			final StorageFileWriter storageFileWriter)
+			final StorageFileWriter storageFileWriter,
+			final StorageTransactionsCheckpoint checkpoint)
 		{
 			super();
 			this.channelIndex = channelIndex;
@@ -265,6 +326,7 @@ public interface StorageTransactionsFileCleaner
 			this.storageLiveTransactionsFile = fileTransactions;
 			this.fileProvider = fileProvider;
 			this.storageFileWriter = storageFileWriter;
+			this.checkpoint = checkpoint;
 		}
 		
 		
@@ -273,17 +335,21 @@ public interface StorageTransactionsFileCleaner
 		////////////
 		
 		@Override
-		public void compactTransactionsFile(final boolean checkSize)
+		public boolean compactTransactionsFile(final boolean checkSize)
 		{
 			if(checkSize == true && this.storageLiveTransactionsFile.size() > this.transactionFileSizeLimit)
 			{
 				logger.info("Transaction file {} size exceeds limit of {} bytes", this.storageLiveTransactionsFile.identifier(), this.transactionFileSizeLimit);
 				this.compactTransactionsFileInternal();
+				return true;
 			}
 			else if(!checkSize)
 			{
 				this.compactTransactionsFileInternal();
+				return true;
 			}
+			
+			return false;
 		}
 		
 		private void compactTransactionsFileInternal()
@@ -297,13 +363,103 @@ public interface StorageTransactionsFileCleaner
 			
 			this.storageFileWriter.truncate(this.storageLiveTransactionsFile, 0, this.fileProvider);
 			this.writeTransactionLog(transactions);
+			
+			// the collected state is exactly what has just been written, any existing checkpoint is obsolete.
+			this.collectedLength = this.storageLiveTransactionsFile.size();
+			if(this.checkpoint.isEnabled())
+			{
+				this.writeCheckpoint(transactions);
+			}
+		}
+		
+		@Override
+		public void checkpointTransactionsFile(final boolean checkInterval)
+		{
+			if(!this.checkpoint.isEnabled())
+			{
+				return;
+			}
+			
+			this.ensureCollector();
+			if(checkInterval
+			&& this.storageLiveTransactionsFile.size() - this.checkpointLength < this.checkpoint.checkpointInterval()
+			)
+			{
+				return;
+			}
+			
+			final LinkedHashMap<Long, FileTransactionInfo> transactions = this.collectEntries();
+			this.lastStoreTimestamp = this.getLastStoreTimestamp(transactions);
+			
+			this.removeDeletedEntries(transactions);
+			
+			this.writeCheckpoint(transactions);
+		}
+		
+		private void ensureCollector()
+		{
+			if(this.collector != null)
+			{
+				return;
+			}
+			
+			this.collector        = new Collector();
+			this.collectedLength  = 0;
+			this.checkpointLength = 0;
+			
+			final StorageTransactionsCheckpoint.Content content = this.checkpoint.read(
+				this.fileProvider,
+				this.channelIndex,
+				this.storageLiveTransactionsFile
+			);
+			if(content == null)
+			{
+				return;
+			}
+			
+			try
+			{
+				content.processBy(this.collector);
+				this.collectedLength  = content.transactionsLength();
+				this.checkpointLength = content.transactionsLength();
+			}
+			catch(final RuntimeException e)
+			{
+				logger.warn("Channel {} could not use transactions checkpoint, parsing the whole transactions log.", this.channelIndex, e);
+				this.collector = new Collector();
+			}
+			finally
+			{
+				content.close();
+			}
 		}
 		
 		private LinkedHashMap<Long, FileTransactionInfo> collectEntries()
 		{
-			final Collector collector = new Collector();
-			StorageTransactionsAnalysis.Logic.processInputFile(this.storageLiveTransactionsFile.file().tryUseReading(), collector);
-			return collector.transactions();
+			this.ensureCollector();
+			
+			final long length = this.storageLiveTransactionsFile.size();
+			if(length < this.collectedLength)
+			{
+				// the log has been shortened by something else than compaction, the collected state is invalid.
+				this.collector        = new Collector();
+				this.collectedLength  = 0;
+				this.checkpointLength = 0;
+			}
+			
+			// only the entries appended since the last collection have to be parsed.
+			if(length > this.collectedLength)
+			{
+				StorageTransactionsAnalysis.Logic.processInputFile(
+					this.storageLiveTransactionsFile.file().tryUseReading(),
+					this.collectedLength,
+					length - this.collectedLength,
+					this.collector
+				);
+				this.collectedLength = length;
+			}
+			
+			return this.collector.transactions();
 		}
 		
 		private long getLastStoreTimestamp(final LinkedHashMap<Long, FileTransactionInfo> transactions)
@@ -350,6 +506,13 @@ public interface StorageTransactionsFileCleaner
 					k
 				);
 				this.storageFileWriter.writeTransactionEntryCreate(this.storageLiveTransactionsFile, entryBufferWrapFileCreation, null);
+				
+				// checksum entries are written right behind their file's store entry to keep them in the same file range
+				final ByteBuffer entryBufferChecksums = createChecksumEntries(v);
+				final Iterable<? extends ByteBuffer> entryBuffersStore = entryBufferChecksums == null
+					? entryBufferWrapStore
+					: X.ArrayView(entryBufferStore, entryBufferChecksums)
+				;
 									
 								
 				if(v.storeTimeStamp > 0) {
@@ -363,7 +526,7 @@ public interface StorageTransactionsFileCleaner
 					
 					this.storageFileWriter.writeTransactionEntryStore(
 						this.storageLiveTransactionsFile,
-						entryBufferWrapStore,
+						entryBuffersStore,
 						null,
 						0,
 						v.storeFileLength);
@@ -382,11 +545,16 @@ public interface StorageTransactionsFileCleaner
 					
 					this.storageFileWriter.writeTransactionEntryStore(
 						this.storageLiveTransactionsFile,
-						entryBufferWrapStore,
+						entryBuffersStore,
 						null,
 						0,
 						v.storeFileLength);
 				}
+				
+				if(entryBufferChecksums != null)
+				{
+					XMemory.deallocateDirectByteBuffer(entryBufferChecksums);
+				}
 							
 				if(v.deletionTimeStamp > 0) {
 					entryBufferFileDeletion.clear();
@@ -405,6 +573,116 @@ public interface StorageTransactionsFileCleaner
 			XMemory.deallocateDirectByteBuffer(entryBufferFileDeletion);
 		}
 		
+		private void writeCheckpoint(final LinkedHashMap<Long, FileTransactionInfo> transactions)
+		{
+			final ByteBuffer entries = this.assembleEntries(transactions);
+			try
+			{
+				this.checkpoint.write(
+					this.fileProvider,
+					this.channelIndex,
+					this.storageLiveTransactionsFile,
+					this.collectedLength,
+					entries
+				);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(entries);
+			}
+			
+			this.checkpointLength = this.collectedLength;
+		}
+		
+		/**
+		 * Assembles the same entries {@link #writeTransactionLog(LinkedHashMap)} writes into a single buffer.
+		 */
+		private ByteBuffer assembleEntries(final LinkedHashMap<Long, FileTransactionInfo> transactions)
+		{
+			final long
+			lengthFileCreation = StorageTransactionsAnalysis.Logic.entryLengthFileCreation(),
+			lengthStore        = StorageTransactionsAnalysis.Logic.entryLengthStore()       ,
+			lengthFileDeletion = StorageTransactionsAnalysis.Logic.entryLengthFileDeletion(),
+			lengthChecksum     = StorageTransactionsAnalysis.Logic.entryLengthChecksum()    ;
+			
+			long length = 0;
+			for(final FileTransactionInfo info : transactions.values())
+			{
+				length += lengthFileCreation + lengthStore + info.checksums.size() * lengthChecksum;
+				if(info.deletionTimeStamp > 0)
+				{
+					length += lengthFileDeletion;
+				}
+			}
+			
+			final ByteBuffer entries = XMemory.allocateDirectNative(length);
+			long address = XMemory.getDirectByteBufferAddress(entries);
+			for(final Map.Entry<Long, FileTransactionInfo> e : transactions.entrySet())
+			{
+				final FileTransactionInfo info = e.getValue();
+				
+				StorageTransactionsAnalysis.Logic.initializeEntryFileCreation(address);
+				StorageTransactionsAnalysis.Logic.setEntryFileCreation(
+					address,
+					info.creationFileLength,
+					info.creationTimeStamp,
+					e.getKey()
+				);
+				address += lengthFileCreation;
+				
+				// same special case as in writeTransactionLog: a file with only transfers gets the last store time stamp.
+				StorageTransactionsAnalysis.Logic.initializeEntryStore(address);
+				StorageTransactionsAnalysis.Logic.setEntryStore(
+					address,
+					info.storeFileLength,
+					info.storeTimeStamp > 0 ? info.storeTimeStamp : this.lastStoreTimestamp
+				);
+				address += lengthStore;
+				
+				for(final long[] checksum : info.checksums)
+				{
+					StorageTransactionsAnalysis.Logic.initializeEntryChecksum(address);
+					StorageTransactionsAnalysis.Logic.setEntryChecksum(address, checksum[1], checksum[3], checksum[2], checksum[0]);
+					address += lengthChecksum;
+				}
+				
+				if(info.deletionTimeStamp > 0)
+				{
+					StorageTransactionsAnalysis.Logic.initializeEntryFileDeletion(address);
+					StorageTransactionsAnalysis.Logic.setEntryFileDeletion(
+						address,
+						info.deletionFileLength,
+						info.deletionTimeStamp,
+						e.getKey()
+					);
+					address += lengthFileDeletion;
+				}
+			}
+			
+			return entries;
+		}
+		
+		private static ByteBuffer createChecksumEntries(final FileTransactionInfo info)
+		{
+			if(info.checksums.isEmpty())
+			{
+				return null;
+			}
+			
+			final long entryLength = StorageTransactionsAnalysis.Logic.entryLengthChecksum();
+			final ByteBuffer entryBufferChecksums = XMemory.allocateDirectNative(entryLength * info.checksums.size());
+			
+			long address = XMemory.getDirectByteBufferAddress(entryBufferChecksums);
+			for(final long[] checksum : info.checksums)
+			{
+				StorageTransactionsAnalysis.Logic.initializeEntryChecksum(address);
+				StorageTransactionsAnalysis.Logic.setEntryChecksum(address, checksum[1], checksum[3], checksum[2], checksum[0]);
+				address += entryLength;
+			}
+			
+			return entryBufferChecksums;
+		}
+		
 	}
 	
 }
@@ -21,6 +21,7 @@ final class TypeInFile implements Unpersistable
 	final StorageEntityType.Default   type    ;
 	final StorageLiveDataFile.Default file    ;
 	      TypeInFile                  hashNext;
+	      int                         id      ; // see StorageEntityTable#register
 	
 	TypeInFile(
 		final StorageEntityType.Default   type    ,
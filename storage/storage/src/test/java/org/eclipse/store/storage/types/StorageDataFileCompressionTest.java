@@ -0,0 +1,194 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.serializer.X;
+import org.eclipse.serializer.afs.types.ADirectory;
+import org.eclipse.serializer.afs.types.AFS;
+import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.store.afs.nio.types.NioFileSystem;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StorageDataFileCompressionTest
+{
+	private static final int BLOCK_LENGTH        = 64;
+	private static final int FILE_HEADER_LENGTH  = Long.BYTES;
+	private static final int BLOCK_HEADER_LENGTH = Integer.BYTES * 2;
+
+	// random data does not compress, so every block is stored as it is at a predictable position.
+	private static final int DATA_LENGTH     = 3 * BLOCK_LENGTH + 8;
+	private static final int TRUNCATE_LENGTH = BLOCK_LENGTH + 36;
+
+	private final StorageDataFileCompression compression = StorageDataFileCompression.New(BLOCK_LENGTH);
+
+	@TempDir
+	Path directory;
+
+	private byte[] data       ;
+	private AFile  file       ;
+	private AFile  journalFile;
+
+	@BeforeEach
+	void setup()
+	{
+		this.data = new byte[DATA_LENGTH];
+		new Random(42).nextBytes(this.data);
+
+		final ADirectory dir = NioFileSystem.New().ensureDirectory(this.directory);
+		this.file        = dir.ensureFile("channel_0_1", "dat");
+		this.journalFile = StorageDataFileCompression.BlockFile.truncationJournalFile(this.file);
+
+		AFS.executeWriting(this.file, wf ->
+			StorageDataFileCompression.BlockFile.New(this.compression)
+				.write(wf, Arrays.asList(ByteBuffer.wrap(this.data)))
+		);
+	}
+
+	@Test
+	void truncateWithinBlock()
+	{
+		this.truncate(TRUNCATE_LENGTH);
+
+		Assertions.assertFalse(this.journalFile.exists());
+		this.assertContent(TRUNCATE_LENGTH);
+	}
+
+	@Test
+	void truncateAtBlockBoundary()
+	{
+		this.truncate(BLOCK_LENGTH);
+
+		// no block is rewritten, so no journal is required at all.
+		Assertions.assertFalse(this.journalFile.exists());
+		this.assertContent(BLOCK_LENGTH);
+	}
+
+	@Test
+	void recoverCompleteJournalBeforeTruncation()
+	{
+		this.writeJournal(this.createJournal());
+
+		this.recover();
+
+		Assertions.assertFalse(this.journalFile.exists());
+		this.assertContent(TRUNCATE_LENGTH);
+	}
+
+	@Test
+	void recoverCompleteJournalAfterTruncation()
+	{
+		this.writeJournal(this.createJournal());
+		AFS.executeWriting(this.file, wf -> wf.truncate(rewrittenBlockPosition()));
+
+		this.recover();
+
+		Assertions.assertFalse(this.journalFile.exists());
+		this.assertContent(TRUNCATE_LENGTH);
+	}
+
+	@Test
+	void discardIncompleteJournal()
+	{
+		final byte[] journal = this.createJournal();
+		this.writeJournal(Arrays.copyOf(journal, journal.length - 1));
+
+		this.recover();
+
+		// an incomplete journal means the file has not been touched yet.
+		Assertions.assertFalse(this.journalFile.exists());
+		this.assertContent(DATA_LENGTH);
+	}
+
+	@Test
+	void discardJournalWithoutBlock()
+	{
+		this.writeJournal(Arrays.copyOf(this.createJournal(), Long.BYTES));
+
+		this.recover();
+
+		Assertions.assertFalse(this.journalFile.exists());
+		this.assertContent(DATA_LENGTH);
+	}
+
+	private void truncate(final long newLength)
+	{
+		AFS.executeWriting(this.file, wf ->
+			StorageDataFileCompression.BlockFile.Load(wf, this.compression)
+				.truncate(wf, newLength, this.journalFile)
+		);
+	}
+
+	private static long rewrittenBlockPosition()
+	{
+		// the block containing the new length is the second one.
+		return FILE_HEADER_LENGTH + BLOCK_HEADER_LENGTH + BLOCK_LENGTH;
+	}
+
+	private byte[] createJournal()
+	{
+		final int        retainedCount = TRUNCATE_LENGTH - BLOCK_LENGTH;
+		final ByteBuffer journal       = ByteBuffer.allocate(Long.BYTES + BLOCK_HEADER_LENGTH + retainedCount)
+			.order(ByteOrder.LITTLE_ENDIAN)
+		;
+		journal.putLong(rewrittenBlockPosition());
+		journal.putInt(retainedCount);
+		journal.putInt(retainedCount);
+		journal.put(this.data, BLOCK_LENGTH, retainedCount);
+
+		return journal.array();
+	}
+
+	private void writeJournal(final byte[] journal)
+	{
+		AFS.executeWriting(this.journalFile, wf ->
+			wf.writeBytes(X.ArrayView(ByteBuffer.wrap(journal)))
+		);
+	}
+
+	private void recover()
+	{
+		AFS.executeWriting(this.file, wf ->
+			StorageDataFileCompression.BlockFile.recoverTruncation(wf, this.journalFile)
+		);
+	}
+
+	private void assertContent(final int expectedLength)
+	{
+		final byte[] content = AFS.apply(this.file, rf ->
+		{
+			final StorageDataFileCompression.BlockFile blockFile =
+				StorageDataFileCompression.BlockFile.Load(rf, this.compression)
+			;
+			Assertions.assertEquals(expectedLength, blockFile.length());
+
+			final ByteBuffer buffer = ByteBuffer.allocate(expectedLength);
+			Assertions.assertEquals(expectedLength, blockFile.read(rf, buffer, 0, expectedLength));
+
+			return buffer.array();
+		});
+
+		Assertions.assertArrayEquals(Arrays.copyOf(this.data, expectedLength), content);
+	}
+
+}
@@ -0,0 +1,191 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.store.afs.nio.types.NioFileSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StorageTransactionsCheckpointTest
+{
+	private static final int CHANNEL_INDEX = 0;
+
+	// longer than the fingerprinted range, so the fingerprint covers only the log's trailing part.
+	private static final int TRANSACTIONS_LENGTH = 3 * StorageTransactionsCheckpoint.Default.FINGERPRINT_LENGTH;
+
+	private final StorageTransactionsCheckpoint checkpoint = StorageTransactionsCheckpoint.New();
+
+	@TempDir
+	Path directory;
+
+	private NioFileSystem                         fileSystem      ;
+	private StorageLiveFileProvider               fileProvider    ;
+	private Path                                  transactionsPath;
+	private Path                                  checkpointPath  ;
+	private StorageLiveTransactionsFile           transactionsFile;
+	private StorageTransactionsCheckpoint.Content content         ;
+
+	@BeforeEach
+	void setup() throws IOException
+	{
+		this.fileSystem   = NioFileSystem.New();
+		this.fileProvider = StorageLiveFileProvider.New(this.fileSystem.ensureDirectory(this.directory));
+
+		final AFile transactionsFile = this.fileProvider.provideTransactionsFile(CHANNEL_INDEX);
+		this.transactionsPath = this.fileSystem.resolve(transactionsFile);
+		this.checkpointPath   = this.fileSystem.resolve(
+			this.fileProvider.provideTransactionsCheckpointFile(CHANNEL_INDEX)
+		);
+
+		final byte[] transactions = new byte[TRANSACTIONS_LENGTH];
+		new Random(42).nextBytes(transactions);
+		Files.createDirectories(this.transactionsPath.getParent());
+		Files.write(this.transactionsPath, transactions);
+
+		this.transactionsFile = StorageLiveTransactionsFile.New(transactionsFile, CHANNEL_INDEX);
+		this.checkpoint.write(
+			this.fileProvider    ,
+			CHANNEL_INDEX        ,
+			this.transactionsFile,
+			TRANSACTIONS_LENGTH  ,
+			ByteBuffer.allocate(0)
+		);
+		this.transactionsFile.close();
+	}
+
+	@AfterEach
+	void cleanup()
+	{
+		if(this.content != null)
+		{
+			this.content.close();
+		}
+		this.transactionsFile.close();
+	}
+
+	@Test
+	void readMatchingCheckpoint()
+	{
+		Assertions.assertNotNull(this.read());
+		Assertions.assertEquals(TRANSACTIONS_LENGTH, this.content.transactionsLength());
+	}
+
+	@Test
+	void readCheckpointOfAppendedLog() throws IOException
+	{
+		Files.write(this.transactionsPath, new byte[100], StandardOpenOption.APPEND);
+
+		Assertions.assertNotNull(this.read());
+		Assertions.assertEquals(TRANSACTIONS_LENGTH, this.content.transactionsLength());
+	}
+
+	@Test
+	void discardMissingCheckpoint() throws IOException
+	{
+		Files.delete(this.checkpointPath);
+
+		Assertions.assertNull(this.read());
+	}
+
+	@Test
+	void discardIncompleteCheckpoint() throws IOException
+	{
+		truncate(this.checkpointPath, StorageTransactionsCheckpoint.Default.HEADER_LENGTH);
+
+		Assertions.assertNull(this.read());
+	}
+
+	@Test
+	void discardCheckpointWithChecksumMismatch() throws IOException
+	{
+		flipByte(this.checkpointPath, StorageTransactionsCheckpoint.Default.OFFSET_HEADER_TRANSACTIONS);
+
+		Assertions.assertNull(this.read());
+	}
+
+	@Test
+	void discardCheckpointOfOtherChannel() throws IOException
+	{
+		// the content including its checksum is valid, only the channel in the header does not match.
+		final int   otherChannelIndex = CHANNEL_INDEX + 1;
+		final AFile otherFile         = this.fileProvider.provideTransactionsFile(otherChannelIndex);
+		final Path  otherPath         = this.fileSystem.resolve(otherFile);
+		Files.createDirectories(otherPath.getParent());
+		Files.copy(this.transactionsPath, otherPath);
+		Files.copy(
+			this.checkpointPath,
+			this.fileSystem.resolve(this.fileProvider.provideTransactionsCheckpointFile(otherChannelIndex))
+		);
+
+		final StorageLiveTransactionsFile otherTransactionsFile = StorageLiveTransactionsFile.New(
+			otherFile        ,
+			otherChannelIndex
+		);
+		try
+		{
+			Assertions.assertNull(this.checkpoint.read(this.fileProvider, otherChannelIndex, otherTransactionsFile));
+		}
+		finally
+		{
+			otherTransactionsFile.close();
+		}
+	}
+
+	@Test
+	void discardCheckpointOfShorterLog() throws IOException
+	{
+		truncate(this.transactionsPath, TRANSACTIONS_LENGTH - 1);
+
+		Assertions.assertNull(this.read());
+	}
+
+	@Test
+	void discardCheckpointOfChangedLog() throws IOException
+	{
+		flipByte(this.transactionsPath, TRANSACTIONS_LENGTH - 1);
+
+		Assertions.assertNull(this.read());
+	}
+
+	private StorageTransactionsCheckpoint.Content read()
+	{
+		return this.content = this.checkpoint.read(this.fileProvider, CHANNEL_INDEX, this.transactionsFile);
+	}
+
+	private static void truncate(final Path path, final int length) throws IOException
+	{
+		Files.write(path, Arrays.copyOf(Files.readAllBytes(path), length));
+	}
+
+	private static void flipByte(final Path path, final int position) throws IOException
+	{
+		final byte[] bytes = Files.readAllBytes(path);
+		bytes[position] ^= 0xFF;
+		Files.write(path, bytes);
+	}
+
+}